@@ -0,0 +1,139 @@
+package br.com.solides.placar.consumer.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import br.com.solides.placar.consumer.rabbit.GameEventConstraints;
+import br.com.solides.placar.consumer.service.GameEventRouter;
+import br.com.solides.placar.consumer.service.strategy.GameEventProcessingStrategy;
+import br.com.solides.placar.shared.enums.StatusJogo;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+/**
+ * Per-event cost of routing and validating a received event, against the previous
+ * implementation (strategy stream, channel if/else chain and Bean Validation).
+ * Run with {@code -prof gc} (the default {@code jmh.args}) for the allocation per event of each
+ * implementation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameEventDispatchBenchmark {
+
+    private List<GameEventProcessingStrategy> strategies;
+    private GameEventRouter router;
+    private Validator validator;
+    private PlacarAtualizadoEvent[] events;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        strategies = List.of(new NoOpStrategy(true), new NoOpStrategy(false));
+        router = new GameEventRouter(strategies);
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+        events = new PlacarAtualizadoEvent[] {
+                event(1L, StatusJogo.NAO_INICIADO, 0),
+                event(2L, StatusJogo.EM_ANDAMENTO, 0),
+                event(3L, StatusJogo.EM_ANDAMENTO, 67),
+                event(4L, StatusJogo.FINALIZADO, 90),
+                event(5L, StatusJogo.EXCLUIDO, 90),
+        };
+    }
+
+    @Benchmark
+    public void route(Blackhole blackhole) {
+        PlacarAtualizadoEvent event = nextEvent();
+        GameEventRouter.Route route = router.route(event);
+        blackhole.consume(route.strategy());
+        blackhole.consume(route.channelFor(event));
+    }
+
+    @Benchmark
+    public void routeLegacy(Blackhole blackhole) {
+        PlacarAtualizadoEvent event = nextEvent();
+        blackhole.consume(strategies.stream()
+                .filter(s -> s.canHandle(event))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No strategy found for event: " + event)));
+        blackhole.consume(legacyChannel(event));
+    }
+
+    @Benchmark
+    public String validate() {
+        return GameEventConstraints.firstViolation(nextEvent());
+    }
+
+    @Benchmark
+    public boolean validateBeanValidation() {
+        return validator.validate(nextEvent()).isEmpty();
+    }
+
+    private PlacarAtualizadoEvent nextEvent() {
+        PlacarAtualizadoEvent event = events[next];
+        next = next + 1 == events.length ? 0 : next + 1;
+        return event;
+    }
+
+    private static String legacyChannel(PlacarAtualizadoEvent event) {
+        StatusJogo status = event.getStatus();
+        if (StatusJogo.EXCLUIDO.equals(status)) {
+            return "excluido";
+        } else if (StatusJogo.NAO_INICIADO.equals(status)) {
+            return "novos";
+        } else if (StatusJogo.FINALIZADO.equals(status)) {
+            return "encerrado";
+        } else if (StatusJogo.EM_ANDAMENTO.equals(status) && event.getTempoDeJogo() == 0) {
+            return "inicio";
+        } else {
+            return "placar";
+        }
+    }
+
+    private static PlacarAtualizadoEvent event(long id, StatusJogo status, int tempoDeJogo) {
+        return PlacarAtualizadoEvent.builder()
+                .id(id)
+                .dataHoraInicioPartida(LocalDateTime.of(2026, 2, 1, 16, 0, 0))
+                .timeA("Flamengo")
+                .timeB("Vasco da Gama")
+                .placarA(2)
+                .placarB(1)
+                .status(status)
+                .tempoDeJogo(tempoDeJogo)
+                .build();
+    }
+
+    /**
+     * Deletion ({@code deletion = true}) or update strategy that does not touch the cache.
+     */
+    private record NoOpStrategy(boolean deletion) implements GameEventProcessingStrategy {
+
+        @Override
+        public boolean process(PlacarAtualizadoEvent event) {
+            return true;
+        }
+
+        @Override
+        public boolean canHandle(StatusJogo status) {
+            return deletion == (status == StatusJogo.EXCLUIDO);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.solides.placar.consumer.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import br.com.solides.placar.shared.enums.StatusJogo;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEventMessageConverter;
+
+/**
+ * Per-message cost of decoding and encoding an event with the dedicated streaming converter,
+ * against the {@code Jackson2JsonMessageConverter} it replaced. Run with {@code -prof gc}
+ * (the default {@code jmh.args}) to compare {@code gc.alloc.rate.norm} as well.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameEventMessageConverterBenchmark {
+
+    private Jackson2JsonMessageConverter jackson;
+    private PlacarAtualizadoEventMessageConverter streaming;
+    private PlacarAtualizadoEvent event;
+    private Message jacksonMessage;
+    private Message streamingMessage;
+
+    @Setup
+    public void setUp() {
+        jackson = new Jackson2JsonMessageConverter();
+        streaming = new PlacarAtualizadoEventMessageConverter();
+        event = PlacarAtualizadoEvent.builder()
+                .id(42L)
+                .dataHoraInicioPartida(LocalDateTime.of(2026, 2, 1, 16, 0, 0))
+                .timeA("Flamengo")
+                .timeB("Vasco da Gama")
+                .placarA(2)
+                .placarB(1)
+                .status(StatusJogo.EM_ANDAMENTO)
+                .tempoDeJogo(67)
+                .versao(12L)
+                .build();
+        jacksonMessage = jackson.toMessage(event, new MessageProperties());
+        streamingMessage = streaming.toMessage(event, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object decodeJackson() {
+        return jackson.fromMessage(jacksonMessage);
+    }
+
+    @Benchmark
+    public Object decodeStreaming() {
+        return streaming.fromMessage(streamingMessage);
+    }
+
+    @Benchmark
+    public Message encodeJackson() {
+        return jackson.toMessage(event, new MessageProperties());
+    }
+
+    @Benchmark
+    public Message encodeStreaming() {
+        return streaming.toMessage(event, new MessageProperties());
+    }
+}
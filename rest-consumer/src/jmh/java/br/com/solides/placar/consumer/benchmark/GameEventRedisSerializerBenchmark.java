@@ -0,0 +1,108 @@
+package br.com.solides.placar.consumer.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+
+import br.com.solides.placar.consumer.redis.GameEventRedisSerializer;
+import br.com.solides.placar.consumer.support.RedisObjectMapperFactory;
+import br.com.solides.placar.shared.enums.StatusJogo;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+/**
+ * Encode/decode throughput of the JSON and binary Redis value formats.
+ * Run with {@code -prof gc} (the default {@code jmh.args}) to get allocation per operation.
+ * The encode benchmarks also report the value bytes written as secondary results
+ * ({@code valueBytes / values} is the size stored per game).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameEventRedisSerializerBenchmark {
+
+    private GameEventRedisSerializer json;
+    private GameEventRedisSerializer binary;
+    private PlacarAtualizadoEvent event;
+    private byte[] jsonBytes;
+    private byte[] binaryBytes;
+
+    /**
+     * Bytes written by an encode benchmark, summed per iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ValueSize {
+        public long valueBytes;
+        public long values;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            valueBytes = 0;
+            values = 0;
+        }
+
+        byte[] record(byte[] value) {
+            valueBytes += value.length;
+            values++;
+            return value;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        Jackson2JsonRedisSerializer<PlacarAtualizadoEvent> jackson = new Jackson2JsonRedisSerializer<>(
+                RedisObjectMapperFactory.create(), PlacarAtualizadoEvent.class);
+        json = new GameEventRedisSerializer(jackson, GameEventRedisSerializer.Format.JSON);
+        binary = new GameEventRedisSerializer(jackson, GameEventRedisSerializer.Format.BINARY);
+
+        event = PlacarAtualizadoEvent.builder()
+                .id(1234L)
+                .dataHoraInicioPartida(LocalDateTime.of(2026, 2, 1, 16, 0, 0))
+                .timeA("Flamengo")
+                .timeB("Vasco da Gama")
+                .placarA(2)
+                .placarB(1)
+                .status(StatusJogo.EM_ANDAMENTO)
+                .tempoDeJogo(67)
+                .build();
+
+        jsonBytes = json.serialize(event);
+        binaryBytes = binary.serialize(event);
+    }
+
+    @Benchmark
+    public byte[] encodeJson(ValueSize size) {
+        return size.record(json.serialize(event));
+    }
+
+    @Benchmark
+    public byte[] encodeBinary(ValueSize size) {
+        return size.record(binary.serialize(event));
+    }
+
+    @Benchmark
+    public PlacarAtualizadoEvent decodeJson() {
+        return json.deserialize(jsonBytes);
+    }
+
+    @Benchmark
+    public PlacarAtualizadoEvent decodeBinary() {
+        return binary.deserialize(binaryBytes);
+    }
+}
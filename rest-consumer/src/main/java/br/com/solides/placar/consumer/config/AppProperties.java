@@ -1,5 +1,6 @@
 package br.com.solides.placar.consumer.config;
 
+import java.time.Duration;
 import java.util.List;
 
 import org.springframework.context.annotation.Configuration;
@@ -7,8 +8,14 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import br.com.solides.placar.consumer.redis.GameEventRedisSerializer;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
@@ -25,6 +32,18 @@ public class AppProperties {
     @Valid
     private final Sse sse = new Sse();
 
+    @Valid
+    private final Redis redis = new Redis();
+
+    @Valid
+    private final Cache cache = new Cache();
+
+    @Valid
+    private final Publisher publisher = new Publisher();
+
+    @Valid
+    private final Latency latency = new Latency();
+
     @Getter
     @Setter
     public static class Rabbit {
@@ -37,9 +56,41 @@ public class AppProperties {
         @NotBlank
         private String routing;
 
+        /**
+         * How the queue is consumed: one message per listener call, in batches, or dispatched
+         * to per-game ordered lanes.
+         */
+        @NotNull
+        private Mode mode = Mode.SINGLE;
+
         @Valid
         private final Dlq dlq = new Dlq();
 
+        @Valid
+        private final Priority priority = new Priority();
+
+        @Valid
+        private final Batch batch = new Batch();
+
+        @Valid
+        private final Lanes lanes = new Lanes();
+
+        @Valid
+        private final Dedup dedup = new Dedup();
+
+        @Valid
+        private final DelayedRetry delayedRetry = new DelayedRetry();
+
+        @Valid
+        private final FlowControl flowControl = new FlowControl();
+
+        @Valid
+        private final LoadShedding loadShedding = new LoadShedding();
+
+        public enum Mode {
+            SINGLE, BATCH, LANES
+        }
+
         @Getter
         @Setter
         public static class Dlq {
@@ -51,6 +102,284 @@ public class AppProperties {
 
             @NotBlank
             private String queue;
+
+            @Valid
+            private final Replay replay = new Replay();
+
+            @Getter
+            @Setter
+            public static class Replay {
+                /**
+                 * Maximum replay rate, in messages per second.
+                 */
+                @Min(1)
+                private int maxMessagesPerSecond = 50;
+
+                /**
+                 * Maximum number of messages returned by a peek.
+                 */
+                @Min(1)
+                @Max(1000)
+                private int maxPeek = 200;
+
+                /**
+                 * Maximum number of messages read by a peek, matching or not. They stay
+                 * unacknowledged on one channel until the peek requeues them.
+                 */
+                @Min(1)
+                private int maxPeekScan = 1000;
+            }
+        }
+
+        @Getter
+        @Setter
+        public static class Priority {
+            /**
+             * Queue of the lifecycle transitions of the games (created, kick-off, finished and
+             * deleted), consumed by its own container in every mode so a backlog of score and
+             * clock updates in the main queue does not hold them back.
+             */
+            @NotBlank
+            private String queue;
+
+            @NotBlank
+            private String routing;
+
+            /**
+             * Consumers of the priority queue; the lanes mode always uses one, which hands the
+             * events to the lanes.
+             */
+            @Min(1)
+            private int concurrency = 1;
+
+            /**
+             * Prefetch of the priority consumers; kept low, so a lifecycle event does not wait
+             * behind others already buffered by a busy consumer.
+             */
+            @Min(1)
+            private int prefetch = 10;
+        }
+
+        @Getter
+        @Setter
+        public static class Batch {
+            /**
+             * Maximum number of messages per batch.
+             */
+            @Min(1)
+            private int size = 50;
+
+            /**
+             * How long the consumer waits for the next message before delivering a partial
+             * batch, in milliseconds.
+             */
+            @Min(1)
+            private long receiveTimeout = 100;
+        }
+
+        @Getter
+        @Setter
+        public static class Lanes {
+            /**
+             * Number of lanes; zero uses one lane per available processor.
+             */
+            @Min(0)
+            private int count = 0;
+
+            /**
+             * How long a graceful shutdown waits for the lanes to drain.
+             */
+            @NotNull
+            private Duration drainTimeout = Duration.ofSeconds(10);
+        }
+
+        @Getter
+        @Setter
+        public static class Dedup {
+            /**
+             * Skips messages whose id was already processed within the window.
+             */
+            private boolean enabled = true;
+
+            /**
+             * How long a processed message id is remembered.
+             */
+            @NotNull
+            private Duration ttl = Duration.ofMinutes(10);
+
+            /**
+             * Maximum number of ids remembered in memory by this instance.
+             */
+            @Min(1)
+            private int localCapacity = 10_000;
+
+            /**
+             * Also records ids in Redis, so redeliveries to another instance are detected.
+             * Costs a Redis round trip before and after each message (each batch in batch
+             * mode), so it is off by default.
+             */
+            private boolean shared = false;
+        }
+
+        @Getter
+        @Setter
+        public static class DelayedRetry {
+            /**
+             * Retries failed events through delay queues instead of retrying them in the
+             * listener thread (single and batch modes; lanes keep retrying in place to
+             * preserve the order of each game).
+             */
+            private boolean enabled = true;
+
+            /**
+             * Exchange the failed messages are republished to, routed to their delay queue.
+             */
+            @NotBlank
+            private String exchange;
+
+            /**
+             * Delay of each retry tier. A message that fails after the last tier goes to the
+             * dead letter queue.
+             */
+            @NotEmpty
+            private List<@NotNull Duration> delays = List.of(Duration.ofSeconds(1), Duration.ofSeconds(10),
+                    Duration.ofMinutes(1));
+        }
+
+        @Getter
+        @Setter
+        public static class LoadShedding {
+            /**
+             * Switches the single and batch listeners to an overload mode while the consumer
+             * is behind: score and clock updates are conflated per game and only the newest
+             * state of each game is applied.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Interval between checks of the backlog and the lag, in milliseconds.
+             */
+            @Min(100)
+            private long interval = 1000;
+
+            /**
+             * Interval between applications of the conflated states, in milliseconds.
+             */
+            @Min(10)
+            private long drainInterval = 250;
+
+            /**
+             * Games waiting to be applied above which the listener applies them inline,
+             * slowing down the consumption.
+             */
+            @Min(1)
+            private int maxPending = 5000;
+
+            /**
+             * Ready messages in the main queue from which the overload mode starts.
+             */
+            @Min(1)
+            private long enterBacklog = 5000;
+
+            /**
+             * Ready messages in the main queue up to which the overload mode may end.
+             */
+            @Min(0)
+            private long exitBacklog = 500;
+
+            /**
+             * Publish to consume lag from which the overload mode starts.
+             */
+            @NotNull
+            private Duration enterLag = Duration.ofSeconds(30);
+
+            /**
+             * Publish to consume lag up to which the overload mode may end.
+             */
+            @NotNull
+            private Duration exitLag = Duration.ofSeconds(5);
+        }
+
+        @Getter
+        @Setter
+        public static class FlowControl {
+            /**
+             * Adjusts the consumers and the prefetch of the listener container at runtime,
+             * instead of keeping the static values of {@code spring.rabbitmq.listener.simple}.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Interval between adjustments, in milliseconds.
+             */
+            @Min(100)
+            private long interval = 5000;
+
+            @Min(1)
+            private int minConsumers = 1;
+
+            /**
+             * Upper bound of the consumers; the lanes mode always keeps a single consumer with
+             * its configured prefetch.
+             */
+            @Min(1)
+            private int maxConsumers = 8;
+
+            /**
+             * Lower bound of the prefetch; the batch mode never goes below the batch size.
+             */
+            @Min(1)
+            private int minPrefetch = 10;
+
+            @Min(1)
+            private int maxPrefetch = 250;
+
+            /**
+             * Prefetch added by each increase.
+             */
+            @Min(1)
+            private int prefetchStep = 10;
+
+            /**
+             * Ratio between the target prefetch and the one the running consumers opened
+             * with from which the container is restarted; smaller changes only reach the
+             * consumers started by the scaling.
+             */
+            @DecimalMin(value = "1.1")
+            private double restartPrefetchFactor = 2.0;
+
+            /**
+             * Minimum time between two restarts of the container for a prefetch change.
+             */
+            @NotNull
+            private Duration minRestartInterval = Duration.ofMinutes(5);
+
+            /**
+             * Mean listener processing time above which consumers and prefetch are reduced.
+             */
+            @NotNull
+            private Duration targetLatency = Duration.ofMillis(100);
+
+            /**
+             * Fill ratio of the SSE dispatch executor queue above which consumers and
+             * prefetch are reduced.
+             */
+            @DecimalMin(value = "0.1")
+            @DecimalMax(value = "1.0")
+            private double maxExecutorSaturation = 0.8;
+
+            /**
+             * Ready messages in the queue above which consumers and prefetch are raised.
+             */
+            @Min(0)
+            private long backlogThreshold = 100;
+
+            /**
+             * Factor applied to consumers and prefetch by each decrease.
+             */
+            @DecimalMin(value = "0.1")
+            @DecimalMax(value = "0.9")
+            private double decreaseFactor = 0.5;
         }
     }
 
@@ -66,6 +395,14 @@ public class AppProperties {
         @Valid
         private final Integer heartbeat = 10000;
 
+        /**
+         * Time without broadcasts after which the last version sent of a game is forgotten, in
+         * milliseconds. Also the delay between sweeps. It must exceed the time an event can
+         * wait in a dispatch lane, or a stale state could be sent after the sweep.
+         */
+        @Min(1)
+        private long orderRetention = 600_000;
+
         @Getter
         @Setter
         public static class Endpoints {
@@ -82,4 +419,301 @@ public class AppProperties {
             private String encerrado;
         }
     }
+
+    @Getter
+    @Setter
+    public static class Redis {
+        /**
+         * Format used to write game values. Reads accept both formats.
+         */
+        @NotNull
+        private GameEventRedisSerializer.Format valueFormat = GameEventRedisSerializer.Format.JSON;
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        @Valid
+        private final Retention retention = new Retention();
+
+        @Valid
+        private final WriteBehind writeBehind = new WriteBehind();
+
+        @Valid
+        private final NegativeLookup negativeLookup = new NegativeLookup();
+
+        @Valid
+        private final StaleFallback staleFallback = new StaleFallback();
+
+        @Valid
+        private final Rebuild rebuild = new Rebuild();
+
+        @Valid
+        private final LiveSnapshot liveSnapshot = new LiveSnapshot();
+
+        @Valid
+        private final Timeline timeline = new Timeline();
+
+        @Valid
+        private final Memory memory = new Memory();
+
+        @Getter
+        @Setter
+        public static class Retention {
+            /**
+             * TTL applied when a game reaches FINALIZADO. Zero keeps finished games forever.
+             */
+            @NotNull
+            private Duration finishedTtl = Duration.ofHours(12);
+
+            /**
+             * TTL of the tombstone kept for EXCLUIDO games. Zero deletes the game immediately.
+             */
+            @NotNull
+            private Duration tombstoneTtl = Duration.ofMinutes(10);
+
+            /**
+             * Delay between index sweeps, in milliseconds.
+             */
+            private long sweepInterval = 60000;
+        }
+
+        @Getter
+        @Setter
+        public static class WriteBehind {
+            /**
+             * Buffers the cache writes in memory, keeping the latest state per game, and
+             * writes them as one pipelined batch on an interval or size threshold. Messages
+             * are acknowledged after the flush of their states, so it requires
+             * {@code app.rabbit.mode: lanes}.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Delay between flushes, in milliseconds.
+             */
+            @Min(1)
+            private long flushInterval = 100;
+
+            /**
+             * Pending games, or held acknowledgements, that trigger a flush right away. Keep it
+             * at or below the listener prefetch, which bounds the unacknowledged messages.
+             */
+            @Min(1)
+            private int maxPending = 50;
+        }
+
+        @Getter
+        @Setter
+        public static class NegativeLookup {
+            /**
+             * Answers lookups of unknown game ids from memory (Bloom filter of the ids listed
+             * by the publisher plus a short-lived cache of misses), also before a read-through.
+             * Requires a single consumer instance, since the filter is kept up to date by the
+             * events this instance processes.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Minimum number of ids the Bloom filter is sized for.
+             */
+            @Min(1)
+            private int expectedIds = 100_000;
+
+            /**
+             * Target false positive rate of the Bloom filter.
+             */
+            @DecimalMin(value = "0.0001")
+            @DecimalMax(value = "0.5")
+            private double falsePositiveRate = 0.01;
+
+            /**
+             * How long a confirmed miss is remembered.
+             */
+            @NotNull
+            private Duration missTtl = Duration.ofSeconds(30);
+
+            /**
+             * Maximum number of remembered misses.
+             */
+            @Min(1)
+            private int maxMisses = 10_000;
+
+            /**
+             * Number of games requested from the publisher per page when rebuilding the
+             * Bloom filter.
+             */
+            @Min(1)
+            @Max(500)
+            private int pageSize = 500;
+
+            /**
+             * Delay between rebuilds of the Bloom filter from the publisher's game listing,
+             * in milliseconds.
+             */
+            private long rebuildInterval = 300_000;
+        }
+
+        @Getter
+        @Setter
+        public static class StaleFallback {
+            /**
+             * Serves stale reads from the last known state and queues writes for replay
+             * while the Redis circuit breaker is open.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Maximum number of games kept in memory, for both the last known state and
+             * the replay queue.
+             */
+            @Min(1)
+            private int maxGames = 10_000;
+
+            /**
+             * How long a last known state is kept after the game's latest event.
+             */
+            @NotNull
+            private Duration stateTtl = Duration.ofHours(12);
+
+            /**
+             * Delay between replay attempts, in milliseconds.
+             */
+            private long replayInterval = 5000;
+        }
+
+        @Getter
+        @Setter
+        public static class Rebuild {
+            /**
+             * Starts a cache rebuild from the publisher when the application is ready.
+             */
+            private boolean onStartup = false;
+
+            /**
+             * Number of games requested from the publisher per page.
+             */
+            @Min(1)
+            @Max(500)
+            private int pageSize = 200;
+
+            /**
+             * Maximum load rate, in games per second.
+             */
+            @Min(1)
+            private int maxGamesPerSecond = 1000;
+        }
+
+        @Getter
+        @Setter
+        public static class LiveSnapshot {
+            /**
+             * Delay between resynchronizations of the live games snapshot from Redis, in
+             * milliseconds.
+             */
+            private long resyncInterval = 60_000;
+        }
+
+        @Getter
+        @Setter
+        public static class Timeline {
+            /**
+             * Appends every accepted event to a per-game timeline in Redis.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Approximate number of entries kept per game; older entries are trimmed.
+             */
+            @Min(1)
+            private int maxLength = 500;
+
+            /**
+             * Maximum number of entries returned by one range read.
+             */
+            @Min(1)
+            private int maxPageSize = 1000;
+        }
+
+        @Getter
+        @Setter
+        public static class Memory {
+            /**
+             * File where the in-memory backend ({@code memory} profile) periodically writes
+             * its snapshot and reloads it on startup. Blank disables snapshots.
+             */
+            private String snapshotPath = "";
+
+            /**
+             * Delay between snapshots, in milliseconds. A snapshot is only written when the
+             * cache changed since the previous one.
+             */
+            private long snapshotInterval = 60_000;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Latency {
+        /**
+         * How far the publisher clock is known to run ahead of this instance; subtracted from
+         * the publish timestamp of the messages.
+         */
+        @NotNull
+        private Duration publisherClockOffset = Duration.ZERO;
+
+        /**
+         * Negative publish to consume latencies down to this value are attributed to clock
+         * skew and recorded as zero; lower ones are discarded.
+         */
+        @NotNull
+        private Duration clockSkewTolerance = Duration.ofMillis(500);
+
+        /**
+         * Publish to consume latencies above this value (messages replayed from the dead
+         * letter queue) are discarded.
+         */
+        @NotNull
+        private Duration maxPublishLatency = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Publisher {
+        /**
+         * Base URL of the wicket-publisher REST application.
+         */
+        @NotBlank
+        private String baseUrl = "http://localhost:8080/wicket-publisher/rest";
+
+        @NotNull
+        private Duration connectTimeout = Duration.ofSeconds(1);
+
+        @NotNull
+        private Duration readTimeout = Duration.ofSeconds(2);
+
+        @Valid
+        private final ReadThrough readThrough = new ReadThrough();
+
+        @Getter
+        @Setter
+        public static class ReadThrough {
+            /**
+             * Loads games missing from the cache from the publisher API.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Maximum number of loads running against the publisher at the same time.
+             */
+            @Min(1)
+            private int maxConcurrentLoads = 4;
+
+            /**
+             * How long a miss waits for a free load slot before giving up.
+             */
+            @NotNull
+            private Duration acquireTimeout = Duration.ofMillis(200);
+        }
+    }
 }
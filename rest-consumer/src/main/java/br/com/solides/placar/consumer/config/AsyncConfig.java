@@ -9,6 +9,8 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import br.com.solides.placar.consumer.metrics.GameEventLatencyMetrics;
+
 @Configuration
 @EnableAsync
 @EnableScheduling
@@ -18,6 +20,8 @@ public class AsyncConfig {
     Executor sseTaskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setThreadNamePrefix("sse-dispatch-");
+        // Carries the reception of the event being broadcast, for the consume to SSE latency
+        executor.setTaskDecorator(GameEventLatencyMetrics::propagate);
         executor.setCorePoolSize(2);
         executor.setMaxPoolSize(8);
         executor.setQueueCapacity(1000);
@@ -27,4 +31,46 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * SSE dispatch lane of the lifecycle transitions, so they are not queued behind a burst of
+     * score and clock updates in {@code sseTaskExecutor}. The two lanes are ordered per game by
+     * version when sending, see {@link br.com.solides.placar.consumer.sse.SseBrodcast}.
+     */
+    @Bean(name = "ssePriorityTaskExecutor")
+    Executor ssePriorityTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("sse-priority-");
+        executor.setTaskDecorator(GameEventLatencyMetrics::propagate);
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(200);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(15);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "cacheRebuildExecutor")
+    Executor cacheRebuildExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("cache-rebuild-");
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "dlqReplayExecutor")
+    Executor dlqReplayExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("dlq-replay-");
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.initialize();
+        return executor;
+    }
 }
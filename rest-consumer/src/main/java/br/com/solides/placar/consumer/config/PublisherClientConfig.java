@@ -0,0 +1,24 @@
+package br.com.solides.placar.consumer.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+public class PublisherClientConfig {
+
+    @Bean
+    RestClient publisherRestClient(RestClient.Builder builder, AppProperties properties) {
+        AppProperties.Publisher publisher = properties.getPublisher();
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(publisher.getConnectTimeout());
+        requestFactory.setReadTimeout(publisher.getReadTimeout());
+
+        return builder
+                .baseUrl(publisher.getBaseUrl())
+                .requestFactory(requestFactory)
+                .build();
+    }
+}
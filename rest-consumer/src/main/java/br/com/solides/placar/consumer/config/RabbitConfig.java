@@ -1,10 +1,16 @@
 package br.com.solides.placar.consumer.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
@@ -13,15 +19,21 @@ import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainer
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import br.com.solides.placar.shared.event.PlacarAtualizadoEventMessageConverter;
+
 @Configuration
 public class RabbitConfig {
 
+    public static final String BATCH_LISTENER_CONTAINER_FACTORY = "batchRabbitListenerContainerFactory";
+    public static final String LANES_LISTENER_CONTAINER_FACTORY = "lanesRabbitListenerContainerFactory";
+    public static final String PRIORITY_LISTENER_CONTAINER_FACTORY = "priorityRabbitListenerContainerFactory";
+    public static final String PRIORITY_LANES_LISTENER_CONTAINER_FACTORY = "priorityLanesRabbitListenerContainerFactory";
+
     @Bean
     TopicExchange gamesExchange(AppProperties properties) {
         return new TopicExchange(properties.getRabbit().getExchange());
@@ -39,6 +51,17 @@ public class RabbitConfig {
                 .build();
     }
 
+    /**
+     * Queue of the lifecycle transitions ({@code app.rabbit.priority}), dead-lettered like the
+     * main queue.
+     */
+    @Bean("partidasPriorityQueue")
+    Queue partidasPriorityQueue(AppProperties properties) {
+        return QueueBuilder.durable(properties.getRabbit().getPriority().getQueue())
+                .withArguments(deadLetterArgs(properties))
+                .build();
+    }
+
     @Bean("dlqQueue")
     Queue dlqQueue(AppProperties properties) {
         return QueueBuilder.durable(properties.getRabbit().getDlq().getQueue()).build();
@@ -54,6 +77,16 @@ public class RabbitConfig {
                 .with(properties.getRabbit().getRouting());
     }
 
+    @Bean
+    Binding partidasPriorityBinding(
+            TopicExchange gamesExchange,
+            @Qualifier("partidasPriorityQueue") Queue partidasPriorityQueue,
+            AppProperties properties) {
+        return BindingBuilder.bind(partidasPriorityQueue)
+                .to(gamesExchange)
+                .with(properties.getRabbit().getPriority().getRouting());
+    }
+
     @Bean
     Binding dlqBinding(
             DirectExchange dlqExchange, 
@@ -64,9 +97,57 @@ public class RabbitConfig {
                 .with(properties.getRabbit().getDlq().getRouting());
     }
 
+    /**
+     * Delay queues of the retry tiers ({@code app.rabbit.delayed-retry}), one set for the main
+     * queue and one for the priority queue. Each tier queue holds a failed message for its TTL
+     * and then dead-letters it back to the queue it was consumed from through the default
+     * exchange, so a lifecycle transition is retried on the priority queue. The queue name
+     * carries the delay, so changing a delay declares a new queue instead of clashing with the
+     * arguments of the existing one.
+     */
+    @Bean
+    Declarables retryTiers(AppProperties properties) {
+        AppProperties.Rabbit.DelayedRetry retry = properties.getRabbit().getDelayedRetry();
+        if (!retry.isEnabled()) {
+            return new Declarables();
+        }
+        DirectExchange exchange = new DirectExchange(retry.getExchange());
+        List<Declarable> declarables = new ArrayList<>();
+        declarables.add(exchange);
+        List<String> targets = List.of(properties.getRabbit().getQueue(), properties.getRabbit().getPriority().getQueue());
+        for (String target : targets) {
+            for (Duration delay : retry.getDelays()) {
+                String name = retryQueue(target, delay);
+                Queue queue = QueueBuilder.durable(name)
+                        .ttl(Math.toIntExact(delay.toMillis()))
+                        .deadLetterExchange("")
+                        .deadLetterRoutingKey(target)
+                        .build();
+                declarables.add(queue);
+                declarables.add(BindingBuilder.bind(queue).to(exchange).with(name));
+            }
+        }
+        return new Declarables(declarables);
+    }
+
+    /**
+     * Name, and routing key, of the delay queue of a retry tier.
+     *
+     * @param queue the queue the tier dead-letters back to
+     * @param delay the delay of the tier
+     * @return the tier queue name
+     */
+    public static String retryQueue(String queue, Duration delay) {
+        return queue + ".retry." + delay.toMillis() + "ms";
+    }
+
+    /**
+     * Converter shared with the publisher: reads and writes the event JSON with a streaming
+     * parser instead of resolving type headers and going through Jackson databind.
+     */
     @Bean
     MessageConverter messageConverter() {
-        return new Jackson2JsonMessageConverter();
+        return new PlacarAtualizadoEventMessageConverter();
     }
 
     @Bean
@@ -76,8 +157,106 @@ public class RabbitConfig {
         return template;
     }
 
+    /**
+     * Default container factory. With delayed retries the listener republishes failed
+     * messages itself, so the in-thread retry advice of
+     * {@code spring.rabbitmq.listener.simple.retry} is dropped.
+     */
     @Bean
     SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter,
+            AppProperties properties) {
+        SimpleRabbitListenerContainerFactory factory = listenerContainerFactory(configurer, connectionFactory,
+                messageConverter);
+        if (properties.getRabbit().getDelayedRetry().isEnabled()) {
+            factory.setAdviceChain();
+        }
+        return factory;
+    }
+
+    /**
+     * Container factory of the batch listener ({@code app.rabbit.mode: batch}). The container
+     * acknowledges each batch as a whole; retries and the dead letter exchange also apply to
+     * the whole batch, so the listener dead-letters unreadable messages itself. With delayed
+     * retries the listener republishes the failed messages one by one instead.
+     */
+    @Bean(BATCH_LISTENER_CONTAINER_FACTORY)
+    SimpleRabbitListenerContainerFactory batchRabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter,
+            AppProperties properties) {
+        AppProperties.Rabbit.Batch batch = properties.getRabbit().getBatch();
+        SimpleRabbitListenerContainerFactory factory = listenerContainerFactory(configurer, connectionFactory,
+                messageConverter);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batch.getSize());
+        factory.setReceiveTimeout(batch.getReceiveTimeout());
+        if (properties.getRabbit().getDelayedRetry().isEnabled()) {
+            factory.setAdviceChain();
+        }
+        return factory;
+    }
+
+    /**
+     * Container factory of the lane listener ({@code app.rabbit.mode: lanes}). A single
+     * consumer receives the messages in queue order and the listener acknowledges each one
+     * after its lane processed it, so the prefetch bounds the events in flight. Retries run
+     * inside the lanes, so the retry advice is dropped here.
+     */
+    @Bean(LANES_LISTENER_CONTAINER_FACTORY)
+    SimpleRabbitListenerContainerFactory lanesRabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter) {
+        return laneListenerContainerFactory(configurer, connectionFactory, messageConverter);
+    }
+
+    /**
+     * Container factory of the priority queue in the lanes mode. Like the lane factory, a
+     * single consumer hands the lifecycle transitions to the lane of their game and
+     * acknowledges them manually, so they never run concurrently with the other events of the
+     * game; the prefetch is the one of {@code app.rabbit.priority}.
+     */
+    @Bean(PRIORITY_LANES_LISTENER_CONTAINER_FACTORY)
+    SimpleRabbitListenerContainerFactory priorityLanesRabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter,
+            AppProperties properties) {
+        SimpleRabbitListenerContainerFactory factory = laneListenerContainerFactory(configurer, connectionFactory,
+                messageConverter);
+        factory.setPrefetchCount(properties.getRabbit().getPriority().getPrefetch());
+        return factory;
+    }
+
+    /**
+     * Container factory of the priority listener, with its own consumers and prefetch, so the
+     * flow control and the static settings of the main queue do not apply to it. Failed
+     * events are retried like in the single mode, on the retry tiers of the priority queue.
+     */
+    @Bean(PRIORITY_LISTENER_CONTAINER_FACTORY)
+    SimpleRabbitListenerContainerFactory priorityRabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter,
+            AppProperties properties) {
+        AppProperties.Rabbit.Priority priority = properties.getRabbit().getPriority();
+        SimpleRabbitListenerContainerFactory factory = listenerContainerFactory(configurer, connectionFactory,
+                messageConverter);
+        factory.setConcurrentConsumers(priority.getConcurrency());
+        factory.setMaxConcurrentConsumers(priority.getConcurrency());
+        factory.setPrefetchCount(priority.getPrefetch());
+        if (properties.getRabbit().getDelayedRetry().isEnabled()) {
+            factory.setAdviceChain();
+        }
+        return factory;
+    }
+
+    private SimpleRabbitListenerContainerFactory listenerContainerFactory(
             SimpleRabbitListenerContainerFactoryConfigurer configurer,
             ConnectionFactory connectionFactory,
             MessageConverter messageConverter) {
@@ -88,6 +267,19 @@ public class RabbitConfig {
         return factory;
     }
 
+    private SimpleRabbitListenerContainerFactory laneListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter) {
+        SimpleRabbitListenerContainerFactory factory = listenerContainerFactory(configurer, connectionFactory,
+                messageConverter);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setConcurrentConsumers(1);
+        factory.setMaxConcurrentConsumers(1);
+        factory.setAdviceChain();
+        return factory;
+    }
+
     private Map<String, Object> deadLetterArgs(AppProperties properties) {
         Map<String, Object> args = new HashMap<>();
         args.put("x-dead-letter-exchange", properties.getRabbit().getDlq().getExchange());
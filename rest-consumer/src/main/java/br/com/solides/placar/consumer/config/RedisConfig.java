@@ -1,5 +1,7 @@
 package br.com.solides.placar.consumer.config;
 
+import br.com.solides.placar.consumer.metrics.GameCacheMetrics;
+import br.com.solides.placar.consumer.redis.GameEventRedisSerializer;
 import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -16,15 +18,17 @@ public class RedisConfig {
 
     @Bean
     RedisTemplate<String, PlacarAtualizadoEvent> gameRedisTemplate(
-            RedisConnectionFactory connectionFactory) {
+            RedisConnectionFactory connectionFactory, AppProperties properties, GameCacheMetrics cacheMetrics) {
 
         RedisTemplate<String, PlacarAtualizadoEvent> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
         ObjectMapper redisObjectMapper = objectMapperForRedis();
 
-        Jackson2JsonRedisSerializer<PlacarAtualizadoEvent> gameSerializer = new Jackson2JsonRedisSerializer<>(redisObjectMapper,
+        Jackson2JsonRedisSerializer<PlacarAtualizadoEvent> jsonSerializer = new Jackson2JsonRedisSerializer<>(redisObjectMapper,
                 PlacarAtualizadoEvent.class);
+        GameEventRedisSerializer gameSerializer = new GameEventRedisSerializer(jsonSerializer,
+                properties.getRedis().getValueFormat(), cacheMetrics);
         StringRedisSerializer keySerializer = new StringRedisSerializer();
 
         template.setKeySerializer(keySerializer);
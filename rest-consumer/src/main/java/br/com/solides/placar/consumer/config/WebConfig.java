@@ -28,6 +28,7 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addMapping("/consumer/api/games/**")
             .allowedOrigins(origins)
             .allowedMethods("GET", "POST")
+            .exposedHeaders("ETag", "X-Cache-Stale")
             .allowCredentials(false);
     }
 }
\ No newline at end of file
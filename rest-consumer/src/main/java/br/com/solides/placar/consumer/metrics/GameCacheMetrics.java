@@ -0,0 +1,165 @@
+package br.com.solides.placar.consumer.metrics;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Latency, merge and value size instrumentation of the game cache.
+ * <ul>
+ * <li>{@code placar.cache.operation}: time of each cache operation ({@code save}, {@code find},
+ * {@code delete}, {@code merge}), split by {@code phase}: {@code serde} is the time spent
+ * encoding and decoding values on the calling thread, {@code network} is the rest of the call
+ * (round trips, command encoding and waiting for Redis).</li>
+ * <li>{@code placar.cache.merge}: outcome of merging an incoming event with the cached game.</li>
+ * <li>{@code placar.cache.value.size}: size in bytes of the values written to and read from
+ * Redis, tagged with the {@code direction}.</li>
+ * </ul>
+ * Timers and the size summary publish percentile histograms, so quantiles can be aggregated
+ * across instances in Prometheus.
+ */
+@Component
+public class GameCacheMetrics {
+
+    public static final String OP_SAVE = "save";
+    public static final String OP_FIND = "find";
+    public static final String OP_DELETE = "delete";
+    public static final String OP_MERGE = "merge";
+
+    public static final String MERGE_MISS = "miss";
+    public static final String MERGE_APPLIED = "applied";
+    public static final String MERGE_IGNORED_OLDER = "ignored_older";
+    public static final String MERGE_IGNORED_FINISHED = "ignored_finished";
+    public static final String MERGE_IGNORED_DELETED = "ignored_deleted";
+    public static final String MERGE_FAILED = "failed";
+
+    private static final String PHASE_NETWORK = "network";
+    private static final String PHASE_SERDE = "serde";
+
+    /**
+     * Serde nanoseconds accumulated by the current thread. Operations read it before and after
+     * the call, so nested operations (a merge that finds the cached game) are attributed correctly.
+     */
+    private static final ThreadLocal<long[]> SERDE_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final Map<String, Timer> networkTimers;
+    private final Map<String, Timer> serdeTimers;
+    private final Map<String, Counter> mergeOutcomes;
+    private final DistributionSummary writtenSizes;
+    private final DistributionSummary readSizes;
+
+    public GameCacheMetrics(MeterRegistry registry) {
+        this.networkTimers = Map.of(
+                OP_SAVE, operationTimer(registry, OP_SAVE, PHASE_NETWORK),
+                OP_FIND, operationTimer(registry, OP_FIND, PHASE_NETWORK),
+                OP_DELETE, operationTimer(registry, OP_DELETE, PHASE_NETWORK),
+                OP_MERGE, operationTimer(registry, OP_MERGE, PHASE_NETWORK));
+        this.serdeTimers = Map.of(
+                OP_SAVE, operationTimer(registry, OP_SAVE, PHASE_SERDE),
+                OP_FIND, operationTimer(registry, OP_FIND, PHASE_SERDE),
+                OP_DELETE, operationTimer(registry, OP_DELETE, PHASE_SERDE),
+                OP_MERGE, operationTimer(registry, OP_MERGE, PHASE_SERDE));
+        this.mergeOutcomes = Map.of(
+                MERGE_MISS, mergeCounter(registry, MERGE_MISS),
+                MERGE_APPLIED, mergeCounter(registry, MERGE_APPLIED),
+                MERGE_IGNORED_OLDER, mergeCounter(registry, MERGE_IGNORED_OLDER),
+                MERGE_IGNORED_FINISHED, mergeCounter(registry, MERGE_IGNORED_FINISHED),
+                MERGE_IGNORED_DELETED, mergeCounter(registry, MERGE_IGNORED_DELETED),
+                MERGE_FAILED, mergeCounter(registry, MERGE_FAILED));
+        this.writtenSizes = sizeSummary(registry, "write");
+        this.readSizes = sizeSummary(registry, "read");
+    }
+
+    /**
+     * Runs a cache operation and records its network and serde time, also when it fails.
+     *
+     * @param operation one of the {@code OP_*} constants
+     * @param call      the operation
+     * @return the result of the call
+     */
+    public <T> T time(String operation, Supplier<T> call) {
+        long[] serde = SERDE_NANOS.get();
+        long serdeBefore = serde[0];
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            long total = System.nanoTime() - start;
+            long serdeTime = serde[0] - serdeBefore;
+            networkTimers.get(operation).record(Math.max(0, total - serdeTime), TimeUnit.NANOSECONDS);
+            serdeTimers.get(operation).record(serdeTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void run(String operation, Runnable call) {
+        time(operation, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * Records a value encoded for Redis.
+     *
+     * @param bytes encoded size
+     * @param nanos time spent encoding
+     */
+    public void serialized(int bytes, long nanos) {
+        SERDE_NANOS.get()[0] += nanos;
+        writtenSizes.record(bytes);
+    }
+
+    /**
+     * Records a value decoded from Redis.
+     *
+     * @param bytes encoded size
+     * @param nanos time spent decoding
+     */
+    public void deserialized(int bytes, long nanos) {
+        SERDE_NANOS.get()[0] += nanos;
+        readSizes.record(bytes);
+    }
+
+    /**
+     * Counts the outcome of a merge.
+     *
+     * @param outcome one of the {@code MERGE_*} constants
+     */
+    public void mergeOutcome(String outcome) {
+        mergeOutcomes.get(outcome).increment();
+    }
+
+    private static Timer operationTimer(MeterRegistry registry, String operation, String phase) {
+        return Timer.builder("placar.cache.operation")
+                .description("Time spent in game cache operations")
+                .tag("operation", operation)
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Counter mergeCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("placar.cache.merge")
+                .description("Outcomes of merging incoming game events with the cached game")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static DistributionSummary sizeSummary(MeterRegistry registry, String direction) {
+        return DistributionSummary.builder("placar.cache.value.size")
+                .description("Size of game values stored in Redis")
+                .baseUnit("bytes")
+                .tag("direction", direction)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(16.0)
+                .maximumExpectedValue(16_384.0)
+                .register(registry);
+    }
+}
@@ -0,0 +1,250 @@
+package br.com.solides.placar.consumer.metrics;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.service.GameEventRouter;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * End-to-end latency of game events, as {@code placar.events.latency} timers tagged with the
+ * {@code stage}, the SSE {@code channel} of the event and its {@code path}: {@value #PATH_PRIORITY}
+ * for messages received from the priority queue ({@code app.rabbit.priority}), otherwise
+ * {@value #PATH_STANDARD}. The stages are:
+ * <ul>
+ * <li>{@code publish_to_consume}: from the {@value #PUBLISHED_AT_HEADER} header stamped by the
+ * publisher to the listener receiving the message. The clocks of two hosts are compared, so
+ * the publisher offset can be corrected ({@code app.latency.publisher-clock-offset}); samples
+ * slightly negative are recorded as zero, and samples beyond the tolerance or above
+ * {@code max-publish-latency} (replays) are counted in {@code placar.events.latency.discarded}
+ * instead.</li>
+ * <li>{@code consume_to_cache}: from the reception to the event being written to the cache.</li>
+ * <li>{@code consume_to_sse}: from the reception to the event being written to the SSE
+ * emitters of its channel.</li>
+ * </ul>
+ * The reception is carried by a {@link Receipt} bound to the processing thread, so the
+ * processor and the SSE broadcast do not take it as a parameter; {@link #propagate} carries it
+ * to the lanes and the SSE dispatch executor. The timers publish percentile histograms, so
+ * quantiles can be aggregated across instances in Prometheus.
+ */
+@Component
+public class GameEventLatencyMetrics {
+
+    public static final String STAGE_PUBLISH_TO_CONSUME = "publish_to_consume";
+    public static final String STAGE_CONSUME_TO_CACHE = "consume_to_cache";
+    public static final String STAGE_CONSUME_TO_SSE = "consume_to_sse";
+
+    public static final String PATH_PRIORITY = "priority";
+    public static final String PATH_STANDARD = "standard";
+
+    public static final String DISCARDED_CLOCK_SKEW = "clock_skew";
+    public static final String DISCARDED_TOO_OLD = "too_old";
+
+    /**
+     * Publish time, in epoch milliseconds, stamped by the publisher.
+     */
+    public static final String PUBLISHED_AT_HEADER = "timestamp";
+
+    private static final List<String> CHANNELS = List.of(GameEventRouter.CHANNEL_NOVOS,
+            GameEventRouter.CHANNEL_INICIO, GameEventRouter.CHANNEL_PLACAR, GameEventRouter.CHANNEL_ENCERRADO,
+            GameEventRouter.CHANNEL_EXCLUIDO);
+
+    private static final ThreadLocal<Receipt> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Timer> publishToConsume;
+    private final Map<String, Timer> consumeToCache;
+    private final Map<String, Timer> consumeToSse;
+    private final Counter discardedSkew;
+    private final Counter discardedTooOld;
+    private final long offsetMillis;
+    private final long toleranceMillis;
+    private final long maxPublishMillis;
+    private final String priorityQueue;
+    private final LongSupplier wallClock;
+
+    @Autowired
+    public GameEventLatencyMetrics(MeterRegistry registry, AppProperties properties) {
+        this(registry, properties.getLatency(), properties.getRabbit().getPriority().getQueue(),
+                System::currentTimeMillis);
+    }
+
+    GameEventLatencyMetrics(MeterRegistry registry, AppProperties.Latency settings, String priorityQueue,
+            LongSupplier wallClock) {
+        this.publishToConsume = stageTimers(registry, STAGE_PUBLISH_TO_CONSUME);
+        this.consumeToCache = stageTimers(registry, STAGE_CONSUME_TO_CACHE);
+        this.consumeToSse = stageTimers(registry, STAGE_CONSUME_TO_SSE);
+        this.discardedSkew = discardedCounter(registry, DISCARDED_CLOCK_SKEW);
+        this.discardedTooOld = discardedCounter(registry, DISCARDED_TOO_OLD);
+        this.offsetMillis = settings.getPublisherClockOffset().toMillis();
+        this.toleranceMillis = settings.getClockSkewTolerance().toMillis();
+        this.maxPublishMillis = settings.getMaxPublishLatency().toMillis();
+        this.priorityQueue = priorityQueue;
+        this.wallClock = wallClock;
+    }
+
+    /**
+     * Records the publish to consume latency of a received message.
+     *
+     * @param event   the event read from the message
+     * @param message the message
+     * @return the receipt of the message, to bind with {@link #enter} while it is processed
+     */
+    public Receipt received(PlacarAtualizadoEvent event, Message message) {
+        long receivedNanos = System.nanoTime();
+        MessageProperties properties = message.getMessageProperties();
+        String path = priorityQueue != null && priorityQueue.equals(properties.getConsumerQueue()) ? PATH_PRIORITY
+                : PATH_STANDARD;
+        long publishedAt = publishedAt(properties);
+        if (publishedAt > 0) {
+            long latency = wallClock.getAsLong() - (publishedAt - offsetMillis);
+            if (latency < -toleranceMillis) {
+                discardedSkew.increment();
+            } else if (latency > maxPublishMillis) {
+                discardedTooOld.increment();
+            } else {
+                record(publishToConsume, path, GameEventRouter.channelOf(event), Math.max(0, latency),
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+        return new Receipt(receivedNanos, path);
+    }
+
+    /**
+     * Records the consume to cache latency of an event written to the cache by the current thread.
+     */
+    public void cacheWritten(PlacarAtualizadoEvent event) {
+        Receipt receipt = CURRENT.get();
+        if (receipt != null) {
+            record(consumeToCache, receipt.path(), GameEventRouter.channelOf(event),
+                    System.nanoTime() - receipt.receivedNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Records the consume to SSE latency of an event written to the emitters of a channel by the
+     * current thread.
+     */
+    public void sseWritten(String channel) {
+        Receipt receipt = CURRENT.get();
+        if (receipt != null) {
+            record(consumeToSse, receipt.path(), channel, System.nanoTime() - receipt.receivedNanos(),
+                    TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Binds a receipt to the current thread.
+     *
+     * @param receipt the receipt, or null
+     * @return the previous receipt, to pass to {@link #restore}
+     */
+    public static Receipt enter(Receipt receipt) {
+        Receipt previous = CURRENT.get();
+        CURRENT.set(receipt);
+        return previous;
+    }
+
+    public static void restore(Receipt previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    public static Receipt current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Wraps a task so it runs with the receipt of the submitting thread; usable as a
+     * {@code TaskDecorator}.
+     */
+    public static Runnable propagate(Runnable task) {
+        Receipt receipt = CURRENT.get();
+        if (receipt == null) {
+            return task;
+        }
+        return () -> {
+            Receipt previous = enter(receipt);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Publish time of a message, from the {@value #PUBLISHED_AT_HEADER} header or the AMQP
+     * timestamp.
+     *
+     * @param properties the message properties
+     * @return the publish time in epoch milliseconds, or zero if unknown
+     */
+    public static long publishedAt(MessageProperties properties) {
+        Object header = properties.getHeader(PUBLISHED_AT_HEADER);
+        if (header instanceof Number number) {
+            return number.longValue();
+        }
+        Date timestamp = properties.getTimestamp();
+        return timestamp != null ? timestamp.getTime() : 0;
+    }
+
+    private static void record(Map<String, Timer> timers, String path, String channel, long amount,
+            TimeUnit unit) {
+        Timer timer = timers.get(timerKey(path, channel));
+        if (timer != null) {
+            timer.record(amount, unit);
+        }
+    }
+
+    private static Map<String, Timer> stageTimers(MeterRegistry registry, String stage) {
+        Map<String, Timer> timers = new HashMap<>();
+        for (String path : List.of(PATH_PRIORITY, PATH_STANDARD)) {
+            for (String channel : CHANNELS) {
+                timers.put(timerKey(path, channel), Timer.builder("placar.events.latency")
+                        .description("End-to-end latency of game events, from publish to SSE delivery")
+                        .tag("stage", stage)
+                        .tag("channel", channel)
+                        .tag("path", path)
+                        .publishPercentileHistogram()
+                        .register(registry));
+            }
+        }
+        return Map.copyOf(timers);
+    }
+
+    private static String timerKey(String path, String channel) {
+        return path + '/' + channel;
+    }
+
+    private static Counter discardedCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("placar.events.latency.discarded")
+                .description("Publish to consume latency samples discarded as not meaningful")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    /**
+     * Reception of a message by the listener.
+     *
+     * @param receivedNanos {@link System#nanoTime()} at reception
+     * @param path          {@link #PATH_PRIORITY} or {@link #PATH_STANDARD}
+     */
+    public record Receipt(long receivedNanos, String path) {
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.solides.placar.consumer.metrics;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counters for game events that were not applied as received.
+ * <ul>
+ * <li>{@code placar.events.stale}: events discarded because the cache already holds the same
+ * or a newer version, tagged with the stage that detected it ({@code merge} before writing,
+ * {@code write} by the Redis compare-and-set).</li>
+ * <li>{@code placar.events.version.gaps}: events applied while one or more earlier versions
+ * were never seen.</li>
+ * <li>{@code placar.events.duplicates}: redelivered messages skipped because their id was
+ * already processed, tagged with where the id was found ({@code local} or {@code redis}).</li>
+ * </ul>
+ */
+@Component
+public class GameEventMetrics {
+
+    public static final String STAGE_MERGE = "merge";
+    public static final String STAGE_WRITE = "write";
+
+    public static final String DEDUP_LOCAL = "local";
+    public static final String DEDUP_REDIS = "redis";
+
+    private final Counter staleOnMerge;
+    private final Counter staleOnWrite;
+    private final Counter versionGaps;
+    private final Counter duplicatesLocal;
+    private final Counter duplicatesRedis;
+
+    public GameEventMetrics(MeterRegistry registry) {
+        this.staleOnMerge = staleCounter(registry, STAGE_MERGE);
+        this.staleOnWrite = staleCounter(registry, STAGE_WRITE);
+        this.versionGaps = Counter.builder("placar.events.version.gaps")
+                .description("Game events applied with missing earlier versions")
+                .register(registry);
+        this.duplicatesLocal = duplicateCounter(registry, DEDUP_LOCAL);
+        this.duplicatesRedis = duplicateCounter(registry, DEDUP_REDIS);
+    }
+
+    public void staleDiscarded(String stage, int count) {
+        (STAGE_MERGE.equals(stage) ? staleOnMerge : staleOnWrite).increment(count);
+    }
+
+    public void versionGap() {
+        versionGaps.increment();
+    }
+
+    public void duplicate(String source) {
+        (DEDUP_LOCAL.equals(source) ? duplicatesLocal : duplicatesRedis).increment();
+    }
+
+    private static Counter duplicateCounter(MeterRegistry registry, String source) {
+        return Counter.builder("placar.events.duplicates")
+                .description("Redelivered messages skipped because they were already processed")
+                .tag("source", source)
+                .register(registry);
+    }
+
+    private static Counter staleCounter(MeterRegistry registry, String stage) {
+        return Counter.builder("placar.events.stale")
+                .description("Game events discarded because a newer version was already cached")
+                .tag("stage", stage)
+                .register(registry);
+    }
+}
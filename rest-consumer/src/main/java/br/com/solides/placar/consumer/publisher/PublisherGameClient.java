@@ -0,0 +1,102 @@
+package br.com.solides.placar.consumer.publisher;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import br.com.solides.placar.shared.dto.JogoDTO;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads games from the wicket-publisher REST API ({@code GET /api/v1/jogos/{id}} and the
+ * keyset-paginated {@code GET /api/v1/jogos/pagina}).
+ */
+@Slf4j
+@Component
+public class PublisherGameClient {
+
+    private static final String BACKEND_PUBLISHER = "publisher";
+
+    private final RestClient publisherRestClient;
+
+    public PublisherGameClient(RestClient publisherRestClient) {
+        this.publisherRestClient = publisherRestClient;
+    }
+
+    /**
+     * Fetches a game and converts it to the event shape stored in the cache.
+     *
+     * @param id the game id
+     * @return the game as an event, or null if the publisher does not know it
+     */
+    @CircuitBreaker(name = BACKEND_PUBLISHER)
+    public PlacarAtualizadoEvent findById(Long id) {
+        ApiEnvelope envelope = publisherRestClient.get()
+                .uri("/api/v1/jogos/{id}", id)
+                .retrieve()
+                .onStatus(status -> status.value() == HttpStatus.NOT_FOUND.value(), (request, response) -> {
+                })
+                .body(ApiEnvelope.class);
+
+        if (envelope == null || envelope.data() == null) {
+            log.debug("Game {} not found in publisher", id);
+            return null;
+        }
+        return toEvent(envelope.data());
+    }
+
+    /**
+     * Fetches the games with an id greater than {@code afterId}, in id order.
+     *
+     * @param afterId last id of the previous page, 0 for the first page
+     * @param limit   maximum number of games
+     * @return the games as events; empty once past the last game
+     */
+    @CircuitBreaker(name = BACKEND_PUBLISHER)
+    public List<PlacarAtualizadoEvent> findPage(long afterId, int limit) {
+        PageEnvelope envelope = publisherRestClient.get()
+                .uri("/api/v1/jogos/pagina?aposId={afterId}&limite={limit}", afterId, limit)
+                .retrieve()
+                .body(PageEnvelope.class);
+
+        if (envelope == null || envelope.data() == null) {
+            return List.of();
+        }
+        return envelope.data().stream().map(PublisherGameClient::toEvent).toList();
+    }
+
+    static PlacarAtualizadoEvent toEvent(JogoDTO jogo) {
+        LocalDateTime inicio = null;
+        if (jogo.getDataPartida() != null && jogo.getHoraPartida() != null) {
+            inicio = LocalDateTime.of(jogo.getDataPartida(), LocalTime.parse(jogo.getHoraPartida()));
+        }
+
+        return PlacarAtualizadoEvent.builder()
+                .id(jogo.getId())
+                .dataHoraInicioPartida(inicio)
+                .timeA(jogo.getTimeA())
+                .timeB(jogo.getTimeB())
+                .placarA(jogo.getPlacarA())
+                .placarB(jogo.getPlacarB())
+                .status(jogo.getStatus())
+                .tempoDeJogo(jogo.getTempoDeJogo())
+                .dataHoraEncerramento(jogo.getDataHoraEncerramento())
+                .versao(jogo.getVersao())
+                .build();
+    }
+
+    /**
+     * The {@code ApiResponse} wrapper returned by the publisher; only the payload is used.
+     */
+    record ApiEnvelope(JogoDTO data) {
+    }
+
+    record PageEnvelope(List<JogoDTO> data) {
+    }
+}
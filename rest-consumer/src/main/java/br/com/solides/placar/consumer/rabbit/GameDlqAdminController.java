@@ -0,0 +1,61 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/consumer/api/admin/dlq")
+@Tag(name = "DLQ admin", description = "Consulta e reprocessamento das mensagens da fila de mensagens mortas")
+public class GameDlqAdminController {
+
+    private final GameDlqReplayer replayer;
+
+    public GameDlqAdminController(GameDlqReplayer replayer) {
+        this.replayer = replayer;
+    }
+
+    @GetMapping("/messages")
+    @Operation(summary = "Consultar DLQ", description = "Lista as mensagens da DLQ sem remove-las, na ordem da fila. "
+            + "Le no maximo replay.max-peek-scan mensagens por consulta.")
+    public List<GameDlqReplayer.DlqMessage> messages(
+            @Parameter(description = "Somente mensagens deste jogo") @RequestParam(name = "gameId", required = false) Long gameId,
+            @Parameter(description = "Somente mensagens cujo erro contem este texto") @RequestParam(name = "error", required = false) String error,
+            @Parameter(description = "Maximo de mensagens retornadas") @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        return replayer.peek(new GameDlqReplayer.Filter(gameId, error), limit);
+    }
+
+    @PostMapping("/replay")
+    @Operation(summary = "Reprocessar DLQ", description = "Reenvia as mensagens da DLQ em segundo plano, no ritmo configurado: "
+            + "transicoes de ciclo de vida para a fila prioritaria, os demais eventos para a fila principal. Eventos com versao igual ou anterior a do cache sao descartados.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Reprocessamento iniciado"),
+            @ApiResponse(responseCode = "409", description = "Reprocessamento ja em andamento")
+    })
+    public ResponseEntity<GameDlqReplayer.Progress> replay(
+            @Parameter(description = "Somente mensagens deste jogo") @RequestParam(name = "gameId", required = false) Long gameId,
+            @Parameter(description = "Somente mensagens cujo erro contem este texto") @RequestParam(name = "error", required = false) String error,
+            @Parameter(description = "Maximo de mensagens reprocessadas") @RequestParam(name = "max", required = false) Integer max) {
+        HttpStatus status = replayer.start(new GameDlqReplayer.Filter(gameId, error), max) ? HttpStatus.ACCEPTED
+                : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(replayer.progress());
+    }
+
+    @GetMapping("/replay")
+    @Operation(summary = "Progresso do reprocessamento", description = "Retorna o progresso do reprocessamento atual ou do ultimo executado.")
+    public GameDlqReplayer.Progress replayProgress() {
+        return replayer.progress();
+    }
+}
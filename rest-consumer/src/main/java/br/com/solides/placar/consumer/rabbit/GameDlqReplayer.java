@@ -0,0 +1,299 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
+import org.springframework.amqp.rabbit.support.MessagePropertiesConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.GetResponse;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.service.GameCacheService;
+import br.com.solides.placar.shared.enums.StatusJogo;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEventRouting;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Inspects and replays the messages of the dead letter queue ({@code app.rabbit.dlq}).
+ * <p>
+ * Peeking fetches the messages without acknowledging them and requeues them all at the end,
+ * so the queue is left as it was; it reads at most {@code replay.max-peek-scan} messages, which
+ * bounds how many stay unacknowledged on its channel. A replay runs in the background: each
+ * matching message is republished through the default exchange, paced to
+ * {@code replay.max-messages-per-second}, and removed from the DLQ. Lifecycle transitions go
+ * to the priority queue and the other events to the main queue, as the publisher routes them.
+ * Versioned events that are not newer than the cached state are removed without being
+ * replayed. Messages that do not match the filter, or cannot be read, stay in the DLQ: they are
+ * republished to its tail and acknowledged right away, since a requeued message would be
+ * fetched again and a long scan must not hold them unacknowledged. A replay scans at most the
+ * messages that were in the DLQ when it started, so the kept messages and a message that fails
+ * again and is dead-lettered back during the replay wait for the next one instead of cycling.
+ * <p>
+ * Progress is exposed as the {@code placar.dlq.replay.*} gauges and by {@link #progress()}.
+ */
+@Slf4j
+@Component
+public class GameDlqReplayer {
+
+    static final String EXCEPTION_MESSAGE_HEADER = "x-exception-message";
+    static final String FIRST_DEATH_REASON_HEADER = "x-first-death-reason";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final GameEventMessageReader reader;
+    private final GameCacheService cacheService;
+    private final AppProperties.Rabbit.Dlq.Replay settings;
+    private final String dlq;
+    private final String mainQueue;
+    private final String priorityQueue;
+    private final Executor executor;
+    private final MessagePropertiesConverter propertiesConverter = new DefaultMessagePropertiesConverter();
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong stale = new AtomicLong();
+    private final AtomicLong kept = new AtomicLong();
+    private volatile String lastError;
+
+    public GameDlqReplayer(RabbitTemplate rabbitTemplate, MessageConverter messageConverter,
+            GameCacheService cacheService, AppProperties properties,
+            @Qualifier("dlqReplayExecutor") Executor executor, MeterRegistry registry) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.reader = new GameEventMessageReader(messageConverter);
+        this.cacheService = cacheService;
+        this.settings = properties.getRabbit().getDlq().getReplay();
+        this.dlq = properties.getRabbit().getDlq().getQueue();
+        this.mainQueue = properties.getRabbit().getQueue();
+        this.priorityQueue = properties.getRabbit().getPriority().getQueue();
+        this.executor = executor;
+
+        Gauge.builder("placar.dlq.replay.running", running, r -> r.get() ? 1 : 0)
+                .description("Whether a DLQ replay is running")
+                .register(registry);
+        Gauge.builder("placar.dlq.replay.replayed", replayed, AtomicLong::get)
+                .description("Messages republished by the current or last DLQ replay")
+                .register(registry);
+        Gauge.builder("placar.dlq.replay.stale", stale, AtomicLong::get)
+                .description("Messages dropped by the current or last DLQ replay because a newer version was cached")
+                .register(registry);
+    }
+
+    /**
+     * Lists the messages of the DLQ matching a filter, leaving them in the queue.
+     *
+     * @param filter the filter
+     * @param limit  maximum number of messages returned, capped at {@code replay.max-peek}
+     * @return the matching messages, in queue order
+     */
+    public List<DlqMessage> peek(Filter filter, int limit) {
+        int max = Math.max(1, Math.min(limit, settings.getMaxPeek()));
+        return rabbitTemplate.execute(channel -> {
+            List<DlqMessage> found = new ArrayList<>();
+            long lastTag = -1;
+            int read = 0;
+            try {
+                GetResponse response;
+                while (found.size() < max && read++ < settings.getMaxPeekScan()
+                        && (response = channel.basicGet(dlq, false)) != null) {
+                    lastTag = response.getEnvelope().getDeliveryTag();
+                    DlqMessage message = describe(response, readOrNull(response));
+                    if (filter.matches(message)) {
+                        found.add(message);
+                    }
+                }
+            } finally {
+                if (lastTag >= 0) {
+                    channel.basicNack(lastTag, true, true);
+                }
+            }
+            return found;
+        });
+    }
+
+    /**
+     * Starts a replay in the background.
+     *
+     * @param filter the messages to replay
+     * @param max    maximum number of messages replayed or dropped as stale, or null for all
+     * @return false if a replay is already running
+     */
+    public boolean start(Filter filter, Integer max) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> run(filter, max != null ? max : Integer.MAX_VALUE));
+        } catch (RuntimeException ex) {
+            running.set(false);
+            throw ex;
+        }
+        return true;
+    }
+
+    public Progress progress() {
+        return new Progress(running.get(), scanned.get(), replayed.get(), stale.get(), kept.get(), lastError);
+    }
+
+    void run(Filter filter, int max) {
+        try {
+            scanned.set(0);
+            replayed.set(0);
+            stale.set(0);
+            kept.set(0);
+            lastError = null;
+            log.info("DLQ replay started: gameId={}, error={}, max={}", filter.gameId(), filter.error(), max);
+
+            rabbitTemplate.execute(channel -> {
+                replay(channel, filter, max);
+                return null;
+            });
+
+            log.info("DLQ replay finished: {} message(s) replayed, {} stale dropped, {} kept", replayed.get(),
+                    stale.get(), kept.get());
+        } catch (Exception ex) {
+            Throwable cause = ex.getCause() instanceof InterruptedException ? ex.getCause() : ex;
+            if (cause instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            lastError = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+            log.warn("DLQ replay stopped after {} message(s): {}", scanned.get(), lastError);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void replay(Channel channel, Filter filter, int max) throws Exception {
+        long nanosPerMessage = TimeUnit.SECONDS.toNanos(1) / settings.getMaxMessagesPerSecond();
+        long next = System.nanoTime();
+        long inFlight = -1;
+        // Messages dead-lettered after this point go behind the ones counted here
+        long depth = channel.messageCount(dlq);
+        try {
+            GetResponse response;
+            while (scanned.get() < depth && replayed.get() + stale.get() < max
+                    && (response = channel.basicGet(dlq, false)) != null) {
+                long tag = response.getEnvelope().getDeliveryTag();
+                inFlight = tag;
+                scanned.incrementAndGet();
+
+                PlacarAtualizadoEvent event = readOrNull(response);
+                if (event == null || !filter.matches(describe(response, event))) {
+                    channel.basicPublish("", dlq, response.getProps(), response.getBody());
+                    channel.basicAck(tag, false);
+                    kept.incrementAndGet();
+                } else if (isStale(event)) {
+                    channel.basicAck(tag, false);
+                    stale.incrementAndGet();
+                } else {
+                    long now = System.nanoTime();
+                    if (next > now) {
+                        TimeUnit.NANOSECONDS.sleep(next - now);
+                    }
+                    // No burst after a long run of kept messages
+                    next = Math.max(next, now) + nanosPerMessage;
+                    String queue = PlacarAtualizadoEventRouting.isPriority(event) ? priorityQueue : mainQueue;
+                    channel.basicPublish("", queue, forReplay(response.getProps()), response.getBody());
+                    channel.basicAck(tag, false);
+                    replayed.incrementAndGet();
+                }
+                inFlight = -1;
+            }
+        } finally {
+            // Only the message being handled when the replay failed is still unacknowledged
+            if (inFlight >= 0) {
+                channel.basicNack(inFlight, false, true);
+            }
+        }
+    }
+
+    private boolean isStale(PlacarAtualizadoEvent event) {
+        if (event.getVersao() == null) {
+            return false;
+        }
+        Long cached = cacheService.findVersion(event.getId());
+        return cached != null && event.getVersao() <= cached;
+    }
+
+    /**
+     * Copies the properties of a dead-lettered message, resetting its retry attempts.
+     */
+    private static AMQP.BasicProperties forReplay(AMQP.BasicProperties props) {
+        Map<String, Object> headers = props.getHeaders() != null ? new HashMap<>(props.getHeaders()) : new HashMap<>();
+        headers.remove(GameEventRetryScheduler.ATTEMPT_HEADER);
+        return props.builder().headers(headers).build();
+    }
+
+    private PlacarAtualizadoEvent readOrNull(GetResponse response) {
+        try {
+            Message message = new Message(response.getBody(),
+                    propertiesConverter.toMessageProperties(response.getProps(), response.getEnvelope(), "UTF-8"));
+            return reader.read(message);
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private static DlqMessage describe(GetResponse response, PlacarAtualizadoEvent event) {
+        AMQP.BasicProperties props = response.getProps();
+        Map<String, Object> headers = props.getHeaders() != null ? props.getHeaders() : Map.of();
+        Object error = headers.get(EXCEPTION_MESSAGE_HEADER);
+        if (error == null) {
+            error = headers.get(FIRST_DEATH_REASON_HEADER);
+        }
+        Object attempts = headers.get(GameEventRetryScheduler.ATTEMPT_HEADER);
+        return new DlqMessage(props.getMessageId(),
+                event != null ? event.getId() : null,
+                event != null ? event.getVersao() : null,
+                event != null ? event.getStatus() : null,
+                error != null ? error.toString() : null,
+                attempts instanceof Number number ? number.intValue() : 0,
+                event != null);
+    }
+
+    /**
+     * Selects DLQ messages by game and by error; null criteria match every message.
+     */
+    public record Filter(Long gameId, String error) {
+
+        boolean matches(DlqMessage message) {
+            if (gameId != null && !gameId.equals(message.gameId())) {
+                return false;
+            }
+            return error == null || error.isBlank() || (message.error() != null
+                    && message.error().toLowerCase(Locale.ROOT).contains(error.toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    /**
+     * A message of the DLQ.
+     *
+     * @param readable false if the payload is not a valid event; such messages are never replayed
+     */
+    public record DlqMessage(String messageId, Long gameId, Long versao, StatusJogo status, String error,
+            int retryAttempts, boolean readable) {
+    }
+
+    /**
+     * Snapshot of the current or last replay.
+     */
+    public record Progress(boolean running, long scanned, long replayed, long stale, long kept, String lastError) {
+    }
+}
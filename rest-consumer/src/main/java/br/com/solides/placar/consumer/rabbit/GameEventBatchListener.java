@@ -0,0 +1,180 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.rabbit.retry.RepublishMessageRecoverer;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.config.RabbitConfig;
+import br.com.solides.placar.consumer.metrics.GameEventLatencyMetrics;
+import br.com.solides.placar.consumer.service.GameEventProcessor;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Batch alternative to {@link GameEventListener} ({@code app.rabbit.mode: batch}).
+ * <p>
+ * Receives up to {@code size} messages at a time and hands them to
+ * {@link GameEventProcessor#processBatch}, which writes the batch to the cache with one round
+ * trip per lifecycle step of its games. The batch is acknowledged as a whole, so a single bad message must not fail
+ * it: messages that cannot be read or validated are republished to the dead letter
+ * exchange on their own, and when the batch fails with a non-retryable error its events are
+ * processed one by one, dead-lettering only those that fail again. Retryable failures
+ * (Redis unavailable) are rethrown, so the batch is retried as a whole, or, with delayed
+ * retries, its messages are scheduled on the retry tiers one by one.
+ * <p>
+ * Messages already processed within the dedup window are dropped from the batch, and the
+ * others are recorded once their event is in the cache, each with one pipelined round trip
+ * for the whole batch. In overload mode
+ * ({@link GameEventLoadShedder}) score updates leave the batch to be conflated with the
+ * later states of their game.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.rabbit.mode", havingValue = "batch")
+public class GameEventBatchListener {
+
+    private final GameEventProcessor processor;
+    private final GameEventMessageReader reader;
+    private final MessageRecoverer deadLetter;
+    private final GameMessageDeduplicator deduplicator;
+    private final GameEventRetryScheduler retries;
+    private final GameEventLatencyMetrics latency;
+    private final GameEventLoadShedder shedder;
+
+    @Autowired
+    public GameEventBatchListener(GameEventProcessor processor, MessageConverter messageConverter,
+            RabbitTemplate rabbitTemplate, AppProperties properties, GameMessageDeduplicator deduplicator,
+            GameEventRetryScheduler retries, GameEventLatencyMetrics latency, GameEventLoadShedder shedder) {
+        this(processor, messageConverter, new RepublishMessageRecoverer(rabbitTemplate,
+                properties.getRabbit().getDlq().getExchange(), properties.getRabbit().getDlq().getRouting()),
+                deduplicator, retries, latency, shedder);
+    }
+
+    GameEventBatchListener(GameEventProcessor processor, MessageConverter messageConverter,
+            MessageRecoverer deadLetter, GameMessageDeduplicator deduplicator, GameEventRetryScheduler retries,
+            GameEventLatencyMetrics latency, GameEventLoadShedder shedder) {
+        this.processor = processor;
+        this.reader = new GameEventMessageReader(messageConverter);
+        this.deadLetter = deadLetter;
+        this.deduplicator = deduplicator;
+        this.retries = retries;
+        this.latency = latency;
+        this.shedder = shedder;
+    }
+
+    @RabbitListener(queues = "${app.rabbit.queue}", containerFactory = RabbitConfig.BATCH_LISTENER_CONTAINER_FACTORY)
+    public void onPartidasBatch(List<Message> messages) {
+        List<Message> accepted = new ArrayList<>(messages.size());
+        List<PlacarAtualizadoEvent> events = new ArrayList<>(messages.size());
+        GameEventLatencyMetrics.Receipt receipt = null;
+        Set<String> duplicates = deduplicator.duplicates(messageIds(messages));
+        for (Message message : messages) {
+            if (duplicates.contains(message.getMessageProperties().getMessageId())) {
+                log.info("Skipping duplicate message {}", message.getMessageProperties().getMessageId());
+                continue;
+            }
+            PlacarAtualizadoEvent event = readOrDeadLetter(message);
+            if (event != null) {
+                GameEventLatencyMetrics.Receipt received = latency.received(event, message);
+                if (shedder.offer(event, message)) {
+                    // Overload mode: applied, and recorded, later with the newest state of its game
+                    continue;
+                }
+                accepted.add(message);
+                events.add(event);
+                // The batch is received as a whole
+                receipt = receipt != null ? receipt : received;
+            }
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+
+        log.info("Received batch of {} 'partidas' message(s), {} valid", messages.size(), events.size());
+        GameEventLatencyMetrics.Receipt previous = GameEventLatencyMetrics.enter(receipt);
+        try {
+            processor.processBatch(events);
+            deduplicator.markAllProcessed(messageIds(accepted));
+        } catch (Exception ex) {
+            if (GameEventListener.isRetryable(ex)) {
+                if (!retries.isEnabled()) {
+                    log.warn("Retryable failure processing batch of {} event(s)", events.size(), ex);
+                    throw ex;
+                }
+                log.warn("Retryable failure processing batch of {} event(s), scheduling retries: {}", events.size(),
+                        ex.getMessage());
+                accepted.forEach(message -> retryOrDeadLetter(message, ex));
+                return;
+            }
+            log.warn("Batch of {} event(s) failed, processing them one by one: {}", events.size(), ex.getMessage());
+            processOneByOne(accepted, events);
+        } finally {
+            GameEventLatencyMetrics.restore(previous);
+        }
+    }
+
+    private void processOneByOne(List<Message> messages, List<PlacarAtualizadoEvent> events) {
+        for (int i = 0; i < events.size(); i++) {
+            PlacarAtualizadoEvent event = events.get(i);
+            try {
+                processor.process(event);
+                deduplicator.markProcessed(messages.get(i).getMessageProperties().getMessageId());
+            } catch (Exception ex) {
+                if (GameEventListener.isRetryable(ex)) {
+                    if (!retries.isEnabled()) {
+                        log.warn("Retryable failure processing event {} of a failed batch", event.getId(), ex);
+                        throw ex;
+                    }
+                    retryOrDeadLetter(messages.get(i), ex);
+                    continue;
+                }
+                log.error("Non-retryable failure processing event {}, dead-lettering it", event.getId(), ex);
+                deadLetter.recover(messages.get(i), ex);
+            }
+        }
+    }
+
+    private static List<String> messageIds(List<Message> messages) {
+        List<String> ids = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            ids.add(message.getMessageProperties().getMessageId());
+        }
+        return ids;
+    }
+
+    private void retryOrDeadLetter(Message message, Exception cause) {
+        if (!retries.schedule(message, cause)) {
+            log.error("Message {} still failing after the last retry tier, dead-lettering it",
+                    message.getMessageProperties().getMessageId(), cause);
+            deadLetter.recover(message, cause);
+        }
+    }
+
+    /**
+     * Converts and validates a message, dead-lettering it when either fails.
+     *
+     * @return the event, or null if the message was dead-lettered
+     */
+    private PlacarAtualizadoEvent readOrDeadLetter(Message message) {
+        try {
+            return reader.read(message);
+        } catch (RuntimeException ex) {
+            log.error("Dead-lettering unreadable message {}: {}", message.getMessageProperties().getMessageId(),
+                    ex.getMessage());
+            deadLetter.recover(message, ex);
+            return null;
+        }
+    }
+}
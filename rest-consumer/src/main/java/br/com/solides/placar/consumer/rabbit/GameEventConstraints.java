@@ -0,0 +1,72 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+/**
+ * Hand-written check of the Bean Validation constraints of {@link PlacarAtualizadoEvent},
+ * run on every received message instead of a {@link jakarta.validation.Validator}, which
+ * walks the constraint metadata and allocates a violation set per call.
+ * <p>
+ * Must be kept in line with the annotations of the event.
+ */
+public final class GameEventConstraints {
+
+    private GameEventConstraints() {
+    }
+
+    /**
+     * Returns the message of the first violated constraint.
+     *
+     * @param event the received event
+     * @return the violation message, or null if the event is valid
+     */
+    public static String firstViolation(PlacarAtualizadoEvent event) {
+        if (event == null) {
+            return "Event is mandatory";
+        }
+        if (event.getId() == null) {
+            return "ID is mandatory";
+        }
+        if (event.getDataHoraInicioPartida() == null) {
+            return "Start date time is mandatory";
+        }
+        if (isBlank(event.getTimeA())) {
+            return "Team A name is mandatory";
+        }
+        if (isBlank(event.getTimeB())) {
+            return "Team B name is mandatory";
+        }
+        if (event.getPlacarA() == null) {
+            return "Score A is mandatory";
+        }
+        if (event.getPlacarA() < 0) {
+            return "Score A cannot be negative";
+        }
+        if (event.getPlacarB() == null) {
+            return "Score B is mandatory";
+        }
+        if (event.getPlacarB() < 0) {
+            return "Score B cannot be negative";
+        }
+        if (event.getStatus() == null) {
+            return "Status is mandatory";
+        }
+        if (event.getTempoDeJogo() == null) {
+            return "Tempo de Jogo is mandatory";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            // Same whitespace as String.trim(), which @NotBlank uses
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
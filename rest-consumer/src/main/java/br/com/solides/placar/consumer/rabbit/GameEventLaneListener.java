@@ -0,0 +1,118 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.rabbitmq.client.Channel;
+
+import br.com.solides.placar.consumer.config.RabbitConfig;
+import br.com.solides.placar.consumer.metrics.GameEventLatencyMetrics;
+import br.com.solides.placar.consumer.service.GameWriteBehindBuffer;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lane alternative to {@link GameEventListener} ({@code app.rabbit.mode: lanes}).
+ * <p>
+ * A single consumer receives the messages in queue order and hands each event to
+ * {@link GameEventLanes}, without waiting for it. The message is acknowledged manually once
+ * its lane is done, so nothing is acknowledged before it is in the cache. With write-behind
+ * ({@code app.cache.write-behind}) the acknowledgement is held until the next flush, and the
+ * message requeued if its state could not be written by shutdown. Messages that cannot be
+ * read or validated, and events that failed for good, are rejected to the dead letter
+ * exchange. Messages already processed within the dedup window are acknowledged
+ * without being dispatched. Messages received while the lanes drain on shutdown are left
+ * unacknowledged: requeueing them on the still open channel would only bring them back to
+ * this consumer, the broker redelivers them once the container closes the channel.
+ * <p>
+ * The priority queue ({@code app.rabbit.priority}) is consumed the same way on its own
+ * container, so a lifecycle transition skips the backlog of the main queue but is still
+ * processed by the lane of its game, after the events of that game already dispatched.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.rabbit.mode", havingValue = "lanes")
+public class GameEventLaneListener {
+
+    private final GameEventLanes lanes;
+    private final GameWriteBehindBuffer writeBehind;
+    private final GameEventMessageReader reader;
+    private final GameMessageDeduplicator deduplicator;
+    private final GameEventLatencyMetrics latency;
+
+    @Autowired
+    public GameEventLaneListener(GameEventLanes lanes, GameWriteBehindBuffer writeBehind,
+            MessageConverter messageConverter, GameMessageDeduplicator deduplicator, GameEventLatencyMetrics latency) {
+        this.lanes = lanes;
+        this.writeBehind = writeBehind;
+        this.reader = new GameEventMessageReader(messageConverter);
+        this.deduplicator = deduplicator;
+        this.latency = latency;
+    }
+
+    @RabbitListener(queues = "${app.rabbit.queue}", containerFactory = RabbitConfig.LANES_LISTENER_CONTAINER_FACTORY)
+    public void onPartidas(Message message, Channel channel) {
+        long deliveryTag = message.getMessageProperties().getDeliveryTag();
+        String messageId = message.getMessageProperties().getMessageId();
+        if (deduplicator.isDuplicate(messageId)) {
+            log.info("Skipping duplicate message {}", messageId);
+            complete(channel, deliveryTag, GameEventLanes.Outcome.ACK);
+            return;
+        }
+        PlacarAtualizadoEvent event;
+        try {
+            event = reader.read(message);
+        } catch (RuntimeException ex) {
+            log.error("Rejecting unreadable message {}: {}", messageId, ex.getMessage());
+            complete(channel, deliveryTag, GameEventLanes.Outcome.REJECT);
+            return;
+        }
+
+        log.debug("Received 'partidas' eventId: {}, dispatching to its lane", event.getId());
+        // The lane picks up the receipt bound at dispatch
+        GameEventLatencyMetrics.Receipt previous = GameEventLatencyMetrics.enter(latency.received(event, message));
+        try {
+            lanes.dispatch(event, outcome -> {
+                if (outcome != GameEventLanes.Outcome.ACK) {
+                    complete(channel, deliveryTag, outcome);
+                    return;
+                }
+                writeBehind.afterFlush(() -> {
+                    deduplicator.markProcessed(messageId);
+                    complete(channel, deliveryTag, GameEventLanes.Outcome.ACK);
+                }, () -> complete(channel, deliveryTag, GameEventLanes.Outcome.REQUEUE));
+            });
+        } catch (RejectedExecutionException ex) {
+            log.warn("Lanes are shut down, leaving event {} unacknowledged for redelivery", event.getId());
+        } finally {
+            GameEventLatencyMetrics.restore(previous);
+        }
+    }
+
+    @RabbitListener(queues = "${app.rabbit.priority.queue}",
+            containerFactory = RabbitConfig.PRIORITY_LANES_LISTENER_CONTAINER_FACTORY)
+    public void onPrioridade(Message message, Channel channel) {
+        onPartidas(message, channel);
+    }
+
+    private void complete(Channel channel, long deliveryTag, GameEventLanes.Outcome outcome) {
+        try {
+            switch (outcome) {
+                case ACK -> channel.basicAck(deliveryTag, false);
+                case REJECT -> channel.basicNack(deliveryTag, false, false);
+                case REQUEUE -> channel.basicNack(deliveryTag, false, true);
+            }
+        } catch (IOException | RuntimeException ex) {
+            // The channel is gone: the broker redelivers every unacknowledged message
+            log.warn("Could not {} delivery {}: {}", outcome, deliveryTag, ex.getMessage());
+        }
+    }
+}
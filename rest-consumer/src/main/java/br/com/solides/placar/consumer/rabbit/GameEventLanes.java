@@ -0,0 +1,218 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import java.time.Duration;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.amqp.rabbit.config.RabbitListenerConfigUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.amqp.RabbitProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.metrics.GameEventLatencyMetrics;
+import br.com.solides.placar.consumer.service.GameEventProcessor;
+import br.com.solides.placar.consumer.service.GameWriteBehindBuffer;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-game ordered lanes of the {@code lanes} consumer mode ({@code app.rabbit.mode}).
+ * <p>
+ * Each event is dispatched to one of {@code count} single-threaded lanes chosen by its game
+ * id, so the events of a game are processed strictly in the order they were received while
+ * different games are processed in parallel. Retryable failures are retried inside the lane
+ * with the backoff of {@code spring.rabbitmq.listener.simple.retry}, which also holds back
+ * the later events of the lane instead of letting them overtake.
+ * <ul>
+ * <li>{@code placar.events.lane.pending}: events waiting in each lane.</li>
+ * <li>{@code placar.events.lane.lag}: time between the dispatch of an event and the start of
+ * its processing, per lane.</li>
+ * </ul>
+ * On shutdown the lanes drain for up to {@code drain-timeout} before the listener
+ * containers stop, and the write-behind buffer is flushed, so the events they finish are
+ * still acknowledged on the open channels.
+ * Events not processed by then, and messages received during the drain, are left
+ * unacknowledged and are redelivered once the containers close their channels.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.rabbit.mode", havingValue = "lanes")
+// Stopping the listener endpoint registry stops the beans depending on it first, whatever their phase
+@DependsOn(RabbitListenerConfigUtils.RABBIT_LISTENER_ENDPOINT_REGISTRY_BEAN_NAME)
+public class GameEventLanes implements SmartLifecycle {
+
+    /**
+     * Stops before the write-behind buffer. The order against the listener containers comes
+     * from the dependency on their registry: the containers all use {@code Integer.MAX_VALUE}
+     * and no phase can stop earlier.
+     */
+    static final int PHASE = Integer.MAX_VALUE - 500;
+
+    /**
+     * What to do with the message of a processed event.
+     */
+    enum Outcome {
+        ACK, REJECT, REQUEUE
+    }
+
+    private final GameEventProcessor processor;
+    private final GameWriteBehindBuffer writeBehind;
+    private final ThreadPoolExecutor[] lanes;
+    private final Timer[] lagTimers;
+    private final Duration drainTimeout;
+    private final int maxAttempts;
+    private final long initialInterval;
+    private final double multiplier;
+    private final long maxInterval;
+
+    private volatile boolean running;
+
+    @Autowired
+    public GameEventLanes(GameEventProcessor processor, GameWriteBehindBuffer writeBehind, AppProperties properties,
+            RabbitProperties rabbitProperties, MeterRegistry registry) {
+        this(processor, writeBehind, properties.getRabbit().getLanes(),
+                rabbitProperties.getListener().getSimple().getRetry(), registry);
+    }
+
+    GameEventLanes(GameEventProcessor processor, GameWriteBehindBuffer writeBehind, AppProperties.Rabbit.Lanes settings,
+            RabbitProperties.ListenerRetry retry, MeterRegistry registry) {
+        this.processor = processor;
+        this.writeBehind = writeBehind;
+        this.drainTimeout = settings.getDrainTimeout();
+        this.maxAttempts = retry.isEnabled() ? Math.max(1, retry.getMaxAttempts()) : 1;
+        this.initialInterval = retry.getInitialInterval().toMillis();
+        this.multiplier = retry.getMultiplier();
+        this.maxInterval = retry.getMaxInterval().toMillis();
+
+        int count = settings.getCount() > 0 ? settings.getCount() : Runtime.getRuntime().availableProcessors();
+        this.lanes = new ThreadPoolExecutor[count];
+        this.lagTimers = new Timer[count];
+        for (int i = 0; i < count; i++) {
+            ThreadPoolExecutor lane = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), new CustomizableThreadFactory("game-lane-" + i + "-"));
+            lanes[i] = lane;
+            String tag = Integer.toString(i);
+            Gauge.builder("placar.events.lane.pending", lane, executor -> executor.getQueue().size())
+                    .description("Game events waiting in a consumer lane")
+                    .tag("lane", tag)
+                    .register(registry);
+            lagTimers[i] = Timer.builder("placar.events.lane.lag")
+                    .description("Time game events wait in a consumer lane before processing")
+                    .tag("lane", tag)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Queues an event on the lane of its game.
+     *
+     * @param event      the event to process
+     * @param completion called on the lane thread once the event is done
+     * @throws java.util.concurrent.RejectedExecutionException if the lanes are shut down
+     */
+    public void dispatch(PlacarAtualizadoEvent event, Consumer<Outcome> completion) {
+        int lane = laneOf(event.getId());
+        long dispatchedAt = System.nanoTime();
+        lanes[lane].execute(GameEventLatencyMetrics.propagate(() -> {
+            lagTimers[lane].record(System.nanoTime() - dispatchedAt, TimeUnit.NANOSECONDS);
+            completion.accept(process(event));
+        }));
+    }
+
+    int laneCount() {
+        return lanes.length;
+    }
+
+    int laneOf(Long id) {
+        // Fibonacci hashing spreads sequential ids over all lanes
+        long hash = (id != null ? id : 0L) * 0x9E3779B97F4A7C15L;
+        return (int) ((hash >>> 32) % lanes.length);
+    }
+
+    private Outcome process(PlacarAtualizadoEvent event) {
+        long backoff = initialInterval;
+        for (int attempt = 1;; attempt++) {
+            try {
+                processor.process(event);
+                return Outcome.ACK;
+            } catch (Exception ex) {
+                if (!GameEventListener.isRetryable(ex)) {
+                    log.error("Non-retryable failure processing event {}, rejecting it", event.getId(), ex);
+                    return Outcome.REJECT;
+                }
+                if (attempt >= maxAttempts) {
+                    log.error("Event {} still failing after {} attempt(s), rejecting it", event.getId(), attempt, ex);
+                    return Outcome.REJECT;
+                }
+                if (!running) {
+                    log.warn("Event {} failed during shutdown, requeueing it: {}", event.getId(), ex.getMessage());
+                    return Outcome.REQUEUE;
+                }
+                log.warn("Retryable failure processing event {} (attempt {}/{}): {}", event.getId(), attempt,
+                        maxAttempts, ex.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return Outcome.REQUEUE;
+                }
+                backoff = Math.min((long) (backoff * multiplier), maxInterval);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        try {
+            for (ThreadPoolExecutor lane : lanes) {
+                lane.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        int pending = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            pending += lane.shutdownNow().size();
+        }
+        if (pending > 0) {
+            log.warn("{} event(s) left in the lanes on shutdown, they will be redelivered once the listener "
+                    + "containers close their channels", pending);
+        }
+        // Releases the acknowledgements held for the events the lanes finished
+        if (writeBehind.isEnabled()) {
+            writeBehind.flush();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
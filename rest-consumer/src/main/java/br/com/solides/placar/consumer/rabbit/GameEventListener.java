@@ -4,47 +4,90 @@ import java.net.ConnectException;
 import java.net.SocketTimeoutException;
 
 import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.redis.RedisConnectionFailureException;
 import org.springframework.data.redis.RedisSystemException;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import br.com.solides.placar.consumer.metrics.GameEventLatencyMetrics;
 import br.com.solides.placar.consumer.service.GameEventProcessor;
 import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
 
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
-import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Component
+@ConditionalOnProperty(name = "app.rabbit.mode", havingValue = "single", matchIfMissing = true)
 public class GameEventListener {
 
     private final GameEventProcessor processor;
+    private final GameMessageDeduplicator deduplicator;
+    private final GameEventRetryScheduler retries;
+    private final GameEventLatencyMetrics latency;
+    private final GameEventLoadShedder shedder;
 
-    public GameEventListener(GameEventProcessor processor) {
+    public GameEventListener(GameEventProcessor processor, GameMessageDeduplicator deduplicator,
+            GameEventRetryScheduler retries, GameEventLatencyMetrics latency, GameEventLoadShedder shedder) {
         this.processor = processor;
+        this.deduplicator = deduplicator;
+        this.retries = retries;
+        this.latency = latency;
+        this.shedder = shedder;
     }
 
     @RabbitListener(queues = "${app.rabbit.queue}")
-    public void onPartidas(@Valid PlacarAtualizadoEvent event, @Header(AmqpHeaders.CONSUMER_QUEUE) String queue) {
-        Long eventId = event != null ? event.getId() : null;
+    public void onPartidas(PlacarAtualizadoEvent event, @Header(AmqpHeaders.CONSUMER_QUEUE) String queue,
+            @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId, Message message) {
+        String violation = GameEventConstraints.firstViolation(event);
+        if (violation != null) {
+            throw new AmqpRejectAndDontRequeueException("Invalid event: " + violation);
+        }
+        Long eventId = event.getId();
+        if (deduplicator.isDuplicate(messageId)) {
+            log.info("Skipping duplicate message {} (eventId: {}) from queue {}", messageId, eventId, queue);
+            return;
+        }
+        GameEventLatencyMetrics.Receipt previous = GameEventLatencyMetrics.enter(latency.received(event, message));
         try {
-            log.info("Received 'partidas' eventId: {} , queue-> {}", eventId, queue);
+            log.debug("Received 'partidas' eventId: {} , queue-> {}", eventId, queue);
+            if (shedder.offer(event, message)) {
+                // Overload mode: applied, and recorded, later with the newest state of its game
+                return;
+            }
             processor.process(event);
+            deduplicator.markProcessed(messageId);
         } catch (Exception ex) {
             if (isRetryable(ex)) {
-                log.warn("Retryable failure processing event {} from queue {}", eventId, queue, ex);
-                throw ex;
+                if (!retries.isEnabled()) {
+                    log.warn("Retryable failure processing event {} from queue {}", eventId, queue, ex);
+                    throw ex;
+                }
+                if (retries.schedule(message, ex)) {
+                    return;
+                }
+                log.error("Event {} from queue {} still failing after the last retry tier", eventId, queue, ex);
+                throw new AmqpRejectAndDontRequeueException("Retries exhausted", ex);
             }
             log.error("Non-retryable failure processing event {} from queue {}", eventId, queue, ex);
             throw new AmqpRejectAndDontRequeueException("Non-retryable processing error", ex);
+        } finally {
+            GameEventLatencyMetrics.restore(previous);
         }
     }
 
-    private boolean isRetryable(Throwable throwable) {
+    /**
+     * Tells whether a failure is caused by Redis being unavailable, so the same event may
+     * succeed later, as opposed to a failure of the event itself.
+     *
+     * @param throwable the failure
+     * @return true if a Redis connection, timeout or open circuit breaker is in the cause chain
+     */
+    public static boolean isRetryable(Throwable throwable) {
         Throwable current = throwable;
         while (current != null) {
             if (current instanceof RedisConnectionFailureException
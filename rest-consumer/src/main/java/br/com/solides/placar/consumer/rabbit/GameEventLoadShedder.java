@@ -0,0 +1,325 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.metrics.GameEventLatencyMetrics;
+import br.com.solides.placar.consumer.service.GameEventProcessor;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEventRouting;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Overload mode of the single and batch listeners ({@code app.rabbit.load-shedding}).
+ * <p>
+ * The mode starts when the ready messages of the main queue reach {@code enter-backlog}, or
+ * the publish to consume lag of the messages being received reaches {@code enter-lag}, and
+ * ends once both are back within {@code exit-backlog} and {@code exit-lag}. While it lasts,
+ * score and clock updates are acknowledged into a latest-state map, one entry per game, and
+ * the map is applied as one batch every {@code drain-interval} ms, so the consumer catches up
+ * without replaying every intermediate score. Lifecycle transitions are never conflated: the
+ * listener processes them in order, dropping the older pending state of their game they
+ * supersede. Superseded updates are counted in {@code placar.events.shed}.
+ * <p>
+ * The messages of a pending state are recorded in the dedup window only once the state is
+ * applied, together with the messages it superseded. The broker has already acknowledged
+ * them, though: {@link #stop()} applies the pending states synchronously after the listener
+ * containers have stopped, but a crash loses up to one drain interval of acknowledged
+ * updates, until the next update of each game.
+ */
+@Slf4j
+@Component
+public class GameEventLoadShedder implements SmartLifecycle {
+
+    /**
+     * Stops after the listener containers (which use {@code Integer.MAX_VALUE}).
+     */
+    static final int PHASE = Integer.MAX_VALUE - 1000;
+
+    private final GameEventProcessor processor;
+    private final GameMessageDeduplicator deduplicator;
+    private final AmqpAdmin amqpAdmin;
+    private final AppProperties.Rabbit.LoadShedding settings;
+    private final String queue;
+    private final long offsetMillis;
+    private final LongSupplier wallClock;
+    private final Counter shed;
+
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock drainLock = new ReentrantLock();
+
+    private volatile boolean overloaded;
+    private volatile long lagMillis;
+    private volatile boolean observed;
+    private volatile boolean running;
+    private volatile long inlineDrainAfter;
+
+    @Autowired
+    public GameEventLoadShedder(GameEventProcessor processor, GameMessageDeduplicator deduplicator,
+            AmqpAdmin amqpAdmin, AppProperties properties, MeterRegistry meterRegistry) {
+        this(processor, deduplicator, amqpAdmin, properties, meterRegistry, System::currentTimeMillis);
+    }
+
+    GameEventLoadShedder(GameEventProcessor processor, GameMessageDeduplicator deduplicator, AmqpAdmin amqpAdmin,
+            AppProperties properties, MeterRegistry meterRegistry, LongSupplier wallClock) {
+        this.processor = processor;
+        this.deduplicator = deduplicator;
+        this.amqpAdmin = amqpAdmin;
+        this.settings = properties.getRabbit().getLoadShedding();
+        this.queue = properties.getRabbit().getQueue();
+        this.offsetMillis = properties.getLatency().getPublisherClockOffset().toMillis();
+        this.wallClock = wallClock;
+        this.shed = Counter.builder("placar.events.shed")
+                .description("Game events dropped in overload mode, superseded by a newer state of their game")
+                .register(meterRegistry);
+        Gauge.builder("placar.listener.overload", this, s -> s.overloaded ? 1 : 0)
+                .description("Whether the listeners are in overload mode")
+                .register(meterRegistry);
+        Gauge.builder("placar.listener.overload.pending", pending, Map::size)
+                .description("Games whose newest state waits to be applied in overload mode")
+                .register(meterRegistry);
+    }
+
+    public boolean isOverloaded() {
+        return overloaded;
+    }
+
+    /**
+     * Hands a received event over to the overload mode.
+     *
+     * @param event   the event, already validated
+     * @param message the message it was read from
+     * @return true if the event was conflated and will be applied later, so the listener only
+     *         acknowledges it and leaves recording the message to the drain; false if the
+     *         listener must process it now
+     */
+    public boolean offer(PlacarAtualizadoEvent event, Message message) {
+        if (!settings.isEnabled()) {
+            return false;
+        }
+        if (PlacarAtualizadoEventRouting.isPriority(event)) {
+            // The transition is applied now, so the pending state of its game must not follow it
+            pending.computeIfPresent(event.getId(), (id, queued) -> {
+                if (newer(queued.event(), event) == queued.event()) {
+                    return queued;
+                }
+                shed.increment();
+                return null;
+            });
+            return false;
+        }
+        // The lag is sampled on score updates only, the priority queue is not behind
+        long publishedAt = GameEventLatencyMetrics.publishedAt(message.getMessageProperties());
+        if (publishedAt > 0) {
+            lagMillis = Math.max(0, wallClock.getAsLong() - (publishedAt - offsetMillis));
+            observed = true;
+        }
+        if (!overloaded) {
+            return false;
+        }
+        String messageId = message.getMessageProperties().getMessageId();
+        Pending state = new Pending(event, messageId != null ? List.of(messageId) : List.of());
+        pending.merge(event.getId(), state, (queued, incoming) -> {
+            shed.increment();
+            return queued.supersededBy(incoming);
+        });
+        // After a failed drain the listener leaves the retries to the scheduled drain
+        if (pending.size() >= settings.getMaxPending() && wallClock.getAsLong() >= inlineDrainAfter) {
+            drain();
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "#{@appProperties.rabbit.loadShedding.interval}")
+    public void check() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        try {
+            QueueInformation info = amqpAdmin.getQueueInfo(queue);
+            long depth = info != null ? info.getMessageCount() : 0;
+            // Nothing received since the last check: the consumer is not behind the publisher
+            long lag = observed ? lagMillis : 0;
+            observed = false;
+            update(depth, lag);
+        } catch (Exception ex) {
+            log.warn("Load shedding check failed: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Starts or ends the overload mode from the signals of the last interval.
+     *
+     * @param depth     ready messages in the main queue
+     * @param lagMillis publish to consume lag of the last received message
+     * @return whether the overload mode is on
+     */
+    boolean update(long depth, long lagMillis) {
+        boolean next = overloaded
+                ? depth > settings.getExitBacklog() || lagMillis > settings.getExitLag().toMillis()
+                : depth >= settings.getEnterBacklog() || lagMillis >= settings.getEnterLag().toMillis();
+        if (next != overloaded) {
+            if (next) {
+                log.warn("Consumer is behind (backlog={}, lag={}ms), conflating score updates per game", depth,
+                        lagMillis);
+            } else {
+                log.info("Consumer caught up (backlog={}, lag={}ms), back to processing every event", depth,
+                        lagMillis);
+            }
+            overloaded = next;
+        }
+        return next;
+    }
+
+    @Scheduled(fixedDelayString = "#{@appProperties.rabbit.loadShedding.drainInterval}")
+    public void scheduledDrain() {
+        if (!pending.isEmpty()) {
+            drain();
+        }
+    }
+
+    /**
+     * Applies the newest pending state of every game as one batch, then records its messages in
+     * the dedup window. If Redis is unavailable, the
+     * states are put back unless a newer state of the same game arrived meanwhile, and the
+     * listener does not drain inline for one drain interval. Any other failure applies the
+     * states one by one, dropping those that fail by themselves.
+     */
+    void drain() {
+        drainLock.lock();
+        // Conflated states are not attributed to the message being received, if any
+        GameEventLatencyMetrics.Receipt previous = GameEventLatencyMetrics.enter(null);
+        try {
+            List<Pending> batch = new ArrayList<>(pending.size());
+            for (Long id : pending.keySet()) {
+                Pending state = pending.remove(id);
+                if (state != null) {
+                    batch.add(state);
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                processor.processBatch(batch.stream().map(Pending::event).toList());
+                deduplicator.markAllProcessed(batch.stream().flatMap(state -> state.messageIds().stream()).toList());
+                log.debug("Applied the newest state of {} game(s) in overload mode", batch.size());
+            } catch (RuntimeException ex) {
+                if (GameEventListener.isRetryable(ex)) {
+                    putBack(batch);
+                    log.warn("Applying {} conflated game(s) failed, will retry: {}", batch.size(), ex.getMessage());
+                    return;
+                }
+                log.warn("Applying {} conflated game(s) failed, applying them one by one: {}", batch.size(),
+                        ex.getMessage());
+                processOneByOne(batch);
+            }
+        } finally {
+            GameEventLatencyMetrics.restore(previous);
+            drainLock.unlock();
+        }
+    }
+
+    private void processOneByOne(List<Pending> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            PlacarAtualizadoEvent event = batch.get(i).event();
+            try {
+                processor.process(event);
+                deduplicator.markAllProcessed(batch.get(i).messageIds());
+            } catch (RuntimeException ex) {
+                if (GameEventListener.isRetryable(ex)) {
+                    List<Pending> rest = batch.subList(i, batch.size());
+                    putBack(rest);
+                    log.warn("Applying {} conflated game(s) failed, will retry: {}", rest.size(), ex.getMessage());
+                    return;
+                }
+                log.error("Non-retryable failure applying conflated event {}, dropping it", event.getId(), ex);
+            }
+        }
+    }
+
+    private void putBack(List<Pending> failed) {
+        failed.forEach(state -> pending.merge(state.event().getId(), state, (queued, failedState) -> {
+            shed.increment();
+            return failedState.supersededBy(queued);
+        }));
+        inlineDrainAfter = wallClock.getAsLong() + settings.getDrainInterval();
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Newest pending state of a game and the messages it stands for, including those it
+     * superseded.
+     */
+    private record Pending(PlacarAtualizadoEvent event, List<String> messageIds) {
+
+        Pending supersededBy(Pending incoming) {
+            List<String> ids = new ArrayList<>(messageIds.size() + incoming.messageIds().size());
+            ids.addAll(messageIds);
+            ids.addAll(incoming.messageIds());
+            return new Pending(newer(event, incoming.event()), ids);
+        }
+    }
+
+    /**
+     * Picks the incoming event unless both are versioned and the current one is newer.
+     */
+    private static PlacarAtualizadoEvent newer(PlacarAtualizadoEvent current, PlacarAtualizadoEvent incoming) {
+        if (current.getVersao() != null && incoming.getVersao() != null
+                && current.getVersao() > incoming.getVersao()) {
+            return current;
+        }
+        return incoming;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /**
+     * Applies the pending states synchronously, waiting for a drain in progress. Runs after the
+     * listener containers have stopped, so no state is added meanwhile.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (pending.isEmpty()) {
+            return;
+        }
+        log.info("Applying {} conflated game(s) before shutdown", pending.size());
+        drain();
+        if (!pending.isEmpty()) {
+            log.error("{} conflated game(s) could not be applied on shutdown", pending.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.converter.SmartMessageConverter;
+import org.springframework.core.ParameterizedTypeReference;
+
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+/**
+ * Converts and validates the event carried by a raw message, for the listeners that
+ * receive {@link Message} instead of a converted payload and must handle bad messages one
+ * by one.
+ */
+class GameEventMessageReader {
+
+    private static final ParameterizedTypeReference<PlacarAtualizadoEvent> EVENT_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final MessageConverter messageConverter;
+
+    GameEventMessageReader(MessageConverter messageConverter) {
+        this.messageConverter = messageConverter;
+    }
+
+    /**
+     * Reads the event of a message.
+     *
+     * @param message the raw message
+     * @return the valid event
+     * @throws MessageConversionException if the message cannot be converted or the event is invalid
+     */
+    PlacarAtualizadoEvent read(Message message) {
+        Object payload = messageConverter instanceof SmartMessageConverter smart
+                ? smart.fromMessage(message, EVENT_TYPE)
+                : messageConverter.fromMessage(message);
+        if (!(payload instanceof PlacarAtualizadoEvent event)) {
+            throw new MessageConversionException("Unexpected payload type: "
+                    + (payload != null ? payload.getClass().getName() : "null"));
+        }
+        String violation = GameEventConstraints.firstViolation(event);
+        if (violation != null) {
+            throw new MessageConversionException("Invalid event " + event.getId() + ": " + violation);
+        }
+        return event;
+    }
+}
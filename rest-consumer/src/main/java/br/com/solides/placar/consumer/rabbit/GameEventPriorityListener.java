@@ -0,0 +1,45 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+import br.com.solides.placar.consumer.config.RabbitConfig;
+import br.com.solides.placar.consumer.metrics.GameEventLatencyMetrics;
+import br.com.solides.placar.consumer.service.GameEventProcessor;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+/**
+ * Listener of the priority queue ({@code app.rabbit.priority}), where the publisher routes the
+ * lifecycle transitions of the games. It runs in the single and batch modes, on its own
+ * container, and processes each event as {@link GameEventListener} does: validation, dedup,
+ * retries and dead lettering are the same. In the lanes mode {@link GameEventLaneListener}
+ * consumes the priority queue instead, so the transitions keep the per-game order of the lanes.
+ * <p>
+ * A lifecycle transition may overtake older score updates of its game still waiting in the
+ * main queue or in the other SSE executor. The order is kept per game by {@code versao}
+ * rather than by arrival: the cache rejects the older updates as stale, so they are not
+ * broadcast, and {@link br.com.solides.placar.consumer.sse.SseBrodcast} does not send a state
+ * older than one already sent. Unversioned events have no order across the two paths.
+ */
+@Component
+@ConditionalOnExpression("'${app.rabbit.mode:single}' != 'lanes'")
+public class GameEventPriorityListener {
+
+    private final GameEventListener delegate;
+
+    public GameEventPriorityListener(GameEventProcessor processor, GameMessageDeduplicator deduplicator,
+            GameEventRetryScheduler retries, GameEventLatencyMetrics latency, GameEventLoadShedder shedder) {
+        this.delegate = new GameEventListener(processor, deduplicator, retries, latency, shedder);
+    }
+
+    @RabbitListener(queues = "${app.rabbit.priority.queue}",
+            containerFactory = RabbitConfig.PRIORITY_LISTENER_CONTAINER_FACTORY)
+    public void onPrioridade(PlacarAtualizadoEvent event, @Header(AmqpHeaders.CONSUMER_QUEUE) String queue,
+            @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId, Message message) {
+        delegate.onPartidas(event, queue, messageId, message);
+    }
+}
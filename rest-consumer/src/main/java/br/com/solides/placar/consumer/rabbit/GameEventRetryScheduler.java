@@ -0,0 +1,101 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import java.util.List;
+
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.config.RabbitConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Schedules the retry of a failed message on the delay queues declared by
+ * {@link RabbitConfig#retryTiers} ({@code app.rabbit.delayed-retry}).
+ * <p>
+ * The message is republished to the tier of its next attempt, counted in the
+ * {@value #ATTEMPT_HEADER} header, and the listener acknowledges the original right away,
+ * so its thread moves on to the next message instead of sleeping through the backoff.
+ * Messages consumed from the priority queue use its own tiers and come back to it.
+ * Once the last tier was used, the listener dead-letters the message.
+ */
+@Slf4j
+@Component
+public class GameEventRetryScheduler {
+
+    static final String ATTEMPT_HEADER = "x-retry-attempt";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final boolean enabled;
+    private final String exchange;
+    private final List<String> tiers;
+    private final String priorityQueue;
+    private final List<String> priorityTiers;
+
+    @Autowired
+    public GameEventRetryScheduler(RabbitTemplate rabbitTemplate, AppProperties properties) {
+        this(rabbitTemplate, properties.getRabbit().getDelayedRetry(), properties.getRabbit().getQueue(),
+                properties.getRabbit().getPriority().getQueue());
+    }
+
+    GameEventRetryScheduler(RabbitTemplate rabbitTemplate, AppProperties.Rabbit.DelayedRetry settings,
+            String queue, String priorityQueue) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.enabled = settings.isEnabled();
+        this.exchange = settings.getExchange();
+        this.tiers = tiers(settings, queue);
+        this.priorityQueue = priorityQueue;
+        this.priorityTiers = tiers(settings, priorityQueue);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Republishes a failed message to the delay tier of its next attempt.
+     *
+     * @param message the failed message
+     * @param cause   the failure
+     * @return false if the message already went through every tier and must be dead-lettered
+     * @throws ImmediateRequeueAmqpException if the message could not be republished, so the
+     *                                       broker keeps it in its queue
+     */
+    public boolean schedule(Message message, Throwable cause) {
+        List<String> tiers = priorityQueue.equals(message.getMessageProperties().getConsumerQueue())
+                ? priorityTiers
+                : this.tiers;
+        int attempt = attemptOf(message);
+        if (attempt >= tiers.size()) {
+            return false;
+        }
+        String tier = tiers.get(attempt);
+        message.getMessageProperties().setHeader(ATTEMPT_HEADER, attempt + 1);
+        try {
+            rabbitTemplate.send(exchange, tier, message);
+        } catch (AmqpException ex) {
+            log.error("Could not schedule retry of message {}, requeueing it: {}",
+                    message.getMessageProperties().getMessageId(), ex.getMessage());
+            throw new ImmediateRequeueAmqpException("Failed to schedule retry", ex);
+        }
+        log.warn("Retry {}/{} of message {} scheduled on {}: {}", attempt + 1, tiers.size(),
+                message.getMessageProperties().getMessageId(), tier, cause.getMessage());
+        return true;
+    }
+
+    private static List<String> tiers(AppProperties.Rabbit.DelayedRetry settings, String queue) {
+        return settings.getDelays().stream()
+                .map(delay -> RabbitConfig.retryQueue(queue, delay))
+                .toList();
+    }
+
+    static int attemptOf(Message message) {
+        Object attempt = message.getMessageProperties().getHeader(ATTEMPT_HEADER);
+        return attempt instanceof Number number ? number.intValue() : 0;
+    }
+}
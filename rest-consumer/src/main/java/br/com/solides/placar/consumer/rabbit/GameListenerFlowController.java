@@ -0,0 +1,309 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.amqp.RabbitProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Adjusts the consumers and the prefetch of the listener container of the main queue
+ * ({@code app.rabbit.flow-control}) with an AIMD loop:
+ * <ul>
+ * <li>when the mean processing time of the last interval exceeds {@code target-latency}, or
+ * the SSE dispatch executor queue is fuller than {@code max-executor-saturation}, both are
+ * multiplied by {@code decrease-factor};</li>
+ * <li>otherwise, when more than {@code backlog-threshold} messages are ready in the queue,
+ * one consumer and {@code prefetch-step} are added;</li>
+ * <li>otherwise nothing changes.</li>
+ * </ul>
+ * The processing time comes from the {@value #LISTENER_TIMER} timer recorded by the
+ * container. The controller keeps the minimum and maximum consumers of the container equal,
+ * replacing its own idle-based scaling. Prefetch is fixed when a consumer opens its channel,
+ * so a new value reaches the consumers the scaling starts afterwards. The running consumers
+ * are only restarted once the value has moved by {@code restart-prefetch-factor} from the one
+ * they opened with, and at most once per {@code min-restart-interval}: a restart cancels every
+ * consumer and requeues the messages they prefetched, so it is not done for each AIMD step.
+ * The restart waits for the consumers on the container's executor, not on the scheduler.
+ * <p>
+ * In lanes mode the single consumer is never restarted, since the lanes still acknowledge on
+ * its channel, so the prefetch stays at its configured value. The processing time is not used
+ * either, as it only measures the hand-off to a lane: with one consumer and a fixed prefetch
+ * there is nothing left to adjust and the controller only reports the queue and executor
+ * signals.
+ * <p>
+ * Decisions are counted in {@code placar.listener.flow.adjustments} and the current values
+ * and signals are exposed as the {@code placar.listener.*} gauges.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.rabbit.flow-control.enabled", havingValue = "true")
+public class GameListenerFlowController {
+
+    static final String LISTENER_TIMER = "spring.rabbitmq.listener";
+
+    public static final String ACTION_INCREASE = "increase";
+    public static final String ACTION_DECREASE = "decrease";
+    public static final String ACTION_HOLD = "hold";
+
+    private final RabbitListenerEndpointRegistry listenerRegistry;
+    private final AmqpAdmin amqpAdmin;
+    private final Executor sseExecutor;
+    private final MeterRegistry meterRegistry;
+    private final AppProperties.Rabbit.FlowControl settings;
+    private final String queue;
+    private final boolean singleConsumer;
+    private final int minPrefetch;
+    private final Map<String, Counter> decisions;
+
+    private volatile int consumers;
+    private volatile int prefetch;
+    private volatile int appliedPrefetch;
+    private volatile double latencyMillis;
+    private volatile long queueDepth;
+    private volatile double executorSaturation;
+    private long lastRestartNanos;
+    private long lastCount;
+    private double lastTotalNanos;
+    private int appliedConsumers;
+    private boolean applied;
+
+    public GameListenerFlowController(RabbitListenerEndpointRegistry listenerRegistry, AmqpAdmin amqpAdmin,
+            RabbitProperties rabbitProperties, AppProperties properties,
+            @Qualifier("sseTaskExecutor") Executor sseExecutor, MeterRegistry meterRegistry) {
+        this.listenerRegistry = listenerRegistry;
+        this.amqpAdmin = amqpAdmin;
+        this.sseExecutor = sseExecutor;
+        this.meterRegistry = meterRegistry;
+        this.settings = properties.getRabbit().getFlowControl();
+        this.queue = properties.getRabbit().getQueue();
+        this.singleConsumer = properties.getRabbit().getMode() == AppProperties.Rabbit.Mode.LANES;
+        this.minPrefetch = properties.getRabbit().getMode() == AppProperties.Rabbit.Mode.BATCH
+                ? Math.max(settings.getMinPrefetch(), properties.getRabbit().getBatch().getSize())
+                : settings.getMinPrefetch();
+
+        // Starts from the static configuration, brought within the bounds
+        RabbitProperties.SimpleContainer simple = rabbitProperties.getListener().getSimple();
+        this.appliedConsumers = simple.getConcurrency() != null ? simple.getConcurrency() : 1;
+        this.appliedPrefetch = simple.getPrefetch() != null
+                ? simple.getPrefetch()
+                : SimpleMessageListenerContainer.DEFAULT_PREFETCH_COUNT;
+        this.consumers = singleConsumer ? 1 : clamp(appliedConsumers, settings.getMinConsumers(), maxConsumers());
+        this.prefetch = singleConsumer ? appliedPrefetch : clamp(appliedPrefetch, minPrefetch, maxPrefetch());
+        this.lastRestartNanos = System.nanoTime();
+        if (singleConsumer) {
+            log.info("Listener flow control only reports in lanes mode: a single consumer with prefetch {}",
+                    prefetch);
+        }
+
+        this.decisions = Map.of(
+                ACTION_INCREASE, decisionCounter(meterRegistry, ACTION_INCREASE),
+                ACTION_DECREASE, decisionCounter(meterRegistry, ACTION_DECREASE),
+                ACTION_HOLD, decisionCounter(meterRegistry, ACTION_HOLD));
+        Gauge.builder("placar.listener.consumers", this, c -> c.consumers)
+                .description("Consumers of the listener container set by the flow controller")
+                .register(meterRegistry);
+        Gauge.builder("placar.listener.prefetch", this, c -> c.appliedPrefetch)
+                .description("Prefetch the consumers of the listener container opened their channels with at its last start")
+                .register(meterRegistry);
+        Gauge.builder("placar.listener.flow.latency", this, c -> c.latencyMillis)
+                .description("Mean listener processing time of the last flow control interval, in milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("placar.listener.flow.queue.depth", this, c -> c.queueDepth)
+                .description("Ready messages in the queue at the last flow control interval")
+                .register(meterRegistry);
+        Gauge.builder("placar.listener.flow.executor.saturation", this, c -> c.executorSaturation)
+                .description("Fill ratio of the SSE dispatch executor at the last flow control interval")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "#{@appProperties.rabbit.flowControl.interval}")
+    public void adjust() {
+        try {
+            latencyMillis = singleConsumer ? 0 : sampleLatencyMillis();
+            queueDepth = sampleQueueDepth();
+            executorSaturation = sampleExecutorSaturation();
+
+            String action = decide(latencyMillis, queueDepth, executorSaturation);
+            decisions.get(action).increment();
+            if (!ACTION_HOLD.equals(action)) {
+                log.info("Listener flow control {}: consumers={}, prefetch={} (latency={}ms, depth={}, saturation={})",
+                        action, consumers, prefetch, Math.round(latencyMillis), queueDepth,
+                        Math.round(executorSaturation * 100) / 100.0);
+            }
+            if (!singleConsumer && (!ACTION_HOLD.equals(action) || !applied || isRestartDue())) {
+                applied = apply();
+            }
+        } catch (Exception ex) {
+            log.warn("Listener flow control failed: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Computes the next consumers and prefetch from the signals of the last interval.
+     *
+     * @param latencyMillis      mean processing time, zero if no message was processed
+     * @param queueDepth         ready messages in the queue
+     * @param executorSaturation fill ratio of the SSE dispatch executor, between 0 and 1
+     * @return the action taken; {@link #ACTION_HOLD} when the values are already at the bound,
+     *         and always in lanes mode
+     */
+    String decide(double latencyMillis, long queueDepth, double executorSaturation) {
+        if (singleConsumer) {
+            return ACTION_HOLD;
+        }
+        int nextConsumers;
+        int nextPrefetch;
+        if (latencyMillis > settings.getTargetLatency().toMillis()
+                || executorSaturation >= settings.getMaxExecutorSaturation()) {
+            nextConsumers = clamp((int) (consumers * settings.getDecreaseFactor()), settings.getMinConsumers(),
+                    maxConsumers());
+            nextPrefetch = clamp((int) (prefetch * settings.getDecreaseFactor()), minPrefetch, maxPrefetch());
+        } else if (queueDepth > settings.getBacklogThreshold()) {
+            nextConsumers = clamp(consumers + 1, settings.getMinConsumers(), maxConsumers());
+            nextPrefetch = clamp(prefetch + settings.getPrefetchStep(), minPrefetch, maxPrefetch());
+        } else {
+            return ACTION_HOLD;
+        }
+        if (nextConsumers == consumers && nextPrefetch == prefetch) {
+            return ACTION_HOLD;
+        }
+        String action = nextConsumers < consumers || nextPrefetch < prefetch ? ACTION_DECREASE : ACTION_INCREASE;
+        consumers = nextConsumers;
+        prefetch = nextPrefetch;
+        return action;
+    }
+
+    int consumers() {
+        return consumers;
+    }
+
+    int prefetch() {
+        return prefetch;
+    }
+
+    int appliedPrefetch() {
+        return appliedPrefetch;
+    }
+
+    /**
+     * Applies the current values to the containers consuming the main queue. Consumers started
+     * from now on open their channels with the new prefetch; the running ones are restarted
+     * only when {@link #isRestartDue()}.
+     *
+     * @return false if no container was found yet
+     */
+    private boolean apply() {
+        boolean found = false;
+        boolean restart = isRestartDue();
+        for (MessageListenerContainer container : listenerRegistry.getListenerContainers()) {
+            if (container instanceof SimpleMessageListenerContainer simple
+                    && Arrays.asList(simple.getQueueNames()).contains(queue)) {
+                simple.setPrefetchCount(prefetch);
+                // The container rejects a maximum below its minimum, so the order depends on the direction
+                if (consumers > appliedConsumers) {
+                    simple.setMaxConcurrentConsumers(consumers);
+                    simple.setConcurrentConsumers(consumers);
+                } else {
+                    simple.setConcurrentConsumers(consumers);
+                    simple.setMaxConcurrentConsumers(consumers);
+                }
+                if (simple.getActiveConsumerCount() == 0) {
+                    // Not consuming: the next start opens every channel with the new value
+                    appliedPrefetch = prefetch;
+                } else if (restart) {
+                    log.info("Restarting the listener container to move its consumers from prefetch {} to {}",
+                            appliedPrefetch, prefetch);
+                    simple.stop(simple::start);
+                    appliedPrefetch = prefetch;
+                    lastRestartNanos = System.nanoTime();
+                }
+                found = true;
+            }
+        }
+        if (found) {
+            appliedConsumers = consumers;
+        }
+        return found;
+    }
+
+    /**
+     * Whether the running consumers should be restarted: the prefetch differs from the one
+     * they opened with by at least {@code restart-prefetch-factor}, and the last restart is
+     * older than {@code min-restart-interval}.
+     */
+    private boolean isRestartDue() {
+        if (prefetch == appliedPrefetch) {
+            return false;
+        }
+        double ratio = (double) Math.max(prefetch, appliedPrefetch) / Math.min(prefetch, appliedPrefetch);
+        return ratio >= settings.getRestartPrefetchFactor()
+                && System.nanoTime() - lastRestartNanos >= settings.getMinRestartInterval().toNanos();
+    }
+
+    private double sampleLatencyMillis() {
+        long count = 0;
+        double totalNanos = 0;
+        for (Timer timer : meterRegistry.find(LISTENER_TIMER).tag("queue", queue).timers()) {
+            count += timer.count();
+            totalNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+        }
+        long processed = count - lastCount;
+        double elapsed = totalNanos - lastTotalNanos;
+        lastCount = count;
+        lastTotalNanos = totalNanos;
+        return processed > 0 ? elapsed / processed / TimeUnit.MILLISECONDS.toNanos(1) : 0;
+    }
+
+    private long sampleQueueDepth() {
+        QueueInformation info = amqpAdmin.getQueueInfo(queue);
+        return info != null ? info.getMessageCount() : 0;
+    }
+
+    private double sampleExecutorSaturation() {
+        if (!(sseExecutor instanceof ThreadPoolTaskExecutor pool)) {
+            return 0;
+        }
+        if (pool.getQueueCapacity() > 0) {
+            return Math.min(1.0, (double) pool.getQueueSize() / pool.getQueueCapacity());
+        }
+        return pool.getMaxPoolSize() > 0 ? (double) pool.getActiveCount() / pool.getMaxPoolSize() : 0;
+    }
+
+    private int maxConsumers() {
+        return Math.max(settings.getMinConsumers(), settings.getMaxConsumers());
+    }
+
+    private int maxPrefetch() {
+        return Math.max(minPrefetch, settings.getMaxPrefetch());
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static Counter decisionCounter(MeterRegistry registry, String action) {
+        return Counter.builder("placar.listener.flow.adjustments")
+                .description("Flow control decisions of the listener container")
+                .tag("action", action)
+                .register(registry);
+    }
+}
@@ -0,0 +1,201 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.metrics.GameEventMetrics;
+import br.com.solides.placar.consumer.redis.ProcessedMessageRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded dedup window of processed message ids ({@code app.rabbit.dedup}).
+ * <p>
+ * Ids are remembered in a local LRU of {@code local-capacity} entries and, when
+ * {@code shared} is set, in Redis with SET NX, both for {@code ttl}. The listeners check an
+ * id before processing and record it only after the event is in the cache: a message that
+ * failed, or whose consumer died mid-way, is still processed when it is redelivered.
+ * Redis failures never block consumption; the check then falls back to the local window.
+ * <p>
+ * The shared window costs a Redis round trip before and after each message, so it is off by
+ * default; the batch listener checks and records a whole batch with one pipeline each.
+ */
+@Slf4j
+@Component
+public class GameMessageDeduplicator {
+
+    private final ProcessedMessageRepository repository;
+    private final GameEventMetrics metrics;
+    private final boolean enabled;
+    private final boolean shared;
+    private final Duration ttl;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final Map<String, Long> recent;
+
+    @Autowired
+    public GameMessageDeduplicator(ProcessedMessageRepository repository, GameEventMetrics metrics,
+            AppProperties properties) {
+        this(repository, metrics, properties.getRabbit().getDedup(), System::nanoTime);
+    }
+
+    GameMessageDeduplicator(ProcessedMessageRepository repository, GameEventMetrics metrics,
+            AppProperties.Rabbit.Dedup settings, LongSupplier clock) {
+        this.repository = repository;
+        this.metrics = metrics;
+        this.enabled = settings.isEnabled();
+        this.shared = settings.isShared();
+        this.ttl = settings.getTtl();
+        this.ttlNanos = settings.getTtl().toNanos();
+        this.clock = clock;
+        int capacity = settings.getLocalCapacity();
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Tells whether a message was already processed within the window.
+     *
+     * @param messageId the broker message id, may be null
+     * @return false for messages without id
+     */
+    public boolean isDuplicate(String messageId) {
+        if (!enabled || messageId == null || messageId.isBlank()) {
+            return false;
+        }
+        if (seenLocally(messageId)) {
+            metrics.duplicate(GameEventMetrics.DEDUP_LOCAL);
+            return true;
+        }
+        if (!shared) {
+            return false;
+        }
+        try {
+            if (repository.exists(messageId)) {
+                remember(messageId);
+                metrics.duplicate(GameEventMetrics.DEDUP_REDIS);
+                return true;
+            }
+        } catch (Exception ex) {
+            log.warn("Could not check message {} in the shared dedup window: {}", messageId, ex.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Records a message whose event was processed.
+     *
+     * @param messageId the broker message id, may be null
+     */
+    public void markProcessed(String messageId) {
+        if (!enabled || messageId == null || messageId.isBlank()) {
+            return;
+        }
+        remember(messageId);
+        if (!shared) {
+            return;
+        }
+        try {
+            repository.markProcessed(messageId, ttl);
+        } catch (Exception ex) {
+            log.warn("Could not record message {} in the shared dedup window: {}", messageId, ex.getMessage());
+        }
+    }
+
+    /**
+     * Tells which messages of a batch were already processed within the window. The ids
+     * missing from the local window are checked in Redis with one pipelined round trip.
+     *
+     * @param messageIds the broker message ids, may contain nulls
+     * @return the ids of the duplicates
+     */
+    public Set<String> duplicates(List<String> messageIds) {
+        if (!enabled) {
+            return Set.of();
+        }
+        Set<String> duplicates = new HashSet<>();
+        List<String> unknown = new ArrayList<>(messageIds.size());
+        for (String messageId : messageIds) {
+            if (messageId == null || messageId.isBlank()) {
+                continue;
+            }
+            if (seenLocally(messageId)) {
+                metrics.duplicate(GameEventMetrics.DEDUP_LOCAL);
+                duplicates.add(messageId);
+            } else {
+                unknown.add(messageId);
+            }
+        }
+        if (!shared || unknown.isEmpty()) {
+            return duplicates;
+        }
+        try {
+            for (String messageId : repository.findProcessed(unknown)) {
+                remember(messageId);
+                metrics.duplicate(GameEventMetrics.DEDUP_REDIS);
+                duplicates.add(messageId);
+            }
+        } catch (Exception ex) {
+            log.warn("Could not check {} message(s) in the shared dedup window: {}", unknown.size(), ex.getMessage());
+        }
+        return duplicates;
+    }
+
+    /**
+     * Records the messages of a batch whose events were processed, with one pipelined round
+     * trip to Redis.
+     *
+     * @param messageIds the broker message ids, may contain nulls
+     */
+    public void markAllProcessed(List<String> messageIds) {
+        if (!enabled) {
+            return;
+        }
+        List<String> recorded = new ArrayList<>(messageIds.size());
+        for (String messageId : messageIds) {
+            if (messageId != null && !messageId.isBlank()) {
+                remember(messageId);
+                recorded.add(messageId);
+            }
+        }
+        if (!shared || recorded.isEmpty()) {
+            return;
+        }
+        try {
+            repository.markAllProcessed(recorded, ttl);
+        } catch (Exception ex) {
+            log.warn("Could not record {} message(s) in the shared dedup window: {}", recorded.size(),
+                    ex.getMessage());
+        }
+    }
+
+    private synchronized boolean seenLocally(String messageId) {
+        Long expiresAt = recent.get(messageId);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt - clock.getAsLong() <= 0) {
+            recent.remove(messageId);
+            return false;
+        }
+        return true;
+    }
+
+    private synchronized void remember(String messageId) {
+        recent.put(messageId, clock.getAsLong() + ttlNanos);
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.solides.placar.consumer.redis;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.solides.placar.consumer.service.GameCacheRebuilder;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/consumer/api/admin/cache")
+@Tag(name = "Cache admin", description = "Operacoes administrativas do cache Redis")
+public class GameCacheAdminController {
+
+    private final GameCacheRebuilder rebuilder;
+
+    public GameCacheAdminController(GameCacheRebuilder rebuilder) {
+        this.rebuilder = rebuilder;
+    }
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "Reconstruir cache", description = "Recarrega todos os jogos do publicador no Redis em segundo plano. "
+            + "Retoma a partir do ultimo jogo carregado por uma reconstrucao interrompida, salvo com restart=true.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Reconstrucao iniciada"),
+            @ApiResponse(responseCode = "409", description = "Reconstrucao ja em andamento")
+    })
+    public ResponseEntity<GameCacheRebuilder.Progress> rebuild(
+            @Parameter(description = "Ignora o ponto de retomada e recomeca do primeiro jogo") @RequestParam(name = "restart", defaultValue = "false") boolean restart) {
+        HttpStatus status = rebuilder.start(restart) ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(rebuilder.progress());
+    }
+
+    @GetMapping("/rebuild")
+    @Operation(summary = "Progresso da reconstrucao", description = "Retorna o progresso da reconstrucao atual ou da ultima executada.")
+    public GameCacheRebuilder.Progress rebuildProgress() {
+        return rebuilder.progress();
+    }
+}
@@ -1,122 +1,153 @@
 package br.com.solides.placar.consumer.redis;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.function.LongConsumer;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.data.redis.RedisConnectionFailureException;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.stereotype.Repository;
-
+import br.com.solides.placar.shared.enums.StatusJogo;
 import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
-
-@Repository
-public class GameCacheRepository {
-
-    private static final String BACKEND_REDIS = "redis";
-
-    private static final Logger logger = LoggerFactory.getLogger(GameCacheRepository.class);
-
-    private final RedisTemplate<String, PlacarAtualizadoEvent> redisJsonTemplate;
-
-    public GameCacheRepository(RedisTemplate<String, PlacarAtualizadoEvent> redisJsonTemplate) {
-        this.redisJsonTemplate = redisJsonTemplate;
-    }
 
-    @CircuitBreaker(name = BACKEND_REDIS)
-    @Retry(name = BACKEND_REDIS)
-    public void save(PlacarAtualizadoEvent event) {
-        if (event == null || event.getId() == null) {
-            logger.warn("Attempted to save null event or event with null ID");
-            return;
-        }
-
-        try {
-            redisJsonTemplate.opsForValue().set(buildKey(event.getId()), event);
-            logger.debug("Saved game event to Redis: {}", event.getId());
-        } catch (RedisConnectionFailureException ex) {
-            logger.error("Redis connection failed while saving game {}: {}", event.getId(), ex.getMessage(), ex);
-            throw ex;
-        } catch (Exception ex) {
-            logger.error("Unexpected error while saving game {} to Redis: {}", event.getId(), ex.getMessage(), ex);
-            throw new RedisConnectionFailureException("Failed to save game event to Redis", ex);
-        }
+/**
+ * Storage of the cached game states, the index of cached ids and the rebuild checkpoint.
+ * <p>
+ * {@link RedisGameCacheRepository} is the default backend. With the {@code memory} profile,
+ * {@link InMemoryGameCacheRepository} keeps everything in the local process instead, for
+ * single-node deployments and container-free performance tests. Both backends follow the
+ * same TTL, versioning and index semantics.
+ */
+public interface GameCacheRepository {
+
+    /**
+     * Name of the resilience4j circuit breaker and retry guarding Redis calls.
+     */
+    String BACKEND_REDIS = "redis";
+
+    /**
+     * Spring profile that selects the in-memory backend.
+     */
+    String PROFILE_MEMORY = "memory";
+
+    /**
+     * Writes a game without expiration, dropping its stored version.
+     *
+     * @param event the game event
+     */
+    void save(PlacarAtualizadoEvent event);
+
+    /**
+     * Writes a game that expires after the given TTL, dropping its stored version.
+     *
+     * @param event the game event
+     * @param ttl   the time-to-live
+     */
+    void saveGameWithTtl(PlacarAtualizadoEvent event, Duration ttl);
+
+    /**
+     * Writes the game only if its version is newer than the stored one, atomically. A
+     * {@linkplain #isTerminal terminal} event also replaces a state of its own version.
+     *
+     * @param event the versioned game event
+     * @param ttl   the TTL, or null for none
+     * @return true if written, false if the stored version is the same or newer
+     */
+    boolean saveIfNewer(PlacarAtualizadoEvent event, Duration ttl);
+
+    /**
+     * Writes several games at once. Versioned games go through the same compare-and-set as
+     * {@link #saveIfNewer}.
+     *
+     * @param writes the games to write, each with its optional TTL
+     * @return ids of the writes rejected because the same or a newer version was stored
+     */
+    List<Long> saveAll(List<GameWrite> writes);
+
+    /**
+     * Whether the event replaces a stored state of its own version. A deletion is published
+     * with the last version of the game, not a new one, and is its terminal state: once the
+     * tombstone is stored, any event of the game has the same or an older version and is
+     * rejected.
+     *
+     * @param event the versioned game event
+     * @return true for a deletion tombstone
+     */
+    static boolean isTerminal(PlacarAtualizadoEvent event) {
+        return StatusJogo.EXCLUIDO.equals(event.getStatus());
     }
 
-    @CircuitBreaker(name = BACKEND_REDIS)
-    @Retry(name = BACKEND_REDIS)
-    public void saveGameWithTtl(PlacarAtualizadoEvent event, Duration ttl) {
-        if (event == null || event.getId() == null) {
-            logger.warn("Attempted to save null event or event with null ID with TTL");
-            return;
-        }
-
-        try {
-            redisJsonTemplate.opsForValue().set(buildKey(event.getId()), event, ttl);
-            logger.debug("Saved game event to Redis with TTL {}: {}", ttl, event.getId());
-        } catch (RedisConnectionFailureException ex) {
-            logger.error("Redis connection failed while saving game {} with TTL: {}", event.getId(), ex.getMessage(),
-                    ex);
-            throw ex;
-        } catch (Exception ex) {
-            logger.error("Unexpected error while saving game {} to Redis with TTL: {}", event.getId(), ex.getMessage(),
-                    ex);
-            throw new RedisConnectionFailureException("Failed to save game event to Redis with TTL", ex);
-        }
-    }
-
-    @CircuitBreaker(name = BACKEND_REDIS)
-    @Retry(name = BACKEND_REDIS)
-    public PlacarAtualizadoEvent findById(Long id) {
-        if (id == null) {
-            logger.warn("Attempted to find game with null ID");
-            return null;
-        }
-
-        try {
-            PlacarAtualizadoEvent event = redisJsonTemplate.opsForValue().get(buildKey(id));
-            if (event != null) {
-                logger.debug("Found game event in Redis: {}", id);
-            } else {
-                logger.debug("Game event not found in Redis: {}", id);
-            }
-            return event;
-        } catch (RedisConnectionFailureException ex) {
-            logger.error("Redis connection failed while finding game {}: {}", id, ex.getMessage(), ex);
-            throw ex;
-        } catch (Exception ex) {
-            logger.error("Unexpected error while finding game {} in Redis: {}", id, ex.getMessage(), ex);
-            throw new RedisConnectionFailureException("Failed to retrieve game event from Redis", ex);
-        }
-    }
-
-    @CircuitBreaker(name = BACKEND_REDIS)
-    @Retry(name = BACKEND_REDIS)
-    public void deleteById(Long id) {
-        if (id == null) {
-            logger.warn("Attempted to delete game with null ID");
-            return;
-        }
-
-        try {
-            Boolean deleted = redisJsonTemplate.delete(buildKey(id));
-            if (Boolean.TRUE.equals(deleted)) {
-                logger.debug("Deleted game event from Redis: {}", id);
-            } else {
-                logger.debug("Game event not found in Redis for deletion: {}", id);
-            }
-        } catch (RedisConnectionFailureException ex) {
-            logger.error("Redis connection failed while deleting game {}: {}", id, ex.getMessage(), ex);
-            throw ex;
-        } catch (Exception ex) {
-            logger.error("Unexpected error while deleting game {} from Redis: {}", id, ex.getMessage(), ex);
-            throw new RedisConnectionFailureException("Failed to delete game event from Redis", ex);
-        }
-    }
-
-    private String buildKey(Long id) {
-        return "game:" + id;
-    }
+    /**
+     * Reads several games. Games that are not cached are left out.
+     *
+     * @param ids the game ids
+     * @return the cached events, in no particular order
+     */
+    List<PlacarAtualizadoEvent> findAllById(List<Long> ids);
+
+    /**
+     * Reads a game.
+     *
+     * @param id the game id
+     * @return the cached event, or null if not cached
+     */
+    PlacarAtualizadoEvent findById(Long id);
+
+    /**
+     * Reads only the stored version of a game.
+     *
+     * @param id the game id
+     * @return the version, or null if the game is not cached or was written without one
+     */
+    Long findVersion(Long id);
+
+    /**
+     * Reads only the entity tag stored with a game when it was written: its version, or a
+     * hash of its value for unversioned games.
+     *
+     * @param id the game id
+     * @return the tag, without quotes, or null if the game is not cached
+     */
+    String findEtag(Long id);
+
+    /**
+     * Removes a game, its version and its index entry.
+     *
+     * @param id the game id
+     */
+    void deleteById(Long id);
+
+    /**
+     * Removes from the index the ids whose game value no longer exists.
+     *
+     * @param batchSize number of ids checked per step
+     * @return number of ids removed from the index
+     */
+    long pruneIndex(int batchSize);
+
+    /**
+     * Number of ids in the game index (live games plus ids not yet pruned).
+     *
+     * @return the index size
+     */
+    long indexSize();
+
+    /**
+     * Visits every id in the game index.
+     *
+     * @param batchSize number of ids read per step
+     * @param action    called once per id
+     */
+    void forEachIndexedId(int batchSize, LongConsumer action);
+
+    /**
+     * Reads the checkpoint of an interrupted cache rebuild.
+     *
+     * @return the last game id loaded, or null if no rebuild is pending
+     */
+    Long findRebuildCheckpoint();
+
+    /**
+     * Stores the checkpoint of a running cache rebuild, or clears it when null.
+     *
+     * @param lastId the last game id loaded, or null once the rebuild finished
+     */
+    void saveRebuildCheckpoint(Long lastId);
 }
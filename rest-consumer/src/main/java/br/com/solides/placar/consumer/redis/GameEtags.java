@@ -0,0 +1,75 @@
+package br.com.solides.placar.consumer.redis;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Entity tags of cached games, computed once when a game is written and stored in its version
+ * key, so conditional reads compare them without loading the value.
+ * <p>
+ * A versioned game is tagged with its version. An unversioned one is tagged with a hash of its
+ * stored bytes, prefixed with {@code h} so it never parses as a version: the compare-and-set
+ * script treats it as no version at all.
+ * <p>
+ * A tombstone keeps the last version of the game (see {@link GameCacheRepository#isTerminal}),
+ * prefixed with {@code x}. The client of a deleted game may still hold that version as its
+ * tag, which must not validate: the game is now reported as not found.
+ */
+final class GameEtags {
+
+    static final String TOMBSTONE_PREFIX = "x";
+
+    private GameEtags() {
+    }
+
+    /**
+     * Tag of an unversioned game: the first 8 bytes of a SHA-256 of the stored value.
+     *
+     * @param value the serialized value
+     * @return the tag, without quotes
+     */
+    static String content(byte[] value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value);
+            return "h" + HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Tag of a versioned game.
+     *
+     * @param version  the game version
+     * @param terminal whether the state is a tombstone
+     * @return the tag, without quotes
+     */
+    static String versioned(long version, boolean terminal) {
+        return terminal ? TOMBSTONE_PREFIX + Long.toString(version) : Long.toString(version);
+    }
+
+    /**
+     * Whether a stored tag is the one of a tombstone.
+     *
+     * @param tag the stored tag, or null
+     * @return true for a tombstone
+     */
+    static boolean isTombstone(String tag) {
+        return tag != null && tag.startsWith(TOMBSTONE_PREFIX);
+    }
+
+    /**
+     * Reads the version out of a stored tag, the tag of a tombstone included.
+     *
+     * @param tag the stored tag, or null
+     * @return the version, or null if the tag is missing or a content hash
+     */
+    static Long version(String tag) {
+        String version = isTombstone(tag) ? tag.substring(TOMBSTONE_PREFIX.length()) : tag;
+        if (version == null || version.isEmpty() || !Character.isDigit(version.charAt(0))) {
+            return null;
+        }
+        return Long.valueOf(version);
+    }
+}
@@ -0,0 +1,338 @@
+package br.com.solides.placar.consumer.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import br.com.solides.placar.consumer.metrics.GameCacheMetrics;
+import br.com.solides.placar.shared.enums.StatusJogo;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+/**
+ * Redis value serializer for {@link PlacarAtualizadoEvent} that writes either the
+ * legacy JSON document or a compact, versioned binary layout.
+ * <p>
+ * Reads always detect the stored format from the first byte, so both formats can
+ * coexist in Redis while the write format is switched during a rollout (and back,
+ * on rollback).
+ * <p>
+ * Binary layout (format version 1):
+ * <pre>
+ * magic (1 byte, 0xCA) | format version (1 byte) | presence flags (varint)
+ * id              zigzag varlong
+ * dataHoraInicio  zigzag varlong, epoch seconds (UTC)
+ * timeA, timeB    varint length + UTF-8 bytes
+ * placarA/B       zigzag varint
+ * status          1 byte, {@link StatusJogo} ordinal
+ * tempoDeJogo     zigzag varint
+ * dataHoraEncerr. zigzag varlong, epoch seconds (UTC)
+ * versao          zigzag varlong
+ * </pre>
+ * Only fields whose presence flag is set are written. Seconds precision matches the
+ * {@code yyyy-MM-dd'T'HH:mm:ss} pattern used by the JSON format.
+ * <p>
+ * When built with {@link GameCacheMetrics}, the size and encode/decode time of every value
+ * are recorded.
+ */
+public class GameEventRedisSerializer implements RedisSerializer<PlacarAtualizadoEvent> {
+
+    /**
+     * Format used when writing values. Reads accept both.
+     */
+    public enum Format {
+        JSON, BINARY
+    }
+
+    static final byte MAGIC = (byte) 0xCA;
+    static final byte FORMAT_VERSION = 1;
+
+    private static final int F_ID = 1;
+    private static final int F_INICIO = 1 << 1;
+    private static final int F_TIME_A = 1 << 2;
+    private static final int F_TIME_B = 1 << 3;
+    private static final int F_PLACAR_A = 1 << 4;
+    private static final int F_PLACAR_B = 1 << 5;
+    private static final int F_STATUS = 1 << 6;
+    private static final int F_TEMPO = 1 << 7;
+    private static final int F_ENCERRAMENTO = 1 << 8;
+    private static final int F_VERSAO = 1 << 9;
+
+    private static final StatusJogo[] STATUS_VALUES = StatusJogo.values();
+    private static final byte[] EMPTY = new byte[0];
+
+    private final RedisSerializer<PlacarAtualizadoEvent> jsonSerializer;
+    private final Format writeFormat;
+    private final GameCacheMetrics metrics;
+
+    public GameEventRedisSerializer(RedisSerializer<PlacarAtualizadoEvent> jsonSerializer, Format writeFormat) {
+        this(jsonSerializer, writeFormat, null);
+    }
+
+    public GameEventRedisSerializer(RedisSerializer<PlacarAtualizadoEvent> jsonSerializer, Format writeFormat,
+            GameCacheMetrics metrics) {
+        this.jsonSerializer = jsonSerializer;
+        this.writeFormat = writeFormat;
+        this.metrics = metrics;
+    }
+
+    public Format getWriteFormat() {
+        return writeFormat;
+    }
+
+    @Override
+    public byte[] serialize(PlacarAtualizadoEvent event) throws SerializationException {
+        if (event == null) {
+            return EMPTY;
+        }
+        long start = metrics != null ? System.nanoTime() : 0;
+        byte[] bytes = writeFormat == Format.JSON ? jsonSerializer.serialize(event) : encode(event);
+        if (metrics != null) {
+            metrics.serialized(bytes.length, System.nanoTime() - start);
+        }
+        return bytes;
+    }
+
+    @Override
+    public PlacarAtualizadoEvent deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        long start = metrics != null ? System.nanoTime() : 0;
+        PlacarAtualizadoEvent event = bytes[0] == MAGIC ? decode(bytes) : jsonSerializer.deserialize(bytes);
+        if (metrics != null) {
+            metrics.deserialized(bytes.length, System.nanoTime() - start);
+        }
+        return event;
+    }
+
+    static byte[] encode(PlacarAtualizadoEvent event) {
+        byte[] timeA = utf8(event.getTimeA());
+        byte[] timeB = utf8(event.getTimeB());
+
+        int flags = 0;
+        flags |= event.getId() != null ? F_ID : 0;
+        flags |= event.getDataHoraInicioPartida() != null ? F_INICIO : 0;
+        flags |= timeA != null ? F_TIME_A : 0;
+        flags |= timeB != null ? F_TIME_B : 0;
+        flags |= event.getPlacarA() != null ? F_PLACAR_A : 0;
+        flags |= event.getPlacarB() != null ? F_PLACAR_B : 0;
+        flags |= event.getStatus() != null ? F_STATUS : 0;
+        flags |= event.getTempoDeJogo() != null ? F_TEMPO : 0;
+        flags |= event.getDataHoraEncerramento() != null ? F_ENCERRAMENTO : 0;
+        flags |= event.getVersao() != null ? F_VERSAO : 0;
+
+        // Upper bound: header + 4 varlongs (10) + 3 varints (5) + status + 2 length-prefixed strings
+        int capacity = 2 + 5 + 4 * 10 + 3 * 5 + 1
+                + (timeA != null ? 5 + timeA.length : 0)
+                + (timeB != null ? 5 + timeB.length : 0);
+        Writer out = new Writer(capacity);
+
+        out.put(MAGIC);
+        out.put(FORMAT_VERSION);
+        out.putVarint(flags);
+        if ((flags & F_ID) != 0) {
+            out.putZigZagLong(event.getId());
+        }
+        if ((flags & F_INICIO) != 0) {
+            out.putZigZagLong(event.getDataHoraInicioPartida().toEpochSecond(ZoneOffset.UTC));
+        }
+        if ((flags & F_TIME_A) != 0) {
+            out.putBytes(timeA);
+        }
+        if ((flags & F_TIME_B) != 0) {
+            out.putBytes(timeB);
+        }
+        if ((flags & F_PLACAR_A) != 0) {
+            out.putZigZagInt(event.getPlacarA());
+        }
+        if ((flags & F_PLACAR_B) != 0) {
+            out.putZigZagInt(event.getPlacarB());
+        }
+        if ((flags & F_STATUS) != 0) {
+            out.put((byte) event.getStatus().ordinal());
+        }
+        if ((flags & F_TEMPO) != 0) {
+            out.putZigZagInt(event.getTempoDeJogo());
+        }
+        if ((flags & F_ENCERRAMENTO) != 0) {
+            out.putZigZagLong(event.getDataHoraEncerramento().toEpochSecond(ZoneOffset.UTC));
+        }
+        if ((flags & F_VERSAO) != 0) {
+            out.putZigZagLong(event.getVersao());
+        }
+        return out.toByteArray();
+    }
+
+    static PlacarAtualizadoEvent decode(byte[] bytes) {
+        try {
+            Reader in = new Reader(bytes);
+            in.get(); // magic
+            byte version = in.get();
+            if (version != FORMAT_VERSION) {
+                throw new SerializationException("Unsupported game event binary format version: " + version);
+            }
+
+            int flags = in.getVarint();
+            PlacarAtualizadoEvent event = new PlacarAtualizadoEvent();
+            if ((flags & F_ID) != 0) {
+                event.setId(in.getZigZagLong());
+            }
+            if ((flags & F_INICIO) != 0) {
+                event.setDataHoraInicioPartida(LocalDateTime.ofEpochSecond(in.getZigZagLong(), 0, ZoneOffset.UTC));
+            }
+            if ((flags & F_TIME_A) != 0) {
+                event.setTimeA(in.getString());
+            }
+            if ((flags & F_TIME_B) != 0) {
+                event.setTimeB(in.getString());
+            }
+            if ((flags & F_PLACAR_A) != 0) {
+                event.setPlacarA(in.getZigZagInt());
+            }
+            if ((flags & F_PLACAR_B) != 0) {
+                event.setPlacarB(in.getZigZagInt());
+            }
+            if ((flags & F_STATUS) != 0) {
+                int ordinal = in.get() & 0xFF;
+                if (ordinal >= STATUS_VALUES.length) {
+                    throw new SerializationException("Unknown game status ordinal: " + ordinal);
+                }
+                event.setStatus(STATUS_VALUES[ordinal]);
+            }
+            if ((flags & F_TEMPO) != 0) {
+                event.setTempoDeJogo(in.getZigZagInt());
+            }
+            if ((flags & F_ENCERRAMENTO) != 0) {
+                event.setDataHoraEncerramento(LocalDateTime.ofEpochSecond(in.getZigZagLong(), 0, ZoneOffset.UTC));
+            }
+            if ((flags & F_VERSAO) != 0) {
+                event.setVersao(in.getZigZagLong());
+            }
+            return event;
+        } catch (ArrayIndexOutOfBoundsException ex) {
+            throw new SerializationException("Truncated game event binary payload", ex);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int position;
+
+        Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        void put(byte value) {
+            ensure(1);
+            buffer[position++] = value;
+        }
+
+        void putVarint(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void putVarlong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void putZigZagInt(int value) {
+            putVarint((value << 1) ^ (value >> 31));
+        }
+
+        void putZigZagLong(long value) {
+            putVarlong((value << 1) ^ (value >> 63));
+        }
+
+        void putBytes(byte[] value) {
+            putVarint(value.length);
+            ensure(value.length);
+            System.arraycopy(value, 0, buffer, position, value.length);
+            position += value.length;
+        }
+
+        byte[] toByteArray() {
+            return position == buffer.length ? buffer : Arrays.copyOf(buffer, position);
+        }
+
+        private void ensure(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        byte get() {
+            return buffer[position++];
+        }
+
+        int getVarint() {
+            int result = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                byte b = buffer[position++];
+                result |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new SerializationException("Malformed varint in game event binary payload");
+        }
+
+        long getVarlong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer[position++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new SerializationException("Malformed varlong in game event binary payload");
+        }
+
+        int getZigZagInt() {
+            int raw = getVarint();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        long getZigZagLong() {
+            long raw = getVarlong();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        String getString() {
+            int length = getVarint();
+            if (length < 0 || position + length > buffer.length) {
+                throw new SerializationException("Invalid string length in game event binary payload: " + length);
+            }
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.solides.placar.consumer.redis;
+
+/**
+ * Redis key layout of a game.
+ * <p>
+ * The id is wrapped in a hash tag ({@code game:{42}}), so the value, the version and the
+ * timeline of a game hash to the same Redis Cluster slot, and multi-key commands on one
+ * game (the compare-and-set script, deleting value and version together) stay valid in a
+ * cluster. Keys shared by all games (the index, the rebuild checkpoint) are only used by
+ * single-key commands and need no tag.
+ * <p>
+ * Keys written before the hash tag ({@code game:42}, {@code game:42:version},
+ * {@code game:42:timeline}) are only used by the startup migration, see
+ * {@link RedisGameCacheRepository#migrateLegacyKeys(int)}.
+ */
+final class GameKeys {
+
+    private static final String PREFIX = "game:{";
+    private static final String LEGACY_PREFIX = "game:";
+
+    /**
+     * SCAN pattern matching the legacy keys and none of the current ones.
+     */
+    static final String LEGACY_PATTERN = LEGACY_PREFIX + "[0-9]*";
+
+    private GameKeys() {
+    }
+
+    static String value(Long id) {
+        return PREFIX + id + "}";
+    }
+
+    static String version(Long id) {
+        return value(id) + ":version";
+    }
+
+    static String timeline(Long id) {
+        return value(id) + ":timeline";
+    }
+
+    static String legacyValue(Long id) {
+        return LEGACY_PREFIX + id;
+    }
+
+    static String legacyVersion(Long id) {
+        return legacyValue(id) + ":version";
+    }
+
+    static String legacyTimeline(Long id) {
+        return legacyValue(id) + ":timeline";
+    }
+
+    /**
+     * Extracts the game id of a legacy key.
+     *
+     * @param key a key matching {@link #LEGACY_PATTERN}
+     * @return the id, or null if the key is not a legacy game key
+     */
+    static Long legacyId(String key) {
+        if (!key.startsWith(LEGACY_PREFIX)) {
+            return null;
+        }
+        int end = key.indexOf(':', LEGACY_PREFIX.length());
+        String id = end < 0 ? key.substring(LEGACY_PREFIX.length()) : key.substring(LEGACY_PREFIX.length(), end);
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+}
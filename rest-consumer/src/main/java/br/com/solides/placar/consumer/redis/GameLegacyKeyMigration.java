@@ -0,0 +1,41 @@
+package br.com.solides.placar.consumer.redis;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the game keys written before the hash-tagged layout (see {@link GameKeys}) on
+ * startup, so the games already cached stay readable after the upgrade without a cache
+ * rebuild. Finds nothing to do once the keys are moved.
+ */
+@Component
+@Profile("!" + GameCacheRepository.PROFILE_MEMORY)
+public class GameLegacyKeyMigration {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final Logger logger = LoggerFactory.getLogger(GameLegacyKeyMigration.class);
+
+    private final RedisGameCacheRepository cacheRepository;
+
+    public GameLegacyKeyMigration(RedisGameCacheRepository cacheRepository) {
+        this.cacheRepository = cacheRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            long moved = cacheRepository.migrateLegacyKeys(BATCH_SIZE);
+            if (moved > 0) {
+                logger.info("Moved {} game(s) from legacy Redis keys to the hash-tagged layout", moved);
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Legacy game key migration failed, POST /consumer/api/admin/cache/rebuild reloads the cache: {}",
+                    ex.getMessage());
+        }
+    }
+}
@@ -2,15 +2,27 @@ package br.com.solides.placar.consumer.redis;
 
 import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
 import br.com.solides.placar.consumer.service.GameCacheService;
+import br.com.solides.placar.consumer.service.GameLastKnownState;
+import br.com.solides.placar.consumer.service.GameTimelineService;
+import br.com.solides.placar.consumer.service.LiveGamesSnapshot;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import jakarta.validation.Valid;
 import java.net.URI;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -25,27 +37,164 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "Games", description = "Operacoes de consulta e persistencia de jogos no cache Redis")
 public class GameQueryController {
 
+    static final String STALE_HEADER = "X-Cache-Stale";
+
+    private static final Pattern STREAM_ID = Pattern.compile("\\d+(-\\d+)?");
+
     private final GameCacheService cacheService;
+    private final GameLastKnownState lastKnownState;
+    private final LiveGamesSnapshot liveGames;
+    private final GameTimelineService timeline;
 
-    public GameQueryController(GameCacheService cacheService) {
+    public GameQueryController(GameCacheService cacheService, GameLastKnownState lastKnownState,
+            LiveGamesSnapshot liveGames, GameTimelineService timeline) {
         this.cacheService = cacheService;
+        this.lastKnownState = lastKnownState;
+        this.liveGames = liveGames;
+        this.timeline = timeline;
+    }
+
+    @GetMapping("/live")
+    @Operation(summary = "Listar jogos ao vivo", description = "Retorna todos os jogos nao iniciados ou em andamento, "
+            + "a partir de um documento mantido em memoria (gzip quando aceito pelo cliente). "
+            + "Suporta If-None-Match com o ETag retornado na consulta anterior.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Jogos ao vivo", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PlacarAtualizadoEvent[].class))),
+            @ApiResponse(responseCode = "304", description = "Lista nao alterada desde o ETag informado")
+    })
+    public ResponseEntity<byte[]> getLive(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        LiveGamesSnapshot.Snapshot snapshot = liveGames.current();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        // The two encodings are different byte sequences, so each gets its own strong ETag
+        String etag = "\"" + snapshot.hash() + (gzip ? "-gzip" : "") + "\"";
+        // checkNotModified already sets the ETag of the 304
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(HttpHeaders.ACCEPT_ENCODING).build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return response.body(snapshot.json());
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            // "gzip;q=0" explicitly refuses gzip
+            for (int i = 1; i < parts.length; i++) {
+                if (parts[i].trim().matches("q=0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Consultar jogo por ID", description = "Retorna o evento de jogo armazenado no cache Redis.")
+    @Operation(summary = "Consultar jogo por ID", description = "Retorna o evento de jogo armazenado no cache Redis. "
+            + "Suporta If-None-Match com o ETag (versao do jogo, ou hash do conteudo para jogos sem versao) "
+            + "retornado na consulta anterior. "
+            + "Com o Redis indisponivel, responde com o ultimo estado conhecido e o cabecalho X-Cache-Stale.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Jogo encontrado", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PlacarAtualizadoEvent.class))),
+            @ApiResponse(responseCode = "304", description = "Jogo nao alterado desde o ETag informado"),
             @ApiResponse(responseCode = "404", description = "Jogo nao encontrado")
     })
     public ResponseEntity<PlacarAtualizadoEvent> getById(
-            @Parameter(description = "Identificador do jogo", example = "10") @PathVariable("id") Long id) {
+            @Parameter(description = "Identificador do jogo", example = "10") @PathVariable("id") Long id,
+            @Parameter(description = "ETag da consulta anterior") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            WebRequest request) {
+        try {
+            return findFresh(id, ifNoneMatch, request);
+        } catch (CallNotPermittedException ex) {
+            if (!lastKnownState.isEnabled()) {
+                throw ex;
+            }
+            return findStale(id);
+        }
+    }
+
+    /**
+     * Answers from the cache. The tag stored with the game is read before the game: a tag
+     * older than the body only costs the client a full response on its next request, while a
+     * newer one would validate a body the client never got. A deleted game is not found, even
+     * for a client still holding the tag of its last version.
+     */
+    private ResponseEntity<PlacarAtualizadoEvent> findFresh(Long id, String ifNoneMatch, WebRequest request) {
+        String tag = cacheService.findEtag(id);
+        if (GameEtags.isTombstone(tag)) {
+            return ResponseEntity.notFound().build();
+        }
+        // Conditional request: compare against the stored tag only, without loading the event.
+        // checkNotModified already sets the ETag of the 304.
+        if (tag != null && ifNoneMatch != null && request.checkNotModified(etag(tag))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
         PlacarAtualizadoEvent event = cacheService.findById(id);
         if (event == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(event);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (event.getVersao() != null) {
+            response.eTag(etag(event.getVersao().toString()));
+        } else if (tag != null) {
+            response.eTag(etag(tag));
+        }
+        return response.body(event);
+    }
+
+    /**
+     * Answers from the last known state while the Redis circuit breaker is open. Conditional
+     * requests are not evaluated, the client always gets the state it can display. Only
+     * versioned states carry a tag, the stored tag of an unversioned one is in Redis.
+     */
+    private ResponseEntity<PlacarAtualizadoEvent> findStale(Long id) {
+        PlacarAtualizadoEvent event = lastKnownState.find(id);
+        if (event == null) {
+            return ResponseEntity.notFound().header(STALE_HEADER, "true").build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().header(STALE_HEADER, "true");
+        if (event.getVersao() != null) {
+            response.eTag(etag(event.getVersao().toString()));
+        }
+        return response.body(event);
+    }
+
+    private static String etag(String tag) {
+        return "\"" + tag + "\"";
     }
 
+    @GetMapping("/{id}/timeline")
+    @Operation(summary = "Linha do tempo do jogo", description = "Retorna os eventos aceitos do jogo em ordem. "
+            + "Para continuar a leitura, informe em since o id da ultima entrada recebida.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Eventos do jogo (lista vazia se nao houver)"),
+            @ApiResponse(responseCode = "400", description = "Valor de since invalido")
+    })
+    public ResponseEntity<List<GameTimelineEntry>> getTimeline(
+            @Parameter(description = "Identificador do jogo", example = "10") @PathVariable("id") Long id,
+            @Parameter(description = "Id da ultima entrada recebida (exclusivo)", example = "1767225600000-0") @RequestParam(name = "since", required = false) String since,
+            @Parameter(description = "Quantidade maxima de eventos") @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        if (since != null && !STREAM_ID.matcher(since).matches()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(timeline.find(id, since, limit));
+    }
 
     @PostMapping
     @Operation(summary = "Criar/atualizar jogo no cache", description = "Persiste um evento de jogo no Redis.")
@@ -0,0 +1,13 @@
+package br.com.solides.placar.consumer.redis;
+
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+/**
+ * One accepted event in a game timeline.
+ *
+ * @param id    the Redis stream entry id ({@code <epoch millis>-<sequence>}), used as the
+ *              {@code since} cursor of the next range read
+ * @param event the game state after the event
+ */
+public record GameTimelineEntry(String id, PlacarAtualizadoEvent event) {
+}
@@ -0,0 +1,141 @@
+package br.com.solides.placar.consumer.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+
+/**
+ * Per-game event timelines, one capped Redis stream per game ({@code game:{<id>}:timeline},
+ * in the same cluster slot as the game, see {@link GameKeys}).
+ * Each entry holds the JSON of the game state after an accepted event.
+ */
+@Repository
+public class GameTimelineRepository {
+
+    private static final String BACKEND_REDIS = GameCacheRepository.BACKEND_REDIS;
+    private static final String EVENT_FIELD = "event";
+    private static final byte[] EVENT_FIELD_BYTES = EVENT_FIELD.getBytes(StandardCharsets.UTF_8);
+
+    private static final Logger logger = LoggerFactory.getLogger(GameTimelineRepository.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public GameTimelineRepository(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Appends an event to the game timeline in one round trip: XADD with approximate MAXLEN
+     * trimming (amortized O(1)) and, when given, PEXPIRE of the whole timeline.
+     *
+     * @param event     the accepted event
+     * @param maxLength approximate number of entries kept
+     * @param ttl       time-to-live of the timeline, or null to keep it
+     */
+    @CircuitBreaker(name = BACKEND_REDIS)
+    @Retry(name = BACKEND_REDIS)
+    public void append(PlacarAtualizadoEvent event, int maxLength, Duration ttl) {
+        try {
+            byte[] key = buildKey(event.getId()).getBytes(StandardCharsets.UTF_8);
+            MapRecord<byte[], byte[], byte[]> record = StreamRecords.newRecord()
+                    .in(key)
+                    .ofMap(Map.of(EVENT_FIELD_BYTES, objectMapper.writeValueAsBytes(event)));
+            XAddOptions options = XAddOptions.maxlen(maxLength).approximateTrimming(true);
+
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.streamCommands().xAdd(record, options);
+                if (ttl != null) {
+                    connection.keyCommands().pExpire(key, ttl.toMillis());
+                }
+                return null;
+            });
+        } catch (RedisConnectionFailureException ex) {
+            logger.error("Redis connection failed while appending to timeline of game {}: {}", event.getId(),
+                    ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error while appending to timeline of game {}: {}", event.getId(),
+                    ex.getMessage(), ex);
+            throw new RedisConnectionFailureException("Failed to append to game timeline in Redis", ex);
+        }
+    }
+
+    /**
+     * Reads timeline entries in order.
+     *
+     * @param id    the game id
+     * @param since entry id to start after (exclusive), or null to read from the start
+     * @param limit maximum number of entries
+     * @return the entries, empty if the game has no timeline
+     */
+    @CircuitBreaker(name = BACKEND_REDIS)
+    @Retry(name = BACKEND_REDIS)
+    public List<GameTimelineEntry> range(Long id, String since, int limit) {
+        try {
+            Range<String> range = since != null
+                    ? Range.rightUnbounded(Range.Bound.exclusive(since))
+                    : Range.unbounded();
+            List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream()
+                    .range(buildKey(id), range, Limit.limit().count(limit));
+            if (records == null) {
+                return List.of();
+            }
+
+            List<GameTimelineEntry> entries = new ArrayList<>(records.size());
+            for (MapRecord<String, Object, Object> record : records) {
+                Object json = record.getValue().get(EVENT_FIELD);
+                if (json != null) {
+                    entries.add(new GameTimelineEntry(record.getId().getValue(),
+                            objectMapper.readValue(json.toString(), PlacarAtualizadoEvent.class)));
+                }
+            }
+            return entries;
+        } catch (RedisConnectionFailureException ex) {
+            logger.error("Redis connection failed while reading timeline of game {}: {}", id, ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error while reading timeline of game {}: {}", id, ex.getMessage(), ex);
+            throw new RedisConnectionFailureException("Failed to read game timeline from Redis", ex);
+        }
+    }
+
+    @CircuitBreaker(name = BACKEND_REDIS)
+    @Retry(name = BACKEND_REDIS)
+    public void delete(Long id) {
+        try {
+            stringRedisTemplate.delete(buildKey(id));
+        } catch (RedisConnectionFailureException ex) {
+            logger.error("Redis connection failed while deleting timeline of game {}: {}", id, ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error while deleting timeline of game {}: {}", id, ex.getMessage(), ex);
+            throw new RedisConnectionFailureException("Failed to delete game timeline from Redis", ex);
+        }
+    }
+
+    private String buildKey(Long id) {
+        return GameKeys.timeline(id);
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.solides.placar.consumer.redis;
+
+import java.time.Duration;
+
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+/**
+ * A game value to be written to the cache, with an optional TTL (null means no expiration).
+ */
+public record GameWrite(PlacarAtualizadoEvent event, Duration ttl) {
+}
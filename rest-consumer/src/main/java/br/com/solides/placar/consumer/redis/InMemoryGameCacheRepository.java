@@ -0,0 +1,417 @@
+package br.com.solides.placar.consumer.redis;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.metrics.GameCacheMetrics;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+/**
+ * In-process backend of the game cache, selected by the {@code memory} profile for
+ * single-node deployments and container-free performance tests.
+ * <p>
+ * Games are kept in a {@link LongKeyedMap} keyed by id, encoded with the binary value format,
+ * so readers always get their own copy, exactly as with Redis. Expired games are hidden from
+ * reads right away and dropped from the index by {@link #pruneIndex(int)}, which is what the
+ * Redis backend does with expired keys. Versioned writes are compared and set under the
+ * map's stripe lock.
+ * <p>
+ * When {@code app.cache.memory.snapshot-path} is set, the cache is written to that file every
+ * {@code snapshot-interval} ms (only if it changed) and once more on shutdown, after the
+ * write-behind buffer was flushed, and is reloaded on startup before the listeners start.
+ * A crash loses the writes made since the last snapshot.
+ */
+@Repository
+@Profile(GameCacheRepository.PROFILE_MEMORY)
+public class InMemoryGameCacheRepository implements GameCacheRepository, SmartLifecycle {
+
+    /**
+     * Starts before and stops after the write-behind buffer ({@code Integer.MAX_VALUE - 1000}).
+     */
+    static final int PHASE = Integer.MAX_VALUE - 2000;
+
+    static final int SNAPSHOT_MAGIC = 0x504C4331;
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryGameCacheRepository.class);
+
+    private final LongKeyedMap<Entry> games = new LongKeyedMap<>();
+    private final GameEventRedisSerializer serializer;
+    private final GameCacheMetrics metrics;
+    private final AppProperties.Cache.Memory settings;
+    private final LongSupplier clock;
+
+    private final AtomicLong changes = new AtomicLong();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private long snapshottedChanges;
+
+    private volatile Long rebuildCheckpoint;
+    private volatile boolean running;
+
+    @Autowired
+    public InMemoryGameCacheRepository(ObjectMapper objectMapperForRedis, GameCacheMetrics metrics,
+            AppProperties properties) {
+        this(new GameEventRedisSerializer(
+                new Jackson2JsonRedisSerializer<>(objectMapperForRedis, PlacarAtualizadoEvent.class),
+                GameEventRedisSerializer.Format.BINARY, metrics), metrics, properties, System::currentTimeMillis);
+    }
+
+    InMemoryGameCacheRepository(GameEventRedisSerializer serializer, GameCacheMetrics metrics,
+            AppProperties properties, LongSupplier clock) {
+        this.serializer = serializer;
+        this.metrics = metrics;
+        this.settings = properties.getCache().getMemory();
+        this.clock = clock;
+    }
+
+    @Override
+    public void save(PlacarAtualizadoEvent event) {
+        if (event == null || event.getId() == null) {
+            logger.warn("Attempted to save null event or event with null ID");
+            return;
+        }
+        metrics.run(GameCacheMetrics.OP_SAVE, () -> put(event, null, null));
+    }
+
+    @Override
+    public void saveGameWithTtl(PlacarAtualizadoEvent event, Duration ttl) {
+        if (event == null || event.getId() == null) {
+            logger.warn("Attempted to save null event or event with null ID with TTL");
+            return;
+        }
+        metrics.run(GameCacheMetrics.OP_SAVE, () -> put(event, null, ttl));
+    }
+
+    @Override
+    public boolean saveIfNewer(PlacarAtualizadoEvent event, Duration ttl) {
+        if (event == null || event.getId() == null || event.getVersao() == null) {
+            logger.warn("Attempted to save null event or event with null ID or version");
+            return false;
+        }
+        return metrics.time(GameCacheMetrics.OP_SAVE, () -> putIfNewer(event, ttl));
+    }
+
+    @Override
+    public List<Long> saveAll(List<GameWrite> writes) {
+        if (writes == null || writes.isEmpty()) {
+            return List.of();
+        }
+        return metrics.time(GameCacheMetrics.OP_SAVE, () -> {
+            List<Long> rejected = new ArrayList<>();
+            for (GameWrite write : writes) {
+                PlacarAtualizadoEvent event = write.event();
+                if (event.getVersao() != null) {
+                    if (!putIfNewer(event, write.ttl())) {
+                        rejected.add(event.getId());
+                    }
+                } else {
+                    put(event, null, write.ttl());
+                }
+            }
+            return rejected;
+        });
+    }
+
+    @Override
+    public List<PlacarAtualizadoEvent> findAllById(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return metrics.time(GameCacheMetrics.OP_FIND, () -> {
+            long now = clock.getAsLong();
+            List<PlacarAtualizadoEvent> found = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                Entry entry = id != null ? games.get(id) : null;
+                if (entry != null && entry.isLive(now)) {
+                    found.add(serializer.deserialize(entry.value()));
+                }
+            }
+            return found;
+        });
+    }
+
+    @Override
+    public PlacarAtualizadoEvent findById(Long id) {
+        if (id == null) {
+            logger.warn("Attempted to find game with null ID");
+            return null;
+        }
+        return metrics.time(GameCacheMetrics.OP_FIND, () -> {
+            Entry entry = live(id);
+            return entry != null ? serializer.deserialize(entry.value()) : null;
+        });
+    }
+
+    @Override
+    public Long findVersion(Long id) {
+        if (id == null) {
+            return null;
+        }
+        return metrics.time(GameCacheMetrics.OP_FIND, () -> {
+            Entry entry = live(id);
+            return entry != null ? entry.version() : null;
+        });
+    }
+
+    @Override
+    public String findEtag(Long id) {
+        if (id == null) {
+            return null;
+        }
+        return metrics.time(GameCacheMetrics.OP_FIND, () -> {
+            Entry entry = live(id);
+            return entry != null ? entry.tag() : null;
+        });
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        if (id == null) {
+            logger.warn("Attempted to delete game with null ID");
+            return;
+        }
+        metrics.run(GameCacheMetrics.OP_DELETE, () -> {
+            if (games.remove(id) != null) {
+                changes.incrementAndGet();
+            }
+        });
+    }
+
+    @Override
+    public long pruneIndex(int batchSize) {
+        long now = clock.getAsLong();
+        int removed = games.removeIf((id, entry) -> !entry.isLive(now));
+        if (removed > 0) {
+            changes.incrementAndGet();
+        }
+        return removed;
+    }
+
+    @Override
+    public long indexSize() {
+        return games.size();
+    }
+
+    @Override
+    public void forEachIndexedId(int batchSize, LongConsumer action) {
+        games.forEach((id, entry) -> action.accept(id));
+    }
+
+    @Override
+    public Long findRebuildCheckpoint() {
+        return rebuildCheckpoint;
+    }
+
+    @Override
+    public void saveRebuildCheckpoint(Long lastId) {
+        rebuildCheckpoint = lastId;
+        changes.incrementAndGet();
+    }
+
+    /**
+     * Writes the snapshot file if the cache changed since the last one.
+     */
+    @Scheduled(fixedDelayString = "#{@appProperties.cache.memory.snapshotInterval}")
+    public void snapshot() {
+        Path path = snapshotPath();
+        if (path == null || !snapshotLock.tryLock()) {
+            return;
+        }
+        try {
+            long current = changes.get();
+            if (current == snapshottedChanges && Files.exists(path)) {
+                return;
+            }
+            int written = writeSnapshot(path);
+            snapshottedChanges = current;
+            logger.debug("Wrote snapshot of {} game(s) to {}", written, path);
+        } catch (IOException ex) {
+            logger.error("Failed to write game cache snapshot to {}: {}", path, ex.getMessage(), ex);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * Loads the snapshot file, skipping games that expired meanwhile.
+     *
+     * @return number of games loaded
+     */
+    int restore() {
+        Path path = snapshotPath();
+        if (path == null || !Files.exists(path)) {
+            return 0;
+        }
+        long now = clock.getAsLong();
+        int loaded = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                logger.warn("Ignoring game cache snapshot {}: unknown format", path);
+                return 0;
+            }
+            long checkpoint = in.readLong();
+            rebuildCheckpoint = checkpoint > 0 ? checkpoint : null;
+            while (in.readBoolean()) {
+                long id = in.readLong();
+                Long version = in.readBoolean() ? in.readLong() : null;
+                long expiresAt = in.readLong();
+                byte[] value = in.readNBytes(in.readInt());
+                // The tag is not in the file: a tombstone is told by its value
+                boolean terminal = version != null && GameCacheRepository.isTerminal(serializer.deserialize(value));
+                Entry entry = Entry.of(value, version, terminal, expiresAt);
+                if (entry.isLive(now)) {
+                    games.put(id, entry);
+                    loaded++;
+                }
+            }
+            snapshottedChanges = changes.get();
+        } catch (IOException ex) {
+            logger.error("Failed to read game cache snapshot {}, starting with {} game(s): {}", path, loaded,
+                    ex.getMessage(), ex);
+        }
+        return loaded;
+    }
+
+    @Override
+    public void start() {
+        int loaded = restore();
+        if (loaded > 0) {
+            logger.info("Restored {} game(s) from the cache snapshot", loaded);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        snapshot();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private int writeSnapshot(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        int[] written = new int[1];
+        long now = clock.getAsLong();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            Long checkpoint = rebuildCheckpoint;
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(checkpoint != null ? checkpoint : 0);
+            IOException[] failure = new IOException[1];
+            games.forEach((id, entry) -> {
+                if (failure[0] != null || !entry.isLive(now)) {
+                    return;
+                }
+                try {
+                    out.writeBoolean(true);
+                    out.writeLong(id);
+                    out.writeBoolean(entry.version() != null);
+                    if (entry.version() != null) {
+                        out.writeLong(entry.version());
+                    }
+                    out.writeLong(entry.expiresAt());
+                    out.writeInt(entry.value().length);
+                    out.write(entry.value());
+                    written[0]++;
+                } catch (IOException ex) {
+                    failure[0] = ex;
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            out.writeBoolean(false);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return written[0];
+    }
+
+    private void put(PlacarAtualizadoEvent event, Long version, Duration ttl) {
+        games.put(event.getId(), Entry.of(serializer.serialize(event), version, false, expiresAt(ttl)));
+        changes.incrementAndGet();
+    }
+
+    private boolean putIfNewer(PlacarAtualizadoEvent event, Duration ttl) {
+        boolean terminal = GameCacheRepository.isTerminal(event);
+        Entry candidate = Entry.of(serializer.serialize(event), event.getVersao(), terminal, expiresAt(ttl));
+        long now = clock.getAsLong();
+        Entry stored = games.compute(event.getId(), current -> current != null && current.isLive(now)
+                && current.version() != null && (current.version() > candidate.version()
+                        || current.version().equals(candidate.version()) && !terminal) ? current : candidate);
+        if (stored != candidate) {
+            logger.debug("Stale game event {} version {} rejected", event.getId(), event.getVersao());
+            return false;
+        }
+        changes.incrementAndGet();
+        return true;
+    }
+
+    private Entry live(long id) {
+        Entry entry = games.get(id);
+        return entry != null && entry.isLive(clock.getAsLong()) ? entry : null;
+    }
+
+    private long expiresAt(Duration ttl) {
+        return ttl != null ? clock.getAsLong() + ttl.toMillis() : 0;
+    }
+
+    private Path snapshotPath() {
+        String path = settings.getSnapshotPath();
+        return path != null && !path.isBlank() ? Path.of(path) : null;
+    }
+
+    /**
+     * A cached game: the encoded value, its version (null for unversioned writes), its entity
+     * tag and its expiration in epoch milliseconds (0 for none).
+     */
+    record Entry(byte[] value, Long version, String tag, long expiresAt) {
+
+        /**
+         * Tags the entry as the Redis backend does, once per write (or per snapshot load).
+         */
+        static Entry of(byte[] value, Long version, boolean terminal, long expiresAt) {
+            String tag = version != null ? GameEtags.versioned(version, terminal) : GameEtags.content(value);
+            return new Entry(value, version, tag, expiresAt);
+        }
+
+        boolean isLive(long now) {
+            return expiresAt == 0 || expiresAt > now;
+        }
+    }
+}
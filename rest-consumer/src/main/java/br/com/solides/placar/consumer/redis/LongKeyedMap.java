@@ -0,0 +1,274 @@
+package br.com.solides.placar.consumer.redis;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Concurrent map from primitive {@code long} keys to non-null values, without boxing keys
+ * or allocating a node per entry.
+ * <p>
+ * Keys are spread over a fixed number of stripes, each an open-addressing table with linear
+ * probing and backward-shift deletion, guarded by its own monitor. Iteration copies one
+ * stripe at a time and calls the visitor outside the lock, so it is weakly consistent.
+ *
+ * @param <V> the value type
+ */
+final class LongKeyedMap<V> {
+
+    @FunctionalInterface
+    interface Visitor<V> {
+        void visit(long key, V value);
+    }
+
+    @FunctionalInterface
+    interface Matcher<V> {
+        boolean matches(long key, V value);
+    }
+
+    private static final int STRIPE_BITS = 6;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Stripe[] stripes = new Stripe[1 << STRIPE_BITS];
+
+    LongKeyedMap() {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    V get(long key) {
+        long hash = mix(key);
+        Stripe stripe = stripeFor(hash);
+        synchronized (stripe) {
+            return cast(stripe.get(key, hash));
+        }
+    }
+
+    V put(long key, V value) {
+        return compute(key, current -> value);
+    }
+
+    /**
+     * Atomically replaces the value of a key.
+     *
+     * @param key       the key
+     * @param remapping receives the current value (null if absent) and returns the new value,
+     *                  or null to remove the key; runs under the stripe lock
+     * @return the new value, or null if the key is absent afterwards
+     */
+    V compute(long key, UnaryOperator<V> remapping) {
+        long hash = mix(key);
+        Stripe stripe = stripeFor(hash);
+        synchronized (stripe) {
+            V current = cast(stripe.get(key, hash));
+            V updated = remapping.apply(current);
+            if (updated == null) {
+                if (current != null) {
+                    stripe.remove(key, hash);
+                }
+            } else if (updated != current) {
+                stripe.put(key, hash, updated);
+            }
+            return updated;
+        }
+    }
+
+    V remove(long key) {
+        long hash = mix(key);
+        Stripe stripe = stripeFor(hash);
+        synchronized (stripe) {
+            return cast(stripe.remove(key, hash));
+        }
+    }
+
+    long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.reset();
+            }
+        }
+    }
+
+    void forEach(Visitor<V> visitor) {
+        for (Stripe stripe : stripes) {
+            long[] keys;
+            Object[] values;
+            int count;
+            synchronized (stripe) {
+                keys = new long[stripe.size];
+                values = new Object[stripe.size];
+                count = stripe.copyTo(keys, values);
+            }
+            for (int i = 0; i < count; i++) {
+                visitor.visit(keys[i], cast(values[i]));
+            }
+        }
+    }
+
+    /**
+     * Removes every entry the matcher accepts. The matcher runs under the stripe lock.
+     *
+     * @param matcher the removal condition
+     * @return number of entries removed
+     */
+    int removeIf(Matcher<V> matcher) {
+        int removed = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                removed += stripe.removeIf(matcher);
+            }
+        }
+        return removed;
+    }
+
+    private Stripe stripeFor(long hash) {
+        return stripes[(int) (hash >>> (Long.SIZE - STRIPE_BITS))];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V cast(Object value) {
+        return (V) value;
+    }
+
+    /**
+     * SplitMix64 finalizer: the top bits pick the stripe, the low bits the slot.
+     */
+    private static long mix(long key) {
+        long z = key + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * One open-addressing table. Empty slots hold a null value. Callers hold its monitor.
+     */
+    private static final class Stripe {
+        private long[] keys;
+        private Object[] values;
+        private int size;
+
+        Stripe() {
+            reset();
+        }
+
+        void reset() {
+            keys = new long[INITIAL_CAPACITY];
+            values = new Object[INITIAL_CAPACITY];
+            size = 0;
+        }
+
+        Object get(long key, long hash) {
+            int mask = keys.length - 1;
+            for (int i = (int) hash & mask;; i = (i + 1) & mask) {
+                if (values[i] == null) {
+                    return null;
+                }
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+        }
+
+        void put(long key, long hash, Object value) {
+            int mask = keys.length - 1;
+            for (int i = (int) hash & mask;; i = (i + 1) & mask) {
+                if (values[i] == null) {
+                    keys[i] = key;
+                    values[i] = value;
+                    if (++size * 4 > keys.length * 3) {
+                        grow();
+                    }
+                    return;
+                }
+                if (keys[i] == key) {
+                    values[i] = value;
+                    return;
+                }
+            }
+        }
+
+        Object remove(long key, long hash) {
+            int mask = keys.length - 1;
+            for (int i = (int) hash & mask;; i = (i + 1) & mask) {
+                if (values[i] == null) {
+                    return null;
+                }
+                if (keys[i] == key) {
+                    Object previous = values[i];
+                    deleteAt(i);
+                    return previous;
+                }
+            }
+        }
+
+        <V> int removeIf(Matcher<V> matcher) {
+            int removed = 0;
+            int i = 0;
+            while (i < keys.length) {
+                // Backward shift may move a later entry into slot i, so re-check it
+                if (values[i] != null && matcher.matches(keys[i], cast(values[i]))) {
+                    deleteAt(i);
+                    removed++;
+                } else {
+                    i++;
+                }
+            }
+            return removed;
+        }
+
+        int copyTo(long[] targetKeys, Object[] targetValues) {
+            int count = 0;
+            for (int i = 0; i < keys.length && count < targetKeys.length; i++) {
+                if (values[i] != null) {
+                    targetKeys[count] = keys[i];
+                    targetValues[count] = values[i];
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Empties slot {@code i} and shifts back the entries of the same probe run that
+         * would otherwise become unreachable.
+         */
+        private void deleteAt(int i) {
+            int mask = keys.length - 1;
+            int hole = i;
+            for (int j = (hole + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+                int home = (int) mix(keys[j]) & mask;
+                boolean homeBetween = hole <= j ? hole < home && home <= j : hole < home || home <= j;
+                if (!homeBetween) {
+                    keys[hole] = keys[j];
+                    values[hole] = values[j];
+                    hole = j;
+                }
+            }
+            values[hole] = null;
+            size--;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new Object[oldValues.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) {
+                    put(oldKeys[i], mix(oldKeys[i]), oldValues[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.solides.placar.consumer.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Repository;
+
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+
+/**
+ * Ids of the broker messages already processed, shared by all consumer instances
+ * ({@code msg:processed:<message id>}, expiring after the dedup window).
+ */
+@Repository
+public class ProcessedMessageRepository {
+
+    static final String KEY_PREFIX = "msg:processed:";
+
+    private static final byte[] MARK = "1".getBytes(StandardCharsets.UTF_8);
+
+    private static final String BACKEND_REDIS = GameCacheRepository.BACKEND_REDIS;
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessedMessageRepository.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public ProcessedMessageRepository(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    @CircuitBreaker(name = BACKEND_REDIS)
+    @Retry(name = BACKEND_REDIS)
+    public boolean exists(String messageId) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.hasKey(KEY_PREFIX + messageId));
+        } catch (RedisConnectionFailureException ex) {
+            logger.error("Redis connection failed while checking message {}: {}", messageId, ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error while checking message {} in Redis: {}", messageId, ex.getMessage(), ex);
+            throw new RedisConnectionFailureException("Failed to check processed message in Redis", ex);
+        }
+    }
+
+    /**
+     * Records a processed message with SET NX, keeping the expiration of an earlier record.
+     *
+     * @param messageId the broker message id
+     * @param ttl       how long the id is remembered
+     * @return false if the message was already recorded
+     */
+    @CircuitBreaker(name = BACKEND_REDIS)
+    @Retry(name = BACKEND_REDIS)
+    public boolean markProcessed(String messageId, Duration ttl) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + messageId, "1", ttl));
+        } catch (RedisConnectionFailureException ex) {
+            logger.error("Redis connection failed while recording message {}: {}", messageId, ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error while recording message {} in Redis: {}", messageId, ex.getMessage(), ex);
+            throw new RedisConnectionFailureException("Failed to record processed message in Redis", ex);
+        }
+    }
+
+    /**
+     * Tells which of the given messages were already recorded, with one pipelined round trip.
+     *
+     * @param messageIds the broker message ids
+     * @return the ids that are recorded
+     */
+    @CircuitBreaker(name = BACKEND_REDIS)
+    @Retry(name = BACKEND_REDIS)
+    public Set<String> findProcessed(List<String> messageIds) {
+        try {
+            List<Object> exists = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String messageId : messageIds) {
+                    connection.keyCommands().exists(key(messageId));
+                }
+                return null;
+            });
+            Set<String> processed = new HashSet<>();
+            for (int i = 0; i < messageIds.size(); i++) {
+                if (Boolean.TRUE.equals(exists.get(i))) {
+                    processed.add(messageIds.get(i));
+                }
+            }
+            return processed;
+        } catch (RedisConnectionFailureException ex) {
+            logger.error("Redis connection failed while checking {} message(s): {}", messageIds.size(), ex.getMessage(),
+                    ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error while checking {} message(s) in Redis: {}", messageIds.size(),
+                    ex.getMessage(), ex);
+            throw new RedisConnectionFailureException("Failed to check processed messages in Redis", ex);
+        }
+    }
+
+    /**
+     * Records processed messages with SET NX, with one pipelined round trip.
+     *
+     * @param messageIds the broker message ids
+     * @param ttl        how long the ids are remembered
+     */
+    @CircuitBreaker(name = BACKEND_REDIS)
+    @Retry(name = BACKEND_REDIS)
+    public void markAllProcessed(List<String> messageIds, Duration ttl) {
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String messageId : messageIds) {
+                    connection.stringCommands().set(key(messageId), MARK, Expiration.from(ttl), SetOption.ifAbsent());
+                }
+                return null;
+            });
+        } catch (RedisConnectionFailureException ex) {
+            logger.error("Redis connection failed while recording {} message(s): {}", messageIds.size(),
+                    ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error while recording {} message(s) in Redis: {}", messageIds.size(),
+                    ex.getMessage(), ex);
+            throw new RedisConnectionFailureException("Failed to record processed messages in Redis", ex);
+        }
+    }
+
+    private static byte[] key(String messageId) {
+        return (KEY_PREFIX + messageId).getBytes(StandardCharsets.UTF_8);
+    }
+}
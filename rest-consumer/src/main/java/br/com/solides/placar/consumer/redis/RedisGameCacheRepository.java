@@ -0,0 +1,682 @@
+package br.com.solides.placar.consumer.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Repository;
+
+import br.com.solides.placar.consumer.metrics.GameCacheMetrics;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+
+/**
+ * Redis backend of the game cache, used unless the {@code memory} profile is active.
+ * <p>
+ * Works against a standalone Redis or a Redis Cluster ({@code spring.data.redis.cluster.nodes}).
+ * The keys of a game share a hash slot (see {@link GameKeys}), so the compare-and-set script
+ * and the deletes of a game stay single-slot. Batch reads and pipelines span slots: the cluster
+ * connection splits a cross-slot MGET by slot and routes each pipelined script to the node of
+ * its keys ({@code RedisGameCacheRepositoryClusterTest} runs both against a real cluster).
+ */
+@Repository
+@Profile("!" + GameCacheRepository.PROFILE_MEMORY)
+public class RedisGameCacheRepository implements GameCacheRepository {
+
+    /**
+     * Set with the ids of every game written to the cache. Entries whose value expired are
+     * removed by {@link #pruneIndex(int)}.
+     */
+    static final String INDEX_KEY = "game:ids";
+
+    /**
+     * Last game id bulk-loaded by the cache rebuild, so an interrupted rebuild resumes there.
+     */
+    static final String REBUILD_CHECKPOINT_KEY = "game:rebuild:checkpoint";
+
+    /**
+     * Compare-and-set on the game version. KEYS[1] is the game value, KEYS[2] its version
+     * (both in the same cluster slot); ARGV[1] is the incoming version, ARGV[2] the serialized
+     * value, ARGV[3] the TTL in milliseconds (0 for none) and ARGV[4] is 1 for a
+     * {@linkplain GameCacheRepository#isTerminal terminal} write, which also replaces the same
+     * version and is tagged as a tombstone. Returns 1 if written, 0 if the stored version is not
+     * older. A content tag left by an unversioned write (see {@link GameEtags}) does not parse as
+     * a number and counts as no version.
+     */
+    static final String SAVE_IF_NEWER_LUA = """
+            local stored = tonumber((string.gsub(redis.call('GET', KEYS[2]) or '', '^x', '')))
+            local incoming = tonumber(ARGV[1])
+            if stored and (stored > incoming or (stored == incoming and ARGV[4] ~= '1')) then
+              return 0
+            end
+            local tag = ARGV[1]
+            if ARGV[4] == '1' then
+              tag = 'x' .. tag
+            end
+            local ttl = tonumber(ARGV[3])
+            if ttl > 0 then
+              redis.call('SET', KEYS[1], ARGV[2], 'PX', ttl)
+              redis.call('SET', KEYS[2], tag, 'PX', ttl)
+            else
+              redis.call('SET', KEYS[1], ARGV[2])
+              redis.call('SET', KEYS[2], tag)
+            end
+            return 1
+            """;
+
+    /**
+     * Moves the legacy keys of one game to the current layout, keeping their TTL. KEYS[1..3]
+     * are the legacy value, version and timeline, KEYS[4..6] their current names and KEYS[7]
+     * the index; ARGV[1] is the game id. A value already written under the current layout is
+     * newer and wins, the legacy one is deleted. Returns 1 if the value was moved.
+     */
+    static final String MIGRATE_LEGACY_LUA = """
+            local moved = 0
+            if redis.call('EXISTS', KEYS[1]) == 1 and redis.call('EXISTS', KEYS[4]) == 0 then
+              redis.call('RENAME', KEYS[1], KEYS[4])
+              if redis.call('EXISTS', KEYS[2]) == 1 then
+                redis.call('RENAME', KEYS[2], KEYS[5])
+              else
+                redis.call('DEL', KEYS[5])
+              end
+              redis.call('SADD', KEYS[7], ARGV[1])
+              moved = 1
+            end
+            if redis.call('EXISTS', KEYS[3]) == 1 and redis.call('EXISTS', KEYS[6]) == 0 then
+              redis.call('RENAME', KEYS[3], KEYS[6])
+            end
+            redis.call('DEL', KEYS[1], KEYS[2], KEYS[3])
+            return moved
+            """;
+
+    private static final RedisScript<Long> SAVE_IF_NEWER = new DefaultRedisScript<>(SAVE_IF_NEWER_LUA, Long.class);
+    private static final byte[] SAVE_IF_NEWER_BYTES = SAVE_IF_NEWER_LUA.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] MIGRATE_LEGACY_BYTES = MIGRATE_LEGACY_LUA.getBytes(StandardCharsets.UTF_8);
+    private static final RedisSerializer<Long> LONG_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisGameCacheRepository.class);
+
+    private final RedisTemplate<String, PlacarAtualizadoEvent> redisJsonTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final GameCacheMetrics metrics;
+
+    public RedisGameCacheRepository(RedisTemplate<String, PlacarAtualizadoEvent> redisJsonTemplate,
+            StringRedisTemplate stringRedisTemplate, GameCacheMetrics metrics) {
+        this.redisJsonTemplate = redisJsonTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.metrics = metrics;
+    }
+
+    @CircuitBreaker(name = BACKEND_REDIS)
+    @Retry(name = BACKEND_REDIS)
+    @Override
+    public void save(PlacarAtualizadoEvent event) {
+        if (event == null || event.getId() == null) {
+            logger.warn("Attempted to save null event or event with null ID");
+            return;
+        }
+
+        try {
+            metrics.run(GameCacheMetrics.OP_SAVE, () -> pipelineWrites(List.of(new GameWrite(event, null))));
+            logger.debug("Saved game event to Redis: {}", event.getId());
+        } catch (RedisConnectionFailureException ex) {
+            logger.error("Redis connection failed while saving game {}: {}", event.getId(), ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error while saving game {} to Redis: {}", event.getId(), ex.getMessage(), ex);
+            throw new RedisConnectionFailureException("Failed to save game event to Redis", ex);
+        }
+    }
+
+    @CircuitBreaker(name = BACKEND_REDIS)
+    @Retry(name = BACKEND_REDIS)
+    @Override
+    public void saveGameWithTtl(PlacarAtualizadoEvent event, Duration ttl) {
+        if (event == null || event.getId() == null) {
+            logger.warn("Attempted to save null event or event with null ID with TTL");
+            return;
+        }
+
+        try {
+            metrics.run(GameCacheMetrics.OP_SAVE, () -> pipelineWrites(List.of(new GameWrite(event, ttl))));
+            logger.debug("Saved game event to Redis with TTL {}: {}", ttl, event.getId());
+        } catch (RedisConnectionFailureException ex) {
+            logger.error("Redis connection failed while saving game {} with TTL: {}", event.getId(), ex.getMessage(),
+                    ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error while saving game {} to Redis with TTL: {}", event.getId(), ex.getMessage(),
+                    ex);
+            throw new RedisConnectionFailureException("Failed to save game event to Redis with TTL", ex);
+        }
+    }
+
+    /**
+     * Writes the game only if its version is newer than the stored one, atomically. The
+     * version is kept in a sibling key with the same TTL as the value.
+     *
+     * @param event the versioned game event
+     * @param ttl   the TTL, or null for none
+     * @return true if written, false if the stored version is the same or newer
+     */
+    @CircuitBreaker(name = BACKEND_REDIS)
+    @Retry(name = BACKEND_REDIS)
+    @Override
+    public boolean saveIfNewer(PlacarAtualizadoEvent event, Duration ttl) {
+        if (event == null || event.getId() == null || event.getVersao() == null) {
+            logger.warn("Attempted to save null event or event with null ID or version");
+            return false;
+        }
+
+        try {
+            boolean saved = metrics.time(GameCacheMetrics.OP_SAVE, () -> {
+                Long written = redisJsonTemplate.execute(SAVE_IF_NEWER, RedisSerializer.byteArray(),
+                        LONG_SERIALIZER, List.of(buildKey(event.getId()), buildVersionKey(event.getId())),
+                        (Object[]) saveIfNewerArgs(event, ttl));
+                boolean accepted = Long.valueOf(1).equals(written);
+                if (accepted) {
+                    addToIndex(event.getId());
+                }
+                return accepted;
+            });
+            if (saved) {
+                logger.debug("Saved game event {} version {} to Redis", event.getId(), event.getVersao());
+            } else {
+                logger.debug("Stale game event {} version {} rejected by Redis", event.getId(), event.getVersao());
+            }
+            return saved;
+        } catch (RedisConnectionFailureException ex) {
+            logger.error("Redis connection failed while saving game {} version {}: {}", event.getId(),
+                    event.getVersao(), ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error while saving game {} version {} to Redis: {}", event.getId(),
+                    event.getVersao(), ex.getMessage(), ex);
+            throw new RedisConnectionFailureException("Failed to save versioned game event to Redis", ex);
+        }
+    }
+
+    /**
+     * Writes several games in a single pipelined round trip, followed by one index update.
+     * Versioned games go through the same compare-and-set as {@link #saveIfNewer}.
+     *
+     * @param writes the games to write, each with its optional TTL
+     * @return ids of the writes rejected because the same or a newer version was stored
+     */
+    @CircuitBreaker(name = BACKEND_REDIS)
+    @Retry(name = BACKEND_REDIS)
+    @Override
+    public List<Long> saveAll(List<GameWrite> writes) {
+        if (writes == null || writes.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            List<Long> rejected = metrics.time(GameCacheMetrics.OP_SAVE, () -> pipelineWrites(writes));
+            logger.debug("Saved {} game event(s) to Redis in one pipeline, {} stale", writes.size() - rejected.size(),
+                    rejected.size());
+            return rejected;
+        } catch (RedisConnectionFailureException ex) {
+            logger.error("Redis connection failed while saving {} games: {}", writes.size(), ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error while saving {} games to Redis: {}", writes.size(), ex.getMessage(), ex);
+            throw new RedisConnectionFailureException("Failed to save game events to Redis", ex);
+        }
+    }
+
+    /**
+     * Reads several games with one MGET. Games that are not cached are left out.
+     *
+     * @param ids the game ids
+     * @return the cached events, in no particular order
+     */
+    @CircuitBreaker(name = BACKEND_REDIS)
+    @Retry(name = BACKEND_REDIS)
+    @Override
+    public List<PlacarAtualizadoEvent> findAllById(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            List<String> keys = ids.stream().map(this::buildKey).toList();
+            List<PlacarAtualizadoEvent> values = metrics.time(GameCacheMetrics.OP_FIND,
+                    () -> redisJsonTemplate.opsForValue().multiGet(keys));
+            if (values == null) {
+                return List.of();
+            }
+            return values.stream().filter(Objects::nonNull).toList();
+        } catch (RedisConnectionFailureException ex) {
+            logger.error("Redis connection failed while finding {} games: {}", ids.size(), ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error while finding {} games in Redis: {}", ids.size(), ex.getMessage(), ex);
+            throw new RedisConnectionFailureException("Failed to retrieve game events from Redis", ex);
+        }
+    }
+
+    @CircuitBreaker(name = BACKEND_REDIS)
+    @Retry(name = BACKEND_REDIS)
+    @Override
+    public PlacarAtualizadoEvent findById(Long id) {
+        if (id == null) {
+            logger.warn("Attempted to find game with null ID");
+            return null;
+        }
+
+        try {
+            PlacarAtualizadoEvent event = metrics.time(GameCacheMetrics.OP_FIND,
+                    () -> redisJsonTemplate.opsForValue().get(buildKey(id)));
+            if (event != null) {
+                logger.debug("Found game event in Redis: {}", id);
+            } else {
+                logger.debug("Game event not found in Redis: {}", id);
+            }
+            return event;
+        } catch (RedisConnectionFailureException ex) {
+            logger.error("Redis connection failed while finding game {}: {}", id, ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error while finding game {} in Redis: {}", id, ex.getMessage(), ex);
+            throw new RedisConnectionFailureException("Failed to retrieve game event from Redis", ex);
+        }
+    }
+
+    /**
+     * Reads only the stored version of a game, without fetching or deserializing its value.
+     *
+     * @param id the game id
+     * @return the version, or null if the game is not cached or was written without one
+     */
+    @CircuitBreaker(name = BACKEND_REDIS)
+    @Retry(name = BACKEND_REDIS)
+    @Override
+    public Long findVersion(Long id) {
+        if (id == null) {
+            return null;
+        }
+
+        try {
+            String version = metrics.time(GameCacheMetrics.OP_FIND,
+                    () -> stringRedisTemplate.opsForValue().get(buildVersionKey(id)));
+            return GameEtags.version(version);
+        } catch (RedisConnectionFailureException ex) {
+            logger.error("Redis connection failed while finding version of game {}: {}", id, ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error while finding version of game {} in Redis: {}", id, ex.getMessage(), ex);
+            throw new RedisConnectionFailureException("Failed to retrieve game version from Redis", ex);
+        }
+    }
+
+    /**
+     * Reads the tag stored in the version key, without fetching or deserializing the value.
+     *
+     * @param id the game id
+     * @return the tag, or null if the game is not cached
+     */
+    @CircuitBreaker(name = BACKEND_REDIS)
+    @Retry(name = BACKEND_REDIS)
+    @Override
+    public String findEtag(Long id) {
+        if (id == null) {
+            return null;
+        }
+
+        try {
+            return metrics.time(GameCacheMetrics.OP_FIND,
+                    () -> stringRedisTemplate.opsForValue().get(buildVersionKey(id)));
+        } catch (RedisConnectionFailureException ex) {
+            logger.error("Redis connection failed while finding tag of game {}: {}", id, ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error while finding tag of game {} in Redis: {}", id, ex.getMessage(), ex);
+            throw new RedisConnectionFailureException("Failed to retrieve game tag from Redis", ex);
+        }
+    }
+
+    @CircuitBreaker(name = BACKEND_REDIS)
+    @Retry(name = BACKEND_REDIS)
+    @Override
+    public void deleteById(Long id) {
+        if (id == null) {
+            logger.warn("Attempted to delete game with null ID");
+            return;
+        }
+
+        try {
+            Long deleted = metrics.time(GameCacheMetrics.OP_DELETE, () -> {
+                Long removed = redisJsonTemplate.delete(List.of(buildKey(id), buildVersionKey(id)));
+                stringRedisTemplate.opsForSet().remove(INDEX_KEY, id.toString());
+                return removed;
+            });
+            if (deleted != null && deleted > 0) {
+                logger.debug("Deleted game event from Redis: {}", id);
+            } else {
+                logger.debug("Game event not found in Redis for deletion: {}", id);
+            }
+        } catch (RedisConnectionFailureException ex) {
+            logger.error("Redis connection failed while deleting game {}: {}", id, ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error while deleting game {} from Redis: {}", id, ex.getMessage(), ex);
+            throw new RedisConnectionFailureException("Failed to delete game event from Redis", ex);
+        }
+    }
+
+    /**
+     * Removes from the index the ids whose game value no longer exists (expired TTL or
+     * tombstone). Existence is checked in pipelined batches.
+     *
+     * @param batchSize number of ids checked per round trip
+     * @return number of ids removed from the index
+     */
+    @CircuitBreaker(name = BACKEND_REDIS)
+    @Retry(name = BACKEND_REDIS)
+    @Override
+    public long pruneIndex(int batchSize) {
+        try {
+            long removed = 0;
+            List<String> batch = new ArrayList<>(batchSize);
+            ScanOptions options = ScanOptions.scanOptions().count(batchSize).build();
+            try (Cursor<String> cursor = stringRedisTemplate.opsForSet().scan(INDEX_KEY, options)) {
+                while (cursor.hasNext()) {
+                    batch.add(cursor.next());
+                    if (batch.size() == batchSize) {
+                        removed += removeMissing(batch);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                removed += removeMissing(batch);
+            }
+            return removed;
+        } catch (RedisConnectionFailureException ex) {
+            logger.error("Redis connection failed while pruning game index: {}", ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error while pruning game index: {}", ex.getMessage(), ex);
+            throw new RedisConnectionFailureException("Failed to prune game index in Redis", ex);
+        }
+    }
+
+    /**
+     * Number of ids in the game index (live games plus ids not yet pruned).
+     *
+     * @return the index size
+     */
+    @CircuitBreaker(name = BACKEND_REDIS)
+    @Retry(name = BACKEND_REDIS)
+    @Override
+    public long indexSize() {
+        try {
+            Long size = stringRedisTemplate.opsForSet().size(INDEX_KEY);
+            return size != null ? size : 0;
+        } catch (RedisConnectionFailureException ex) {
+            logger.error("Redis connection failed while reading game index size: {}", ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error while reading game index size: {}", ex.getMessage(), ex);
+            throw new RedisConnectionFailureException("Failed to read game index size from Redis", ex);
+        }
+    }
+
+    /**
+     * Streams every id in the game index with SSCAN.
+     *
+     * @param batchSize SSCAN count hint
+     * @param action    called once per id
+     */
+    @CircuitBreaker(name = BACKEND_REDIS)
+    @Retry(name = BACKEND_REDIS)
+    @Override
+    public void forEachIndexedId(int batchSize, LongConsumer action) {
+        ScanOptions options = ScanOptions.scanOptions().count(batchSize).build();
+        try (Cursor<String> cursor = stringRedisTemplate.opsForSet().scan(INDEX_KEY, options)) {
+            while (cursor.hasNext()) {
+                action.accept(Long.parseLong(cursor.next()));
+            }
+        } catch (RedisConnectionFailureException ex) {
+            logger.error("Redis connection failed while scanning game index: {}", ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error while scanning game index: {}", ex.getMessage(), ex);
+            throw new RedisConnectionFailureException("Failed to scan game index in Redis", ex);
+        }
+    }
+
+    /**
+     * Reads the checkpoint of an interrupted cache rebuild.
+     *
+     * @return the last game id loaded, or null if no rebuild is pending
+     */
+    @CircuitBreaker(name = BACKEND_REDIS)
+    @Retry(name = BACKEND_REDIS)
+    @Override
+    public Long findRebuildCheckpoint() {
+        try {
+            String checkpoint = stringRedisTemplate.opsForValue().get(REBUILD_CHECKPOINT_KEY);
+            return checkpoint != null ? Long.valueOf(checkpoint) : null;
+        } catch (RedisConnectionFailureException ex) {
+            logger.error("Redis connection failed while reading rebuild checkpoint: {}", ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error while reading rebuild checkpoint: {}", ex.getMessage(), ex);
+            throw new RedisConnectionFailureException("Failed to read rebuild checkpoint from Redis", ex);
+        }
+    }
+
+    /**
+     * Stores the checkpoint of a running cache rebuild, or clears it when null.
+     *
+     * @param lastId the last game id loaded, or null once the rebuild finished
+     */
+    @CircuitBreaker(name = BACKEND_REDIS)
+    @Retry(name = BACKEND_REDIS)
+    @Override
+    public void saveRebuildCheckpoint(Long lastId) {
+        try {
+            if (lastId == null) {
+                stringRedisTemplate.delete(REBUILD_CHECKPOINT_KEY);
+            } else {
+                stringRedisTemplate.opsForValue().set(REBUILD_CHECKPOINT_KEY, lastId.toString());
+            }
+        } catch (RedisConnectionFailureException ex) {
+            logger.error("Redis connection failed while saving rebuild checkpoint: {}", ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error while saving rebuild checkpoint: {}", ex.getMessage(), ex);
+            throw new RedisConnectionFailureException("Failed to save rebuild checkpoint to Redis", ex);
+        }
+    }
+
+    /**
+     * Moves the keys written before the hash-tagged layout ({@code game:42} and its version
+     * and timeline) to their current names, one script per game, pipelined per SCAN batch.
+     * Games written since under the current layout keep their newer state. Safe to run again,
+     * it finds nothing once the keys are moved.
+     * <p>
+     * Skipped in a cluster: the legacy and current keys of a game live in different slots,
+     * and cluster deployments were only ever written with the current layout.
+     *
+     * @param batchSize SCAN count hint and number of games per pipeline
+     * @return number of game values moved
+     */
+    public long migrateLegacyKeys(int batchSize) {
+        if (redisJsonTemplate.getConnectionFactory() instanceof LettuceConnectionFactory lettuce
+                && lettuce.isClusterAware()) {
+            logger.debug("Skipping legacy key migration on Redis Cluster");
+            return 0;
+        }
+
+        try {
+            long moved = 0;
+            Set<Long> batch = new LinkedHashSet<>();
+            ScanOptions options = ScanOptions.scanOptions().match(GameKeys.LEGACY_PATTERN).count(batchSize).build();
+            try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+                while (cursor.hasNext()) {
+                    Long id = GameKeys.legacyId(cursor.next());
+                    if (id != null && batch.add(id) && batch.size() == batchSize) {
+                        moved += migrateLegacy(batch);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                moved += migrateLegacy(batch);
+            }
+            return moved;
+        } catch (RedisConnectionFailureException ex) {
+            logger.error("Redis connection failed while migrating legacy game keys: {}", ex.getMessage(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error while migrating legacy game keys: {}", ex.getMessage(), ex);
+            throw new RedisConnectionFailureException("Failed to migrate legacy game keys in Redis", ex);
+        }
+    }
+
+    private long migrateLegacy(Set<Long> ids) {
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long id : ids) {
+                connection.scriptingCommands().eval(MIGRATE_LEGACY_BYTES, ReturnType.INTEGER, 7,
+                        utf8(GameKeys.legacyValue(id)), utf8(GameKeys.legacyVersion(id)),
+                        utf8(GameKeys.legacyTimeline(id)), utf8(buildKey(id)), utf8(buildVersionKey(id)),
+                        utf8(GameKeys.timeline(id)), utf8(INDEX_KEY), utf8(id.toString()));
+            }
+            return null;
+        });
+        return results.stream().filter(Long.valueOf(1)::equals).count();
+    }
+
+    private long removeMissing(List<String> ids) {
+        List<Object> exists = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String id : ids) {
+                connection.keyCommands().exists(utf8(buildKey(Long.valueOf(id))));
+            }
+            return null;
+        });
+
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (!Boolean.TRUE.equals(exists.get(i))) {
+                missing.add(ids.get(i));
+            }
+        }
+        if (missing.isEmpty()) {
+            return 0;
+        }
+        Long removed = stringRedisTemplate.opsForSet().remove(INDEX_KEY, missing.toArray());
+        return removed != null ? removed : 0;
+    }
+
+    private List<Long> pipelineWrites(List<GameWrite> writes) {
+        List<Object> results = redisJsonTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (GameWrite write : writes) {
+                pipelineWrite(connection, write);
+            }
+            return null;
+        });
+
+        // Versioned writes have one reply (the script), unversioned ones two (value and tag SETs)
+        List<String> saved = new ArrayList<>(writes.size());
+        List<Long> rejected = new ArrayList<>();
+        int reply = 0;
+        for (GameWrite write : writes) {
+            Object result = reply < results.size() ? results.get(reply) : null;
+            reply += write.event().getVersao() != null ? 1 : 2;
+            if (Long.valueOf(0).equals(result)) {
+                rejected.add(write.event().getId());
+            } else {
+                saved.add(write.event().getId().toString());
+            }
+        }
+        if (!saved.isEmpty()) {
+            stringRedisTemplate.opsForSet().add(INDEX_KEY, saved.toArray(String[]::new));
+        }
+        return rejected;
+    }
+
+    private void pipelineWrite(RedisConnection connection, GameWrite write) {
+        PlacarAtualizadoEvent event = write.event();
+        byte[] key = utf8(buildKey(event.getId()));
+        if (event.getVersao() != null) {
+            // EVAL rather than EVALSHA: a NOSCRIPT reply cannot be retried inside a pipeline
+            connection.scriptingCommands().eval(SAVE_IF_NEWER_BYTES, ReturnType.INTEGER, 2,
+                    concat(key, utf8(buildVersionKey(event.getId())), saveIfNewerArgs(event, write.ttl())));
+        } else {
+            // The tag replaces any version, so a version never outlives the value it describes
+            byte[] value = serializeValue(event);
+            byte[] versionKey = utf8(buildVersionKey(event.getId()));
+            byte[] tag = utf8(GameEtags.content(value));
+            if (write.ttl() != null) {
+                Expiration expiration = Expiration.from(write.ttl());
+                connection.stringCommands().set(key, value, expiration, SetOption.upsert());
+                connection.stringCommands().set(versionKey, tag, expiration, SetOption.upsert());
+            } else {
+                connection.stringCommands().set(key, value);
+                connection.stringCommands().set(versionKey, tag);
+            }
+        }
+    }
+
+    private byte[][] saveIfNewerArgs(PlacarAtualizadoEvent event, Duration ttl) {
+        long ttlMillis = ttl != null ? ttl.toMillis() : 0;
+        return new byte[][] { utf8(event.getVersao().toString()), serializeValue(event),
+                utf8(Long.toString(ttlMillis)), utf8(GameCacheRepository.isTerminal(event) ? "1" : "0") };
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] serializeValue(PlacarAtualizadoEvent event) {
+        return ((RedisSerializer<PlacarAtualizadoEvent>) redisJsonTemplate.getValueSerializer()).serialize(event);
+    }
+
+    private static byte[][] concat(byte[] key, byte[] versionKey, byte[][] args) {
+        byte[][] keysAndArgs = new byte[2 + args.length][];
+        keysAndArgs[0] = key;
+        keysAndArgs[1] = versionKey;
+        System.arraycopy(args, 0, keysAndArgs, 2, args.length);
+        return keysAndArgs;
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void addToIndex(Long id) {
+        stringRedisTemplate.opsForSet().add(INDEX_KEY, id.toString());
+    }
+
+    private String buildKey(Long id) {
+        return GameKeys.value(id);
+    }
+
+    private String buildVersionKey(Long id) {
+        return GameKeys.version(id);
+    }
+}
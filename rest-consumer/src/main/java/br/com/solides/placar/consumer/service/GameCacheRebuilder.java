@@ -0,0 +1,155 @@
+package br.com.solides.placar.consumer.service;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.publisher.PublisherGameClient;
+import br.com.solides.placar.consumer.redis.GameCacheRepository;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rebuilds the cache from the publisher after a Redis failover or in a new environment.
+ * <p>
+ * Streams every game from the publisher in id order, page by page, and bulk-loads each page
+ * with one pipeline, paced to {@code app.cache.rebuild.max-games-per-second}. Versioned games
+ * go through the Redis compare-and-set, so states written meanwhile by live events are never
+ * overwritten. The last id loaded is stored in Redis after each page; a rebuild that fails or
+ * is interrupted resumes from there unless restarted explicitly.
+ * <p>
+ * Progress is exposed as the {@code placar.cache.rebuild.*} gauges and by {@link #progress()}.
+ */
+@Slf4j
+@Component
+public class GameCacheRebuilder {
+
+    private final PublisherGameClient publisherClient;
+    private final GameCacheService cacheService;
+    private final GameCacheRepository cacheRepository;
+    private final AppProperties.Cache.Rebuild settings;
+    private final Executor executor;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong loaded = new AtomicLong();
+    private final AtomicLong stale = new AtomicLong();
+    private final AtomicLong lastId = new AtomicLong();
+    private volatile String lastError;
+
+    public GameCacheRebuilder(PublisherGameClient publisherClient, GameCacheService cacheService,
+            GameCacheRepository cacheRepository, AppProperties properties,
+            @Qualifier("cacheRebuildExecutor") Executor executor, MeterRegistry registry) {
+        this.publisherClient = publisherClient;
+        this.cacheService = cacheService;
+        this.cacheRepository = cacheRepository;
+        this.settings = properties.getCache().getRebuild();
+        this.executor = executor;
+
+        Gauge.builder("placar.cache.rebuild.running", running, r -> r.get() ? 1 : 0)
+                .description("Whether a cache rebuild is running")
+                .register(registry);
+        Gauge.builder("placar.cache.rebuild.loaded", loaded, AtomicLong::get)
+                .description("Games loaded by the current or last cache rebuild")
+                .register(registry);
+        Gauge.builder("placar.cache.rebuild.stale", stale, AtomicLong::get)
+                .description("Games skipped by the current or last cache rebuild because a newer version was cached")
+                .register(registry);
+        Gauge.builder("placar.cache.rebuild.last.id", lastId, AtomicLong::get)
+                .description("Last game id loaded by the current or last cache rebuild")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (settings.isOnStartup()) {
+            start(false);
+        }
+    }
+
+    /**
+     * Starts a rebuild in the background.
+     *
+     * @param restart ignore the checkpoint of an interrupted rebuild and start from the first game
+     * @return false if a rebuild is already running
+     */
+    public boolean start(boolean restart) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> run(restart));
+        } catch (RuntimeException ex) {
+            running.set(false);
+            throw ex;
+        }
+        return true;
+    }
+
+    public Progress progress() {
+        return new Progress(running.get(), loaded.get(), stale.get(), lastId.get(), lastError);
+    }
+
+    void run(boolean restart) {
+        try {
+            Long checkpoint = restart ? null : cacheRepository.findRebuildCheckpoint();
+            long afterId = checkpoint != null ? checkpoint : 0;
+            loaded.set(0);
+            stale.set(0);
+            lastId.set(afterId);
+            lastError = null;
+            log.info("Cache rebuild started after game id {}", afterId);
+
+            long nanosPerGame = TimeUnit.SECONDS.toNanos(1) / settings.getMaxGamesPerSecond();
+            long next = System.nanoTime();
+            while (true) {
+                List<PlacarAtualizadoEvent> page = publisherClient.findPage(afterId, settings.getPageSize());
+                if (page.isEmpty()) {
+                    break;
+                }
+                int skipped = cacheService.saveBatch(page);
+                afterId = page.get(page.size() - 1).getId();
+                cacheRepository.saveRebuildCheckpoint(afterId);
+
+                loaded.addAndGet(page.size() - skipped);
+                stale.addAndGet(skipped);
+                lastId.set(afterId);
+
+                next += nanosPerGame * page.size();
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+            }
+
+            cacheRepository.saveRebuildCheckpoint(null);
+            log.info("Cache rebuild finished: {} game(s) loaded, {} kept newer cached version", loaded.get(),
+                    stale.get());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            lastError = "interrupted";
+            log.warn("Cache rebuild interrupted after game id {}, will resume from there", lastId.get());
+        } catch (Exception ex) {
+            lastError = ex.getMessage();
+            log.warn("Cache rebuild failed after game id {}, will resume from there: {}", lastId.get(),
+                    ex.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Snapshot of the current or last rebuild.
+     */
+    public record Progress(boolean running, long loaded, long stale, long lastId, String lastError) {
+    }
+}
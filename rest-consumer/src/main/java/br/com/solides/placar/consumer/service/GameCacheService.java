@@ -1,13 +1,22 @@
 package br.com.solides.placar.consumer.service;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import org.springframework.stereotype.Service;
 
 import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
 import br.com.solides.placar.shared.enums.StatusJogo;
+import br.com.solides.placar.consumer.metrics.GameCacheMetrics;
+import br.com.solides.placar.consumer.metrics.GameEventMetrics;
 import br.com.solides.placar.consumer.redis.GameCacheRepository;
+import br.com.solides.placar.consumer.redis.GameWrite;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -15,30 +24,144 @@ import lombok.extern.slf4j.Slf4j;
 public class GameCacheService {
 
     private final GameCacheRepository cacheRepository;
+    private final GameRetentionPolicy retentionPolicy;
+    private final GameWriteBehindBuffer writeBehind;
+    private final GameEventMetrics metrics;
+    private final GameReadThroughLoader readThrough;
+    private final GameNegativeLookup negativeLookup;
+    private final GameCacheMetrics cacheMetrics;
 
-    public GameCacheService(GameCacheRepository cacheRepository) {
+    public GameCacheService(GameCacheRepository cacheRepository, GameRetentionPolicy retentionPolicy,
+            GameWriteBehindBuffer writeBehind, GameEventMetrics metrics, GameReadThroughLoader readThrough,
+            GameNegativeLookup negativeLookup, GameCacheMetrics cacheMetrics) {
         this.cacheRepository = cacheRepository;
+        this.retentionPolicy = retentionPolicy;
+        this.writeBehind = writeBehind;
+        this.metrics = metrics;
+        this.readThrough = readThrough;
+        this.negativeLookup = negativeLookup;
+        this.cacheMetrics = cacheMetrics;
     }
 
     /**
-     * Finds a game event by its ID in the cache.
+     * Finds a game event by its ID in the cache. Tombstones of deleted games are
+     * reported as not found. On a miss, and when read-through is enabled, the game is
+     * loaded from the publisher and cached. Recent misses are answered by the negative
+     * lookup without touching Redis or the publisher, and so are ids its filter knows to be
+     * absent. The filter is built from the publisher listing, so a flushed or evicted cache
+     * still reaches the publisher for existing games.
+     * A load that is throttled or fails is not remembered as a miss.
      * 
      * @param id the game event ID
      * @return the cached game event or null if not found
      */
     public PlacarAtualizadoEvent findById(Long id) {
         log.debug("Finding game event by id: {}", id);
-        return cacheRepository.findById(id);
+        if (id != null && negativeLookup.isRecentMiss(id)) {
+            return null;
+        }
+        if (id != null && negativeLookup.isKnownAbsent(id)) {
+            // Neither listed by the publisher nor delivered by the event stream
+            negativeLookup.recordMiss(id);
+            return null;
+        }
+        PlacarAtualizadoEvent event = findCurrent(id);
+        if (event == null && id != null) {
+            if (readThrough.isEnabled()) {
+                event = loadMissing(id);
+            } else {
+                negativeLookup.recordMiss(id);
+            }
+        }
+        return retentionPolicy.isTombstone(event) ? null : event;
+    }
+
+    /**
+     * Returns the current version of a cached game without loading the event.
+     * 
+     * @param id the game event ID
+     * @return the version, or null if unknown
+     */
+    public Long findVersion(Long id) {
+        PlacarAtualizadoEvent pending = writeBehind.pendingState(id);
+        if (pending != null) {
+            return pending.getVersao();
+        }
+        return cacheRepository.findVersion(id);
     }
 
     /**
-     * Saves a game event to the cache.
+     * Returns the entity tag stored with a cached game without loading the event, used to
+     * answer conditional requests. An unversioned state still in the write-behind buffer has
+     * no tag until it is written, nor has a tombstone, which must never validate.
+     * 
+     * @param id the game event ID
+     * @return the tag, without quotes, or null if unknown
+     */
+    public String findEtag(Long id) {
+        PlacarAtualizadoEvent pending = writeBehind.pendingState(id);
+        if (pending != null) {
+            return pending.getVersao() != null && !retentionPolicy.isTombstone(pending)
+                    ? pending.getVersao().toString()
+                    : null;
+        }
+        return cacheRepository.findEtag(id);
+    }
+
+    /**
+     * Saves a game event to the cache, applying the retention TTL for its status.
+     * Versioned events are only written if newer than the cached version.
      * 
      * @param event the game event to save
+     * @return false if the event was discarded as stale
      */
-    public void save(PlacarAtualizadoEvent event) {
+    public boolean save(PlacarAtualizadoEvent event) {
     	log.debug("Saving game event: {}", event.getId());
-        cacheRepository.save(event);
+        return write(event, retentionPolicy.ttlFor(event));
+    }
+
+    /**
+     * Bulk-loads games into the cache in one pipeline, applying the retention TTL of each
+     * status. Versioned games are only written if newer than the cached version, so states
+     * written meanwhile by live events are kept.
+     * 
+     * @param events the games to load
+     * @return the number of games skipped because the cache already had a newer version
+     */
+    public int saveBatch(List<PlacarAtualizadoEvent> events) {
+        List<GameWrite> writes = new ArrayList<>(events.size());
+        for (PlacarAtualizadoEvent event : events) {
+            negativeLookup.recordWrite(event.getId());
+            writes.add(new GameWrite(event, retentionPolicy.ttlFor(event)));
+        }
+        return cacheRepository.saveAll(writes).size();
+    }
+
+    /**
+     * Marks a game as deleted. When tombstones are enabled the deletion event is kept
+     * for a short TTL so late events for the game are not resurrected; otherwise the
+     * game is removed immediately.
+     * <p>
+     * The deletion carries the last version of the game, so the tombstone replaces the
+     * cached state of that same version (see {@link GameCacheRepository#isTerminal}). A
+     * game that already has a tombstone is left as it is, and the deletion not broadcast
+     * again.
+     * 
+     * @param event the deletion event
+     * @return false if the deletion was discarded as stale or repeated
+     */
+    public boolean markDeleted(PlacarAtualizadoEvent event) {
+        if (!retentionPolicy.tombstonesEnabled()) {
+            deleteById(event.getId());
+            return true;
+        }
+        if (retentionPolicy.isTombstone(findCurrent(event.getId()))) {
+            log.debug("Game {} already has a tombstone", event.getId());
+            cacheMetrics.mergeOutcome(GameCacheMetrics.MERGE_IGNORED_DELETED);
+            return false;
+        }
+        log.debug("Writing tombstone for deleted game: {}", event.getId());
+        return write(event, retentionPolicy.ttlFor(event));
     }
 
     /**
@@ -49,6 +172,7 @@ public class GameCacheService {
      */
     public void saveWithTtl(PlacarAtualizadoEvent event, Duration ttl) {
         log.debug("Saving game event with TTL {}: {}", ttl, event.getId());
+        negativeLookup.recordWrite(event.getId());
         cacheRepository.saveGameWithTtl(event, ttl);
     }
     
@@ -59,48 +183,210 @@ public class GameCacheService {
      */
     public void deleteById(Long id) {
         log.debug("Deleting game event by id: {}", id);
+        writeBehind.discard(id);
         cacheRepository.deleteById(id);
     }
 
     /**
      * Merges an incoming game event with the cached version if it exists
-     * and the new event is more recent.
+     * and the new event is more recent. Events for games with a tombstone
+     * are discarded.
+     * <p>
+     * When both events carry a version, the version alone decides: an event that is
+     * not newer is discarded, and a newer one replaces the cached state (events carry
+     * the full game state). A jump of more than one version is counted as a gap.
+     * Unversioned events fall back to comparing {@code tempoDeJogo}.
+     * <p>
+     * The merge is timed and its outcome counted in {@link GameCacheMetrics}.
      * 
      * @param incomingEvent the new game event
-     * @return the merged event to save, or the incoming event if no cached version
-     *         exists
+     * @return the merged event to save, the incoming event if no cached version
+     *         exists, or null if the incoming event is stale and must be discarded
      */
-    public PlacarAtualizadoEvent mergeWithCached(PlacarAtualizadoEvent incomingEvent) {        
-    	
-        try {
-        	
-            PlacarAtualizadoEvent cachedEvent = findById(incomingEvent.getId());
+    public PlacarAtualizadoEvent mergeWithCached(PlacarAtualizadoEvent incomingEvent) {
+        return cacheMetrics.time(GameCacheMetrics.OP_MERGE, () -> merge(incomingEvent));
+    }
 
-            if (Objects.isNull(cachedEvent)) {
-                log.debug("No cached event found for id: {}. Using incoming event.", incomingEvent.getId());
-                return incomingEvent;
-            }
-            
-            if (incomingEvent.getTempoDeJogo() >= cachedEvent.getTempoDeJogo()
-            		&& !StatusJogo.FINALIZADO.equals(cachedEvent.getStatus())) {
-                log.info("Event {} found in cache. Merging updates.", incomingEvent.getId());
-                cachedEvent.setTimeA(incomingEvent.getTimeA());
-                cachedEvent.setTimeB(incomingEvent.getTimeB());
-                cachedEvent.setPlacarA(incomingEvent.getPlacarA());
-                cachedEvent.setPlacarB(incomingEvent.getPlacarB());
-                cachedEvent.setStatus(incomingEvent.getStatus());
-                cachedEvent.setTempoDeJogo(incomingEvent.getTempoDeJogo());
-                cachedEvent.setDataHoraInicioPartida(incomingEvent.getDataHoraInicioPartida());
-                cachedEvent.setDataHoraEncerramento(incomingEvent.getDataHoraEncerramento());
-                return cachedEvent;
+    /**
+     * Merges and saves the update events of one listener batch, at most one per game, with a
+     * single pipelined write. Versioned events are decided by the compare-and-set of the
+     * write alone; unversioned ones are first merged with their cached state, read for all of
+     * them with one MGET. With write-behind enabled the writes are buffered for the next flush
+     * instead, which runs the compare-and-set.
+     * 
+     * @param events the update events, one per game
+     * @return the states that were written, leaving out the events discarded as stale
+     */
+    public List<PlacarAtualizadoEvent> mergeAndSaveAll(List<PlacarAtualizadoEvent> events) {
+        Map<Long, PlacarAtualizadoEvent> cached = findCurrentUnversioned(events);
+        List<PlacarAtualizadoEvent> toSave = new ArrayList<>(events.size());
+        for (PlacarAtualizadoEvent event : events) {
+            PlacarAtualizadoEvent resolved = event.getVersao() != null
+                    ? event
+                    : cacheMetrics.time(GameCacheMetrics.OP_MERGE, () -> resolve(event, cached.get(event.getId())));
+            if (resolved != null) {
+                toSave.add(resolved);
             }
-           
-           return cachedEvent;
-            
+        }
+        return writeAll(toSave);
+    }
+
+    private PlacarAtualizadoEvent merge(PlacarAtualizadoEvent incomingEvent) {
+        try {
+            return resolve(incomingEvent, findCurrent(incomingEvent.getId()));
         } catch (Exception ex) {
             log.warn("Failed to merge with cached event for id: {}. Using incoming event: {}", incomingEvent.getId(),
                     ex.getMessage());
+            cacheMetrics.mergeOutcome(GameCacheMetrics.MERGE_FAILED);
             return incomingEvent;
         }
     }
+
+    private PlacarAtualizadoEvent resolve(PlacarAtualizadoEvent incomingEvent, PlacarAtualizadoEvent cachedEvent) {
+        if (Objects.isNull(cachedEvent)) {
+            log.debug("No cached event found for id: {}. Using incoming event.", incomingEvent.getId());
+            cacheMetrics.mergeOutcome(GameCacheMetrics.MERGE_MISS);
+            return incomingEvent;
+        }
+
+        if (retentionPolicy.isTombstone(cachedEvent)) {
+            // The deletion is terminal, whatever the version: neither the tombstone nor its
+            // broadcast are repeated
+            log.info("Event {} ignored: game was deleted.", incomingEvent.getId());
+            cacheMetrics.mergeOutcome(GameCacheMetrics.MERGE_IGNORED_DELETED);
+            return null;
+        }
+
+        if (incomingEvent.getVersao() != null && cachedEvent.getVersao() != null) {
+            return newerVersion(incomingEvent, cachedEvent);
+        }
+        
+        if (incomingEvent.getTempoDeJogo() >= cachedEvent.getTempoDeJogo()
+        		&& !StatusJogo.FINALIZADO.equals(cachedEvent.getStatus())) {
+            log.info("Event {} found in cache. Merging updates.", incomingEvent.getId());
+            // Merged into a copy: the cached instance may be shared with a flush in progress
+            PlacarAtualizadoEvent merged = cachedEvent.toBuilder()
+                    .timeA(incomingEvent.getTimeA())
+                    .timeB(incomingEvent.getTimeB())
+                    .placarA(incomingEvent.getPlacarA())
+                    .placarB(incomingEvent.getPlacarB())
+                    .status(incomingEvent.getStatus())
+                    .tempoDeJogo(incomingEvent.getTempoDeJogo())
+                    .dataHoraInicioPartida(incomingEvent.getDataHoraInicioPartida())
+                    .dataHoraEncerramento(incomingEvent.getDataHoraEncerramento())
+                    .build();
+            cacheMetrics.mergeOutcome(GameCacheMetrics.MERGE_APPLIED);
+            return merged;
+        }
+
+        cacheMetrics.mergeOutcome(StatusJogo.FINALIZADO.equals(cachedEvent.getStatus())
+                ? GameCacheMetrics.MERGE_IGNORED_FINISHED
+                : GameCacheMetrics.MERGE_IGNORED_OLDER);
+        return cachedEvent;
+    }
+
+    private PlacarAtualizadoEvent newerVersion(PlacarAtualizadoEvent incomingEvent, PlacarAtualizadoEvent cachedEvent) {
+        long distance = incomingEvent.getVersao() - cachedEvent.getVersao();
+        if (distance <= 0) {
+            log.info("Event {} version {} discarded: cache already has version {}.", incomingEvent.getId(),
+                    incomingEvent.getVersao(), cachedEvent.getVersao());
+            metrics.staleDiscarded(GameEventMetrics.STAGE_MERGE, 1);
+            cacheMetrics.mergeOutcome(GameCacheMetrics.MERGE_IGNORED_OLDER);
+            return null;
+        }
+        if (distance > 1) {
+            log.warn("Event {} jumped from version {} to {}: {} update(s) missing or still in flight.",
+                    incomingEvent.getId(), cachedEvent.getVersao(), incomingEvent.getVersao(), distance - 1);
+            metrics.versionGap();
+        }
+        cacheMetrics.mergeOutcome(GameCacheMetrics.MERGE_APPLIED);
+        return incomingEvent;
+    }
+
+    private PlacarAtualizadoEvent loadMissing(Long id) {
+        GameReadThroughLoader.Load load = readThrough.load(id);
+        if (load.outcome() != GameReadThroughLoader.Outcome.FOUND) {
+            // Only a game the publisher does not know is remembered as missing, a throttled
+            // or failed load is tried again by the next request
+            if (load.outcome() == GameReadThroughLoader.Outcome.NOT_FOUND) {
+                negativeLookup.recordMiss(id);
+            }
+            return null;
+        }
+        PlacarAtualizadoEvent loaded = load.event();
+        try {
+            // Versioned loads go through the compare-and-set, so a newer event from the
+            // broker is never overwritten by this snapshot
+            if (!write(loaded, retentionPolicy.ttlFor(loaded))) {
+                return findCurrent(id);
+            }
+        } catch (Exception ex) {
+            log.warn("Failed to cache game {} loaded from publisher: {}", id, ex.getMessage());
+        }
+        return loaded;
+    }
+
+    private PlacarAtualizadoEvent findCurrent(Long id) {
+        PlacarAtualizadoEvent pending = writeBehind.pendingState(id);
+        return pending != null ? pending : cacheRepository.findById(id);
+    }
+
+    private Map<Long, PlacarAtualizadoEvent> findCurrentUnversioned(List<PlacarAtualizadoEvent> events) {
+        Map<Long, PlacarAtualizadoEvent> current = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (PlacarAtualizadoEvent event : events) {
+            if (event.getVersao() == null) {
+                PlacarAtualizadoEvent pending = writeBehind.pendingState(event.getId());
+                if (pending != null) {
+                    current.put(event.getId(), pending);
+                } else {
+                    missing.add(event.getId());
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (PlacarAtualizadoEvent cached : cacheRepository.findAllById(missing)) {
+                current.put(cached.getId(), cached);
+            }
+        }
+        return current;
+    }
+
+    private List<PlacarAtualizadoEvent> writeAll(List<PlacarAtualizadoEvent> events) {
+        List<GameWrite> writes = new ArrayList<>(events.size());
+        for (PlacarAtualizadoEvent event : events) {
+            negativeLookup.recordWrite(event.getId());
+            writes.add(new GameWrite(event, retentionPolicy.ttlFor(event)));
+        }
+        if (writes.isEmpty()) {
+            return events;
+        }
+        Set<Long> rejected = writeBehind.isEnabled()
+                ? writeBehind.write(writes)
+                : new HashSet<>(cacheRepository.saveAll(writes));
+        if (rejected.isEmpty()) {
+            return events;
+        }
+        metrics.staleDiscarded(GameEventMetrics.STAGE_WRITE, rejected.size());
+        return events.stream().filter(event -> !rejected.contains(event.getId())).toList();
+    }
+
+    private boolean write(PlacarAtualizadoEvent event, Duration ttl) {
+        negativeLookup.recordWrite(event.getId());
+        if (writeBehind.isEnabled() || event.getVersao() != null) {
+            boolean saved = writeBehind.isEnabled()
+                    ? writeBehind.write(List.of(new GameWrite(event, ttl))).isEmpty()
+                    : cacheRepository.saveIfNewer(event, ttl);
+            if (!saved) {
+                metrics.staleDiscarded(GameEventMetrics.STAGE_WRITE, 1);
+            }
+            return saved;
+        }
+        if (ttl != null) {
+            cacheRepository.saveGameWithTtl(event, ttl);
+        } else {
+            cacheRepository.save(event);
+        }
+        return true;
+    }
 }
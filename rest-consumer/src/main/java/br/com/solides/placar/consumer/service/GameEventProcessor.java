@@ -1,30 +1,47 @@
 package br.com.solides.placar.consumer.service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import org.springframework.stereotype.Service;
 
+import br.com.solides.placar.consumer.metrics.GameEventLatencyMetrics;
 import br.com.solides.placar.consumer.service.strategy.GameEventProcessingStrategy;
 import br.com.solides.placar.consumer.sse.SseBrodcast;
-import br.com.solides.placar.shared.enums.StatusJogo;
 import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEventRouting;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
 public class GameEventProcessor {
 
-    private final List<GameEventProcessingStrategy> strategies;
+    private final GameEventRouter router;
     private final SseBrodcast sseHub;
+    private final GameLastKnownState lastKnownState;
+    private final LiveGamesSnapshot liveGames;
+    private final GameTimelineService timeline;
+    private final GameEventLatencyMetrics latency;
 
-    public GameEventProcessor(List<GameEventProcessingStrategy> strategies,SseBrodcast sseHub) {
-        this.strategies = strategies;
+    public GameEventProcessor(List<GameEventProcessingStrategy> strategies,SseBrodcast sseHub,
+            GameLastKnownState lastKnownState, LiveGamesSnapshot liveGames, GameTimelineService timeline,
+            GameEventLatencyMetrics latency) {
+        this.router = new GameEventRouter(strategies);
         this.sseHub = sseHub;
+        this.lastKnownState = lastKnownState;
+        this.liveGames = liveGames;
+        this.timeline = timeline;
+        this.latency = latency;
     }
 
     /**
-     * Process a game event using the appropriate strategy.
+     * Processes a game event using the appropriate strategy and keeps the last known
+     * state of the game, the live games snapshot and the game timeline up to date. While the Redis circuit breaker is open, the event
+     * is queued for replay instead of failing, when the stale fallback is enabled.
      * 
      * @param event the game event to process
      */
@@ -34,20 +51,18 @@ public class GameEventProcessor {
             return;
         }
 
-        GameEventProcessingStrategy strategy = strategies.stream()
-                .filter(s -> s.canHandle(event))
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("No strategy found for event: " + event));            
+        GameEventRouter.Route route = router.route(event);
         
         try {
         	
-        	log.debug("Processing event {} with strategy {}", event.getId(), strategy.getClass().getSimpleName());
-        	strategy.process(event);   
-        	
-        	String channel = resolveChannel(event);
-            sseHub.broadcast(channel, event);
-            
-            log.info("Event {} SSE broadcast scheduled to channel {}", event.getId(), channel);
+        	if (log.isDebugEnabled()) {
+        		log.debug("Processing event {} with strategy {}", event.getId(), route.strategy().getClass().getSimpleName());
+        	}
+        	if (!applyOrQueue(route.strategy(), event)) {
+        		log.debug("Event {} version {} is stale, not broadcasting", event.getId(), event.getVersao());
+        		return;
+        	}
+        	publish(event, route);
             
         } catch (Exception ex) {
             log.error("Failed to broadcast SSE for event {}: {}", event.getId(), ex.getMessage(), ex);
@@ -55,22 +70,142 @@ public class GameEventProcessor {
             throw new RuntimeException("Failed to broadcast SSE event", ex);
         }
     }
-    
-    
-    
-    
-    private String resolveChannel(PlacarAtualizadoEvent event) {
-        StatusJogo status = event.getStatus();
-        if (StatusJogo.EXCLUIDO.equals(status)) {
-            return "excluido";
-        } else if (StatusJogo.NAO_INICIADO.equals(status)) {
-            return "novos";
-        } else if (StatusJogo.FINALIZADO.equals(status)) {
-            return "encerrado";
-        } else if (StatusJogo.EM_ANDAMENTO.equals(status) && event.getTempoDeJogo() == 0) {
-            return "inicio";
+
+    /**
+     * Processes the events of one listener batch. The events of each game are split into
+     * steps, in the order they were received: consecutive score updates with the same status
+     * are conflated into the newest one, while every lifecycle transition (as defined by
+     * {@link PlacarAtualizadoEventRouting#isPriority}) is a step of its own, like in the
+     * load shedder. The batch is then applied in rounds, the n-th step of every game in the
+     * n-th round, each strategy applying its share of a round at once (updates with one
+     * pipelined Redis round trip). A batch of score updates only is a single round.
+     * <p>
+     * Only the applied states are recorded and broadcast, so intermediate scores of a game
+     * inside the batch are not published, but every transition is.
+     * 
+     * @param events the game events, in the order they were received
+     */
+    public void processBatch(List<PlacarAtualizadoEvent> events) {
+        Map<Long, List<PlacarAtualizadoEvent>> steps = new LinkedHashMap<>();
+        int rounds = 0;
+        for (PlacarAtualizadoEvent event : events) {
+            if (event == null) {
+                continue;
+            }
+            List<PlacarAtualizadoEvent> gameSteps = steps.computeIfAbsent(event.getId(), id -> new ArrayList<>(1));
+            int last = gameSteps.size() - 1;
+            if (last >= 0 && conflates(gameSteps.get(last), event)) {
+                gameSteps.set(last, newest(gameSteps.get(last), event));
+            } else {
+                gameSteps.add(event);
+                rounds = Math.max(rounds, gameSteps.size());
+            }
+        }
+        if (steps.isEmpty()) {
+            return;
+        }
+
+        try {
+            log.debug("Processing batch of {} event(s) for {} game(s) in {} round(s)", events.size(), steps.size(),
+                    rounds);
+            for (int round = 0; round < rounds; round++) {
+                Map<GameEventProcessingStrategy, List<PlacarAtualizadoEvent>> byStrategy = new LinkedHashMap<>();
+                for (List<PlacarAtualizadoEvent> gameSteps : steps.values()) {
+                    if (round < gameSteps.size()) {
+                        PlacarAtualizadoEvent event = gameSteps.get(round);
+                        byStrategy.computeIfAbsent(router.route(event).strategy(), strategy -> new ArrayList<>())
+                                .add(event);
+                    }
+                }
+                for (Map.Entry<GameEventProcessingStrategy, List<PlacarAtualizadoEvent>> group : byStrategy.entrySet()) {
+                    applyOrQueue(group.getKey(), group.getValue()).forEach(this::publish);
+                }
+            }
+        } catch (Exception ex) {
+            log.error("Failed to process batch of {} event(s): {}", events.size(), ex.getMessage(), ex);
+            throw new RuntimeException("Failed to process event batch", ex);
+        }
+    }
+
+    /**
+     * Applies an event queued while Redis was unavailable. The event was already
+     * broadcast when received, so only the cache is updated.
+     * 
+     * @param event the queued event
+     * @return false if the event turned out to be stale
+     */
+    public boolean replay(PlacarAtualizadoEvent event) {
+        return router.route(event).strategy().process(event);
+    }
+
+    private void publish(PlacarAtualizadoEvent event) {
+        publish(event, router.route(event));
+    }
+
+    private void publish(PlacarAtualizadoEvent event, GameEventRouter.Route route) {
+        lastKnownState.record(event);
+        liveGames.apply(event);
+        timeline.record(event);
+
+        String channel = route.channelFor(event);
+        if (PlacarAtualizadoEventRouting.isPriority(event)) {
+            sseHub.broadcastPriority(channel, event);
         } else {
-            return "placar";
+            sseHub.broadcast(channel, event);
+        }
+
+        log.debug("Event {} SSE broadcast scheduled to channel {}", event.getId(), channel);
+    }
+
+    private List<PlacarAtualizadoEvent> applyOrQueue(GameEventProcessingStrategy strategy,
+            List<PlacarAtualizadoEvent> events) {
+        try {
+            List<PlacarAtualizadoEvent> applied = strategy.processAll(events);
+            applied.forEach(latency::cacheWritten);
+            return applied;
+        } catch (CallNotPermittedException ex) {
+            for (PlacarAtualizadoEvent event : events) {
+                if (!lastKnownState.queueReplay(event)) {
+                    throw ex;
+                }
+            }
+            log.warn("Redis circuit breaker is open, {} event(s) queued for replay", events.size());
+            return events;
+        }
+    }
+
+    /**
+     * Whether a later event of the same game can replace the earlier one: both are score
+     * updates with the same status.
+     */
+    private static boolean conflates(PlacarAtualizadoEvent earlier, PlacarAtualizadoEvent later) {
+        return !PlacarAtualizadoEventRouting.isPriority(earlier) && !PlacarAtualizadoEventRouting.isPriority(later)
+                && Objects.equals(earlier.getStatus(), later.getStatus());
+    }
+
+    /**
+     * Picks the later event unless both are versioned and the earlier one is newer.
+     */
+    private static PlacarAtualizadoEvent newest(PlacarAtualizadoEvent earlier, PlacarAtualizadoEvent later) {
+        if (earlier.getVersao() != null && later.getVersao() != null && earlier.getVersao() > later.getVersao()) {
+            return earlier;
+        }
+        return later;
+    }
+
+    private boolean applyOrQueue(GameEventProcessingStrategy strategy, PlacarAtualizadoEvent event) {
+        try {
+            boolean applied = strategy.process(event);
+            if (applied) {
+                latency.cacheWritten(event);
+            }
+            return applied;
+        } catch (CallNotPermittedException ex) {
+            if (!lastKnownState.queueReplay(event)) {
+                throw ex;
+            }
+            log.warn("Redis circuit breaker is open, event {} queued for replay", event.getId());
+            return true;
         }
     }
 }
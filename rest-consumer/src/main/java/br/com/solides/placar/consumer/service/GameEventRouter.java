@@ -0,0 +1,117 @@
+package br.com.solides.placar.consumer.service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import br.com.solides.placar.consumer.service.strategy.GameEventProcessingStrategy;
+import br.com.solides.placar.shared.enums.StatusJogo;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+/**
+ * Dispatch table of {@link GameEventProcessor}: the strategy and SSE channel of each game
+ * status, resolved once from the strategies when the processor is built.
+ * <p>
+ * Routing an event is a single {@link EnumMap} lookup and does not allocate.
+ */
+public class GameEventRouter {
+
+    public static final String CHANNEL_NOVOS = "novos";
+    public static final String CHANNEL_INICIO = "inicio";
+    public static final String CHANNEL_PLACAR = "placar";
+    public static final String CHANNEL_ENCERRADO = "encerrado";
+    public static final String CHANNEL_EXCLUIDO = "excluido";
+
+    /**
+     * Strategy and channel of the events of one status.
+     *
+     * @param strategy       the strategy that applies the events
+     * @param channel        the SSE channel the applied events are broadcast to
+     * @param kickOffChannel the channel used instead at minute zero, or null
+     */
+    public record Route(GameEventProcessingStrategy strategy, String channel, String kickOffChannel) {
+
+        public String channelFor(PlacarAtualizadoEvent event) {
+            if (kickOffChannel != null) {
+                Integer tempoDeJogo = event.getTempoDeJogo();
+                if (tempoDeJogo != null && tempoDeJogo == 0) {
+                    return kickOffChannel;
+                }
+            }
+            return channel;
+        }
+    }
+
+    private final Map<StatusJogo, Route> routes = new EnumMap<>(StatusJogo.class);
+    private final Route withoutStatus;
+
+    public GameEventRouter(List<GameEventProcessingStrategy> strategies) {
+        for (StatusJogo status : StatusJogo.values()) {
+            GameEventProcessingStrategy strategy = strategyFor(strategies, status);
+            if (strategy != null) {
+                routes.put(status, new Route(strategy, channelOf(status), kickOffChannelOf(status)));
+            }
+        }
+        GameEventProcessingStrategy strategy = strategyFor(strategies, null);
+        this.withoutStatus = strategy != null ? new Route(strategy, CHANNEL_PLACAR, null) : null;
+    }
+
+    /**
+     * Returns the route of an event.
+     *
+     * @param event the game event
+     * @return the route
+     * @throws IllegalStateException if no strategy handles the status of the event
+     */
+    public Route route(PlacarAtualizadoEvent event) {
+        StatusJogo status = event.getStatus();
+        Route route = status != null ? routes.get(status) : withoutStatus;
+        if (route == null) {
+            throw new IllegalStateException("No strategy found for event: " + event);
+        }
+        return route;
+    }
+
+    /**
+     * Returns the SSE channel of an event, as {@link Route#channelFor} does, without resolving
+     * its strategy.
+     *
+     * @param event the game event
+     * @return the channel
+     */
+    public static String channelOf(PlacarAtualizadoEvent event) {
+        StatusJogo status = event.getStatus();
+        if (status == null) {
+            return CHANNEL_PLACAR;
+        }
+        Integer tempoDeJogo = event.getTempoDeJogo();
+        String kickOffChannel = kickOffChannelOf(status);
+        if (kickOffChannel != null && tempoDeJogo != null && tempoDeJogo == 0) {
+            return kickOffChannel;
+        }
+        return channelOf(status);
+    }
+
+    private static GameEventProcessingStrategy strategyFor(List<GameEventProcessingStrategy> strategies,
+            StatusJogo status) {
+        for (GameEventProcessingStrategy strategy : strategies) {
+            if (strategy.canHandle(status)) {
+                return strategy;
+            }
+        }
+        return null;
+    }
+
+    private static String channelOf(StatusJogo status) {
+        return switch (status) {
+            case NAO_INICIADO -> CHANNEL_NOVOS;
+            case EM_ANDAMENTO -> CHANNEL_PLACAR;
+            case FINALIZADO -> CHANNEL_ENCERRADO;
+            case EXCLUIDO -> CHANNEL_EXCLUIDO;
+        };
+    }
+
+    private static String kickOffChannelOf(StatusJogo status) {
+        return status == StatusJogo.EM_ANDAMENTO ? CHANNEL_INICIO : null;
+    }
+}
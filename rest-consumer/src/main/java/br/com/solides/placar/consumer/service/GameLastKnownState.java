@@ -0,0 +1,141 @@
+package br.com.solides.placar.consumer.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.shared.enums.StatusJogo;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+/**
+ * In-memory fallback tier used while the Redis circuit breaker is open
+ * ({@code app.cache.stale-fallback.enabled}).
+ * <p>
+ * Holds the last state of every game applied by this instance, so reads can still be
+ * answered (marked as stale), and the events that could not be written to Redis, so they
+ * can be replayed once it recovers. Both tables keep only the newest version per game and
+ * are bounded by {@code max-games}.
+ */
+@Component
+public class GameLastKnownState {
+
+    private final AppProperties.Cache.StaleFallback settings;
+
+    private final Map<Long, Entry> states = new ConcurrentHashMap<>();
+    private final Map<Long, PlacarAtualizadoEvent> replay = new ConcurrentHashMap<>();
+
+    public GameLastKnownState(AppProperties properties) {
+        this.settings = properties.getCache().getStaleFallback();
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    /**
+     * Records the state of a game that was just applied.
+     *
+     * @param event the applied event
+     */
+    public void record(PlacarAtualizadoEvent event) {
+        if (!settings.isEnabled() || event == null || event.getId() == null) {
+            return;
+        }
+        if (states.size() >= settings.getMaxGames() && !states.containsKey(event.getId())) {
+            return;
+        }
+        Entry entry = new Entry(event, System.nanoTime());
+        states.merge(event.getId(), entry,
+                (current, incoming) -> newer(current.event(), incoming.event()) == current.event() ? current : incoming);
+    }
+
+    /**
+     * Returns the last known state of a game, or null if it is unknown or was deleted.
+     *
+     * @param id the game id
+     * @return the last known event
+     */
+    public PlacarAtualizadoEvent find(Long id) {
+        Entry entry = id != null ? states.get(id) : null;
+        if (entry == null || StatusJogo.EXCLUIDO.equals(entry.event().getStatus())) {
+            return null;
+        }
+        return entry.event();
+    }
+
+    /**
+     * Queues an event that could not be written to Redis.
+     *
+     * @param event the event to replay
+     * @return false if the fallback is disabled or the replay queue is full
+     */
+    public boolean queueReplay(PlacarAtualizadoEvent event) {
+        if (!settings.isEnabled() || event.getId() == null) {
+            return false;
+        }
+        if (replay.size() >= settings.getMaxGames() && !replay.containsKey(event.getId())) {
+            return false;
+        }
+        replay.merge(event.getId(), event, GameLastKnownState::newer);
+        return true;
+    }
+
+    /**
+     * Removes and returns every queued event.
+     *
+     * @return the events to replay
+     */
+    public List<PlacarAtualizadoEvent> drainReplay() {
+        List<PlacarAtualizadoEvent> events = new ArrayList<>(replay.size());
+        for (Long id : replay.keySet()) {
+            PlacarAtualizadoEvent event = replay.remove(id);
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Puts back an event whose replay failed, unless a newer one was queued meanwhile.
+     *
+     * @param event the event to replay later
+     */
+    public void requeue(PlacarAtualizadoEvent event) {
+        replay.merge(event.getId(), event, (queued, failed) -> newer(failed, queued));
+    }
+
+    public int replayCount() {
+        return replay.size();
+    }
+
+    /**
+     * Drops states recorded more than {@code state-ttl} ago.
+     *
+     * @return the number of dropped states
+     */
+    public int prune() {
+        long now = System.nanoTime();
+        long ttl = settings.getStateTtl().toNanos();
+        int before = states.size();
+        states.values().removeIf(entry -> now - entry.recordedAt() >= ttl);
+        return before - states.size();
+    }
+
+    /**
+     * Picks the incoming event unless both are versioned and the current one is newer.
+     */
+    private static PlacarAtualizadoEvent newer(PlacarAtualizadoEvent current, PlacarAtualizadoEvent incoming) {
+        if (current.getVersao() != null && incoming.getVersao() != null && current.getVersao() > incoming.getVersao()) {
+            return current;
+        }
+        return incoming;
+    }
+
+    private record Entry(PlacarAtualizadoEvent event, long recordedAt) {
+    }
+}
@@ -0,0 +1,185 @@
+package br.com.solides.placar.consumer.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.publisher.PublisherGameClient;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Negative-lookup layer for game ids ({@code app.cache.negative-lookup.enabled}).
+ * <p>
+ * A Bloom filter holds every id that may exist. It is rebuilt from the publisher's game
+ * listing at startup and every {@code rebuild-interval}, not from the cache index, so a
+ * flushed or evicted Redis does not turn existing games into known absences. Every cache
+ * write adds its id. An id the filter has never seen exists neither in the publisher nor
+ * in the event stream, so the lookup is answered without I/O, and without a read-through
+ * of the publisher when it is enabled. Until the first rebuild succeeds, every id is reported
+ * as possibly present. Misses are remembered for {@code miss-ttl}.
+ */
+@Slf4j
+@Component
+public class GameNegativeLookup {
+
+    private final PublisherGameClient publisherClient;
+    private final AppProperties.Cache.NegativeLookup settings;
+
+    private final Map<Long, Long> misses = new ConcurrentHashMap<>();
+
+    private volatile GameIdBloomFilter filter;
+    private volatile GameIdBloomFilter rebuilding;
+
+    /**
+     * Ids recorded since the last rebuild began. The publisher listing of the next rebuild
+     * may not include them yet, so it adds them to its filter before using it.
+     */
+    private volatile Set<Long> written = ConcurrentHashMap.newKeySet();
+
+    public GameNegativeLookup(PublisherGameClient publisherClient, AppProperties properties) {
+        this.publisherClient = publisherClient;
+        this.settings = properties.getCache().getNegativeLookup();
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    /**
+     * Whether the game certainly does not exist, i.e. the filter has never seen it. Always
+     * false until the first rebuild succeeds.
+     *
+     * @param id the game id
+     * @return true if the lookup can be answered without Redis
+     */
+    public boolean isKnownAbsent(Long id) {
+        GameIdBloomFilter current = filter;
+        return settings.isEnabled() && current != null && !current.mightContain(id);
+    }
+
+    /**
+     * Whether a recent lookup of the game already found nothing.
+     *
+     * @param id the game id
+     * @return true while the remembered miss has not expired
+     */
+    public boolean isRecentMiss(Long id) {
+        if (!settings.isEnabled()) {
+            return false;
+        }
+        Long expiresAt = misses.get(id);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - expiresAt >= 0) {
+            misses.remove(id, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Remembers that the game does not exist, for {@code miss-ttl}.
+     *
+     * @param id the game id
+     */
+    public void recordMiss(Long id) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        if (misses.size() >= settings.getMaxMisses()) {
+            // Bounded memory against id scans; the entries are short-lived anyway
+            misses.clear();
+        }
+        misses.put(id, System.nanoTime() + settings.getMissTtl().toNanos());
+    }
+
+    /**
+     * Registers a game about to be written to the cache. Must be called before the write,
+     * so a concurrent lookup never sees the filter reject a cached id.
+     *
+     * @param id the game id
+     */
+    public void recordWrite(Long id) {
+        if (!settings.isEnabled() || id == null) {
+            return;
+        }
+        misses.remove(id);
+        GameIdBloomFilter current = filter;
+        if (current != null) {
+            current.add(id);
+        }
+        // Recorded before rebuilding is read: a rebuild that starts meanwhile merges this set
+        written.add(id);
+        GameIdBloomFilter next = rebuilding;
+        if (next != null) {
+            next.add(id);
+        }
+    }
+
+    /**
+     * Rebuilds the filter from the publisher's game listing, dropping ids of games that were
+     * removed. The listing is read first, since its size sizes the filter. The ids recorded
+     * since the previous rebuild began, and those recorded while the listing was read, are
+     * added before the swap; writes recorded afterwards are added to both filters.
+     */
+    @Scheduled(fixedDelayString = "#{@appProperties.cache.negativeLookup.rebuildInterval}")
+    public void rebuild() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        Set<Long> previous = written;
+        written = ConcurrentHashMap.newKeySet();
+        try {
+            long[] ids;
+            try {
+                ids = listPublisherIds();
+            } catch (RuntimeException ex) {
+                written.addAll(previous);
+                throw ex;
+            }
+            GameIdBloomFilter next = GameIdBloomFilter.create(Math.max(settings.getExpectedIds(), ids.length * 2L),
+                    settings.getFalsePositiveRate());
+            // Set before reading written: a write recorded meanwhile is in one of them
+            rebuilding = next;
+            for (long id : ids) {
+                next.add(id);
+            }
+            previous.forEach(next::add);
+            written.forEach(next::add);
+            filter = next;
+            log.info("Game id filter rebuilt from {} publisher id(s) ({} bits, {} hashes)", ids.length,
+                    next.bitCount(), next.hashCount());
+        } catch (Exception ex) {
+            log.warn("Game id filter rebuild failed, keeping the previous filter: {}", ex.getMessage());
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    private long[] listPublisherIds() {
+        long[] ids = new long[1024];
+        int count = 0;
+        long afterId = 0;
+        while (true) {
+            List<PlacarAtualizadoEvent> page = publisherClient.findPage(afterId, settings.getPageSize());
+            if (page.isEmpty()) {
+                return Arrays.copyOf(ids, count);
+            }
+            for (PlacarAtualizadoEvent game : page) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                }
+                ids[count++] = game.getId();
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+    }
+}
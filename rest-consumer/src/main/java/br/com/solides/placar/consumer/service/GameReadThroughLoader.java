@@ -0,0 +1,112 @@
+package br.com.solides.placar.consumer.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.publisher.PublisherGameClient;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Optional read-through for cache misses ({@code app.publisher.read-through.enabled}).
+ * <p>
+ * Concurrent misses for the same game share a single in-flight load, and at most
+ * {@code max-concurrent-loads} loads run against the publisher at once, so a cold cache
+ * cannot stampede the publisher database. A miss that cannot get a load slot within
+ * {@code acquire-timeout}, or whose load fails, is reported as unavailable, never as not found:
+ * only the publisher answering without the game proves it does not exist.
+ */
+@Slf4j
+@Component
+public class GameReadThroughLoader {
+
+    private final PublisherGameClient publisherClient;
+    private final AppProperties.Publisher.ReadThrough settings;
+    private final Semaphore permits;
+
+    private final Map<Long, CompletableFuture<Load>> inFlight = new ConcurrentHashMap<>();
+
+    public GameReadThroughLoader(PublisherGameClient publisherClient, AppProperties properties) {
+        this.publisherClient = publisherClient;
+        this.settings = properties.getPublisher().getReadThrough();
+        this.permits = new Semaphore(settings.getMaxConcurrentLoads());
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    /**
+     * Loads a game from the publisher, joining a load already in flight for the same id.
+     *
+     * @param id the game id
+     * @return the outcome of the load, with the game when found
+     */
+    public Load load(Long id) {
+        CompletableFuture<Load> load = new CompletableFuture<>();
+        CompletableFuture<Load> existing = inFlight.putIfAbsent(id, load);
+        if (existing != null) {
+            log.debug("Joining in-flight load of game {}", id);
+            return existing.join();
+        }
+
+        try {
+            load.complete(fetch(id));
+        } finally {
+            inFlight.remove(id, load);
+            // Never leave followers waiting, even on an unexpected error
+            load.complete(Load.UNAVAILABLE);
+        }
+        return load.join();
+    }
+
+    private Load fetch(Long id) {
+        boolean acquired = false;
+        try {
+            acquired = permits.tryAcquire(settings.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            if (!acquired) {
+                log.warn("Read-through of game {} skipped: {} loads already running", id,
+                        settings.getMaxConcurrentLoads());
+                return Load.UNAVAILABLE;
+            }
+            PlacarAtualizadoEvent event = publisherClient.findById(id);
+            log.debug("Read-through of game {} from publisher: {}", id, event != null ? "found" : "not found");
+            return event != null ? new Load(Outcome.FOUND, event) : Load.NOT_FOUND;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Load.UNAVAILABLE;
+        } catch (Exception ex) {
+            log.warn("Read-through of game {} from publisher failed: {}", id, ex.getMessage());
+            return Load.UNAVAILABLE;
+        } finally {
+            if (acquired) {
+                permits.release();
+            }
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * How a read-through ended.
+     */
+    public enum Outcome {
+        FOUND, NOT_FOUND, UNAVAILABLE
+    }
+
+    /**
+     * Outcome of a read-through, with the game when found.
+     */
+    public record Load(Outcome outcome, PlacarAtualizadoEvent event) {
+        static final Load NOT_FOUND = new Load(Outcome.NOT_FOUND, null);
+        static final Load UNAVAILABLE = new Load(Outcome.UNAVAILABLE, null);
+    }
+}
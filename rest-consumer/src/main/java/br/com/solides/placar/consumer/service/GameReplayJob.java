@@ -0,0 +1,77 @@
+package br.com.solides.placar.consumer.service;
+
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.solides.placar.consumer.rabbit.GameEventListener;
+import br.com.solides.placar.consumer.redis.GameCacheRepository;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replays the events queued while the Redis circuit breaker was open, as soon as the
+ * breaker lets calls through again, and expires old entries of the last known state.
+ * Replayed events go through the processing strategies, so the version checks still
+ * protect newer states written in the meantime.
+ * <p>
+ * A replay stops and keeps the remaining events only while Redis is still unavailable;
+ * an event that fails for any other reason is logged and dropped, so it cannot block
+ * the queue.
+ */
+@Slf4j
+@Component
+public class GameReplayJob {
+
+    private final GameLastKnownState lastKnownState;
+    private final GameEventProcessor processor;
+    private final CircuitBreaker redisBreaker;
+
+    public GameReplayJob(GameLastKnownState lastKnownState, GameEventProcessor processor,
+            CircuitBreakerRegistry circuitBreakerRegistry) {
+        this.lastKnownState = lastKnownState;
+        this.processor = processor;
+        this.redisBreaker = circuitBreakerRegistry.circuitBreaker(GameCacheRepository.BACKEND_REDIS);
+    }
+
+    @Scheduled(fixedDelayString = "#{@appProperties.cache.staleFallback.replayInterval}")
+    public void replay() {
+        if (!lastKnownState.isEnabled()) {
+            return;
+        }
+        lastKnownState.prune();
+        if (lastKnownState.replayCount() == 0 || !callsPermitted()) {
+            return;
+        }
+
+        List<PlacarAtualizadoEvent> events = lastKnownState.drainReplay();
+        int replayed = 0;
+        int dropped = 0;
+        for (int i = 0; i < events.size(); i++) {
+            PlacarAtualizadoEvent event = events.get(i);
+            try {
+                processor.replay(event);
+                replayed++;
+            } catch (Exception ex) {
+                if (!GameEventListener.isRetryable(ex)) {
+                    dropped++;
+                    log.error("Dropping queued event of game {}: replay failed with a non-retryable error",
+                            event.getId(), ex);
+                    continue;
+                }
+                events.subList(i, events.size()).forEach(lastKnownState::requeue);
+                log.warn("Replay stopped after {} of {} queued game(s): {}", replayed, events.size(), ex.getMessage());
+                return;
+            }
+        }
+        log.info("Replayed {} game(s) queued while Redis was unavailable ({} dropped)", replayed, dropped);
+    }
+
+    private boolean callsPermitted() {
+        CircuitBreaker.State state = redisBreaker.getState();
+        return state != CircuitBreaker.State.OPEN && state != CircuitBreaker.State.FORCED_OPEN;
+    }
+}
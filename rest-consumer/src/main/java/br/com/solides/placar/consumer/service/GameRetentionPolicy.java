@@ -0,0 +1,68 @@
+package br.com.solides.placar.consumer.service;
+
+import java.time.Duration;
+
+import org.springframework.stereotype.Component;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.shared.enums.StatusJogo;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+/**
+ * Decides how long a game stays in the cache based on its status.
+ * <ul>
+ * <li>FINALIZADO: kept for {@code app.cache.retention.finished-ttl}.</li>
+ * <li>EXCLUIDO: kept as a tombstone for {@code app.cache.retention.tombstone-ttl}, so late
+ * out-of-order events for the same game are ignored instead of recreating it.</li>
+ * <li>Any other status: no expiration.</li>
+ * </ul>
+ */
+@Component
+public class GameRetentionPolicy {
+
+    private final AppProperties.Cache.Retention retention;
+
+    public GameRetentionPolicy(AppProperties properties) {
+        this.retention = properties.getCache().getRetention();
+    }
+
+    /**
+     * Returns the TTL for the given event, or null when it must not expire.
+     *
+     * @param event the event about to be cached
+     * @return the TTL or null
+     */
+    public Duration ttlFor(PlacarAtualizadoEvent event) {
+        StatusJogo status = event.getStatus();
+        if (StatusJogo.FINALIZADO.equals(status)) {
+            return positiveOrNull(retention.getFinishedTtl());
+        }
+        if (StatusJogo.EXCLUIDO.equals(status)) {
+            return positiveOrNull(retention.getTombstoneTtl());
+        }
+        return null;
+    }
+
+    /**
+     * Whether deleted games are kept as tombstones instead of being removed immediately.
+     *
+     * @return true if tombstones are enabled
+     */
+    public boolean tombstonesEnabled() {
+        return positiveOrNull(retention.getTombstoneTtl()) != null;
+    }
+
+    /**
+     * Whether the cached event is a tombstone of a deleted game.
+     *
+     * @param event the cached event, may be null
+     * @return true if the event marks a deleted game
+     */
+    public boolean isTombstone(PlacarAtualizadoEvent event) {
+        return event != null && StatusJogo.EXCLUIDO.equals(event.getStatus());
+    }
+
+    private Duration positiveOrNull(Duration ttl) {
+        return ttl != null && !ttl.isZero() && !ttl.isNegative() ? ttl : null;
+    }
+}
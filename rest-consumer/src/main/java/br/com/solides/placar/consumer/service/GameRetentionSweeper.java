@@ -0,0 +1,39 @@
+package br.com.solides.placar.consumer.service;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.solides.placar.consumer.redis.GameCacheRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Background job that keeps the game index consistent with the values still present in
+ * Redis. Values of finished and deleted games expire by TTL; this job removes their ids
+ * from the index so it does not grow over the season.
+ */
+@Slf4j
+@Component
+public class GameRetentionSweeper {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final GameCacheRepository cacheRepository;
+
+    public GameRetentionSweeper(GameCacheRepository cacheRepository) {
+        this.cacheRepository = cacheRepository;
+    }
+
+    @Scheduled(fixedDelayString = "#{@appProperties.cache.retention.sweepInterval}")
+    public void sweep() {
+        try {
+            long removed = cacheRepository.pruneIndex(BATCH_SIZE);
+            if (removed > 0) {
+                log.info("Retention sweep removed {} expired game id(s) from the index", removed);
+            } else {
+                log.debug("Retention sweep found no expired game ids");
+            }
+        } catch (Exception ex) {
+            log.warn("Retention sweep failed: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.solides.placar.consumer.service;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.redis.GameTimelineEntry;
+import br.com.solides.placar.consumer.redis.GameTimelineRepository;
+import br.com.solides.placar.shared.enums.StatusJogo;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the timeline of accepted events of each game ({@code app.cache.timeline}).
+ * <p>
+ * Timelines are capped at {@code max-length} entries. When a game finishes or is deleted,
+ * its timeline gets the same retention TTL as the game itself, so both go away together;
+ * without a tombstone TTL the timeline of a deleted game is removed at once.
+ */
+@Slf4j
+@Service
+public class GameTimelineService {
+
+    private final GameTimelineRepository timelineRepository;
+    private final GameRetentionPolicy retentionPolicy;
+    private final AppProperties.Cache.Timeline settings;
+
+    public GameTimelineService(GameTimelineRepository timelineRepository, GameRetentionPolicy retentionPolicy,
+            AppProperties properties) {
+        this.timelineRepository = timelineRepository;
+        this.retentionPolicy = retentionPolicy;
+        this.settings = properties.getCache().getTimeline();
+    }
+
+    /**
+     * Appends an accepted event to the game timeline. Failures are logged and not
+     * propagated, the timeline is not required to process the event.
+     *
+     * @param event the accepted event
+     */
+    public void record(PlacarAtualizadoEvent event) {
+        if (!settings.isEnabled() || event.getId() == null) {
+            return;
+        }
+        try {
+            Duration ttl = retentionPolicy.ttlFor(event);
+            if (StatusJogo.EXCLUIDO.equals(event.getStatus()) && ttl == null) {
+                timelineRepository.delete(event.getId());
+            } else {
+                timelineRepository.append(event, settings.getMaxLength(), ttl);
+            }
+        } catch (Exception ex) {
+            log.warn("Failed to record event of game {} in its timeline: {}", event.getId(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Reads the timeline of a game.
+     *
+     * @param id    the game id
+     * @param since entry id to start after, or null for the oldest entry kept
+     * @param limit maximum number of entries, capped at {@code max-page-size}
+     * @return the entries in the order they were accepted
+     */
+    public List<GameTimelineEntry> find(Long id, String since, int limit) {
+        return timelineRepository.range(id, since, Math.max(1, Math.min(limit, settings.getMaxPageSize())));
+    }
+}
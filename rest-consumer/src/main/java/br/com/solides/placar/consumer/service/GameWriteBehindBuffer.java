@@ -0,0 +1,301 @@
+package br.com.solides.placar.consumer.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.metrics.GameEventMetrics;
+import br.com.solides.placar.consumer.redis.GameCacheRepository;
+import br.com.solides.placar.consumer.redis.GameWrite;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Optional write-behind stage for cache writes ({@code app.cache.write-behind.enabled}).
+ * <p>
+ * Writes return right away: only the latest state per game is kept in memory, and every
+ * pending game is written as one pipelined batch each {@code flush-interval} ms, or as soon
+ * as {@code max-pending} games or held acknowledgements are waiting. Pending and in-flight
+ * states are visible to reads, so callers always see their own writes.
+ * <p>
+ * The lane listener hands the acknowledgement of each processed message to
+ * {@link #afterFlush(Runnable, Runnable)}, so a message is only acknowledged once a flush
+ * that started after its writes succeeded. A failed flush keeps its states (unless a newer
+ * one of the game is pending) and its acknowledgements for the next one. On shutdown the
+ * lanes flush once they are drained, while the channels are still open, and this stage
+ * flushes again when it stops; messages whose states could not be written by then are
+ * requeued. Requires the lanes consumer mode, the only one acknowledging manually.
+ * <p>
+ * Each caller gets the games whose state was superseded by a newer pending version, so it
+ * does not broadcast them. The compare-and-set against Redis only runs at flush time: a state
+ * rejected there was merged against the pending or cached state when it was accepted, so
+ * only a concurrent writer outside this instance can cause it, and it is counted as a stale
+ * discard.
+ */
+@Slf4j
+@Component
+public class GameWriteBehindBuffer implements SmartLifecycle {
+
+    /**
+     * Stops after the listener containers (which use {@code Integer.MAX_VALUE}).
+     */
+    static final int PHASE = Integer.MAX_VALUE - 1000;
+
+    private final GameCacheRepository cacheRepository;
+    private final GameEventMetrics metrics;
+    private final AppProperties.Cache.WriteBehind settings;
+
+    /**
+     * Guards {@link #pending} and {@link #awaiting}, so a flush takes every state written
+     * before an acknowledgement was handed over together with it.
+     */
+    private final Object bufferLock = new Object();
+    private Map<Long, GameWrite> pending = new HashMap<>();
+    private List<HeldAck> awaiting = new ArrayList<>();
+    private final Map<Long, GameWrite> inFlight = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private volatile boolean running;
+
+    public GameWriteBehindBuffer(GameCacheRepository cacheRepository, GameEventMetrics metrics,
+            AppProperties properties) {
+        this.cacheRepository = cacheRepository;
+        this.metrics = metrics;
+        this.settings = properties.getCache().getWriteBehind();
+        if (settings.isEnabled() && properties.getRabbit().getMode() != AppProperties.Rabbit.Mode.LANES) {
+            throw new IllegalStateException("app.cache.write-behind requires app.rabbit.mode: lanes, "
+                    + "the only consumer mode acknowledging messages after the flush");
+        }
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    /**
+     * Buffers states for the next flush. A pending state of the same game is replaced unless
+     * it has a higher version. Flushes right away once {@code max-pending} is reached, or
+     * when the buffer is stopped.
+     *
+     * @param writes the writes, at most one per game
+     * @return the ids of the games whose state was superseded by a newer pending one
+     */
+    public Set<Long> write(List<GameWrite> writes) {
+        Set<Long> superseded = new HashSet<>();
+        boolean full;
+        synchronized (bufferLock) {
+            for (GameWrite write : writes) {
+                if (pending.merge(write.event().getId(), write, GameWriteBehindBuffer::newer) != write) {
+                    superseded.add(write.event().getId());
+                }
+            }
+            full = isFull();
+        }
+        if (full || !running) {
+            flush();
+        }
+        return superseded;
+    }
+
+    /**
+     * Holds an acknowledgement until the next successful flush, which writes every state
+     * buffered before this call. Runs it right away when the buffer is disabled.
+     *
+     * @param written  called once the states are in Redis
+     * @param unwritten called on shutdown if they could not be written
+     */
+    public void afterFlush(Runnable written, Runnable unwritten) {
+        if (!settings.isEnabled()) {
+            written.run();
+            return;
+        }
+        boolean full;
+        synchronized (bufferLock) {
+            awaiting.add(new HeldAck(written, unwritten));
+            full = isFull();
+        }
+        if (full || !running) {
+            flush();
+        }
+    }
+
+    /**
+     * Returns a copy of the buffered state of a game that is not yet in Redis. The buffered
+     * instance itself may be serialized by a flush at any time, so it is never handed out.
+     *
+     * @param id the game id
+     * @return the pending event, or null if nothing is buffered for the game
+     */
+    public PlacarAtualizadoEvent pendingState(Long id) {
+        if (id == null) {
+            return null;
+        }
+        GameWrite write;
+        synchronized (bufferLock) {
+            write = pending.get(id);
+        }
+        if (write == null) {
+            // Being written: a failed flush puts it back in pending before leaving in flight
+            write = inFlight.get(id);
+        }
+        return write != null ? write.event().toBuilder().build() : null;
+    }
+
+    /**
+     * Drops any buffered state of a game, used before an immediate delete. Waits for a
+     * running flush, so an in-flight state cannot land after the delete.
+     *
+     * @param id the game id
+     */
+    public void discard(Long id) {
+        flushLock.lock();
+        try {
+            synchronized (bufferLock) {
+                pending.remove(id);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int pendingCount() {
+        synchronized (bufferLock) {
+            return pending.size();
+        }
+    }
+
+    public int heldAcknowledgements() {
+        synchronized (bufferLock) {
+            return awaiting.size();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "#{@appProperties.cache.writeBehind.flushInterval}")
+    public void flushPeriodically() {
+        if (settings.isEnabled()) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes every pending game in one pipelined batch, then releases the acknowledgements
+     * handed over before the batch was taken.
+     *
+     * @return whether the states were written; false leaves them for the next flush
+     */
+    public boolean flush() {
+        flushLock.lock();
+        try {
+            Map<Long, GameWrite> batch;
+            List<HeldAck> acks;
+            synchronized (bufferLock) {
+                if (pending.isEmpty() && awaiting.isEmpty()) {
+                    return true;
+                }
+                batch = pending;
+                acks = awaiting;
+                pending = new HashMap<>();
+                awaiting = new ArrayList<>();
+                // In flight before leaving pending, so reads never miss the state
+                inFlight.putAll(batch);
+            }
+            try {
+                if (!batch.isEmpty()) {
+                    List<Long> rejected = cacheRepository.saveAll(new ArrayList<>(batch.values()));
+                    if (!rejected.isEmpty()) {
+                        metrics.staleDiscarded(GameEventMetrics.STAGE_WRITE, rejected.size());
+                    }
+                }
+            } catch (RuntimeException ex) {
+                synchronized (bufferLock) {
+                    batch.forEach((id, write) -> pending.merge(id, write,
+                            (current, restored) -> newer(restored, current)));
+                    acks.addAll(awaiting);
+                    awaiting = acks;
+                }
+                log.warn("Write-behind flush of {} game(s) failed, keeping them and {} acknowledgement(s) for the "
+                        + "next flush: {}", batch.size(), acks.size(), ex.getMessage());
+                return false;
+            } finally {
+                batch.forEach(inFlight::remove);
+            }
+            log.debug("Write-behind flushed {} game(s), releasing {} acknowledgement(s)", batch.size(), acks.size());
+            acks.forEach(ack -> release(ack.written()));
+            return true;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private boolean isFull() {
+        return pending.size() >= settings.getMaxPending() || awaiting.size() >= settings.getMaxPending();
+    }
+
+    private static void release(Runnable ack) {
+        try {
+            ack.run();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to release a write-behind acknowledgement: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Keeps the incoming write unless both are versioned and the current one is newer.
+     */
+    private static GameWrite newer(GameWrite current, GameWrite incoming) {
+        Long currentVersion = current.event().getVersao();
+        Long incomingVersion = incoming.event().getVersao();
+        return currentVersion != null && incomingVersion != null && currentVersion > incomingVersion
+                ? current
+                : incoming;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flush()) {
+            return;
+        }
+        List<HeldAck> unwritten;
+        int games;
+        synchronized (bufferLock) {
+            unwritten = awaiting;
+            awaiting = new ArrayList<>();
+            games = pending.size();
+        }
+        log.warn("{} buffered game(s) could not be written before shutdown, requeueing {} message(s)", games,
+                unwritten.size());
+        unwritten.forEach(ack -> release(ack.unwritten()));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * An acknowledgement held until a flush, and what to do if the flush never succeeds.
+     */
+    private record HeldAck(Runnable written, Runnable unwritten) {
+    }
+}
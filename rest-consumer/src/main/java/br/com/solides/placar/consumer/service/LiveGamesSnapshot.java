@@ -0,0 +1,223 @@
+package br.com.solides.placar.consumer.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.solides.placar.consumer.redis.GameCacheRepository;
+import br.com.solides.placar.shared.enums.StatusJogo;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Materialized JSON array of every live game (NAO_INICIADO or EM_ANDAMENTO), kept in memory
+ * both plain and gzipped, so the live games page is served without touching Redis.
+ * <p>
+ * Each applied event re-serializes only its own game; the document is reassembled from the
+ * per-game fragments on the first read after a change, so a burst of events costs one
+ * rebuild. The game set is resynchronized from Redis at startup and every
+ * {@code app.cache.live-snapshot.resync-interval} ms, which also drops games whose value
+ * expired. Changes applied while a resync is running take precedence over what it read.
+ */
+@Slf4j
+@Component
+public class LiveGamesSnapshot {
+
+    private static final int RESYNC_BATCH_SIZE = 500;
+    private static final byte[] EMPTY_ARRAY = { '[', ']' };
+
+    private final GameCacheRepository cacheRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Per-game fragments. A fragment without JSON marks a game that left the live set, kept
+     * until the next resync so a concurrent resync does not bring it back.
+     */
+    private final Map<Long, Fragment> fragments = new ConcurrentHashMap<>();
+    private final AtomicLong changes = new AtomicLong();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    public LiveGamesSnapshot(GameCacheRepository cacheRepository, ObjectMapper objectMapper) {
+        this.cacheRepository = cacheRepository;
+        this.objectMapper = objectMapper;
+        this.snapshot = build(changes.get());
+    }
+
+    /**
+     * Applies the new state of a game.
+     *
+     * @param event the applied event
+     */
+    public void apply(PlacarAtualizadoEvent event) {
+        if (event == null || event.getId() == null) {
+            return;
+        }
+        Fragment fragment = new Fragment(changes.incrementAndGet(), event.getVersao(), isLive(event) ? toJson(event) : null);
+        fragments.merge(event.getId(), fragment, LiveGamesSnapshot::newer);
+    }
+
+    /**
+     * Returns the current snapshot, rebuilding it first if games changed since the last build.
+     *
+     * @return the snapshot
+     */
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current.builtAt() == changes.get()) {
+            return current;
+        }
+        rebuildLock.lock();
+        try {
+            long seen = changes.get();
+            if (snapshot.builtAt() != seen) {
+                snapshot = build(seen);
+            }
+            return snapshot;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Reloads the live game set from the game index and values in Redis.
+     */
+    @Scheduled(fixedDelayString = "#{@appProperties.cache.liveSnapshot.resyncInterval}")
+    public void resync() {
+        try {
+            long start = changes.get();
+            Map<Long, Fragment> loaded = new ConcurrentHashMap<>();
+            List<Long> batch = new ArrayList<>(RESYNC_BATCH_SIZE);
+            cacheRepository.forEachIndexedId(RESYNC_BATCH_SIZE, id -> {
+                batch.add(id);
+                if (batch.size() == RESYNC_BATCH_SIZE) {
+                    load(batch, start, loaded);
+                    batch.clear();
+                }
+            });
+            load(batch, start, loaded);
+
+            // Anything changed by events after the resync started wins over what was read, and
+            // a newer version not yet in Redis (write-behind) is kept
+            loaded.forEach((id, fragment) -> fragments.merge(id, fragment,
+                    (current, resynced) -> current.seq() > start ? current : newer(current, resynced)));
+            fragments.keySet().stream()
+                    .filter(id -> !loaded.containsKey(id))
+                    .toList()
+                    .forEach(id -> fragments.computeIfPresent(id, (key, current) -> current.seq() > start ? current : null));
+            changes.incrementAndGet();
+            log.debug("Live games snapshot resynchronized: {} live game(s)", loaded.size());
+        } catch (Exception ex) {
+            log.warn("Live games snapshot resync failed: {}", ex.getMessage());
+        }
+    }
+
+    private void load(List<Long> ids, long seq, Map<Long, Fragment> loaded) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (PlacarAtualizadoEvent event : cacheRepository.findAllById(ids)) {
+            if (isLive(event)) {
+                loaded.put(event.getId(), new Fragment(seq, event.getVersao(), toJson(event)));
+            }
+        }
+    }
+
+    private Snapshot build(long builtAt) {
+        // Sorted by id so the same game set always yields the same bytes and ETag
+        Map<Long, byte[]> live = new TreeMap<>();
+        fragments.forEach((id, fragment) -> {
+            if (fragment.json() != null) {
+                live.put(id, fragment.json());
+            }
+        });
+
+        byte[] json;
+        if (live.isEmpty()) {
+            json = EMPTY_ARRAY;
+        } else {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(live.size() * 256);
+            out.write('[');
+            boolean first = true;
+            for (byte[] fragment : live.values()) {
+                if (!first) {
+                    out.write(',');
+                }
+                out.writeBytes(fragment);
+                first = false;
+            }
+            out.write(']');
+            json = out.toByteArray();
+        }
+        return new Snapshot(json, gzip(json), hash(json), live.size(), builtAt);
+    }
+
+    private byte[] toJson(PlacarAtualizadoEvent event) {
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize game " + event.getId(), ex);
+        }
+    }
+
+    private static boolean isLive(PlacarAtualizadoEvent event) {
+        return StatusJogo.NAO_INICIADO.equals(event.getStatus()) || StatusJogo.EM_ANDAMENTO.equals(event.getStatus());
+    }
+
+    /**
+     * Keeps the current fragment only if both are versioned and the current one is newer.
+     */
+    private static Fragment newer(Fragment current, Fragment incoming) {
+        if (current.versao() != null && incoming.versao() != null && current.versao() > incoming.versao()) {
+            return current;
+        }
+        return incoming;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    private static String hash(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private record Fragment(long seq, Long versao, byte[] json) {
+    }
+
+    /**
+     * The materialized document. {@code hash} identifies its content and is the base of the
+     * ETag of both encodings.
+     */
+    public record Snapshot(byte[] json, byte[] gzip, String hash, int games, long builtAt) {
+    }
+}
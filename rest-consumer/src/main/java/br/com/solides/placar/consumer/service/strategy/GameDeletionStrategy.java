@@ -1,7 +1,5 @@
 package br.com.solides.placar.consumer.service.strategy;
 
-import java.util.Objects;
-
 import org.springframework.stereotype.Component;
 
 import br.com.solides.placar.consumer.service.GameCacheService;
@@ -23,14 +21,14 @@ public class GameDeletionStrategy implements GameEventProcessingStrategy {
     }
 
     @Override
-    public void process(PlacarAtualizadoEvent event) {
+    public boolean process(PlacarAtualizadoEvent event) {
         log.debug("Processing deletion event for game: {}", event.getId());
         
-        cacheService.deleteById(event.getId());
+        return cacheService.markDeleted(event);
     }
 
     @Override
-    public boolean canHandle(PlacarAtualizadoEvent event) {
-        return Objects.nonNull(event) && StatusJogo.EXCLUIDO.equals(event.getStatus());
+    public boolean canHandle(StatusJogo status) {
+        return StatusJogo.EXCLUIDO.equals(status);
     }
 }
\ No newline at end of file
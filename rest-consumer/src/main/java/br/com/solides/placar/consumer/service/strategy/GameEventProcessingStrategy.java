@@ -1,5 +1,10 @@
 package br.com.solides.placar.consumer.service.strategy;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import br.com.solides.placar.shared.enums.StatusJogo;
 import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
 
 /**
@@ -11,14 +16,44 @@ public interface GameEventProcessingStrategy {
      * Process the given game event.
      * 
      * @param event the game event to process
+     * @return true if the event was applied, false if it was discarded as stale
+     */
+    boolean process(PlacarAtualizadoEvent event);
+
+    /**
+     * Process several events of different games received together. Strategies that can
+     * write a batch in one round trip override this; by default the events are processed
+     * one by one.
+     * 
+     * @param events the game events to process, at most one per game
+     * @return the events that were applied, leaving out those discarded as stale
      */
-    void process(PlacarAtualizadoEvent event);
+    default List<PlacarAtualizadoEvent> processAll(List<PlacarAtualizadoEvent> events) {
+        List<PlacarAtualizadoEvent> applied = new ArrayList<>(events.size());
+        for (PlacarAtualizadoEvent event : events) {
+            if (process(event)) {
+                applied.add(event);
+            }
+        }
+        return applied;
+    }
     
+    /**
+     * Determines if this strategy handles the events of the given status. Strategies are
+     * chosen by status only, so the processor resolves them once per status up front.
+     * 
+     * @param status the game status
+     * @return true if this strategy handles events with this status, false otherwise
+     */
+    boolean canHandle(StatusJogo status);
+
     /**
      * Determines if this strategy can handle the given event.
      * 
      * @param event the game event to check
      * @return true if this strategy can handle the event, false otherwise
      */
-    boolean canHandle(PlacarAtualizadoEvent event);
+    default boolean canHandle(PlacarAtualizadoEvent event) {
+        return Objects.nonNull(event) && canHandle(event.getStatus());
+    }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package br.com.solides.placar.consumer.service.strategy;
 
-import java.util.Objects;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
 
@@ -24,17 +26,30 @@ public class GameUpdateStrategy implements GameEventProcessingStrategy {
     }
 
     @Override
-    public void process(PlacarAtualizadoEvent event) {
+    public boolean process(PlacarAtualizadoEvent event) {
         log.debug("Processing update event for game: {}", event.getId());
         
         PlacarAtualizadoEvent eventToSave = cacheService.mergeWithCached(event);
+        if (eventToSave == null) {
+            return false;
+        }
         
-        cacheService.save(eventToSave);
+        return cacheService.save(eventToSave);
+    }
+
+    @Override
+    public List<PlacarAtualizadoEvent> processAll(List<PlacarAtualizadoEvent> events) {
+        log.debug("Processing {} update event(s) as one batch", events.size());
+
+        Set<Long> written = cacheService.mergeAndSaveAll(events).stream()
+                .map(PlacarAtualizadoEvent::getId)
+                .collect(Collectors.toSet());
+        return events.stream().filter(event -> written.contains(event.getId())).toList();
     }
     
 
     @Override
-    public boolean canHandle(PlacarAtualizadoEvent event) {
-        return Objects.nonNull(event) && !StatusJogo.EXCLUIDO.equals(event.getStatus());
+    public boolean canHandle(StatusJogo status) {
+        return !StatusJogo.EXCLUIDO.equals(status);
     }
 }
\ No newline at end of file
@@ -1,22 +1,42 @@
 package br.com.solides.placar.consumer.sse;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.metrics.GameEventLatencyMetrics;
+import br.com.solides.placar.shared.enums.StatusJogo;
 import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
 
-
+/**
+ * SSE channels of the consumer.
+ * <p>
+ * Lifecycle transitions and score updates are dispatched by two executors, so a transition
+ * can be ready to send before an older score update of its game still queued in the other
+ * one. The order clients see is kept per game by {@code versao}: the newest version sent of
+ * each game is remembered, and a state older than it is not sent, whichever lane it came
+ * from. Only the check is made under the lock of the game: an accepted state is queued to the
+ * game, and the lane that finds the game idle sends its queue outside the lock, so the two
+ * lanes never interleave for one game and neither waits on the emitters of the other. Nothing
+ * is sent after the deletion of a game, which carries the last version of the game. A game
+ * without broadcasts for {@code app.sse.order-retention} is forgotten. Events without a
+ * version (older publishers) are sent as they come.
+ */
 @Component
 public class SseBrodcast {
 
@@ -24,10 +44,94 @@ public class SseBrodcast {
     private static final long SSE_TIMEOUT = 0L;
 
     private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
-    
+    private final Map<Long, GameOrder> orders = new ConcurrentHashMap<>();
+    private final GameEventLatencyMetrics latency;
+    private final long orderRetention;
+    private final LongSupplier clock;
+
+    @Autowired
+    public SseBrodcast(GameEventLatencyMetrics latency, AppProperties properties) {
+        this(latency, properties, System::currentTimeMillis);
+    }
+
+    SseBrodcast(GameEventLatencyMetrics latency, AppProperties properties, LongSupplier clock) {
+        this.latency = latency;
+        this.orderRetention = properties.getSse().getOrderRetention();
+        this.clock = clock;
+    }
 
     @Async("sseTaskExecutor")
     public void broadcast(String channel, PlacarAtualizadoEvent payload) {
+        send(channel, payload);
+    }
+
+    /**
+     * Broadcasts a lifecycle transition through the priority dispatch lane.
+     */
+    @Async("ssePriorityTaskExecutor")
+    public void broadcastPriority(String channel, PlacarAtualizadoEvent payload) {
+        send(channel, payload);
+    }
+
+    private void send(String channel, PlacarAtualizadoEvent payload) {
+        Long id = payload.getId();
+        Long versao = payload.getVersao();
+        if (id == null || versao == null) {
+            sendToChannel(channel, payload);
+            return;
+        }
+        GameOrder order;
+        while (true) {
+            order = orders.computeIfAbsent(id, key -> new GameOrder());
+            synchronized (order) {
+                if (order.evicted) {
+                    // Swept between the lookup and the lock, the next lookup creates a new one
+                    continue;
+                }
+                if (order.sentVersion > versao) {
+                    logger.debug("Game {} version {} is older than version {} already sent, skipping broadcast", id,
+                            versao, order.sentVersion);
+                    return;
+                }
+                // The deletion keeps the last version of the game but nothing may follow it
+                order.sentVersion = StatusJogo.EXCLUIDO.equals(payload.getStatus()) ? Long.MAX_VALUE : versao;
+                order.touchedAt = clock.getAsLong();
+                order.pending.add(new PendingSend(channel, payload));
+                if (order.draining) {
+                    // The lane sending this game sends it after the states it already took
+                    return;
+                }
+                order.draining = true;
+            }
+            break;
+        }
+        drain(order);
+    }
+
+    /**
+     * Sends the queue of a game, one state at a time and outside its lock, until it is empty.
+     */
+    private void drain(GameOrder order) {
+        while (true) {
+            PendingSend next;
+            synchronized (order) {
+                next = order.pending.poll();
+                if (next == null) {
+                    order.draining = false;
+                    order.touchedAt = clock.getAsLong();
+                    return;
+                }
+            }
+            try {
+                sendToChannel(next.channel(), next.payload());
+            } catch (RuntimeException ex) {
+                logger.error("Failed to send SSE on channel {} for game {}: {}", next.channel(),
+                        next.payload().getId(), ex.getMessage());
+            }
+        }
+    }
+
+    private void sendToChannel(String channel, PlacarAtualizadoEvent payload) {
         if (emitters.isEmpty()) {
             logger.debug("No SSE channels registered. Skipping broadcast for channel {}", channel);
             return;
@@ -44,15 +148,21 @@ public class SseBrodcast {
         // Copy list to avoid concurrent modification during iteration if removeEmitter
         // is called
         // simpler approach: iterate safely. CopyOnWriteArrayList is safe for iteration.
+        boolean sent = false;
         for (SseEmitter emitter : channelEmitters) {
             try {
                 emitter.send(SseEmitter.event().name(channel).data(payload));
+                sent = true;
                 logger.debug("SSE sent event on channel {}: {}", channel, payload);
             } catch (IOException ex) {
                 logger.warn("Failed to send SSE on channel {}: {}", channel, ex.getMessage());
                 removeEmitter(channel, emitter);
             }
         }
+        if (sent) {
+            // Written to the last emitter of the channel
+            latency.sseWritten(channel);
+        }
     }
 
     public SseEmitter register(String channel) {
@@ -98,6 +208,27 @@ public class SseBrodcast {
         });
     }
 
+    /**
+     * Forgets the games without broadcasts for the retention, deletions included.
+     */
+    @Scheduled(fixedDelayString = "#{@appProperties.sse.orderRetention}")
+    public void evictIdleOrders() {
+        long idleSince = clock.getAsLong() - orderRetention;
+        orders.forEach((id, order) -> {
+            synchronized (order) {
+                if (order.draining || order.touchedAt > idleSince) {
+                    return;
+                }
+                order.evicted = true;
+            }
+            orders.remove(id, order);
+        });
+    }
+
+    int trackedGames() {
+        return orders.size();
+    }
+
     public Map<String, Integer> getChannelsStatus() {
         Map<String, Integer> snapshot = new HashMap<>();
         emitters.forEach((k, v) -> snapshot.put(k, v == null ? 0 : v.size()));
@@ -118,4 +249,18 @@ public class SseBrodcast {
             return list.isEmpty() ? null : list;
         });
     }
-}
\ No newline at end of file
+
+    private record PendingSend(String channel, PlacarAtualizadoEvent payload) {
+    }
+
+    /**
+     * Broadcast order of one game, guarded by its own monitor.
+     */
+    private static final class GameOrder {
+        private final Deque<PendingSend> pending = new ArrayDeque<>();
+        private long sentVersion = Long.MIN_VALUE;
+        private long touchedAt;
+        private boolean draining;
+        private boolean evicted;
+    }
+}
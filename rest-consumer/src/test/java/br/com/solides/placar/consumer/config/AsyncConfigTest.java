@@ -29,4 +29,20 @@ class AsyncConfigTest {
             threadPool.shutdown();
         }
     }
+
+    @Test
+    void shouldCreateSeparateSsePriorityTaskExecutor() {
+        Executor executor = config.ssePriorityTaskExecutor();
+
+        assertInstanceOf(ThreadPoolTaskExecutor.class, executor);
+        ThreadPoolTaskExecutor threadPool = (ThreadPoolTaskExecutor) executor;
+        try {
+            assertEquals("sse-priority-", threadPool.getThreadNamePrefix());
+            assertEquals(1, threadPool.getCorePoolSize());
+            assertEquals(2, threadPool.getMaxPoolSize());
+            assertEquals(200, threadPool.getQueueCapacity());
+        } finally {
+            threadPool.shutdown();
+        }
+    }
 }
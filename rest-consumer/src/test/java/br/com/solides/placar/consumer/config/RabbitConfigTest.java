@@ -6,10 +6,15 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.util.ReflectionTestUtils.getField;
 
+import java.time.Duration;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.Binding.DestinationType;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
@@ -18,9 +23,10 @@ import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainer
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 
+import br.com.solides.placar.shared.event.PlacarAtualizadoEventMessageConverter;
+
 class RabbitConfigTest {
 
     private final RabbitConfig config = new RabbitConfig();
@@ -79,6 +85,37 @@ class RabbitConfigTest {
         assertEquals("games.partidas", binding.getRoutingKey());
     }
 
+    @Test
+    void shouldBindPriorityQueueWithDeadLetterArguments() {
+        AppProperties properties = appProperties();
+        Queue queue = config.partidasPriorityQueue(properties);
+
+        Binding binding = config.partidasPriorityBinding(config.gamesExchange(properties), queue, properties);
+
+        assertEquals("games.partidas.prioridade", queue.getName());
+        assertEquals("games.dlq.topic", queue.getArguments().get("x-dead-letter-exchange"));
+        assertEquals("games.partidas.prioridade", binding.getDestination());
+        assertEquals("games.partidas.prioridade", binding.getRoutingKey());
+    }
+
+    @Test
+    void shouldConfigurePriorityFactoryWithItsOwnConsumersAndPrefetch() {
+        SimpleRabbitListenerContainerFactoryConfigurer configurer = new SimpleRabbitListenerContainerFactoryConfigurer(
+                new RabbitProperties());
+        ConnectionFactory connectionFactory = Mockito.mock(ConnectionFactory.class);
+        MessageConverter converter = Mockito.mock(MessageConverter.class);
+        AppProperties properties = appProperties();
+        properties.getRabbit().getPriority().setConcurrency(2);
+        properties.getRabbit().getPriority().setPrefetch(5);
+
+        SimpleRabbitListenerContainerFactory factory = config.priorityRabbitListenerContainerFactory(configurer,
+                connectionFactory, converter, properties);
+
+        assertEquals(2, getField(factory, "concurrentConsumers"));
+        assertEquals(2, getField(factory, "maxConcurrentConsumers"));
+        assertEquals(5, getField(factory, "prefetchCount"));
+    }
+
     @Test
     void shouldCreateDlqBindingWithConfiguredRoutingKey() {
         AppProperties properties = appProperties();
@@ -94,10 +131,10 @@ class RabbitConfigTest {
     }
 
     @Test
-    void shouldCreateJacksonMessageConverter() {
+    void shouldCreateEventMessageConverter() {
         MessageConverter converter = config.messageConverter();
 
-        assertInstanceOf(Jackson2JsonMessageConverter.class, converter);
+        assertInstanceOf(PlacarAtualizadoEventMessageConverter.class, converter);
     }
 
     @Test
@@ -119,11 +156,111 @@ class RabbitConfigTest {
         MessageConverter converter = Mockito.mock(MessageConverter.class);
 
         SimpleRabbitListenerContainerFactory factory = config.rabbitListenerContainerFactory(configurer, connectionFactory,
-                converter);
+                converter, appProperties());
 
         assertSame(connectionFactory, getField(factory, "connectionFactory"));
         assertSame(converter, getField(factory, "messageConverter"));
         assertEquals(Boolean.FALSE, getField(factory, "defaultRequeueRejected"));
+        assertEquals(0, ((Object[]) getField(factory, "adviceChain")).length);
+    }
+
+    @Test
+    void shouldKeepInThreadRetryWhenDelayedRetryIsDisabled() {
+        RabbitProperties rabbitProperties = new RabbitProperties();
+        rabbitProperties.getListener().getSimple().getRetry().setEnabled(true);
+        SimpleRabbitListenerContainerFactoryConfigurer configurer = new SimpleRabbitListenerContainerFactoryConfigurer(
+                rabbitProperties);
+        AppProperties properties = appProperties();
+        properties.getRabbit().getDelayedRetry().setEnabled(false);
+
+        SimpleRabbitListenerContainerFactory factory = config.rabbitListenerContainerFactory(configurer,
+                Mockito.mock(ConnectionFactory.class), Mockito.mock(MessageConverter.class), properties);
+
+        assertEquals(1, ((Object[]) getField(factory, "adviceChain")).length);
+    }
+
+    @Test
+    void shouldDeclareRetryTiersThatDeadLetterBackToTheirQueue() {
+        AppProperties properties = appProperties();
+        properties.getRabbit().getDelayedRetry().setDelays(List.of(Duration.ofSeconds(1), Duration.ofSeconds(30)));
+
+        Declarables declarables = config.retryTiers(properties);
+
+        List<Queue> queues = declarables.getDeclarablesByType(Queue.class);
+        assertEquals(List.of("games.partidas.retry.1000ms", "games.partidas.retry.30000ms",
+                "games.partidas.prioridade.retry.1000ms", "games.partidas.prioridade.retry.30000ms"),
+                queues.stream().map(Queue::getName).toList());
+        Queue first = queues.get(0);
+        assertEquals(1000, first.getArguments().get("x-message-ttl"));
+        assertEquals("", first.getArguments().get("x-dead-letter-exchange"));
+        assertEquals("games.partidas", first.getArguments().get("x-dead-letter-routing-key"));
+        assertEquals("games.partidas.prioridade", queues.get(2).getArguments().get("x-dead-letter-routing-key"));
+        List<Binding> bindings = declarables.getDeclarablesByType(Binding.class);
+        assertEquals("games.retry.direct", bindings.get(1).getExchange());
+        assertEquals("games.partidas.retry.30000ms", bindings.get(1).getRoutingKey());
+        assertEquals(1, declarables.getDeclarablesByType(DirectExchange.class).size());
+    }
+
+    @Test
+    void shouldNotDeclareRetryTiersWhenDisabled() {
+        AppProperties properties = appProperties();
+        properties.getRabbit().getDelayedRetry().setEnabled(false);
+
+        assertTrue(config.retryTiers(properties).getDeclarables().isEmpty());
+    }
+
+    @Test
+    void shouldConfigureBatchListenerContainerFactory() {
+        SimpleRabbitListenerContainerFactoryConfigurer configurer = new SimpleRabbitListenerContainerFactoryConfigurer(
+                new RabbitProperties());
+        ConnectionFactory connectionFactory = Mockito.mock(ConnectionFactory.class);
+        MessageConverter converter = Mockito.mock(MessageConverter.class);
+        AppProperties properties = appProperties();
+        properties.getRabbit().getBatch().setSize(20);
+        properties.getRabbit().getBatch().setReceiveTimeout(250);
+
+        SimpleRabbitListenerContainerFactory factory = config.batchRabbitListenerContainerFactory(configurer,
+                connectionFactory, converter, properties);
+
+        assertSame(connectionFactory, getField(factory, "connectionFactory"));
+        assertEquals(Boolean.TRUE, getField(factory, "batchListener"));
+        assertEquals(Boolean.TRUE, getField(factory, "consumerBatchEnabled"));
+        assertEquals(20, getField(factory, "batchSize"));
+        assertEquals(250L, getField(factory, "receiveTimeout"));
+        assertEquals(Boolean.FALSE, getField(factory, "defaultRequeueRejected"));
+    }
+
+    @Test
+    void shouldConfigureSingleConsumerManualAckFactoryForLanes() {
+        SimpleRabbitListenerContainerFactoryConfigurer configurer = new SimpleRabbitListenerContainerFactoryConfigurer(
+                new RabbitProperties());
+        ConnectionFactory connectionFactory = Mockito.mock(ConnectionFactory.class);
+        MessageConverter converter = Mockito.mock(MessageConverter.class);
+
+        SimpleRabbitListenerContainerFactory factory = config.lanesRabbitListenerContainerFactory(configurer,
+                connectionFactory, converter);
+
+        assertEquals(AcknowledgeMode.MANUAL, getField(factory, "acknowledgeMode"));
+        assertEquals(1, getField(factory, "concurrentConsumers"));
+        assertEquals(1, getField(factory, "maxConcurrentConsumers"));
+        assertEquals(0, ((Object[]) getField(factory, "adviceChain")).length);
+    }
+
+    @Test
+    void shouldConfigureManualAckPriorityFactoryForLanes() {
+        SimpleRabbitListenerContainerFactoryConfigurer configurer = new SimpleRabbitListenerContainerFactoryConfigurer(
+                new RabbitProperties());
+        AppProperties properties = appProperties();
+        properties.getRabbit().getPriority().setConcurrency(3);
+        properties.getRabbit().getPriority().setPrefetch(5);
+
+        SimpleRabbitListenerContainerFactory factory = config.priorityLanesRabbitListenerContainerFactory(
+                configurer, Mockito.mock(ConnectionFactory.class), Mockito.mock(MessageConverter.class), properties);
+
+        assertEquals(AcknowledgeMode.MANUAL, getField(factory, "acknowledgeMode"));
+        assertEquals(1, getField(factory, "concurrentConsumers"));
+        assertEquals(1, getField(factory, "maxConcurrentConsumers"));
+        assertEquals(5, getField(factory, "prefetchCount"));
     }
 
     private AppProperties appProperties() {
@@ -134,6 +271,9 @@ class RabbitConfigTest {
         properties.getRabbit().getDlq().setExchange("games.dlq.topic");
         properties.getRabbit().getDlq().setRouting("games.dlq");
         properties.getRabbit().getDlq().setQueue("games.dlq.queue");
+        properties.getRabbit().getPriority().setQueue("games.partidas.prioridade");
+        properties.getRabbit().getPriority().setRouting("games.partidas.prioridade");
+        properties.getRabbit().getDelayedRetry().setExchange("games.retry.direct");
         return properties;
     }
 }
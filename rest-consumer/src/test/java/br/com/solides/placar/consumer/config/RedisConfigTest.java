@@ -11,11 +11,13 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import br.com.solides.placar.consumer.metrics.GameCacheMetrics;
+import br.com.solides.placar.consumer.redis.GameEventRedisSerializer;
 import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 class RedisConfigTest {
 
@@ -35,13 +37,27 @@ class RedisConfigTest {
     void shouldCreateRedisTemplateWithConfiguredSerializers() {
         RedisConnectionFactory connectionFactory = Mockito.mock(RedisConnectionFactory.class);
 
-        RedisTemplate<String, PlacarAtualizadoEvent> template = redisConfig.gameRedisTemplate(connectionFactory);
+        RedisTemplate<String, PlacarAtualizadoEvent> template = redisConfig.gameRedisTemplate(connectionFactory,
+                new AppProperties(), new GameCacheMetrics(new SimpleMeterRegistry()));
 
         assertSame(connectionFactory, template.getConnectionFactory());
         assertInstanceOf(StringRedisSerializer.class, template.getKeySerializer());
         assertInstanceOf(StringRedisSerializer.class, template.getHashKeySerializer());
-        assertInstanceOf(Jackson2JsonRedisSerializer.class, template.getValueSerializer());
-        assertInstanceOf(Jackson2JsonRedisSerializer.class, template.getHashValueSerializer());
+        assertInstanceOf(GameEventRedisSerializer.class, template.getValueSerializer());
+        assertInstanceOf(GameEventRedisSerializer.class, template.getHashValueSerializer());
+    }
+
+    @Test
+    void shouldUseConfiguredValueFormatForWrites() {
+        RedisConnectionFactory connectionFactory = Mockito.mock(RedisConnectionFactory.class);
+        AppProperties properties = new AppProperties();
+        properties.getRedis().setValueFormat(GameEventRedisSerializer.Format.BINARY);
+
+        RedisTemplate<String, PlacarAtualizadoEvent> template = redisConfig.gameRedisTemplate(connectionFactory,
+                properties, new GameCacheMetrics(new SimpleMeterRegistry()));
+
+        GameEventRedisSerializer serializer = (GameEventRedisSerializer) template.getValueSerializer();
+        assertEquals(GameEventRedisSerializer.Format.BINARY, serializer.getWriteFormat());
     }
 
     @Test
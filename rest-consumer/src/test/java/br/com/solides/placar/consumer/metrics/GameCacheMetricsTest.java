@@ -0,0 +1,68 @@
+package br.com.solides.placar.consumer.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GameCacheMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final GameCacheMetrics metrics = new GameCacheMetrics(registry);
+
+    @Test
+    void shouldSplitSerdeFromNetworkTime() {
+        String result = metrics.time(GameCacheMetrics.OP_FIND, () -> {
+            metrics.deserialized(120, TimeUnit.MILLISECONDS.toNanos(5));
+            return "found";
+        });
+
+        assertEquals("found", result);
+        assertEquals(5.0, timer("find", "serde").totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1, timer("find", "network").count());
+        assertEquals(120.0, registry.get("placar.cache.value.size").tag("direction", "read").summary().totalAmount());
+    }
+
+    @Test
+    void shouldAttributeNestedSerdeToEachOperation() {
+        metrics.run(GameCacheMetrics.OP_MERGE, () -> {
+            metrics.run(GameCacheMetrics.OP_FIND, () -> metrics.deserialized(80, 2_000_000));
+            metrics.serialized(60, 1_000_000);
+        });
+
+        assertEquals(2.0, timer("find", "serde").totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(3.0, timer("merge", "serde").totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(60.0, registry.get("placar.cache.value.size").tag("direction", "write").summary().totalAmount());
+    }
+
+    @Test
+    void shouldRecordFailedOperations() {
+        assertThrows(IllegalStateException.class, () -> metrics.run(GameCacheMetrics.OP_SAVE, () -> {
+            throw new IllegalStateException("redis down");
+        }));
+
+        assertEquals(1, timer("save", "network").count());
+        assertEquals(0.0, timer("save", "serde").totalTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    void shouldCountMergeOutcomes() {
+        metrics.mergeOutcome(GameCacheMetrics.MERGE_APPLIED);
+        metrics.mergeOutcome(GameCacheMetrics.MERGE_APPLIED);
+        metrics.mergeOutcome(GameCacheMetrics.MERGE_IGNORED_FINISHED);
+
+        assertEquals(2.0, registry.get("placar.cache.merge").tag("outcome", "applied").counter().count());
+        assertEquals(1.0, registry.get("placar.cache.merge").tag("outcome", "ignored_finished").counter().count());
+        assertEquals(0.0, registry.get("placar.cache.merge").tag("outcome", "miss").counter().count());
+    }
+
+    private Timer timer(String operation, String phase) {
+        return registry.get("placar.cache.operation").tag("operation", operation).tag("phase", phase).timer();
+    }
+}
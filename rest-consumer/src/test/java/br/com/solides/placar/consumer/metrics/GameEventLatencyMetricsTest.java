@@ -0,0 +1,194 @@
+package br.com.solides.placar.consumer.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GameEventLatencyMetricsTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private static final String PRIORITY_QUEUE = "games.partidas.prioridade";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final AppProperties.Latency settings = new AppProperties.Latency();
+
+    private final PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(1L, 10, 1, 0);
+
+    @AfterEach
+    void tearDown() {
+        GameEventLatencyMetrics.restore(null);
+    }
+
+    @Test
+    void shouldRecordPublishToConsumeFromTheTimestampHeader() {
+        GameEventLatencyMetrics metrics = metrics();
+
+        metrics.received(event, messagePublishedAt(NOW - 120));
+
+        Timer timer = timer(GameEventLatencyMetrics.STAGE_PUBLISH_TO_CONSUME, "placar");
+        assertEquals(1, timer.count());
+        assertEquals(120.0, timer.totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void shouldTagMessagesFromThePriorityQueue() {
+        GameEventLatencyMetrics metrics = metrics();
+        PlacarAtualizadoEvent finalizado = PlacarAtualizadoEventFactory.finalizado(2L, 1, 0);
+        Message message = messagePublishedAt(NOW - 15);
+        message.getMessageProperties().setConsumerQueue(PRIORITY_QUEUE);
+
+        GameEventLatencyMetrics.enter(metrics.received(finalizado, message));
+        metrics.sseWritten("encerrado");
+
+        assertEquals(1, timer(GameEventLatencyMetrics.STAGE_PUBLISH_TO_CONSUME, "encerrado",
+                GameEventLatencyMetrics.PATH_PRIORITY).count());
+        assertEquals(1, timer(GameEventLatencyMetrics.STAGE_CONSUME_TO_SSE, "encerrado",
+                GameEventLatencyMetrics.PATH_PRIORITY).count());
+        assertEquals(0, timer(GameEventLatencyMetrics.STAGE_PUBLISH_TO_CONSUME, "encerrado").count());
+    }
+
+    @Test
+    void shouldFallBackToTheMessageTimestamp() {
+        GameEventLatencyMetrics metrics = metrics();
+        MessageProperties properties = new MessageProperties();
+        properties.setTimestamp(new Date(NOW - 40));
+
+        metrics.received(event, new Message(new byte[0], properties));
+
+        assertEquals(40.0, timer(GameEventLatencyMetrics.STAGE_PUBLISH_TO_CONSUME, "placar")
+                .totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void shouldSkipMessagesWithoutPublishTime() {
+        GameEventLatencyMetrics metrics = metrics();
+
+        metrics.received(event, new Message(new byte[0], new MessageProperties()));
+
+        assertEquals(0, timer(GameEventLatencyMetrics.STAGE_PUBLISH_TO_CONSUME, "placar").count());
+        assertEquals(0.0, discarded(GameEventLatencyMetrics.DISCARDED_CLOCK_SKEW));
+    }
+
+    @Test
+    void shouldCorrectThePublisherClockOffset() {
+        settings.setPublisherClockOffset(Duration.ofMillis(300));
+        GameEventLatencyMetrics metrics = metrics();
+
+        metrics.received(event, messagePublishedAt(NOW + 200));
+
+        assertEquals(100.0, timer(GameEventLatencyMetrics.STAGE_PUBLISH_TO_CONSUME, "placar")
+                .totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void shouldRecordSkewWithinToleranceAsZero() {
+        GameEventLatencyMetrics metrics = metrics();
+
+        metrics.received(event, messagePublishedAt(NOW + 200));
+
+        Timer timer = timer(GameEventLatencyMetrics.STAGE_PUBLISH_TO_CONSUME, "placar");
+        assertEquals(1, timer.count());
+        assertEquals(0.0, timer.totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void shouldDiscardSkewBeyondTolerance() {
+        GameEventLatencyMetrics metrics = metrics();
+
+        metrics.received(event, messagePublishedAt(NOW + 2_000));
+
+        assertEquals(0, timer(GameEventLatencyMetrics.STAGE_PUBLISH_TO_CONSUME, "placar").count());
+        assertEquals(1.0, discarded(GameEventLatencyMetrics.DISCARDED_CLOCK_SKEW));
+    }
+
+    @Test
+    void shouldDiscardReplayedMessages() {
+        GameEventLatencyMetrics metrics = metrics();
+
+        metrics.received(event, messagePublishedAt(NOW - Duration.ofMinutes(10).toMillis()));
+
+        assertEquals(0, timer(GameEventLatencyMetrics.STAGE_PUBLISH_TO_CONSUME, "placar").count());
+        assertEquals(1.0, discarded(GameEventLatencyMetrics.DISCARDED_TOO_OLD));
+    }
+
+    @Test
+    void shouldRecordCacheAndSseStagesOfTheCurrentReceipt() {
+        GameEventLatencyMetrics metrics = metrics();
+        GameEventLatencyMetrics.enter(metrics.received(event, messagePublishedAt(NOW)));
+
+        metrics.cacheWritten(event);
+        metrics.sseWritten("placar");
+
+        assertEquals(1, timer(GameEventLatencyMetrics.STAGE_CONSUME_TO_CACHE, "placar").count());
+        assertEquals(1, timer(GameEventLatencyMetrics.STAGE_CONSUME_TO_SSE, "placar").count());
+    }
+
+    @Test
+    void shouldIgnoreCacheAndSseStagesWithoutReceipt() {
+        GameEventLatencyMetrics metrics = metrics();
+
+        metrics.cacheWritten(event);
+        metrics.sseWritten("placar");
+
+        assertEquals(0, timer(GameEventLatencyMetrics.STAGE_CONSUME_TO_CACHE, "placar").count());
+        assertEquals(0, timer(GameEventLatencyMetrics.STAGE_CONSUME_TO_SSE, "placar").count());
+    }
+
+    @Test
+    void shouldPropagateTheReceiptToAnotherThread() throws InterruptedException {
+        GameEventLatencyMetrics.Receipt receipt = new GameEventLatencyMetrics.Receipt(System.nanoTime(),
+                GameEventLatencyMetrics.PATH_STANDARD);
+        AtomicReference<GameEventLatencyMetrics.Receipt> seen = new AtomicReference<>();
+        GameEventLatencyMetrics.enter(receipt);
+        Runnable task = GameEventLatencyMetrics.propagate(() -> seen.set(GameEventLatencyMetrics.current()));
+        GameEventLatencyMetrics.restore(null);
+
+        Thread thread = new Thread(task);
+        thread.start();
+        thread.join();
+
+        assertSame(receipt, seen.get());
+        assertNull(GameEventLatencyMetrics.current());
+    }
+
+    private GameEventLatencyMetrics metrics() {
+        return new GameEventLatencyMetrics(registry, settings, PRIORITY_QUEUE, () -> NOW);
+    }
+
+    private static Message messagePublishedAt(long publishedAt) {
+        MessageProperties properties = new MessageProperties();
+        properties.setHeader(GameEventLatencyMetrics.PUBLISHED_AT_HEADER, publishedAt);
+        return new Message(new byte[0], properties);
+    }
+
+    private Timer timer(String stage, String channel) {
+        return timer(stage, channel, GameEventLatencyMetrics.PATH_STANDARD);
+    }
+
+    private Timer timer(String stage, String channel, String path) {
+        return registry.get("placar.events.latency").tag("stage", stage).tag("channel", channel).tag("path", path)
+                .timer();
+    }
+
+    private double discarded(String reason) {
+        return registry.get("placar.events.latency.discarded").tag("reason", reason).counter().count();
+    }
+}
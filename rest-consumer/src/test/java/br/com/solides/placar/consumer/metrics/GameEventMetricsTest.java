@@ -0,0 +1,41 @@
+package br.com.solides.placar.consumer.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GameEventMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final GameEventMetrics metrics = new GameEventMetrics(registry);
+
+    @Test
+    void shouldCountStaleEventsPerStage() {
+        metrics.staleDiscarded(GameEventMetrics.STAGE_MERGE, 1);
+        metrics.staleDiscarded(GameEventMetrics.STAGE_WRITE, 3);
+
+        assertEquals(1.0, registry.get("placar.events.stale").tag("stage", "merge").counter().count());
+        assertEquals(3.0, registry.get("placar.events.stale").tag("stage", "write").counter().count());
+    }
+
+    @Test
+    void shouldCountVersionGaps() {
+        metrics.versionGap();
+        metrics.versionGap();
+
+        assertEquals(2.0, registry.get("placar.events.version.gaps").counter().count());
+    }
+
+    @Test
+    void shouldCountDuplicatesPerSource() {
+        metrics.duplicate(GameEventMetrics.DEDUP_LOCAL);
+        metrics.duplicate(GameEventMetrics.DEDUP_LOCAL);
+        metrics.duplicate(GameEventMetrics.DEDUP_REDIS);
+
+        assertEquals(2.0, registry.get("placar.events.duplicates").tag("source", "local").counter().count());
+        assertEquals(1.0, registry.get("placar.events.duplicates").tag("source", "redis").counter().count());
+    }
+}
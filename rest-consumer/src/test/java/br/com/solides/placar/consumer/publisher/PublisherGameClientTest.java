@@ -0,0 +1,90 @@
+package br.com.solides.placar.consumer.publisher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import br.com.solides.placar.shared.enums.StatusJogo;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+class PublisherGameClientTest {
+
+    private MockRestServiceServer server;
+
+    private PublisherGameClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder().baseUrl("http://publisher/rest");
+        server = MockRestServiceServer.bindTo(builder).build();
+        client = new PublisherGameClient(builder.build());
+    }
+
+    @Test
+    void shouldConvertPublisherGameToEvent() {
+        server.expect(requestTo("http://publisher/rest/api/v1/jogos/7"))
+                .andRespond(withSuccess("""
+                        {"success":true,"statusCode":200,"data":{
+                          "id":7,"timeA":"Flamengo","timeB":"Vasco","placarA":2,"placarB":1,
+                          "status":"EM_ANDAMENTO","dataPartida":"2026-02-12","horaPartida":"20:30",
+                          "tempoDeJogo":55,"versao":9}}
+                        """, MediaType.APPLICATION_JSON));
+
+        PlacarAtualizadoEvent event = client.findById(7L);
+
+        assertEquals(7L, event.getId());
+        assertEquals(LocalDateTime.of(2026, 2, 12, 20, 30), event.getDataHoraInicioPartida());
+        assertEquals(StatusJogo.EM_ANDAMENTO, event.getStatus());
+        assertEquals(2, event.getPlacarA());
+        assertEquals(55, event.getTempoDeJogo());
+        assertEquals(9L, event.getVersao());
+        server.verify();
+    }
+
+    @Test
+    void shouldReturnNullWhenPublisherDoesNotKnowGame() {
+        server.expect(requestTo("http://publisher/rest/api/v1/jogos/8"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"success\":false,\"statusCode\":404,\"message\":\"Jogo não encontrado\"}"));
+
+        assertNull(client.findById(8L));
+    }
+
+    @Test
+    void shouldFetchPageAfterId() {
+        server.expect(requestTo("http://publisher/rest/api/v1/jogos/pagina?aposId=10&limite=2"))
+                .andRespond(withSuccess("""
+                        {"success":true,"statusCode":200,"data":[
+                          {"id":11,"timeA":"Flamengo","timeB":"Vasco","status":"NAO_INICIADO","versao":1},
+                          {"id":12,"timeA":"Santos","timeB":"Palmeiras","status":"FINALIZADO","versao":7}]}
+                        """, MediaType.APPLICATION_JSON));
+
+        List<PlacarAtualizadoEvent> page = client.findPage(10L, 2);
+
+        assertEquals(List.of(11L, 12L), page.stream().map(PlacarAtualizadoEvent::getId).toList());
+        assertEquals(7L, page.get(1).getVersao());
+        server.verify();
+    }
+
+    @Test
+    void shouldReturnEmptyPageAfterLastGame() {
+        server.expect(requestTo("http://publisher/rest/api/v1/jogos/pagina?aposId=12&limite=2"))
+                .andRespond(withSuccess("{\"success\":true,\"statusCode\":200,\"data\":[]}",
+                        MediaType.APPLICATION_JSON));
+
+        assertTrue(client.findPage(12L, 2).isEmpty());
+    }
+}
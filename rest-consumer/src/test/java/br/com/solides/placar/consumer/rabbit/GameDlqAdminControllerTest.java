@@ -0,0 +1,77 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.shared.enums.StatusJogo;
+
+@WebMvcTest(GameDlqAdminController.class)
+@Import(AppProperties.class)
+class GameDlqAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private GameDlqReplayer replayer;
+
+    @Test
+    void shouldPeekFilteredMessages() throws Exception {
+        GameDlqReplayer.Filter filter = new GameDlqReplayer.Filter(7L, "redis");
+        when(replayer.peek(filter, 20)).thenReturn(List.of(new GameDlqReplayer.DlqMessage("msg-1", 7L, 3L,
+                StatusJogo.EM_ANDAMENTO, "Redis connection failure", 3, true)));
+
+        mockMvc.perform(get("/consumer/api/admin/dlq/messages")
+                .param("gameId", "7")
+                .param("error", "redis")
+                .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].messageId").value("msg-1"))
+                .andExpect(jsonPath("$[0].retryAttempts").value(3));
+    }
+
+    @Test
+    void shouldStartReplay() throws Exception {
+        GameDlqReplayer.Filter filter = new GameDlqReplayer.Filter(null, null);
+        when(replayer.start(filter, 100)).thenReturn(true);
+        when(replayer.progress()).thenReturn(new GameDlqReplayer.Progress(true, 0, 0, 0, 0, null));
+
+        mockMvc.perform(post("/consumer/api/admin/dlq/replay").param("max", "100"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.running").value(true));
+
+        verify(replayer).start(filter, 100);
+    }
+
+    @Test
+    void shouldRejectReplayWhileOneIsRunning() throws Exception {
+        when(replayer.start(new GameDlqReplayer.Filter(null, null), null)).thenReturn(false);
+
+        mockMvc.perform(post("/consumer/api/admin/dlq/replay"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void shouldReportReplayProgress() throws Exception {
+        when(replayer.progress()).thenReturn(new GameDlqReplayer.Progress(false, 40, 30, 5, 5, null));
+
+        mockMvc.perform(get("/consumer/api/admin/dlq/replay"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.replayed").value(30))
+                .andExpect(jsonPath("$.stale").value(5));
+    }
+}
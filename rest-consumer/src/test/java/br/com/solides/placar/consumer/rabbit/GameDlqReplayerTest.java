@@ -0,0 +1,231 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.service.GameCacheService;
+import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class GameDlqReplayerTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private Channel channel;
+
+    @Mock
+    private GameCacheService cacheService;
+
+    private final Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<Runnable> submitted = new ArrayList<>();
+
+    private AppProperties properties;
+    private GameDlqReplayer replayer;
+    private long nextTag = 1;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new AppProperties();
+        properties.getRabbit().setQueue("games.partidas");
+        properties.getRabbit().getPriority().setQueue("games.partidas.prioridade");
+        properties.getRabbit().getDlq().setQueue("games.dlq.queue");
+        properties.getRabbit().getDlq().getReplay().setMaxMessagesPerSecond(1_000_000);
+        properties.getRabbit().getDlq().getReplay().setMaxPeek(10);
+        replayer = new GameDlqReplayer(rabbitTemplate, converter, cacheService, properties, submitted::add, registry);
+        lenient().when(rabbitTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<ChannelCallback<?>>getArgument(0).doInRabbit(channel));
+    }
+
+    @Test
+    void shouldPeekMatchingMessagesAndRequeueEverything() throws IOException {
+        GetResponse first = response(PlacarAtualizadoEventFactory.emAndamento(1L, 10, 1, 0), "Redis down", null);
+        GetResponse other = response(PlacarAtualizadoEventFactory.emAndamento(2L, 10, 1, 0), "Redis down", null);
+        GetResponse second = response(PlacarAtualizadoEventFactory.finalizado(1L, 2, 0), "no strategy", 3);
+        when(channel.basicGet("games.dlq.queue", false)).thenReturn(first, other, second, null);
+
+        List<GameDlqReplayer.DlqMessage> messages = replayer.peek(new GameDlqReplayer.Filter(1L, null), 50);
+
+        assertEquals(2, messages.size());
+        assertEquals("Redis down", messages.get(0).error());
+        assertEquals(3, messages.get(1).retryAttempts());
+        verify(channel).basicNack(3L, true, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void shouldStopPeekingAtTheScanLimit() throws IOException {
+        properties.getRabbit().getDlq().getReplay().setMaxPeekScan(2);
+        GetResponse first = response(PlacarAtualizadoEventFactory.emAndamento(2L, 10, 1, 0), "error", null);
+        GetResponse second = response(PlacarAtualizadoEventFactory.emAndamento(3L, 10, 1, 0), "error", null);
+        when(channel.basicGet("games.dlq.queue", false)).thenReturn(first, second);
+
+        List<GameDlqReplayer.DlqMessage> messages = replayer.peek(new GameDlqReplayer.Filter(1L, null), 50);
+
+        assertTrue(messages.isEmpty());
+        verify(channel, times(2)).basicGet("games.dlq.queue", false);
+        verify(channel).basicNack(2L, true, true);
+    }
+
+    @Test
+    void shouldReplayMatchingMessagesAndDropStaleOnes() throws IOException {
+        PlacarAtualizadoEvent fresh = versioned(PlacarAtualizadoEventFactory.emAndamento(1L, 10, 1, 0), 5L);
+        PlacarAtualizadoEvent outdated = versioned(PlacarAtualizadoEventFactory.emAndamento(2L, 10, 1, 0), 3L);
+        GetResponse freshResponse = response(fresh, "Redis connection failure", 3);
+        GetResponse outdatedResponse = response(outdated, "Redis connection failure", null);
+        GetResponse otherError = response(PlacarAtualizadoEventFactory.inicio(3L), "no strategy", null);
+        when(channel.messageCount("games.dlq.queue")).thenReturn(4L);
+        when(channel.basicGet("games.dlq.queue", false)).thenReturn(freshResponse, outdatedResponse, otherError,
+                null);
+        when(cacheService.findVersion(1L)).thenReturn(4L);
+        when(cacheService.findVersion(2L)).thenReturn(3L);
+
+        replayer.run(new GameDlqReplayer.Filter(null, "redis"), Integer.MAX_VALUE);
+
+        ArgumentCaptor<AMQP.BasicProperties> props = ArgumentCaptor.forClass(AMQP.BasicProperties.class);
+        verify(channel).basicPublish(eq(""), eq("games.partidas"), props.capture(), eq(freshResponse.getBody()));
+        assertFalse(props.getValue().getHeaders().containsKey(GameEventRetryScheduler.ATTEMPT_HEADER));
+        verify(channel).basicAck(1L, false);
+        verify(channel).basicAck(2L, false);
+        // Kept: moved to the tail of the DLQ, so no message stays unacknowledged during the scan
+        verify(channel).basicPublish("", "games.dlq.queue", otherError.getProps(), otherError.getBody());
+        verify(channel).basicAck(3L, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+        GameDlqReplayer.Progress progress = replayer.progress();
+        assertEquals(3, progress.scanned());
+        assertEquals(1, progress.replayed());
+        assertEquals(1, progress.stale());
+        assertEquals(1, progress.kept());
+        assertNull(progress.lastError());
+        assertEquals(1.0, registry.get("placar.dlq.replay.replayed").gauge().value());
+    }
+
+    @Test
+    void shouldStopAtMax() throws IOException {
+        GetResponse first = response(PlacarAtualizadoEventFactory.inicio(1L), "error", null);
+        when(channel.messageCount("games.dlq.queue")).thenReturn(5L);
+        when(channel.basicGet("games.dlq.queue", false)).thenReturn(first);
+
+        replayer.run(new GameDlqReplayer.Filter(null, null), 1);
+
+        verify(channel).basicGet("games.dlq.queue", false);
+        verify(channel).basicAck(1L, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void shouldRequeueInFlightMessageWhenReplayFails() throws IOException {
+        GetResponse first = response(PlacarAtualizadoEventFactory.inicio(1L), "error", null);
+        when(channel.messageCount("games.dlq.queue")).thenReturn(1L);
+        when(channel.basicGet("games.dlq.queue", false)).thenReturn(first);
+        doThrow(new IOException("channel closed")).when(channel)
+                .basicPublish(anyString(), anyString(), any(AMQP.BasicProperties.class), any(byte[].class));
+
+        replayer.run(new GameDlqReplayer.Filter(null, null), 10);
+
+        verify(channel).basicNack(1L, false, true);
+        assertEquals("channel closed", replayer.progress().lastError());
+        assertFalse(replayer.progress().running());
+    }
+
+    @Test
+    void shouldNotScanMessagesDeadLetteredAgainDuringReplay() throws IOException {
+        PlacarAtualizadoEvent poison = PlacarAtualizadoEventFactory.inicio(1L);
+        GetResponse first = response(poison, "no strategy", null);
+        // The replayed message fails again and comes back to the DLQ behind the counted one
+        GetResponse cycledBack = response(poison, "no strategy", null);
+        when(channel.messageCount("games.dlq.queue")).thenReturn(1L);
+        when(channel.basicGet("games.dlq.queue", false)).thenReturn(first, cycledBack);
+
+        replayer.run(new GameDlqReplayer.Filter(null, null), Integer.MAX_VALUE);
+
+        verify(channel).basicGet("games.dlq.queue", false);
+        verify(channel).basicPublish(eq(""), eq("games.partidas.prioridade"), any(AMQP.BasicProperties.class),
+                eq(first.getBody()));
+        assertEquals(1, replayer.progress().scanned());
+    }
+
+    @Test
+    void shouldReplayLifecycleTransitionsToThePriorityQueue() throws IOException {
+        GetResponse finished = response(PlacarAtualizadoEventFactory.finalizado(1L, 2, 0), "error", null);
+        GetResponse score = response(PlacarAtualizadoEventFactory.emAndamento(2L, 30, 1, 0), "error", null);
+        when(channel.messageCount("games.dlq.queue")).thenReturn(2L);
+        when(channel.basicGet("games.dlq.queue", false)).thenReturn(finished, score);
+
+        replayer.run(new GameDlqReplayer.Filter(null, null), Integer.MAX_VALUE);
+
+        verify(channel).basicPublish(eq(""), eq("games.partidas.prioridade"), any(AMQP.BasicProperties.class),
+                eq(finished.getBody()));
+        verify(channel).basicPublish(eq(""), eq("games.partidas"), any(AMQP.BasicProperties.class),
+                eq(score.getBody()));
+    }
+
+    @Test
+    void shouldNotStartTwice() {
+        assertTrue(replayer.start(new GameDlqReplayer.Filter(null, null), null));
+        assertFalse(replayer.start(new GameDlqReplayer.Filter(null, null), null));
+        assertTrue(replayer.progress().running());
+        assertEquals(1, submitted.size());
+    }
+
+    private GetResponse response(PlacarAtualizadoEvent event, String error, Integer attempts) {
+        byte[] body = converter.toMessage(event, new MessageProperties()).getBody();
+        Map<String, Object> headers = new HashMap<>();
+        headers.put(GameDlqReplayer.EXCEPTION_MESSAGE_HEADER, error);
+        if (attempts != null) {
+            headers.put(GameEventRetryScheduler.ATTEMPT_HEADER, attempts);
+        }
+        AMQP.BasicProperties props = new AMQP.BasicProperties.Builder()
+                .contentType(MessageProperties.CONTENT_TYPE_JSON)
+                .messageId("msg-" + nextTag)
+                .headers(headers)
+                .build();
+        long tag = nextTag++;
+        return new GetResponse(new Envelope(tag, false, "", "games.dlq.queue"), props, body, 0);
+    }
+
+    private static PlacarAtualizadoEvent versioned(PlacarAtualizadoEvent event, long versao) {
+        event.setVersao(versao);
+        return event;
+    }
+}
@@ -0,0 +1,201 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import br.com.solides.placar.consumer.metrics.GameEventLatencyMetrics;
+import br.com.solides.placar.consumer.service.GameEventProcessor;
+import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+@ExtendWith(MockitoExtension.class)
+class GameEventBatchListenerTest {
+
+    @Mock
+    private GameEventProcessor processor;
+
+    @Mock
+    private MessageConverter messageConverter;
+
+    @Mock
+    private MessageRecoverer deadLetter;
+
+    @Mock
+    private GameMessageDeduplicator deduplicator;
+
+    @Mock
+    private GameEventRetryScheduler retries;
+
+    @Mock
+    private GameEventLatencyMetrics latency;
+
+    @Mock
+    private GameEventLoadShedder shedder;
+
+    private GameEventBatchListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new GameEventBatchListener(processor, messageConverter, deadLetter, deduplicator,
+                retries, latency, shedder);
+    }
+
+    @Test
+    void shouldProcessValidMessagesAsOneBatch() {
+        PlacarAtualizadoEvent first = PlacarAtualizadoEventFactory.inicio(1L);
+        PlacarAtualizadoEvent second = PlacarAtualizadoEventFactory.emAndamento(2L, 10, 1, 0);
+        Message firstMessage = messageOf(first);
+        Message secondMessage = messageOf(second);
+
+        listener.onPartidasBatch(List.of(firstMessage, secondMessage));
+
+        verify(processor).processBatch(List.of(first, second));
+        verifyNoInteractions(deadLetter);
+        verify(deduplicator).duplicates(List.of("msg-1", "msg-2"));
+        verify(deduplicator).markAllProcessed(List.of("msg-1", "msg-2"));
+    }
+
+    @Test
+    void shouldLeaveEventsConflatedInOverloadModeOutOfTheBatch() {
+        PlacarAtualizadoEvent conflated = PlacarAtualizadoEventFactory.emAndamento(5L, 40, 2, 0);
+        PlacarAtualizadoEvent finalizado = PlacarAtualizadoEventFactory.finalizado(6L, 1, 1);
+        Message conflatedMessage = messageOf(conflated);
+        when(shedder.offer(conflated, conflatedMessage)).thenReturn(true);
+
+        listener.onPartidasBatch(List.of(conflatedMessage, messageOf(finalizado)));
+
+        verify(processor).processBatch(List.of(finalizado));
+        verify(deduplicator, never()).markProcessed("msg-5");
+        verify(deduplicator).markAllProcessed(List.of("msg-6"));
+    }
+
+    @Test
+    void shouldDropDuplicateMessagesFromBatch() {
+        PlacarAtualizadoEvent fresh = PlacarAtualizadoEventFactory.emAndamento(8L, 10, 1, 0);
+        Message freshMessage = messageOf(fresh);
+        Message duplicate = new Message(new byte[0], propertiesWithId("msg-dup"));
+        when(deduplicator.duplicates(List.of("msg-dup", "msg-8"))).thenReturn(Set.of("msg-dup"));
+
+        listener.onPartidasBatch(List.of(duplicate, freshMessage));
+
+        verify(processor).processBatch(List.of(fresh));
+        verify(deduplicator).markAllProcessed(List.of("msg-8"));
+        verifyNoInteractions(deadLetter);
+    }
+
+    @Test
+    void shouldDeadLetterUnreadableAndInvalidMessagesAndProcessTheRest() {
+        Message unreadable = new Message("{".getBytes(StandardCharsets.UTF_8), new MessageProperties());
+        when(messageConverter.fromMessage(unreadable)).thenThrow(new MessageConversionException("bad json"));
+        Message invalid = messageOf(PlacarAtualizadoEventFactory.emAndamento(3L, 10, -1, 0));
+        PlacarAtualizadoEvent valid = PlacarAtualizadoEventFactory.emAndamento(4L, 10, 1, 0);
+        Message validMessage = messageOf(valid);
+
+        listener.onPartidasBatch(List.of(unreadable, invalid, validMessage));
+
+        verify(deadLetter).recover(eq(unreadable), any(MessageConversionException.class));
+        verify(deadLetter).recover(eq(invalid), any(MessageConversionException.class));
+        verify(processor).processBatch(List.of(valid));
+    }
+
+    @Test
+    void shouldSkipProcessingWhenNoMessageIsReadable() {
+        Message unreadable = new Message(new byte[0], new MessageProperties());
+        when(messageConverter.fromMessage(unreadable)).thenReturn(new byte[0]);
+
+        listener.onPartidasBatch(List.of(unreadable));
+
+        verify(deadLetter).recover(eq(unreadable), any(MessageConversionException.class));
+        verifyNoInteractions(processor);
+    }
+
+    @Test
+    void shouldDeadLetterOnlyFailingEventWhenBatchFails() {
+        PlacarAtualizadoEvent poison = PlacarAtualizadoEventFactory.emAndamento(5L, 10, 1, 0);
+        PlacarAtualizadoEvent healthy = PlacarAtualizadoEventFactory.emAndamento(6L, 10, 1, 0);
+        Message poisonMessage = messageOf(poison);
+        Message healthyMessage = messageOf(healthy);
+        IllegalStateException failure = new IllegalStateException("no strategy");
+        doThrow(failure).when(processor).processBatch(List.of(poison, healthy));
+        doThrow(failure).when(processor).process(poison);
+
+        listener.onPartidasBatch(List.of(poisonMessage, healthyMessage));
+
+        verify(processor).process(healthy);
+        verify(deadLetter).recover(poisonMessage, failure);
+        verify(deadLetter, never()).recover(eq(healthyMessage), any());
+        verify(deduplicator).markProcessed(healthyMessage.getMessageProperties().getMessageId());
+        verify(deduplicator, never()).markProcessed(poisonMessage.getMessageProperties().getMessageId());
+    }
+
+    @Test
+    void shouldRethrowRetryableBatchFailure() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(7L, 10, 1, 0);
+        Message message = messageOf(event);
+        RedisConnectionFailureException rootCause = new RedisConnectionFailureException("redis unavailable");
+        doThrow(rootCause).when(processor).processBatch(List.of(event));
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> listener.onPartidasBatch(List.of(message)));
+
+        assertSame(rootCause, ex);
+        verify(processor, never()).process(any());
+        verifyNoInteractions(deadLetter);
+        verify(deduplicator, never()).markProcessed(any());
+        verify(deduplicator, never()).markAllProcessed(any());
+    }
+
+    @Test
+    void shouldScheduleRetriesOfRetryableBatchFailure() {
+        PlacarAtualizadoEvent first = PlacarAtualizadoEventFactory.emAndamento(9L, 10, 1, 0);
+        PlacarAtualizadoEvent second = PlacarAtualizadoEventFactory.emAndamento(10L, 10, 1, 0);
+        Message firstMessage = messageOf(first);
+        Message secondMessage = messageOf(second);
+        RedisConnectionFailureException rootCause = new RedisConnectionFailureException("redis unavailable");
+        doThrow(rootCause).when(processor).processBatch(List.of(first, second));
+        when(retries.isEnabled()).thenReturn(true);
+        when(retries.schedule(firstMessage, rootCause)).thenReturn(true);
+        when(retries.schedule(secondMessage, rootCause)).thenReturn(false);
+
+        listener.onPartidasBatch(List.of(firstMessage, secondMessage));
+
+        verify(deadLetter, never()).recover(eq(firstMessage), any());
+        verify(deadLetter).recover(secondMessage, rootCause);
+        verify(deduplicator, never()).markProcessed(any());
+        verify(deduplicator, never()).markAllProcessed(any());
+    }
+
+    private Message messageOf(PlacarAtualizadoEvent event) {
+        Message message = new Message(new byte[0], propertiesWithId("msg-" + event.getId()));
+        when(messageConverter.fromMessage(message)).thenReturn(event);
+        return message;
+    }
+
+    private static MessageProperties propertiesWithId(String messageId) {
+        MessageProperties properties = new MessageProperties();
+        properties.setMessageId(messageId);
+        return properties;
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+class GameEventConstraintsTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void shouldAcceptValidEvents() {
+        assertNull(GameEventConstraints.firstViolation(PlacarAtualizadoEventFactory.naoIniciado(1L)));
+        assertNull(GameEventConstraints.firstViolation(PlacarAtualizadoEventFactory.emAndamento(1L, 30, 2, 1)));
+        assertNull(GameEventConstraints.firstViolation(PlacarAtualizadoEventFactory.finalizado(1L, 0, 0)));
+    }
+
+    @Test
+    void shouldReportViolatedConstraint() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(1L, 30, 2, 1);
+        event.setTimeB(" \t");
+
+        assertEquals("Team B name is mandatory", GameEventConstraints.firstViolation(event));
+        assertEquals("Event is mandatory", GameEventConstraints.firstViolation(null));
+    }
+
+    @Test
+    void shouldAgreeWithBeanValidation() {
+        List<Consumer<PlacarAtualizadoEvent>> mutations = List.of(
+                event -> { },
+                event -> event.setId(null),
+                event -> event.setDataHoraInicioPartida(null),
+                event -> event.setTimeA(null),
+                event -> event.setTimeA(""),
+                event -> event.setTimeB("   "),
+                event -> event.setTimeB(" Vasco "),
+                event -> event.setPlacarA(null),
+                event -> event.setPlacarA(-1),
+                event -> event.setPlacarB(null),
+                event -> event.setPlacarB(-3),
+                event -> event.setPlacarB(0),
+                event -> event.setStatus(null),
+                event -> event.setTempoDeJogo(null),
+                event -> event.setDataHoraEncerramento(null),
+                event -> event.setVersao(null));
+
+        for (Consumer<PlacarAtualizadoEvent> mutation : mutations) {
+            PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(1L, 30, 2, 1);
+            mutation.accept(event);
+
+            assertEquals(validator.validate(event).isEmpty(), GameEventConstraints.firstViolation(event) == null,
+                    () -> "disagreement for " + event);
+        }
+    }
+}
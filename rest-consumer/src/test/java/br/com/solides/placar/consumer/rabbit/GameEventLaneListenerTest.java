@@ -0,0 +1,232 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import com.rabbitmq.client.Channel;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.metrics.GameEventLatencyMetrics;
+import br.com.solides.placar.consumer.metrics.GameEventMetrics;
+import br.com.solides.placar.consumer.redis.GameCacheRepository;
+import br.com.solides.placar.consumer.redis.GameWrite;
+import br.com.solides.placar.consumer.service.GameWriteBehindBuffer;
+import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+@ExtendWith(MockitoExtension.class)
+class GameEventLaneListenerTest {
+
+    private static final long DELIVERY_TAG = 7L;
+    private static final String MESSAGE_ID = "msg-7";
+
+    @Mock
+    private GameEventLanes lanes;
+
+    @Mock
+    private MessageConverter messageConverter;
+
+    @Mock
+    private Channel channel;
+
+    @Mock
+    private GameMessageDeduplicator deduplicator;
+
+    @Mock
+    private GameEventLatencyMetrics latency;
+
+    @Mock
+    private GameCacheRepository cacheRepository;
+
+    @Mock
+    private GameEventMetrics metrics;
+
+    private GameWriteBehindBuffer writeBehind;
+
+    private GameEventLaneListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = listenerWith(new AppProperties());
+    }
+
+    @Test
+    void shouldAckOnceTheLaneProcessedTheEvent() throws IOException {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(1L, 10, 1, 0);
+        Message message = messageOf(event);
+        completeWith(event, GameEventLanes.Outcome.ACK);
+
+        listener.onPartidas(message, channel);
+
+        verify(channel).basicAck(DELIVERY_TAG, false);
+        verify(deduplicator).markProcessed(MESSAGE_ID);
+    }
+
+    @Test
+    void shouldHoldAckUntilTheWriteBehindFlush() throws IOException {
+        listener = listenerWith(writeBehindProperties());
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(1L, 10, 1, 0);
+        Message message = messageOf(event);
+        GameWrite write = new GameWrite(event, null);
+        doAnswer(invocation -> {
+            writeBehind.write(List.of(write));
+            invocation.<Consumer<GameEventLanes.Outcome>>getArgument(1).accept(GameEventLanes.Outcome.ACK);
+            return null;
+        }).when(lanes).dispatch(eq(event), any());
+
+        listener.onPartidas(message, channel);
+
+        verifyNoInteractions(channel, cacheRepository);
+        verify(deduplicator, never()).markProcessed(MESSAGE_ID);
+
+        writeBehind.flush();
+
+        verify(cacheRepository).saveAll(List.of(write));
+        verify(channel).basicAck(DELIVERY_TAG, false);
+        verify(deduplicator).markProcessed(MESSAGE_ID);
+    }
+
+    @Test
+    void shouldRequeueHeldMessageWhoseStateWasNotWrittenByShutdown() throws IOException {
+        listener = listenerWith(writeBehindProperties());
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(2L, 10, 1, 0);
+        Message message = messageOf(event);
+        doAnswer(invocation -> {
+            writeBehind.write(List.of(new GameWrite(event, null)));
+            invocation.<Consumer<GameEventLanes.Outcome>>getArgument(1).accept(GameEventLanes.Outcome.ACK);
+            return null;
+        }).when(lanes).dispatch(eq(event), any());
+        when(cacheRepository.saveAll(any())).thenThrow(new RedisConnectionFailureException("redis unavailable"));
+
+        listener.onPartidas(message, channel);
+        writeBehind.stop();
+
+        verify(channel).basicNack(DELIVERY_TAG, false, true);
+        verify(channel, never()).basicAck(DELIVERY_TAG, false);
+        verify(deduplicator, never()).markProcessed(MESSAGE_ID);
+    }
+
+    @Test
+    void shouldDispatchPriorityEventToTheLaneOfItsGame() throws IOException {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.finalizado(5L, 2, 1);
+        Message message = messageOf(event);
+        completeWith(event, GameEventLanes.Outcome.ACK);
+
+        listener.onPrioridade(message, channel);
+
+        verify(lanes).dispatch(eq(event), any());
+        verify(channel).basicAck(DELIVERY_TAG, false);
+    }
+
+    @Test
+    void shouldRejectEventThatFailedForGood() throws IOException {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(2L, 10, 1, 0);
+        Message message = messageOf(event);
+        completeWith(event, GameEventLanes.Outcome.REJECT);
+
+        listener.onPartidas(message, channel);
+
+        verify(channel).basicNack(DELIVERY_TAG, false, false);
+        verify(deduplicator, never()).markProcessed(MESSAGE_ID);
+    }
+
+    @Test
+    void shouldAckDuplicateMessageWithoutDispatching() throws IOException {
+        Message message = new Message(new byte[0], properties());
+        when(deduplicator.isDuplicate(MESSAGE_ID)).thenReturn(true);
+
+        listener.onPartidas(message, channel);
+
+        verify(channel).basicAck(DELIVERY_TAG, false);
+        verifyNoInteractions(lanes, messageConverter);
+    }
+
+    @Test
+    void shouldRejectUnreadableMessageWithoutDispatching() throws IOException {
+        Message message = new Message("{".getBytes(), properties());
+        when(messageConverter.fromMessage(message)).thenThrow(new MessageConversionException("bad json"));
+
+        listener.onPartidas(message, channel);
+
+        verify(channel).basicNack(DELIVERY_TAG, false, false);
+        verifyNoInteractions(lanes);
+    }
+
+    @Test
+    void shouldLeaveMessageUnackedWhenLanesAreShutDown() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(3L, 10, 1, 0);
+        Message message = messageOf(event);
+        doThrow(new RejectedExecutionException("shut down")).when(lanes).dispatch(eq(event), any());
+
+        listener.onPartidas(message, channel);
+
+        verifyNoInteractions(channel);
+    }
+
+    @Test
+    void shouldSurviveClosedChannelWhenAcking() throws IOException {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(4L, 10, 1, 0);
+        Message message = messageOf(event);
+        completeWith(event, GameEventLanes.Outcome.ACK);
+        doThrow(new IOException("channel closed")).when(channel).basicAck(DELIVERY_TAG, false);
+
+        listener.onPartidas(message, channel);
+
+        verify(channel).basicAck(DELIVERY_TAG, false);
+    }
+
+    private void completeWith(PlacarAtualizadoEvent event, GameEventLanes.Outcome outcome) {
+        doAnswer(invocation -> {
+            invocation.<Consumer<GameEventLanes.Outcome>>getArgument(1).accept(outcome);
+            return null;
+        }).when(lanes).dispatch(eq(event), any());
+    }
+
+    private GameEventLaneListener listenerWith(AppProperties properties) {
+        writeBehind = new GameWriteBehindBuffer(cacheRepository, metrics, properties);
+        writeBehind.start();
+        return new GameEventLaneListener(lanes, writeBehind, messageConverter, deduplicator, latency);
+    }
+
+    private static AppProperties writeBehindProperties() {
+        AppProperties properties = new AppProperties();
+        properties.getRabbit().setMode(AppProperties.Rabbit.Mode.LANES);
+        properties.getCache().getWriteBehind().setEnabled(true);
+        return properties;
+    }
+
+    private Message messageOf(PlacarAtualizadoEvent event) {
+        Message message = new Message(new byte[0], properties());
+        when(messageConverter.fromMessage(message)).thenReturn(event);
+        return message;
+    }
+
+    private static MessageProperties properties() {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(DELIVERY_TAG);
+        properties.setMessageId(MESSAGE_ID);
+        return properties;
+    }
+}
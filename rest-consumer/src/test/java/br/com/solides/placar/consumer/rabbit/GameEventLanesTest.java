@@ -0,0 +1,221 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.config.RabbitListenerConfigUtils;
+import org.springframework.boot.autoconfigure.amqp.RabbitProperties;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.service.GameEventProcessor;
+import br.com.solides.placar.consumer.service.GameWriteBehindBuffer;
+import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class GameEventLanesTest {
+
+    @Mock
+    private GameEventProcessor processor;
+
+    @Mock
+    private GameWriteBehindBuffer writeBehind;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private GameEventLanes lanes;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties.Rabbit.Lanes settings = new AppProperties.Rabbit.Lanes();
+        settings.setCount(4);
+        settings.setDrainTimeout(Duration.ofSeconds(5));
+        RabbitProperties.ListenerRetry retry = new RabbitProperties().getListener().getSimple().getRetry();
+        retry.setEnabled(true);
+        retry.setMaxAttempts(3);
+        retry.setInitialInterval(Duration.ofMillis(1));
+        retry.setMaxInterval(Duration.ofMillis(5));
+        lanes = new GameEventLanes(processor, writeBehind, settings, retry, registry);
+        lanes.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        lanes.stop();
+    }
+
+    @Test
+    void shouldKeepGameOnOneLaneAndSpreadGamesOverLanes() {
+        Set<Integer> used = new HashSet<>();
+        for (long id = 1; id <= 16; id++) {
+            assertEquals(lanes.laneOf(id), lanes.laneOf(id));
+            used.add(lanes.laneOf(id));
+        }
+
+        assertEquals(4, lanes.laneCount());
+        assertTrue(used.size() > 1);
+    }
+
+    @Test
+    void shouldProcessEventsOfAGameInReceivedOrder() throws InterruptedException {
+        List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> processed.add(invocation.<PlacarAtualizadoEvent>getArgument(0).getTempoDeJogo()))
+                .when(processor).process(any());
+        CountDownLatch done = new CountDownLatch(50);
+
+        List<Integer> expected = new ArrayList<>();
+        for (int minute = 0; minute < 50; minute++) {
+            expected.add(minute);
+            lanes.dispatch(PlacarAtualizadoEventFactory.emAndamento(1L, minute, 0, 0), outcome -> done.countDown());
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(expected, processed);
+    }
+
+    @Test
+    void shouldRetryRetryableFailureInPlaceThenAck() throws Exception {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(2L, 10, 1, 0);
+        doThrow(new RedisConnectionFailureException("redis unavailable")).doNothing().when(processor).process(event);
+
+        assertEquals(GameEventLanes.Outcome.ACK, dispatch(event));
+        verify(processor, times(2)).process(event);
+    }
+
+    @Test
+    void shouldRejectWhenRetriesAreExhausted() throws Exception {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(3L, 10, 1, 0);
+        doThrow(new RedisConnectionFailureException("redis unavailable")).when(processor).process(event);
+
+        assertEquals(GameEventLanes.Outcome.REJECT, dispatch(event));
+        verify(processor, times(3)).process(event);
+    }
+
+    @Test
+    void shouldRejectNonRetryableFailureWithoutRetrying() throws Exception {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(4L, 10, 1, 0);
+        doThrow(new IllegalStateException("no strategy")).when(processor).process(event);
+
+        assertEquals(GameEventLanes.Outcome.REJECT, dispatch(event));
+        verify(processor).process(event);
+    }
+
+    @Test
+    void shouldRecordLagOnTheLaneOfTheGame() throws Exception {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(5L, 10, 1, 0);
+
+        dispatch(event);
+
+        String lane = Integer.toString(lanes.laneOf(5L));
+        assertEquals(1, registry.get("placar.events.lane.lag").tag("lane", lane).timer().count());
+        assertEquals(0.0, registry.get("placar.events.lane.pending").tag("lane", lane).gauge().value());
+    }
+
+    @Test
+    void shouldStopAcceptingEventsAfterShutdown() {
+        lanes.stop();
+
+        assertFalse(lanes.isRunning());
+        assertThrows(RejectedExecutionException.class,
+                () -> lanes.dispatch(PlacarAtualizadoEventFactory.inicio(6L), outcome -> {
+                }));
+    }
+
+    @Test
+    void shouldFlushWriteBehindOnceTheLanesAreDrained() throws Exception {
+        when(writeBehind.isEnabled()).thenReturn(true);
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(7L);
+        CompletableFuture<GameEventLanes.Outcome> outcome = new CompletableFuture<>();
+        lanes.dispatch(event, outcome::complete);
+
+        lanes.stop();
+
+        assertEquals(GameEventLanes.Outcome.ACK, outcome.get(5, TimeUnit.SECONDS));
+        InOrder order = inOrder(processor, writeBehind);
+        order.verify(processor).process(event);
+        order.verify(writeBehind).flush();
+    }
+
+    @Test
+    void shouldDrainBeforeTheListenerContainersStop() {
+        AtomicBoolean drainedFirst = new AtomicBoolean();
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            TestPropertyValues.of("app.rabbit.mode=lanes").applyTo(context);
+            context.registerBean(RabbitListenerConfigUtils.RABBIT_LISTENER_ENDPOINT_REGISTRY_BEAN_NAME,
+                    SmartLifecycle.class, () -> new ListenerContainers(() -> drainedFirst.set(!lanes.isRunning())));
+            context.registerBean(GameEventLanes.class, () -> lanes);
+            context.refresh();
+        }
+
+        assertTrue(drainedFirst.get());
+    }
+
+    private GameEventLanes.Outcome dispatch(PlacarAtualizadoEvent event) throws Exception {
+        CompletableFuture<GameEventLanes.Outcome> outcome = new CompletableFuture<>();
+        lanes.dispatch(event, outcome::complete);
+        return outcome.get(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stands in for the listener endpoint registry, which stops every container in the
+     * {@code Integer.MAX_VALUE} phase.
+     */
+    private static final class ListenerContainers implements SmartLifecycle {
+
+        private final Runnable onStop;
+        private volatile boolean running;
+
+        ListenerContainers(Runnable onStop) {
+            this.onStop = onStop;
+        }
+
+        @Override
+        public void start() {
+            running = true;
+        }
+
+        @Override
+        public void stop() {
+            onStop.run();
+            running = false;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+    }
+}
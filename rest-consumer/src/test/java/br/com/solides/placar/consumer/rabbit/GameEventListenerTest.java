@@ -3,7 +3,10 @@ package br.com.solides.placar.consumer.rabbit;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,8 +14,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.data.redis.RedisConnectionFailureException;
 
+import br.com.solides.placar.consumer.metrics.GameEventLatencyMetrics;
 import br.com.solides.placar.consumer.service.GameEventProcessor;
 import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
 import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
@@ -23,6 +29,20 @@ class GameEventListenerTest {
     @Mock
     private GameEventProcessor processor;
 
+    @Mock
+    private GameMessageDeduplicator deduplicator;
+
+    @Mock
+    private GameEventRetryScheduler retries;
+
+    @Mock
+    private GameEventLatencyMetrics latency;
+
+    @Mock
+    private GameEventLoadShedder shedder;
+
+    private final Message message = new Message(new byte[0], new MessageProperties());
+
     @InjectMocks
     private GameEventListener listener;
 
@@ -30,9 +50,43 @@ class GameEventListenerTest {
     void shouldDelegateToProcessor() {
         PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.naoIniciado(1L);
 
-        listener.onPartidas(event, "games.partidas");
+        listener.onPartidas(event, "games.partidas", "msg-1", message);
 
         verify(processor).process(event);
+        verify(deduplicator).markProcessed("msg-1");
+    }
+
+    @Test
+    void shouldOnlyAcknowledgeEventConflatedInOverloadMode() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(1L, 30, 1, 0);
+        when(shedder.offer(event, message)).thenReturn(true);
+
+        listener.onPartidas(event, "games.partidas", "msg-1", message);
+
+        verifyNoInteractions(processor);
+        // Recorded once the conflated state is applied
+        verify(deduplicator, never()).markProcessed("msg-1");
+    }
+
+    @Test
+    void shouldSkipDuplicateMessage() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.naoIniciado(2L);
+        when(deduplicator.isDuplicate("msg-1")).thenReturn(true);
+
+        listener.onPartidas(event, "games.partidas", "msg-1", message);
+
+        verifyNoInteractions(processor);
+        verify(deduplicator, never()).markProcessed("msg-1");
+    }
+
+    @Test
+    void shouldRejectInvalidEventWithoutProcessing() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(3L, 10, -1, 0);
+
+        assertThrows(AmqpRejectAndDontRequeueException.class,
+                () -> listener.onPartidas(event, "games.partidas", "msg-1", message));
+
+        verifyNoInteractions(processor, deduplicator);
     }
 
     @Test
@@ -43,10 +97,11 @@ class GameEventListenerTest {
 
         AmqpRejectAndDontRequeueException ex = assertThrows(
                 AmqpRejectAndDontRequeueException.class,
-                () -> listener.onPartidas(event, "games.partidas"));
+                () -> listener.onPartidas(event, "games.partidas", "msg-1", message));
 
         assertSame(rootCause, ex.getCause());
         verify(processor).process(event);
+        verify(deduplicator, never()).markProcessed("msg-1");
     }
 
     @Test
@@ -57,9 +112,37 @@ class GameEventListenerTest {
 
         RuntimeException ex = assertThrows(
                 RuntimeException.class,
-                () -> listener.onPartidas(event, "games.partidas"));
+                () -> listener.onPartidas(event, "games.partidas", "msg-1", message));
 
         assertSame(rootCause, ex);
         verify(processor).process(event);
     }
+
+    @Test
+    void shouldScheduleDelayedRetryOfRetryableFailure() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.naoIniciado(7L);
+        RedisConnectionFailureException rootCause = new RedisConnectionFailureException("redis unavailable");
+        doThrow(rootCause).when(processor).process(event);
+        when(retries.isEnabled()).thenReturn(true);
+        when(retries.schedule(message, rootCause)).thenReturn(true);
+
+        listener.onPartidas(event, "games.partidas", "msg-1", message);
+
+        verify(retries).schedule(message, rootCause);
+        verify(deduplicator, never()).markProcessed("msg-1");
+    }
+
+    @Test
+    void shouldRejectRetryableFailureAfterLastRetryTier() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.naoIniciado(8L);
+        RedisConnectionFailureException rootCause = new RedisConnectionFailureException("redis unavailable");
+        doThrow(rootCause).when(processor).process(event);
+        when(retries.isEnabled()).thenReturn(true);
+        when(retries.schedule(message, rootCause)).thenReturn(false);
+
+        AmqpRejectAndDontRequeueException ex = assertThrows(AmqpRejectAndDontRequeueException.class,
+                () -> listener.onPartidas(event, "games.partidas", "msg-1", message));
+
+        assertSame(rootCause, ex.getCause());
+    }
 }
@@ -0,0 +1,299 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.metrics.GameEventLatencyMetrics;
+import br.com.solides.placar.consumer.service.GameEventProcessor;
+import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class GameEventLoadShedderTest {
+
+    private static final String QUEUE = "games.partidas";
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Mock
+    private GameEventProcessor processor;
+
+    @Mock
+    private GameMessageDeduplicator deduplicator;
+
+    @Mock
+    private AmqpAdmin amqpAdmin;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AppProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AppProperties();
+        properties.getRabbit().setQueue(QUEUE);
+        properties.getRabbit().getLoadShedding().setEnabled(true);
+    }
+
+    @Test
+    void shouldNotTakeEventsWhenDisabled() {
+        properties.getRabbit().getLoadShedding().setEnabled(false);
+        GameEventLoadShedder shedder = shedder();
+        shedder.update(10_000, 0);
+
+        assertFalse(shedder.offer(PlacarAtualizadoEventFactory.emAndamento(1L, 10, 1, 0), message(NOW)));
+        assertEquals(0, shedder.pendingCount());
+    }
+
+    @Test
+    void shouldNotTakeEventsWhileTheConsumerKeepsUp() {
+        GameEventLoadShedder shedder = shedder();
+
+        assertFalse(shedder.offer(PlacarAtualizadoEventFactory.emAndamento(1L, 10, 1, 0), message(NOW)));
+        assertEquals(0, shedder.pendingCount());
+    }
+
+    @Test
+    void shouldEnterOnBacklogOrLagAndExitOnlyBelowBothExitThresholds() {
+        GameEventLoadShedder shedder = shedder();
+
+        assertFalse(shedder.update(4_999, 29_999));
+        assertTrue(shedder.update(5_000, 0));
+        assertTrue(shedder.update(501, 0));
+        assertTrue(shedder.update(500, 5_001));
+        assertFalse(shedder.update(500, 5_000));
+        assertTrue(shedder.update(0, 30_000));
+        assertEquals(1.0, meterRegistry.get("placar.listener.overload").gauge().value());
+    }
+
+    @Test
+    void shouldConflateScoreUpdatesIntoTheNewestStatePerGame() {
+        GameEventLoadShedder shedder = shedder();
+        shedder.update(5_000, 0);
+        PlacarAtualizadoEvent first = PlacarAtualizadoEventFactory.emAndamento(1L, 10, 1, 0);
+        PlacarAtualizadoEvent second = PlacarAtualizadoEventFactory.emAndamento(1L, 11, 2, 0);
+        PlacarAtualizadoEvent other = PlacarAtualizadoEventFactory.emAndamento(2L, 11, 0, 0);
+
+        assertTrue(shedder.offer(first, message(NOW, "m1")));
+        assertTrue(shedder.offer(second, message(NOW, "m2")));
+        assertTrue(shedder.offer(other, message(NOW, "m3")));
+
+        assertEquals(2, shedder.pendingCount());
+        assertEquals(1.0, shed());
+        verifyNoInteractions(processor, deduplicator);
+
+        shedder.drain();
+
+        ArgumentCaptor<List<PlacarAtualizadoEvent>> batch = ArgumentCaptor.forClass(List.class);
+        verify(processor).processBatch(batch.capture());
+        assertEquals(Set.of(second, other), Set.copyOf(batch.getValue()));
+        assertEquals(0, shedder.pendingCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRecordMessagesOnlyOnceTheirStateIsApplied() {
+        GameEventLoadShedder shedder = shedder();
+        shedder.update(5_000, 0);
+        PlacarAtualizadoEvent first = PlacarAtualizadoEventFactory.emAndamento(1L, 10, 1, 0);
+        PlacarAtualizadoEvent second = PlacarAtualizadoEventFactory.emAndamento(1L, 11, 2, 0);
+        shedder.offer(first, message(NOW, "m1"));
+        shedder.offer(second, message(NOW, "m2"));
+        shedder.offer(PlacarAtualizadoEventFactory.emAndamento(2L, 11, 0, 0), message(NOW, "m3"));
+
+        shedder.drain();
+
+        InOrder order = inOrder(processor, deduplicator);
+        order.verify(processor).processBatch(any());
+        ArgumentCaptor<List<String>> recorded = ArgumentCaptor.forClass(List.class);
+        order.verify(deduplicator).markAllProcessed(recorded.capture());
+        // The superseded message is recorded with the state that replaced it
+        assertEquals(Set.of("m1", "m2", "m3"), Set.copyOf(recorded.getValue()));
+    }
+
+    @Test
+    void shouldNotRecordMessagesWhoseStateCouldNotBeApplied() {
+        GameEventLoadShedder shedder = shedder();
+        shedder.update(5_000, 0);
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(1L, 10, 1, 0);
+        shedder.offer(event, message(NOW, "m1"));
+        doThrow(new RedisConnectionFailureException("redis unavailable")).when(processor)
+                .processBatch(List.of(event));
+
+        shedder.drain();
+        verify(deduplicator, never()).markAllProcessed(any());
+
+        doNothing().when(processor).processBatch(List.of(event));
+        shedder.drain();
+        verify(deduplicator).markAllProcessed(List.of("m1"));
+    }
+
+    @Test
+    void shouldDrainInlineWhenTooManyGamesArePending() {
+        properties.getRabbit().getLoadShedding().setMaxPending(2);
+        GameEventLoadShedder shedder = shedder();
+        shedder.update(5_000, 0);
+        PlacarAtualizadoEvent first = PlacarAtualizadoEventFactory.emAndamento(1L, 10, 1, 0);
+
+        shedder.offer(first, message(NOW));
+        verifyNoInteractions(processor);
+        shedder.offer(PlacarAtualizadoEventFactory.emAndamento(2L, 10, 1, 0), message(NOW));
+
+        verify(processor).processBatch(any());
+        assertEquals(0, shedder.pendingCount());
+    }
+
+    @Test
+    void shouldProcessLifecycleTransitionsAndDropTheOlderPendingState() {
+        GameEventLoadShedder shedder = shedder();
+        shedder.update(5_000, 0);
+        shedder.offer(PlacarAtualizadoEventFactory.emAndamento(1L, 80, 1, 0), message(NOW));
+
+        assertFalse(shedder.offer(PlacarAtualizadoEventFactory.finalizado(1L, 1, 0), message(NOW)));
+
+        assertEquals(0, shedder.pendingCount());
+        assertEquals(1.0, shed());
+    }
+
+    @Test
+    void shouldPutStatesBackWhenTheDrainFails() {
+        GameEventLoadShedder shedder = shedder();
+        shedder.update(5_000, 0);
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(1L, 10, 1, 0);
+        shedder.offer(event, message(NOW));
+        doThrow(new RedisConnectionFailureException("redis unavailable")).when(processor)
+                .processBatch(List.of(event));
+
+        shedder.drain();
+
+        assertEquals(1, shedder.pendingCount());
+        assertEquals(1.0, meterRegistry.get("placar.listener.overload.pending").gauge().value());
+    }
+
+    @Test
+    void shouldApplyStatesOneByOneAndDropTheFailingOneWhenTheBatchFailsForAnotherReason() {
+        GameEventLoadShedder shedder = shedder();
+        shedder.update(5_000, 0);
+        PlacarAtualizadoEvent invalid = PlacarAtualizadoEventFactory.emAndamento(1L, 10, 1, 0);
+        PlacarAtualizadoEvent valid = PlacarAtualizadoEventFactory.emAndamento(2L, 10, 1, 0);
+        shedder.offer(invalid, message(NOW, "msg-1"));
+        shedder.offer(valid, message(NOW, "msg-2"));
+        doThrow(new IllegalStateException("no strategy")).when(processor).processBatch(any());
+        doThrow(new IllegalStateException("no strategy")).when(processor).process(invalid);
+
+        shedder.drain();
+
+        verify(processor).process(invalid);
+        verify(processor).process(valid);
+        verify(deduplicator).markAllProcessed(List.of("msg-2"));
+        verify(deduplicator, never()).markAllProcessed(List.of("msg-1"));
+        assertEquals(0, shedder.pendingCount());
+    }
+
+    @Test
+    void shouldNotDrainInlineForOneDrainIntervalAfterRedisFailed() {
+        properties.getRabbit().getLoadShedding().setMaxPending(1);
+        AtomicLong clock = new AtomicLong(NOW);
+        GameEventLoadShedder shedder = new GameEventLoadShedder(processor, deduplicator, amqpAdmin, properties,
+                meterRegistry, clock::get);
+        shedder.update(5_000, 0);
+        doThrow(new RedisConnectionFailureException("redis unavailable")).when(processor).processBatch(any());
+
+        shedder.offer(PlacarAtualizadoEventFactory.emAndamento(1L, 10, 1, 0), message(NOW));
+        shedder.offer(PlacarAtualizadoEventFactory.emAndamento(2L, 10, 1, 0), message(NOW));
+        verify(processor).processBatch(any());
+        assertEquals(2, shedder.pendingCount());
+
+        clock.addAndGet(properties.getRabbit().getLoadShedding().getDrainInterval());
+        shedder.offer(PlacarAtualizadoEventFactory.emAndamento(3L, 10, 1, 0), message(NOW));
+
+        verify(processor, times(2)).processBatch(any());
+        assertEquals(3, shedder.pendingCount());
+    }
+
+    @Test
+    void shouldCheckTheQueueBacklog() {
+        GameEventLoadShedder shedder = shedder();
+        when(amqpAdmin.getQueueInfo(QUEUE)).thenReturn(new QueueInformation(QUEUE, 6_000, 4));
+
+        shedder.check();
+
+        assertTrue(shedder.isOverloaded());
+    }
+
+    @Test
+    void shouldCheckTheLagOfReceivedScoreUpdates() {
+        GameEventLoadShedder shedder = shedder();
+        when(amqpAdmin.getQueueInfo(QUEUE)).thenReturn(new QueueInformation(QUEUE, 0, 4));
+        shedder.offer(PlacarAtualizadoEventFactory.emAndamento(1L, 10, 1, 0), message(NOW - 40_000));
+
+        shedder.check();
+        assertTrue(shedder.isOverloaded());
+
+        // Nothing received in the next interval
+        shedder.check();
+        assertFalse(shedder.isOverloaded());
+    }
+
+    @Test
+    void shouldApplyPendingStatesOnStop() {
+        GameEventLoadShedder shedder = shedder();
+        shedder.start();
+        shedder.update(5_000, 0);
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(1L, 10, 1, 0);
+        shedder.offer(event, message(NOW, "m1"));
+
+        shedder.stop();
+
+        verify(processor).processBatch(List.of(event));
+        verify(deduplicator).markAllProcessed(List.of("m1"));
+        assertFalse(shedder.isRunning());
+    }
+
+    private GameEventLoadShedder shedder() {
+        return new GameEventLoadShedder(processor, deduplicator, amqpAdmin, properties, meterRegistry, () -> NOW);
+    }
+
+    private double shed() {
+        return meterRegistry.get("placar.events.shed").counter().count();
+    }
+
+    private static Message message(long publishedAt) {
+        return message(publishedAt, null);
+    }
+
+    private static Message message(long publishedAt, String messageId) {
+        MessageProperties properties = new MessageProperties();
+        properties.setHeader(GameEventLatencyMetrics.PUBLISHED_AT_HEADER, publishedAt);
+        properties.setMessageId(messageId);
+        return new Message(new byte[0], properties);
+    }
+}
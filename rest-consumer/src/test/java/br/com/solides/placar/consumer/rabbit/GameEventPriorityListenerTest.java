@@ -0,0 +1,85 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import br.com.solides.placar.consumer.metrics.GameEventLatencyMetrics;
+import br.com.solides.placar.consumer.service.GameEventProcessor;
+import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+@ExtendWith(MockitoExtension.class)
+class GameEventPriorityListenerTest {
+
+    private static final String QUEUE = "games.partidas.prioridade";
+
+    @Mock
+    private GameEventProcessor processor;
+
+    @Mock
+    private GameMessageDeduplicator deduplicator;
+
+    @Mock
+    private GameEventRetryScheduler retries;
+
+    @Mock
+    private GameEventLatencyMetrics latency;
+
+    @Mock
+    private GameEventLoadShedder shedder;
+
+    private final Message message = new Message(new byte[0], new MessageProperties());
+
+    private GameEventPriorityListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new GameEventPriorityListener(processor, deduplicator, retries, latency, shedder);
+    }
+
+    @Test
+    void shouldProcessLifecycleTransition() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.finalizado(1L, 2, 1);
+
+        listener.onPrioridade(event, QUEUE, "msg-1", message);
+
+        verify(latency).received(event, message);
+        verify(processor).process(event);
+        verify(deduplicator).markProcessed("msg-1");
+    }
+
+    @Test
+    void shouldSkipDuplicateMessage() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.finalizado(2L, 0, 0);
+        when(deduplicator.isDuplicate("msg-2")).thenReturn(true);
+
+        listener.onPrioridade(event, QUEUE, "msg-2", message);
+
+        verifyNoInteractions(processor);
+        verify(deduplicator, never()).markProcessed("msg-2");
+    }
+
+    @Test
+    void shouldRejectNonRetryableFailure() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.naoIniciado(3L);
+        doThrow(new IllegalStateException("no strategy")).when(processor).process(event);
+
+        assertThrows(AmqpRejectAndDontRequeueException.class,
+                () -> listener.onPrioridade(event, QUEUE, "msg-3", message));
+
+        verify(deduplicator, never()).markProcessed("msg-3");
+    }
+}
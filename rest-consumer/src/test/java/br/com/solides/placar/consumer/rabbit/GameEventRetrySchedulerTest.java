@@ -0,0 +1,101 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+
+@ExtendWith(MockitoExtension.class)
+class GameEventRetrySchedulerTest {
+
+    private static final RuntimeException FAILURE = new RuntimeException("redis unavailable");
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private GameEventRetryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties.Rabbit.DelayedRetry settings = new AppProperties.Rabbit.DelayedRetry();
+        settings.setExchange("games.retry.direct");
+        settings.setDelays(List.of(Duration.ofSeconds(1), Duration.ofSeconds(10)));
+        scheduler = new GameEventRetryScheduler(rabbitTemplate, settings, "games.partidas",
+                "games.partidas.prioridade");
+    }
+
+    @Test
+    void shouldRepublishFirstFailureToFirstTier() {
+        Message message = message(null);
+
+        assertTrue(scheduler.schedule(message, FAILURE));
+
+        verify(rabbitTemplate).send("games.retry.direct", "games.partidas.retry.1000ms", message);
+        assertEquals(1, GameEventRetryScheduler.attemptOf(message));
+    }
+
+    @Test
+    void shouldRepublishNextFailureToNextTier() {
+        Message message = message(1);
+
+        assertTrue(scheduler.schedule(message, FAILURE));
+
+        verify(rabbitTemplate).send("games.retry.direct", "games.partidas.retry.10000ms", message);
+        assertEquals(2, GameEventRetryScheduler.attemptOf(message));
+    }
+
+    @Test
+    void shouldRetryPriorityMessagesOnTheTiersOfThePriorityQueue() {
+        Message message = message(null);
+        message.getMessageProperties().setConsumerQueue("games.partidas.prioridade");
+
+        assertTrue(scheduler.schedule(message, FAILURE));
+
+        verify(rabbitTemplate).send("games.retry.direct", "games.partidas.prioridade.retry.1000ms", message);
+    }
+
+    @Test
+    void shouldGiveUpAfterLastTier() {
+        assertFalse(scheduler.schedule(message(2), FAILURE));
+
+        verifyNoInteractions(rabbitTemplate);
+    }
+
+    @Test
+    void shouldRequeueWhenRetryCannotBePublished() {
+        doThrow(new AmqpConnectException(new RuntimeException("broker down")))
+                .when(rabbitTemplate).send(anyString(), anyString(), any(Message.class));
+
+        assertThrows(ImmediateRequeueAmqpException.class, () -> scheduler.schedule(message(null), FAILURE));
+    }
+
+    private static Message message(Integer attempt) {
+        MessageProperties properties = new MessageProperties();
+        properties.setMessageId("msg-1");
+        if (attempt != null) {
+            properties.setHeader(GameEventRetryScheduler.ATTEMPT_HEADER, attempt);
+        }
+        return new Message(new byte[0], properties);
+    }
+}
@@ -0,0 +1,291 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.boot.autoconfigure.amqp.RabbitProperties;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class GameListenerFlowControllerTest {
+
+    private static final String QUEUE = "games.partidas";
+
+    @Mock
+    private RabbitListenerEndpointRegistry listenerRegistry;
+
+    @Mock
+    private AmqpAdmin amqpAdmin;
+
+    @Mock
+    private ThreadPoolTaskExecutor sseExecutor;
+
+    @Mock
+    private SimpleMessageListenerContainer container;
+
+    @Captor
+    private ArgumentCaptor<Runnable> restart;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RabbitProperties rabbitProperties = new RabbitProperties();
+    private AppProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AppProperties();
+        properties.getRabbit().setQueue(QUEUE);
+        rabbitProperties.getListener().getSimple().setConcurrency(4);
+        rabbitProperties.getListener().getSimple().setPrefetch(50);
+    }
+
+    @Test
+    void shouldHalveConsumersAndPrefetchWhenProcessingIsSlow() {
+        properties.getRabbit().getFlowControl().setMinRestartInterval(Duration.ZERO);
+        GameListenerFlowController controller = controller();
+        mockContainer();
+        when(container.getActiveConsumerCount()).thenReturn(4);
+        for (int i = 0; i < 10; i++) {
+            meterRegistry.timer(GameListenerFlowController.LISTENER_TIMER, "queue", QUEUE, "result", "success")
+                    .record(Duration.ofMillis(500));
+        }
+
+        controller.adjust();
+
+        assertEquals(2, controller.consumers());
+        assertEquals(25, controller.prefetch());
+        InOrder order = inOrder(container);
+        order.verify(container).setConcurrentConsumers(2);
+        order.verify(container).setMaxConcurrentConsumers(2);
+        order.verify(container).stop(restart.capture());
+        verify(container).setPrefetchCount(25);
+        assertEquals(25.0, meterRegistry.get("placar.listener.prefetch").gauge().value());
+        // Started again once the stopped consumers are done, off the scheduler thread
+        verify(container, never()).start();
+        restart.getValue().run();
+        verify(container).start();
+        assertEquals(1.0, decisions(GameListenerFlowController.ACTION_DECREASE));
+        assertEquals(500.0, meterRegistry.get("placar.listener.flow.latency").gauge().value());
+    }
+
+    @Test
+    void shouldShrinkWhenTheSseExecutorIsSaturated() {
+        GameListenerFlowController controller = controller();
+        mockContainer();
+        when(sseExecutor.getQueueCapacity()).thenReturn(1000);
+        when(sseExecutor.getQueueSize()).thenReturn(900);
+        when(amqpAdmin.getQueueInfo(QUEUE)).thenReturn(new QueueInformation(QUEUE, 5000, 4));
+
+        controller.adjust();
+
+        assertEquals(2, controller.consumers());
+        assertEquals(25, controller.prefetch());
+        assertEquals(0.9, meterRegistry.get("placar.listener.flow.executor.saturation").gauge().value());
+    }
+
+    @Test
+    void shouldAddOneConsumerAndAPrefetchStepOnBacklog() {
+        GameListenerFlowController controller = controller();
+        mockContainer();
+        when(amqpAdmin.getQueueInfo(QUEUE)).thenReturn(new QueueInformation(QUEUE, 500, 4));
+
+        controller.adjust();
+
+        assertEquals(5, controller.consumers());
+        assertEquals(60, controller.prefetch());
+        InOrder order = inOrder(container);
+        order.verify(container).setMaxConcurrentConsumers(5);
+        order.verify(container).setConcurrentConsumers(5);
+        assertEquals(1.0, decisions(GameListenerFlowController.ACTION_INCREASE));
+    }
+
+    @Test
+    void shouldHoldAndApplyTheStartingValuesOnlyOnce() {
+        GameListenerFlowController controller = controller();
+        mockContainer();
+        when(amqpAdmin.getQueueInfo(QUEUE)).thenReturn(new QueueInformation(QUEUE, 10, 4));
+
+        controller.adjust();
+        controller.adjust();
+
+        assertEquals(4, controller.consumers());
+        assertEquals(50, controller.prefetch());
+        verify(container).setPrefetchCount(50);
+        verify(container).setConcurrentConsumers(4);
+        verify(container, never()).stop(any());
+        assertEquals(2.0, decisions(GameListenerFlowController.ACTION_HOLD));
+    }
+
+    @Test
+    void shouldNotRestartTheContainerForSmallPrefetchSteps() {
+        properties.getRabbit().getFlowControl().setMaxConsumers(4);
+        properties.getRabbit().getFlowControl().setMinRestartInterval(Duration.ZERO);
+        GameListenerFlowController controller = controller();
+        mockContainer();
+        when(container.getActiveConsumerCount()).thenReturn(4);
+        when(amqpAdmin.getQueueInfo(QUEUE)).thenReturn(new QueueInformation(QUEUE, 500, 4));
+
+        controller.adjust();
+        controller.adjust();
+        controller.adjust();
+
+        // 50 to 80 stays below the restart factor: only consumers started later use it
+        assertEquals(80, controller.prefetch());
+        verify(container).setPrefetchCount(80);
+        verify(container, never()).stop(any());
+        assertEquals(50, controller.appliedPrefetch());
+    }
+
+    @Test
+    void shouldRestartOnceThePrefetchMovedByTheFactor() {
+        properties.getRabbit().getFlowControl().setMaxConsumers(4);
+        properties.getRabbit().getFlowControl().setPrefetchStep(25);
+        properties.getRabbit().getFlowControl().setMinRestartInterval(Duration.ZERO);
+        GameListenerFlowController controller = controller();
+        mockContainer();
+        when(container.getActiveConsumerCount()).thenReturn(4);
+        when(amqpAdmin.getQueueInfo(QUEUE)).thenReturn(new QueueInformation(QUEUE, 500, 4));
+
+        controller.adjust();
+        verify(container, never()).stop(any());
+
+        controller.adjust();
+
+        InOrder order = inOrder(container);
+        order.verify(container).setPrefetchCount(100);
+        order.verify(container).stop(any());
+        assertEquals(100, controller.appliedPrefetch());
+    }
+
+    @Test
+    void shouldNotRestartWithinTheMinimumInterval() {
+        GameListenerFlowController controller = controller();
+        mockContainer();
+        when(container.getActiveConsumerCount()).thenReturn(4);
+        when(sseExecutor.getQueueCapacity()).thenReturn(1000);
+        when(sseExecutor.getQueueSize()).thenReturn(900);
+
+        controller.adjust();
+        controller.adjust();
+
+        // Halved twice, but the container was started less than five minutes ago
+        assertEquals(12, controller.prefetch());
+        verify(container, never()).stop(any());
+        assertEquals(50, controller.appliedPrefetch());
+    }
+
+    @Test
+    void shouldApplyThePrefetchToAContainerThatIsNotConsuming() {
+        GameListenerFlowController controller = controller();
+        mockContainer();
+        when(amqpAdmin.getQueueInfo(QUEUE)).thenReturn(new QueueInformation(QUEUE, 500, 4));
+
+        controller.adjust();
+
+        verify(container).setPrefetchCount(60);
+        verify(container, never()).stop(any());
+        assertEquals(60, controller.appliedPrefetch());
+    }
+
+    @Test
+    void shouldReportThePrefetchTheConsumersOpenedWith() {
+        rabbitProperties.getListener().getSimple().setPrefetch(300);
+        GameListenerFlowController controller = controller();
+
+        assertEquals(250, controller.prefetch());
+        assertEquals(300.0, meterRegistry.get("placar.listener.prefetch").gauge().value());
+    }
+
+    @Test
+    void shouldStayWithinTheConfiguredBounds() {
+        properties.getRabbit().getFlowControl().setMaxConsumers(4);
+        properties.getRabbit().getFlowControl().setMaxPrefetch(50);
+        GameListenerFlowController controller = controller();
+
+        assertEquals(GameListenerFlowController.ACTION_HOLD, controller.decide(0, 10_000, 0));
+        assertEquals(GameListenerFlowController.ACTION_DECREASE, controller.decide(1000, 0, 0));
+        assertEquals(GameListenerFlowController.ACTION_DECREASE, controller.decide(1000, 0, 0));
+        assertEquals(GameListenerFlowController.ACTION_DECREASE, controller.decide(1000, 0, 0));
+        assertEquals(GameListenerFlowController.ACTION_HOLD, controller.decide(1000, 0, 0));
+        assertEquals(1, controller.consumers());
+        assertEquals(10, controller.prefetch());
+    }
+
+    @Test
+    void shouldOnlyReportInLanesMode() {
+        properties.getRabbit().setMode(AppProperties.Rabbit.Mode.LANES);
+        GameListenerFlowController controller = controller();
+        when(amqpAdmin.getQueueInfo(QUEUE)).thenReturn(new QueueInformation(QUEUE, 500, 1));
+        // Only the hand-off to a lane: not a signal of the processing time
+        meterRegistry.timer(GameListenerFlowController.LISTENER_TIMER, "queue", QUEUE, "result", "success")
+                .record(Duration.ofMillis(500));
+
+        controller.adjust();
+
+        assertEquals(1, controller.consumers());
+        assertEquals(50, controller.prefetch());
+        assertEquals(1.0, decisions(GameListenerFlowController.ACTION_HOLD));
+        assertEquals(0.0, meterRegistry.get("placar.listener.flow.latency").gauge().value());
+        assertEquals(500.0, meterRegistry.get("placar.listener.flow.queue.depth").gauge().value());
+        assertEquals(50.0, meterRegistry.get("placar.listener.prefetch").gauge().value());
+        verify(listenerRegistry, never()).getListenerContainers();
+    }
+
+    @Test
+    void shouldNotGoBelowTheBatchSizeInBatchMode() {
+        properties.getRabbit().setMode(AppProperties.Rabbit.Mode.BATCH);
+        properties.getRabbit().getBatch().setSize(40);
+        GameListenerFlowController controller = controller();
+
+        controller.decide(1000, 0, 0);
+
+        assertEquals(40, controller.prefetch());
+    }
+
+    @Test
+    void shouldNotPropagateFailures() {
+        GameListenerFlowController controller = controller();
+        when(amqpAdmin.getQueueInfo(QUEUE)).thenThrow(new AmqpConnectException(new RuntimeException("down")));
+
+        assertDoesNotThrow(controller::adjust);
+        verify(container, never()).setPrefetchCount(anyInt());
+    }
+
+    private GameListenerFlowController controller() {
+        return new GameListenerFlowController(listenerRegistry, amqpAdmin, rabbitProperties, properties,
+                sseExecutor, meterRegistry);
+    }
+
+    private void mockContainer() {
+        when(container.getQueueNames()).thenReturn(new String[] { QUEUE });
+        when(listenerRegistry.getListenerContainers()).thenReturn(List.of(container));
+    }
+
+    private double decisions(String action) {
+        return meterRegistry.get("placar.listener.flow.adjustments").tag("action", action).counter().count();
+    }
+}
@@ -0,0 +1,187 @@
+package br.com.solides.placar.consumer.rabbit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.metrics.GameEventMetrics;
+import br.com.solides.placar.consumer.redis.ProcessedMessageRepository;
+
+@ExtendWith(MockitoExtension.class)
+class GameMessageDeduplicatorTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    @Mock
+    private ProcessedMessageRepository repository;
+
+    @Mock
+    private GameEventMetrics metrics;
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void shouldDetectMessageProcessedByThisInstanceWithoutRedis() {
+        GameMessageDeduplicator deduplicator = deduplicator(settings(true, 10));
+
+        deduplicator.markProcessed("m1");
+
+        assertTrue(deduplicator.isDuplicate("m1"));
+        verify(repository).markProcessed("m1", TTL);
+        verify(metrics).duplicate(GameEventMetrics.DEDUP_LOCAL);
+    }
+
+    @Test
+    void shouldDetectMessageProcessedByAnotherInstance() {
+        when(repository.exists("m1")).thenReturn(true);
+        GameMessageDeduplicator deduplicator = deduplicator(settings(true, 10));
+
+        assertTrue(deduplicator.isDuplicate("m1"));
+        assertTrue(deduplicator.isDuplicate("m1"));
+        verify(metrics).duplicate(GameEventMetrics.DEDUP_REDIS);
+        verify(metrics).duplicate(GameEventMetrics.DEDUP_LOCAL);
+    }
+
+    @Test
+    void shouldCheckOnlyIdsMissingLocallyInRedisOncePerBatch() {
+        when(repository.findProcessed(List.of("m2", "m3"))).thenReturn(Set.of("m3"));
+        GameMessageDeduplicator deduplicator = deduplicator(settings(true, 10));
+        deduplicator.markProcessed("m1");
+
+        assertEquals(Set.of("m1", "m3"), deduplicator.duplicates(Arrays.asList("m1", "m2", null, "m3")));
+        verify(repository, never()).exists(any());
+        verify(metrics).duplicate(GameEventMetrics.DEDUP_LOCAL);
+        verify(metrics).duplicate(GameEventMetrics.DEDUP_REDIS);
+        // Remembered locally: the next batch does not go to Redis for it
+        assertEquals(Set.of("m3"), deduplicator.duplicates(List.of("m3")));
+    }
+
+    @Test
+    void shouldRecordBatchInRedisWithOneCall() {
+        GameMessageDeduplicator deduplicator = deduplicator(settings(true, 10));
+
+        deduplicator.markAllProcessed(Arrays.asList("m1", null, "m2"));
+
+        verify(repository).markAllProcessed(List.of("m1", "m2"), TTL);
+        verify(repository, never()).markProcessed(any(), any());
+        assertEquals(Set.of("m1", "m2"), deduplicator.duplicates(List.of("m1", "m2")));
+    }
+
+    @Test
+    void shouldNotGoToRedisForBatchesWhenNotShared() {
+        GameMessageDeduplicator deduplicator = deduplicator(settings(false, 10));
+
+        deduplicator.markAllProcessed(List.of("m1"));
+
+        assertEquals(Set.of("m1"), deduplicator.duplicates(List.of("m1", "m2")));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldFailOpenForBatchesWhenRedisIsUnavailable() {
+        when(repository.findProcessed(List.of("m1"))).thenThrow(new RedisConnectionFailureException("down"));
+        doThrow(new RedisConnectionFailureException("down")).when(repository).markAllProcessed(List.of("m2"), TTL);
+        GameMessageDeduplicator deduplicator = deduplicator(settings(true, 10));
+
+        assertTrue(deduplicator.duplicates(List.of("m1")).isEmpty());
+        deduplicator.markAllProcessed(List.of("m2"));
+        assertTrue(deduplicator.isDuplicate("m2"));
+    }
+
+    @Test
+    void shouldBeOffInRedisByDefault() {
+        assertFalse(new AppProperties.Rabbit.Dedup().isShared());
+    }
+
+    @Test
+    void shouldForgetIdsAfterTtl() {
+        GameMessageDeduplicator deduplicator = deduplicator(settings(false, 10));
+        deduplicator.markProcessed("m1");
+
+        now.addAndGet(TTL.toNanos());
+
+        assertFalse(deduplicator.isDuplicate("m1"));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedIdBeyondCapacity() {
+        GameMessageDeduplicator deduplicator = deduplicator(settings(false, 2));
+        deduplicator.markProcessed("m1");
+        deduplicator.markProcessed("m2");
+        deduplicator.isDuplicate("m1");
+
+        deduplicator.markProcessed("m3");
+
+        assertTrue(deduplicator.isDuplicate("m1"));
+        assertFalse(deduplicator.isDuplicate("m2"));
+        assertTrue(deduplicator.isDuplicate("m3"));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldFailOpenWhenRedisIsUnavailable() {
+        when(repository.exists("m1")).thenThrow(new RedisConnectionFailureException("down"));
+        when(repository.markProcessed("m2", TTL)).thenThrow(new RedisConnectionFailureException("down"));
+        GameMessageDeduplicator deduplicator = deduplicator(settings(true, 10));
+
+        assertFalse(deduplicator.isDuplicate("m1"));
+        deduplicator.markProcessed("m2");
+        assertTrue(deduplicator.isDuplicate("m2"));
+    }
+
+    @Test
+    void shouldIgnoreMessagesWithoutId() {
+        GameMessageDeduplicator deduplicator = deduplicator(settings(true, 10));
+
+        deduplicator.markProcessed(null);
+
+        assertFalse(deduplicator.isDuplicate(null));
+        assertFalse(deduplicator.isDuplicate(" "));
+        verifyNoInteractions(repository, metrics);
+    }
+
+    @Test
+    void shouldDoNothingWhenDisabled() {
+        AppProperties.Rabbit.Dedup settings = settings(true, 10);
+        settings.setEnabled(false);
+        GameMessageDeduplicator deduplicator = deduplicator(settings);
+
+        deduplicator.markProcessed("m1");
+        deduplicator.markAllProcessed(List.of("m1"));
+
+        assertFalse(deduplicator.isDuplicate("m1"));
+        assertTrue(deduplicator.duplicates(List.of("m1")).isEmpty());
+        verifyNoInteractions(repository, metrics);
+    }
+
+    private GameMessageDeduplicator deduplicator(AppProperties.Rabbit.Dedup settings) {
+        return new GameMessageDeduplicator(repository, metrics, settings, now::get);
+    }
+
+    private static AppProperties.Rabbit.Dedup settings(boolean shared, int localCapacity) {
+        AppProperties.Rabbit.Dedup settings = new AppProperties.Rabbit.Dedup();
+        settings.setShared(shared);
+        settings.setLocalCapacity(localCapacity);
+        settings.setTtl(TTL);
+        return settings;
+    }
+}
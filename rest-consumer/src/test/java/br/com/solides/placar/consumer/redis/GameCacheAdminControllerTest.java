@@ -0,0 +1,67 @@
+package br.com.solides.placar.consumer.redis;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.service.GameCacheRebuilder;
+
+@WebMvcTest(GameCacheAdminController.class)
+@Import(AppProperties.class)
+class GameCacheAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private GameCacheRebuilder rebuilder;
+
+    @Test
+    void shouldStartRebuild() throws Exception {
+        when(rebuilder.start(false)).thenReturn(true);
+        when(rebuilder.progress()).thenReturn(new GameCacheRebuilder.Progress(true, 0, 0, 0, null));
+
+        mockMvc.perform(post("/consumer/api/admin/cache/rebuild"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.running").value(true));
+    }
+
+    @Test
+    void shouldRestartRebuildFromFirstGame() throws Exception {
+        when(rebuilder.start(true)).thenReturn(true);
+
+        mockMvc.perform(post("/consumer/api/admin/cache/rebuild").param("restart", "true"))
+                .andExpect(status().isAccepted());
+
+        verify(rebuilder).start(true);
+    }
+
+    @Test
+    void shouldRejectRebuildWhileOneIsRunning() throws Exception {
+        when(rebuilder.start(false)).thenReturn(false);
+
+        mockMvc.perform(post("/consumer/api/admin/cache/rebuild"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void shouldReportProgress() throws Exception {
+        when(rebuilder.progress()).thenReturn(new GameCacheRebuilder.Progress(false, 120, 3, 500, null));
+
+        mockMvc.perform(get("/consumer/api/admin/cache/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.loaded").value(120))
+                .andExpect(jsonPath("$.lastId").value(500));
+    }
+}
@@ -0,0 +1,136 @@
+package br.com.solides.placar.consumer.redis;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import br.com.solides.placar.consumer.metrics.GameCacheMetrics;
+import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+import br.com.solides.placar.consumer.support.RedisObjectMapperFactory;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GameEventRedisSerializerTest {
+
+    private final Jackson2JsonRedisSerializer<PlacarAtualizadoEvent> jsonSerializer = new Jackson2JsonRedisSerializer<>(
+            RedisObjectMapperFactory.create(), PlacarAtualizadoEvent.class);
+
+    private final GameEventRedisSerializer binary = new GameEventRedisSerializer(jsonSerializer,
+            GameEventRedisSerializer.Format.BINARY);
+
+    private final GameEventRedisSerializer json = new GameEventRedisSerializer(jsonSerializer,
+            GameEventRedisSerializer.Format.JSON);
+
+    @Test
+    void shouldRoundTripFinishedGameInBinaryFormat() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.finalizado(42L, 3, 2);
+        event.setTimeA("São Paulo");
+
+        byte[] bytes = binary.serialize(event);
+
+        assertEquals(GameEventRedisSerializer.MAGIC, bytes[0]);
+        assertEquals(event, binary.deserialize(bytes));
+    }
+
+    @Test
+    void shouldRoundTripEventWithNullFields() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.naoIniciado(7L);
+        event.setTimeB(null);
+        event.setPlacarB(null);
+
+        assertEquals(event, binary.deserialize(binary.serialize(event)));
+    }
+
+    @Test
+    void shouldRoundTripNegativeAndLargeValues() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(Long.MAX_VALUE, 125, 300, 0);
+        event.setTempoDeJogo(-1);
+
+        assertEquals(event, binary.deserialize(binary.serialize(event)));
+    }
+
+    @Test
+    void shouldRoundTripVersion() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(8L, 44, 1, 1);
+        event.setVersao(12345L);
+
+        assertEquals(event, binary.deserialize(binary.serialize(event)));
+        assertEquals(event, json.deserialize(json.serialize(event)));
+    }
+
+    @Test
+    void shouldWriteJsonWhenConfiguredForJson() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(1L);
+
+        byte[] bytes = json.serialize(event);
+
+        assertArrayEquals(jsonSerializer.serialize(event), bytes);
+    }
+
+    @Test
+    void shouldReadLegacyJsonWhenWritingBinary() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(2L, 30, 1, 1);
+
+        assertEquals(event, binary.deserialize(jsonSerializer.serialize(event)));
+    }
+
+    @Test
+    void shouldReadBinaryWhenWritingJson() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(3L, 60, 0, 2);
+
+        assertEquals(event, json.deserialize(binary.serialize(event)));
+    }
+
+    @Test
+    void shouldBeSmallerThanJson() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.finalizado(10L, 2, 1);
+
+        assertTrue(binary.serialize(event).length * 3 < jsonSerializer.serialize(event).length);
+    }
+
+    @Test
+    void shouldRecordValueSizesWhenInstrumented() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GameEventRedisSerializer instrumented = new GameEventRedisSerializer(jsonSerializer,
+                GameEventRedisSerializer.Format.BINARY, new GameCacheMetrics(registry));
+
+        byte[] bytes = instrumented.serialize(PlacarAtualizadoEventFactory.finalizado(11L, 1, 0));
+        instrumented.deserialize(bytes);
+
+        assertEquals(bytes.length, registry.get("placar.cache.value.size").tag("direction", "write").summary()
+                .totalAmount());
+        assertEquals(bytes.length, registry.get("placar.cache.value.size").tag("direction", "read").summary()
+                .totalAmount());
+    }
+
+    @Test
+    void shouldHandleNullAndEmptyValues() {
+        assertEquals(0, binary.serialize(null).length);
+        assertNull(binary.deserialize(null));
+        assertNull(binary.deserialize(new byte[0]));
+    }
+
+    @Test
+    void shouldRejectTruncatedPayload() {
+        byte[] bytes = binary.serialize(PlacarAtualizadoEventFactory.inicio(5L));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 3);
+
+        assertThrows(SerializationException.class, () -> binary.deserialize(truncated));
+    }
+
+    @Test
+    void shouldRejectUnknownFormatVersion() {
+        byte[] bytes = binary.serialize(PlacarAtualizadoEventFactory.inicio(6L));
+        bytes[1] = 99;
+
+        assertThrows(SerializationException.class, () -> binary.deserialize(bytes));
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.solides.placar.consumer.redis;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+@ExtendWith(MockitoExtension.class)
+class GameLegacyKeyMigrationTest {
+
+    @Mock
+    private RedisGameCacheRepository cacheRepository;
+
+    @InjectMocks
+    private GameLegacyKeyMigration migration;
+
+    @Test
+    void shouldMigrateLegacyKeysOnStartup() {
+        migration.onApplicationReady();
+
+        verify(cacheRepository).migrateLegacyKeys(GameLegacyKeyMigration.BATCH_SIZE);
+    }
+
+    @Test
+    void shouldNotFailStartupWhenMigrationFails() {
+        when(cacheRepository.migrateLegacyKeys(GameLegacyKeyMigration.BATCH_SIZE))
+                .thenThrow(new RedisConnectionFailureException("redis unavailable"));
+
+        assertDoesNotThrow(migration::onApplicationReady);
+    }
+}
@@ -1,15 +1,20 @@
 package br.com.solides.placar.consumer.redis;
 
+import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -22,8 +27,13 @@ import br.com.solides.placar.consumer.config.AppProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import br.com.solides.placar.consumer.service.GameCacheService;
+import br.com.solides.placar.consumer.service.GameLastKnownState;
+import br.com.solides.placar.consumer.service.GameTimelineService;
+import br.com.solides.placar.consumer.service.LiveGamesSnapshot;
 import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
 import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 
 @WebMvcTest(GameQueryController.class)
 @Import(AppProperties.class)
@@ -35,6 +45,15 @@ class GameQueryControllerTest {
     @MockBean
     private GameCacheService cacheService;
 
+    @MockBean
+    private GameLastKnownState lastKnownState;
+
+    @MockBean
+    private LiveGamesSnapshot liveGames;
+
+    @MockBean
+    private GameTimelineService timeline;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -49,6 +68,102 @@ class GameQueryControllerTest {
                 .andExpect(jsonPath("$.status").value("EM_ANDAMENTO"));
     }
 
+    @Test
+    void shouldReturnVersionAsEtag() throws Exception {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(3L, 30, 1, 0);
+        event.setVersao(7L);
+        when(cacheService.findById(3L)).thenReturn(event);
+
+        mockMvc.perform(get("/consumer/api/games/3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7\""));
+    }
+
+    @Test
+    void shouldReturnNotModifiedWithoutLoadingEventWhenEtagMatches() throws Exception {
+        when(cacheService.findEtag(3L)).thenReturn("7");
+
+        mockMvc.perform(get("/consumer/api/games/3").header("If-None-Match", "\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues("ETag", "\"7\""))
+                .andExpect(content().string(""));
+
+        verify(cacheService, never()).findById(3L);
+    }
+
+    @Test
+    void shouldReturnNotFoundForDeletedGameEvenWithEtagOfItsLastVersion() throws Exception {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(3L, 30, 1, 0);
+        event.setVersao(7L);
+        when(cacheService.findEtag(3L)).thenReturn("7", "x7");
+        when(cacheService.findById(3L)).thenReturn(event);
+
+        mockMvc.perform(get("/consumer/api/games/3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7\""));
+        // The deletion stores a tombstone with the same version under its own tag
+        mockMvc.perform(get("/consumer/api/games/3").header("If-None-Match", "\"7\""))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist("ETag"));
+
+        verify(cacheService).findById(3L);
+    }
+
+    @Test
+    void shouldReturnGameWhenEtagIsOutdated() throws Exception {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(3L, 31, 2, 0);
+        event.setVersao(8L);
+        when(cacheService.findEtag(3L)).thenReturn("8");
+        when(cacheService.findById(3L)).thenReturn(event);
+
+        mockMvc.perform(get("/consumer/api/games/3").header("If-None-Match", "\"7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"8\""))
+                .andExpect(jsonPath("$.placarA").value(2));
+    }
+
+    @Test
+    void shouldReturnStoredContentTagForUnversionedGame() throws Exception {
+        when(cacheService.findEtag(6L)).thenReturn("h0123456789abcdef");
+        when(cacheService.findById(6L)).thenReturn(PlacarAtualizadoEventFactory.emAndamento(6L, 30, 1, 0));
+
+        mockMvc.perform(get("/consumer/api/games/6"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"h0123456789abcdef\""));
+    }
+
+    @Test
+    void shouldReturnNotModifiedWithoutLoadingEventWhenContentTagMatches() throws Exception {
+        when(cacheService.findEtag(6L)).thenReturn("h0123456789abcdef");
+
+        mockMvc.perform(get("/consumer/api/games/6").header("If-None-Match", "\"h0123456789abcdef\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"h0123456789abcdef\""))
+                .andExpect(content().string(""));
+
+        verify(cacheService, never()).findById(6L);
+    }
+
+    @Test
+    void shouldReturnUnversionedGameWhenContentTagChanged() throws Exception {
+        when(cacheService.findEtag(6L)).thenReturn("hfedcba9876543210");
+        when(cacheService.findById(6L)).thenReturn(PlacarAtualizadoEventFactory.emAndamento(6L, 31, 1, 0));
+
+        mockMvc.perform(get("/consumer/api/games/6").header("If-None-Match", "\"h0123456789abcdef\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"hfedcba9876543210\""))
+                .andExpect(jsonPath("$.tempoDeJogo").value(31));
+    }
+
+    @Test
+    void shouldOmitEtagOfUnversionedGameNotYetTagged() throws Exception {
+        when(cacheService.findById(6L)).thenReturn(PlacarAtualizadoEventFactory.emAndamento(6L, 30, 1, 0));
+
+        mockMvc.perform(get("/consumer/api/games/6"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
     @Test
     void shouldReturnNotFoundWhenGameDoesNotExist() throws Exception {
         when(cacheService.findById(99L)).thenReturn(null);
@@ -57,6 +172,87 @@ class GameQueryControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void shouldServeLastKnownStateWhenRedisBreakerIsOpen() throws Exception {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(4L, 70, 3, 1);
+        event.setVersao(9L);
+        when(cacheService.findById(4L)).thenThrow(breakerOpen());
+        when(lastKnownState.isEnabled()).thenReturn(true);
+        when(lastKnownState.find(4L)).thenReturn(event);
+
+        mockMvc.perform(get("/consumer/api/games/4"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(GameQueryController.STALE_HEADER, "true"))
+                .andExpect(header().string("ETag", "\"9\""))
+                .andExpect(jsonPath("$.placarA").value(3));
+    }
+
+    @Test
+    void shouldReturnStaleNotFoundWhenGameIsUnknownAndRedisBreakerIsOpen() throws Exception {
+        when(cacheService.findEtag(5L)).thenThrow(breakerOpen());
+        when(lastKnownState.isEnabled()).thenReturn(true);
+
+        mockMvc.perform(get("/consumer/api/games/5").header("If-None-Match", "\"1\""))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(GameQueryController.STALE_HEADER, "true"));
+    }
+
+    @Test
+    void shouldServeGzippedLiveGamesToGzipClients() throws Exception {
+        when(liveGames.current()).thenReturn(snapshot());
+
+        mockMvc.perform(get("/consumer/api/games/live").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", "\"abc123-gzip\""))
+                .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")))
+                .andExpect(content().bytes(new byte[] { 1, 2, 3 }));
+
+        verifyNoInteractions(cacheService);
+    }
+
+    @Test
+    void shouldServePlainLiveGamesWithoutGzip() throws Exception {
+        when(liveGames.current()).thenReturn(snapshot());
+
+        mockMvc.perform(get("/consumer/api/games/live").header("Accept-Encoding", "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(header().string("ETag", "\"abc123\""))
+                .andExpect(content().json("[]"));
+    }
+
+    @Test
+    void shouldReturnNotModifiedWhenLiveGamesDidNotChange() throws Exception {
+        when(liveGames.current()).thenReturn(snapshot());
+
+        mockMvc.perform(get("/consumer/api/games/live").header("If-None-Match", "\"abc123\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues("ETag", "\"abc123\""))
+                .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void shouldReturnTimelineSinceEntry() throws Exception {
+        PlacarAtualizadoEvent goal = PlacarAtualizadoEventFactory.emAndamento(6L, 12, 1, 0);
+        when(timeline.find(6L, "1767225600000-0", 100))
+                .thenReturn(List.of(new GameTimelineEntry("1767225660000-0", goal)));
+
+        mockMvc.perform(get("/consumer/api/games/6/timeline").param("since", "1767225600000-0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("1767225660000-0"))
+                .andExpect(jsonPath("$[0].event.placarA").value(1));
+    }
+
+    @Test
+    void shouldRejectInvalidTimelineCursor() throws Exception {
+        mockMvc.perform(get("/consumer/api/games/6/timeline").param("since", "yesterday"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(timeline);
+    }
+
     @Test
     void shouldCreateGameAndReturnCreated() throws Exception {
         PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(2L);
@@ -82,4 +278,12 @@ class GameQueryControllerTest {
 
         verifyNoInteractions(cacheService);
     }
+
+    private static LiveGamesSnapshot.Snapshot snapshot() {
+        return new LiveGamesSnapshot.Snapshot("[]".getBytes(), new byte[] { 1, 2, 3 }, "abc123", 0, 1);
+    }
+
+    private static CallNotPermittedException breakerOpen() {
+        return CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("redis"));
+    }
 }
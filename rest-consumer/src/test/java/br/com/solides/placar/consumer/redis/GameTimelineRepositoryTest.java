@@ -0,0 +1,95 @@
+package br.com.solides.placar.consumer.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+import br.com.solides.placar.consumer.support.RedisObjectMapperFactory;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+@ExtendWith(MockitoExtension.class)
+class GameTimelineRepositoryTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    private final ObjectMapper objectMapper = RedisObjectMapperFactory.create();
+
+    private GameTimelineRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new GameTimelineRepository(stringRedisTemplate, objectMapper);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReadEntriesAfterCursor() throws Exception {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(1L, 20, 1, 0);
+        MapRecord<String, Object, Object> record = StreamRecords.newRecord()
+                .in("game:{1}:timeline")
+                .withId(RecordId.of("1767225660000-0"))
+                .ofMap(Map.<Object, Object>of("event", objectMapper.writeValueAsString(event)));
+        when(stringRedisTemplate.opsForStream()).thenReturn(streamOperations);
+        ArgumentCaptor<Range<String>> range = ArgumentCaptor.forClass(Range.class);
+        when(streamOperations.range(eq("game:{1}:timeline"), range.capture(), any(Limit.class)))
+                .thenReturn(List.of(record));
+
+        List<GameTimelineEntry> entries = repository.range(1L, "1767225600000-0", 10);
+
+        assertEquals(List.of(new GameTimelineEntry("1767225660000-0", event)), entries);
+        assertEquals("1767225600000-0", range.getValue().getLowerBound().getValue().orElseThrow());
+        assertFalse(range.getValue().getLowerBound().isInclusive());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldAppendInOnePipeline() {
+        repository.append(PlacarAtualizadoEventFactory.inicio(2L), 500, null);
+
+        verify(stringRedisTemplate).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void shouldDeleteTimeline() {
+        repository.delete(3L);
+
+        verify(stringRedisTemplate).delete("game:{3}:timeline");
+    }
+
+    @Test
+    void shouldWrapUnexpectedExceptionOnRange() {
+        when(stringRedisTemplate.opsForStream()).thenThrow(new IllegalStateException("boom"));
+
+        assertThrows(RedisConnectionFailureException.class, () -> repository.range(4L, null, 10));
+    }
+}
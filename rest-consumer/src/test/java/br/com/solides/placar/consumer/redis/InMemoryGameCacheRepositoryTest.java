@@ -0,0 +1,225 @@
+package br.com.solides.placar.consumer.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.metrics.GameCacheMetrics;
+import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+import br.com.solides.placar.consumer.support.RedisObjectMapperFactory;
+import br.com.solides.placar.shared.enums.StatusJogo;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class InMemoryGameCacheRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final GameCacheMetrics metrics = new GameCacheMetrics(new SimpleMeterRegistry());
+    private final GameEventRedisSerializer serializer = new GameEventRedisSerializer(
+            new Jackson2JsonRedisSerializer<>(RedisObjectMapperFactory.create(), PlacarAtualizadoEvent.class),
+            GameEventRedisSerializer.Format.BINARY, metrics);
+
+    private AppProperties properties;
+    private InMemoryGameCacheRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AppProperties();
+        repository = newRepository();
+    }
+
+    @Test
+    void shouldReturnCopiesOfStoredGames() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(1L, 10, 1, 0);
+        repository.save(event);
+
+        PlacarAtualizadoEvent found = repository.findById(1L);
+
+        assertNotSame(event, found);
+        assertEquals(event, found);
+        found.setPlacarA(5);
+        assertEquals(1, repository.findById(1L).getPlacarA());
+    }
+
+    @Test
+    void shouldHideExpiredGamesUntilIndexIsPruned() {
+        repository.saveGameWithTtl(PlacarAtualizadoEventFactory.finalizado(2L, 1, 1), Duration.ofSeconds(10));
+        repository.save(PlacarAtualizadoEventFactory.inicio(3L));
+
+        now.addAndGet(10_000);
+
+        assertNull(repository.findById(2L));
+        assertEquals(List.of(PlacarAtualizadoEventFactory.inicio(3L)), repository.findAllById(List.of(2L, 3L)));
+        assertEquals(2, repository.indexSize());
+        assertEquals(1, repository.pruneIndex(100));
+        assertEquals(1, repository.indexSize());
+    }
+
+    @Test
+    void shouldOnlyWriteNewerVersions() {
+        PlacarAtualizadoEvent v2 = versioned(PlacarAtualizadoEventFactory.emAndamento(4L, 20, 1, 0), 2L);
+        PlacarAtualizadoEvent v1 = versioned(PlacarAtualizadoEventFactory.emAndamento(4L, 10, 0, 0), 1L);
+
+        assertTrue(repository.saveIfNewer(v2, null));
+        assertFalse(repository.saveIfNewer(v1, null));
+        assertFalse(repository.saveIfNewer(v2, null));
+
+        assertEquals(v2, repository.findById(4L));
+        assertEquals(2L, repository.findVersion(4L));
+    }
+
+    @Test
+    void shouldLetTheTombstoneReplaceTheSameVersionAndNothingAfterIt() {
+        PlacarAtualizadoEvent naoIniciado = versioned(PlacarAtualizadoEventFactory.naoIniciado(4L), 3L);
+        PlacarAtualizadoEvent tombstone = naoIniciado.toBuilder().status(StatusJogo.EXCLUIDO).build();
+        repository.saveIfNewer(naoIniciado, null);
+
+        assertTrue(repository.saveIfNewer(tombstone, Duration.ofMinutes(10)));
+        assertFalse(repository.saveIfNewer(naoIniciado, null));
+
+        assertEquals(tombstone, repository.findById(4L));
+        assertEquals("x3", repository.findEtag(4L));
+        assertEquals(3L, repository.findVersion(4L));
+    }
+
+    @Test
+    void shouldForgetVersionWhenVersionedGameExpires() {
+        repository.saveIfNewer(versioned(PlacarAtualizadoEventFactory.finalizado(5L, 2, 0), 9L), Duration.ofSeconds(1));
+        now.addAndGet(1_000);
+
+        assertNull(repository.findVersion(5L));
+        assertTrue(repository.saveIfNewer(versioned(PlacarAtualizadoEventFactory.inicio(5L), 1L), null));
+    }
+
+    @Test
+    void shouldDropVersionOnUnversionedWrite() {
+        repository.saveIfNewer(versioned(PlacarAtualizadoEventFactory.inicio(6L), 3L), null);
+
+        repository.save(PlacarAtualizadoEventFactory.emAndamento(6L, 5, 0, 0));
+
+        assertNull(repository.findVersion(6L));
+    }
+
+    @Test
+    void shouldTagGamesWhenWritten() {
+        repository.saveIfNewer(versioned(PlacarAtualizadoEventFactory.inicio(6L), 3L), null);
+        assertEquals("3", repository.findEtag(6L));
+
+        repository.save(PlacarAtualizadoEventFactory.emAndamento(6L, 5, 0, 0));
+        String first = repository.findEtag(6L);
+        repository.save(PlacarAtualizadoEventFactory.emAndamento(6L, 6, 0, 0));
+
+        assertTrue(first.startsWith("h"));
+        assertNotEquals(first, repository.findEtag(6L));
+    }
+
+    @Test
+    void shouldCountStaleWritesOfBatch() {
+        repository.saveIfNewer(versioned(PlacarAtualizadoEventFactory.inicio(7L), 5L), null);
+
+        List<Long> rejected = repository.saveAll(List.of(
+                new GameWrite(versioned(PlacarAtualizadoEventFactory.inicio(7L), 4L), null),
+                new GameWrite(versioned(PlacarAtualizadoEventFactory.inicio(8L), 1L), null),
+                new GameWrite(PlacarAtualizadoEventFactory.inicio(9L), Duration.ofMinutes(1))));
+
+        assertEquals(List.of(7L), rejected);
+        assertEquals(3, repository.indexSize());
+    }
+
+    @Test
+    void shouldDeleteGameFromIndex() {
+        repository.save(PlacarAtualizadoEventFactory.inicio(10L));
+
+        repository.deleteById(10L);
+
+        assertNull(repository.findById(10L));
+        assertEquals(0, repository.indexSize());
+    }
+
+    @Test
+    void shouldVisitEveryIndexedId() {
+        for (long id = 1; id <= 50; id++) {
+            repository.save(PlacarAtualizadoEventFactory.inicio(id));
+        }
+
+        List<Long> visited = new ArrayList<>();
+        repository.forEachIndexedId(10, visited::add);
+
+        assertEquals(50, visited.size());
+    }
+
+    @Test
+    void shouldRestoreLiveGamesAndCheckpointFromSnapshot() {
+        Path snapshot = tempDir.resolve("cache/games.snapshot");
+        properties.getCache().getMemory().setSnapshotPath(snapshot.toString());
+        repository = newRepository();
+        PlacarAtualizadoEvent live = versioned(PlacarAtualizadoEventFactory.emAndamento(11L, 30, 2, 1), 7L);
+        repository.saveIfNewer(live, null);
+        repository.saveGameWithTtl(PlacarAtualizadoEventFactory.finalizado(12L, 1, 0), Duration.ofSeconds(5));
+        repository.saveRebuildCheckpoint(300L);
+
+        repository.stop();
+        assertTrue(Files.exists(snapshot));
+
+        now.addAndGet(5_000);
+        InMemoryGameCacheRepository restarted = newRepository();
+        restarted.start();
+
+        assertEquals(live, restarted.findById(11L));
+        assertEquals(7L, restarted.findVersion(11L));
+        assertNull(restarted.findById(12L));
+        assertEquals(1, restarted.indexSize());
+        assertEquals(300L, restarted.findRebuildCheckpoint());
+    }
+
+    @Test
+    void shouldSkipSnapshotWhenNothingChanged() throws Exception {
+        Path snapshot = tempDir.resolve("games.snapshot");
+        properties.getCache().getMemory().setSnapshotPath(snapshot.toString());
+        repository = newRepository();
+        repository.save(PlacarAtualizadoEventFactory.inicio(13L));
+        repository.snapshot();
+        Files.delete(snapshot);
+        Files.writeString(snapshot, "unchanged");
+
+        repository.snapshot();
+
+        assertEquals("unchanged", Files.readString(snapshot));
+    }
+
+    @Test
+    void shouldStartEmptyWithoutSnapshot() {
+        repository.start();
+
+        assertEquals(0, repository.indexSize());
+        assertNull(repository.findRebuildCheckpoint());
+    }
+
+    private InMemoryGameCacheRepository newRepository() {
+        return new InMemoryGameCacheRepository(serializer, metrics, properties, now::get);
+    }
+
+    private static PlacarAtualizadoEvent versioned(PlacarAtualizadoEvent event, long version) {
+        event.setVersao(version);
+        return event;
+    }
+}
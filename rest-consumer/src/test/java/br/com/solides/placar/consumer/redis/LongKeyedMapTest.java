@@ -0,0 +1,100 @@
+package br.com.solides.placar.consumer.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class LongKeyedMapTest {
+
+    private final LongKeyedMap<String> map = new LongKeyedMap<>();
+
+    @Test
+    void shouldPutGetAndRemove() {
+        map.put(1L, "a");
+        map.put(Long.MIN_VALUE, "min");
+        map.put(0L, "zero");
+
+        assertEquals("a", map.get(1L));
+        assertEquals("min", map.get(Long.MIN_VALUE));
+        assertEquals("zero", map.get(0L));
+        assertEquals(3, map.size());
+
+        assertEquals("a", map.remove(1L));
+        assertNull(map.get(1L));
+        assertNull(map.remove(1L));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void shouldMatchHashMapUnderRandomOperations() {
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(20_000);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    map.put(key, "v" + i);
+                    expected.put(key, "v" + i);
+                }
+                case 1 -> assertEquals(expected.remove(key), map.remove(key));
+                default -> assertEquals(expected.get(key), map.get(key));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        Map<Long, String> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    void shouldComputeAtomically() {
+        assertEquals("1", map.compute(5L, current -> current == null ? "1" : current + "1"));
+        assertEquals("11", map.compute(5L, current -> current == null ? "1" : current + "1"));
+        assertNull(map.compute(5L, current -> null));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void shouldRemoveMatchingEntries() {
+        for (long key = 0; key < 10_000; key++) {
+            map.put(key, key % 3 == 0 ? "drop" : "keep");
+        }
+
+        int removed = map.removeIf((key, value) -> value.equals("drop"));
+
+        assertEquals(3334, removed);
+        assertEquals(6666, map.size());
+        for (long key = 0; key < 10_000; key++) {
+            assertEquals(key % 3 == 0 ? null : "keep", map.get(key));
+        }
+    }
+
+    @Test
+    void shouldNotLoseUpdatesFromConcurrentWriters() throws Exception {
+        LongKeyedMap<Integer> counters = new LongKeyedMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counters.compute(i % 100, current -> current == null ? 1 : current + 1);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        for (long key = 0; key < 100; key++) {
+            assertEquals(400, counters.get(key));
+        }
+    }
+}
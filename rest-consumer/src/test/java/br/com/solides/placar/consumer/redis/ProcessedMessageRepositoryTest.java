@@ -0,0 +1,100 @@
+package br.com.solides.placar.consumer.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.types.Expiration;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessedMessageRepositoryTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private ProcessedMessageRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ProcessedMessageRepository(stringRedisTemplate);
+    }
+
+    @Test
+    void shouldCheckPrefixedKey() {
+        when(stringRedisTemplate.hasKey("msg:processed:abc")).thenReturn(true);
+
+        assertTrue(repository.exists("abc"));
+    }
+
+    @Test
+    void shouldRecordMessageOnlyOnce() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent("msg:processed:abc", "1", TTL)).thenReturn(true, false);
+
+        assertTrue(repository.markProcessed("abc", TTL));
+        assertFalse(repository.markProcessed("abc", TTL));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCheckBatchWithOnePipeline() {
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.<Object>of(false, true));
+
+        assertEquals(Set.of("b"), repository.findProcessed(List.of("a", "b")));
+        verify(stringRedisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRecordBatchWithSetNxInOnePipeline() {
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<Object>> getArgument(0).doInRedis(connection);
+            return List.of(true, false);
+        });
+
+        repository.markAllProcessed(List.of("a", "b"), TTL);
+
+        verify(stringCommands).set("msg:processed:a".getBytes(StandardCharsets.UTF_8),
+                "1".getBytes(StandardCharsets.UTF_8), Expiration.from(TTL), SetOption.ifAbsent());
+        verify(stringCommands).set("msg:processed:b".getBytes(StandardCharsets.UTF_8),
+                "1".getBytes(StandardCharsets.UTF_8), Expiration.from(TTL), SetOption.ifAbsent());
+    }
+
+    @Test
+    void shouldWrapUnexpectedErrorsAsConnectionFailure() {
+        when(stringRedisTemplate.hasKey("msg:processed:abc")).thenThrow(new IllegalStateException("boom"));
+
+        assertThrows(RedisConnectionFailureException.class, () -> repository.exists("abc"));
+    }
+}
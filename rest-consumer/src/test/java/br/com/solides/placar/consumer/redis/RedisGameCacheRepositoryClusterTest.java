@@ -0,0 +1,138 @@
+package br.com.solides.placar.consumer.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import br.com.solides.placar.consumer.metrics.GameCacheMetrics;
+import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+import br.com.solides.placar.consumer.support.RedisObjectMapperFactory;
+import br.com.solides.placar.shared.enums.StatusJogo;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Runs the batch reads and pipelined writes against a real Redis Cluster, whose nodes are given
+ * by the {@code redis.cluster.nodes} system property (e.g.
+ * {@code -Dredis.cluster.nodes=127.0.0.1:7001,127.0.0.1:7002,127.0.0.1:7003}). Skipped without
+ * it. The cluster is flushed before each test.
+ */
+@EnabledIfSystemProperty(named = "redis.cluster.nodes", matches = ".+")
+class RedisGameCacheRepositoryClusterTest {
+
+    private static final int GAMES = 50;
+
+    private static LettuceConnectionFactory connectionFactory;
+
+    private RedisGameCacheRepository repository;
+
+    @BeforeAll
+    static void connect() {
+        List<String> nodes = Arrays.asList(System.getProperty("redis.cluster.nodes").split(","));
+        connectionFactory = new LettuceConnectionFactory(new RedisClusterConfiguration(nodes));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        try (RedisClusterConnection connection = connectionFactory.getClusterConnection()) {
+            connection.serverCommands().flushAll();
+        }
+        RedisTemplate<String, PlacarAtualizadoEvent> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new GameEventRedisSerializer(
+                new Jackson2JsonRedisSerializer<>(RedisObjectMapperFactory.create(), PlacarAtualizadoEvent.class),
+                GameEventRedisSerializer.Format.BINARY));
+        template.afterPropertiesSet();
+        repository = new RedisGameCacheRepository(template, new StringRedisTemplate(connectionFactory),
+                new GameCacheMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void shouldReadGamesStoredInDifferentSlotsWithOneBatch() {
+        List<GameWrite> writes = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= GAMES; id++) {
+            PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(id, 10, 1, 0);
+            // Half versioned (compare-and-set script), half plain SETs
+            if (id % 2 == 0) {
+                event.setVersao(1L);
+            }
+            writes.add(new GameWrite(event, null));
+            ids.add(id);
+        }
+        assertTrue(slotsOf(ids).size() > 1);
+
+        assertEquals(List.of(), repository.saveAll(writes));
+        List<PlacarAtualizadoEvent> found = new ArrayList<>(repository.findAllById(ids));
+        found.sort(Comparator.comparing(PlacarAtualizadoEvent::getId));
+
+        assertEquals(ids, found.stream().map(PlacarAtualizadoEvent::getId).toList());
+        assertEquals(GAMES, repository.indexSize());
+    }
+
+    @Test
+    void shouldCompareAndSetEachGameOfAPipelineSpanningSlots() {
+        List<GameWrite> current = versions(5L);
+        assertEquals(List.of(), repository.saveAll(current));
+
+        List<Long> rejected = repository.saveAll(versions(4L));
+        assertEquals(GAMES, rejected.size());
+
+        List<GameWrite> mixed = new ArrayList<>();
+        for (GameWrite write : versions(6L)) {
+            PlacarAtualizadoEvent event = write.event();
+            // Odd ids are deleted with the last version: tombstones replace the same version
+            mixed.add(event.getId() % 2 == 0 ? write
+                    : new GameWrite(event.toBuilder().versao(5L).status(StatusJogo.EXCLUIDO).build(),
+                            Duration.ofMinutes(10)));
+        }
+        assertEquals(List.of(), repository.saveAll(mixed));
+
+        for (long id = 1; id <= GAMES; id++) {
+            assertEquals(id % 2 == 0 ? "6" : "x5", repository.findEtag(id));
+        }
+    }
+
+    private static List<GameWrite> versions(long versao) {
+        List<GameWrite> writes = new ArrayList<>();
+        for (long id = 1; id <= GAMES; id++) {
+            PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(id, 10, 1, 0);
+            event.setVersao(versao);
+            writes.add(new GameWrite(event, null));
+        }
+        return writes;
+    }
+
+    private static Set<Integer> slotsOf(List<Long> ids) {
+        return ids.stream().map(id -> ClusterSlotHashUtil.calculateSlot(GameKeys.value(id)))
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,480 @@
+package br.com.solides.placar.consumer.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import br.com.solides.placar.consumer.metrics.GameCacheMetrics;
+import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+import br.com.solides.placar.shared.enums.StatusJogo;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class RedisGameCacheRepositoryTest {
+
+    @Mock
+    private RedisTemplate<String, PlacarAtualizadoEvent> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, PlacarAtualizadoEvent> valueOperations;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private ValueOperations<String, String> stringValueOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RedisGameCacheRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RedisGameCacheRepository(redisTemplate, stringRedisTemplate,
+                new GameCacheMetrics(meterRegistry));
+        lenient().when(stringRedisTemplate.opsForSet()).thenReturn(setOperations);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSaveEventToRedis() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(1L);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.<Object>of(true, true));
+
+        repository.save(event);
+
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+        verify(setOperations).add(RedisGameCacheRepository.INDEX_KEY, "1");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSaveEventToRedisWithTtl() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(1L);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.<Object>of(true, true));
+
+        repository.saveGameWithTtl(event, Duration.ofMinutes(10));
+
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+        verify(setOperations).add(RedisGameCacheRepository.INDEX_KEY, "1");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStoreContentTagInVersionKeyWhenSavingUnversionedEvent() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(1L);
+        GameEventRedisSerializer serializer = new GameEventRedisSerializer(null, GameEventRedisSerializer.Format.BINARY);
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisStringCommands strings = mock(RedisStringCommands.class);
+        when(connection.stringCommands()).thenReturn(strings);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, RedisCallback.class).doInRedis(connection);
+            return List.<Object>of(true, true);
+        });
+
+        repository.save(event);
+
+        byte[] value = serializer.serialize(event);
+        verify(strings).set("game:{1}".getBytes(StandardCharsets.UTF_8), value);
+        verify(strings).set("game:{1}:version".getBytes(StandardCharsets.UTF_8),
+                GameEtags.content(value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReadOnlyVersionKey() {
+        ValueOperations<String, String> versions = org.mockito.Mockito.mock(ValueOperations.class);
+        when(stringRedisTemplate.opsForValue()).thenReturn(versions);
+        when(versions.get("game:{8}:version")).thenReturn("12");
+
+        assertEquals(12L, repository.findVersion(8L));
+        assertEquals("12", repository.findEtag(8L));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReadVersionFromTombstoneTag() {
+        ValueOperations<String, String> versions = org.mockito.Mockito.mock(ValueOperations.class);
+        when(stringRedisTemplate.opsForValue()).thenReturn(versions);
+        when(versions.get("game:{8}:version")).thenReturn("x12");
+
+        assertEquals(12L, repository.findVersion(8L));
+        assertEquals("x12", repository.findEtag(8L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReadNoVersionFromContentTag() {
+        ValueOperations<String, String> versions = org.mockito.Mockito.mock(ValueOperations.class);
+        when(stringRedisTemplate.opsForValue()).thenReturn(versions);
+        when(versions.get("game:{8}:version")).thenReturn("h0123456789abcdef");
+
+        assertNull(repository.findVersion(8L));
+        assertEquals("h0123456789abcdef", repository.findEtag(8L));
+    }
+
+    @Test
+    void shouldRemoveFromIndexWhenDeleting() {
+        when(redisTemplate.delete(List.of("game:{3}", "game:{3}:version"))).thenReturn(2L);
+
+        repository.deleteById(3L);
+
+        verify(setOperations).remove(RedisGameCacheRepository.INDEX_KEY, "3");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldIndexGameWhenVersionedWriteIsAccepted() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(4L, 20, 1, 0);
+        event.setVersao(5L);
+        doReturn(new GameEventRedisSerializer(null, GameEventRedisSerializer.Format.BINARY)).when(redisTemplate)
+                .getValueSerializer();
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of("game:{4}", "game:{4}:version")), any(Object[].class))).thenReturn(1L);
+
+        assertTrue(repository.saveIfNewer(event, null));
+
+        verify(setOperations).add(RedisGameCacheRepository.INDEX_KEY, "4");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReportStaleWhenVersionedWriteIsRejected() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(4L, 20, 1, 0);
+        event.setVersao(5L);
+        doReturn(new GameEventRedisSerializer(null, GameEventRedisSerializer.Format.BINARY)).when(redisTemplate)
+                .getValueSerializer();
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of("game:{4}", "game:{4}:version")), any(Object[].class))).thenReturn(0L);
+
+        assertFalse(repository.saveIfNewer(event, Duration.ofMinutes(10)));
+
+        verifyNoInteractions(setOperations);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldLetOnlyTombstonesReplaceTheSameVersion() {
+        PlacarAtualizadoEvent update = PlacarAtualizadoEventFactory.naoIniciado(4L);
+        update.setVersao(5L);
+        PlacarAtualizadoEvent tombstone = update.toBuilder().status(StatusJogo.EXCLUIDO).build();
+        doReturn(new GameEventRedisSerializer(null, GameEventRedisSerializer.Format.BINARY)).when(redisTemplate)
+                .getValueSerializer();
+        List<String> terminal = new ArrayList<>();
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of("game:{4}", "game:{4}:version")), any(Object[].class))).thenAnswer(invocation -> {
+                    Object[] args = (Object[]) invocation.getRawArguments()[4];
+                    terminal.add(new String((byte[]) args[3], StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        repository.saveIfNewer(update, null);
+        repository.saveIfNewer(tombstone, Duration.ofMinutes(10));
+
+        assertEquals(List.of("0", "1"), terminal);
+        assertTrue(RedisGameCacheRepository.SAVE_IF_NEWER_LUA.contains("stored == incoming and ARGV[4] ~= '1'"));
+        assertTrue(RedisGameCacheRepository.SAVE_IF_NEWER_LUA.contains("tag = 'x' .. tag"));
+    }
+
+    @Test
+    void shouldNotWriteUnversionedEventWithCompareAndSet() {
+        assertFalse(repository.saveIfNewer(PlacarAtualizadoEventFactory.inicio(4L), null));
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldIndexOnlyAcceptedWritesOfBatch() {
+        PlacarAtualizadoEvent fresh = PlacarAtualizadoEventFactory.inicio(6L);
+        PlacarAtualizadoEvent stale = PlacarAtualizadoEventFactory.inicio(7L);
+        stale.setVersao(2L);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.<Object>of(true, 1L, 0L));
+
+        List<Long> rejected = repository.saveAll(List.of(new GameWrite(fresh, null), new GameWrite(stale, null)));
+
+        assertEquals(List.of(7L), rejected);
+        verify(setOperations).add(RedisGameCacheRepository.INDEX_KEY, "6");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldPruneIdsWhoseValueExpired() {
+        Cursor<String> cursor = org.mockito.Mockito.mock(Cursor.class);
+        Iterator<String> ids = List.of("1", "2", "3").iterator();
+        when(cursor.hasNext()).thenAnswer(invocation -> ids.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> ids.next());
+        when(setOperations.scan(eq(RedisGameCacheRepository.INDEX_KEY), any(ScanOptions.class))).thenReturn(cursor);
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenReturn(List.<Object>of(true, false, false));
+        when(setOperations.remove(RedisGameCacheRepository.INDEX_KEY, "2", "3")).thenReturn(2L);
+
+        long removed = repository.pruneIndex(500);
+
+        assertEquals(2L, removed);
+        verify(cursor).close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStreamIndexedIds() {
+        Cursor<String> cursor = org.mockito.Mockito.mock(Cursor.class);
+        Iterator<String> ids = List.of("4", "9").iterator();
+        when(cursor.hasNext()).thenAnswer(invocation -> ids.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> ids.next());
+        when(setOperations.scan(eq(RedisGameCacheRepository.INDEX_KEY), any(ScanOptions.class))).thenReturn(cursor);
+        List<Long> seen = new ArrayList<>();
+
+        repository.forEachIndexedId(100, seen::add);
+
+        assertEquals(List.of(4L, 9L), seen);
+        verify(cursor).close();
+    }
+
+    @Test
+    void shouldReadSeveralGamesWithOneMget() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(1L);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("game:{1}", "game:{2}"))).thenReturn(Arrays.asList(event, null));
+
+        assertEquals(List.of(event), repository.findAllById(List.of(1L, 2L)));
+    }
+
+    @Test
+    void shouldReadRebuildCheckpoint() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(stringValueOperations);
+        when(stringValueOperations.get(RedisGameCacheRepository.REBUILD_CHECKPOINT_KEY)).thenReturn("120");
+
+        assertEquals(120L, repository.findRebuildCheckpoint());
+    }
+
+    @Test
+    void shouldSaveAndClearRebuildCheckpoint() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(stringValueOperations);
+
+        repository.saveRebuildCheckpoint(200L);
+        repository.saveRebuildCheckpoint(null);
+
+        verify(stringValueOperations).set(RedisGameCacheRepository.REBUILD_CHECKPOINT_KEY, "200");
+        verify(stringRedisTemplate).delete(RedisGameCacheRepository.REBUILD_CHECKPOINT_KEY);
+    }
+
+    @Test
+    void shouldReadIndexSize() {
+        when(setOperations.size(RedisGameCacheRepository.INDEX_KEY)).thenReturn(42L);
+
+        assertEquals(42L, repository.indexSize());
+    }
+
+    @Test
+    void shouldFindEventInRedis() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(1L);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("game:{1}")).thenReturn(event);
+
+        PlacarAtualizadoEvent result = repository.findById(1L);
+
+        assertEquals(event, result);
+        assertEquals(1, meterRegistry.get("placar.cache.operation").tag("operation", "find")
+                .tag("phase", "network").timer().count());
+    }
+
+    @Test
+    void shouldKeepValueVersionAndTimelineOfAGameInOneSlot() {
+        int slot = ClusterSlotHashUtil.calculateSlot(GameKeys.value(42L));
+
+        assertEquals(slot, ClusterSlotHashUtil.calculateSlot(GameKeys.version(42L)));
+        assertEquals(slot, ClusterSlotHashUtil.calculateSlot(GameKeys.timeline(42L)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldMoveLegacyKeysOncePerGame() {
+        Cursor<String> cursor = org.mockito.Mockito.mock(Cursor.class);
+        Iterator<String> keys = List.of("game:7", "game:7:version", "game:8:timeline").iterator();
+        when(cursor.hasNext()).thenAnswer(invocation -> keys.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> keys.next());
+        when(stringRedisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.<Object>of(1L, 0L));
+
+        long moved = repository.migrateLegacyKeys(500);
+
+        assertEquals(1L, moved);
+        verify(stringRedisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        verify(cursor).close();
+    }
+
+    @Test
+    void shouldSkipLegacyKeyMigrationOnCluster() {
+        LettuceConnectionFactory connectionFactory = mock(LettuceConnectionFactory.class);
+        when(connectionFactory.isClusterAware()).thenReturn(true);
+        when(redisTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        RedisGameCacheRepository clusterRepository = new RedisGameCacheRepository(redisTemplate,
+                stringRedisTemplate, new GameCacheMetrics(meterRegistry));
+
+        assertEquals(0L, clusterRepository.migrateLegacyKeys(500));
+        verify(stringRedisTemplate, never()).scan(any(ScanOptions.class));
+    }
+
+    @Test
+    void shouldReadIdOfLegacyKeysOnly() {
+        assertEquals(42L, GameKeys.legacyId("game:42"));
+        assertEquals(42L, GameKeys.legacyId("game:42:timeline"));
+        assertNull(GameKeys.legacyId("game:{42}"));
+        assertNull(GameKeys.legacyId("game:ids"));
+    }
+
+    @Test
+    void shouldIgnoreSaveWhenEventIsNull() {
+        repository.save(null);
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void shouldIgnoreSaveWhenEventIdIsNull() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(null);
+
+        repository.save(event);
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void shouldIgnoreSaveWithTtlWhenEventIsNull() {
+        repository.saveGameWithTtl(null, Duration.ofMinutes(5));
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void shouldIgnoreSaveWithTtlWhenEventIdIsNull() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(null);
+
+        repository.saveGameWithTtl(event, Duration.ofMinutes(5));
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void shouldReturnNullWhenFindByIdReceivesNull() {
+        PlacarAtualizadoEvent result = repository.findById(null);
+
+        assertNull(result);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void shouldReturnNullWhenNotFound() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("game:{99}")).thenReturn(null);
+
+        PlacarAtualizadoEvent result = repository.findById(99L);
+        
+        assertNull(result);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldPropagateRedisConnectionExceptionOnSave() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(1L);
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("Connection failed"));
+
+        assertThrows(RedisConnectionFailureException.class, () -> repository.save(event));
+    }
+
+    @Test
+    void shouldPropagateRedisConnectionExceptionOnFind() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(any())).thenThrow(new RedisConnectionFailureException("Connection failed"));
+
+        assertThrows(RedisConnectionFailureException.class, () -> repository.findById(1L));
+        assertEquals(1, meterRegistry.get("placar.cache.operation").tag("operation", "find")
+                .tag("phase", "network").timer().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldWrapUnexpectedExceptionOnSave() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(10L);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenThrow(new RuntimeException("boom"));
+
+        assertThrows(RedisConnectionFailureException.class, () -> repository.save(event));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldWrapUnexpectedExceptionOnSaveWithTtl() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(11L);
+        Duration ttl = Duration.ofMinutes(3);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenThrow(new RuntimeException("boom"));
+
+        assertThrows(RedisConnectionFailureException.class, () -> repository.saveGameWithTtl(event, ttl));
+    }
+
+    @Test
+    void shouldWrapUnexpectedExceptionOnFind() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("game:{12}")).thenThrow(new RuntimeException("boom"));
+
+        assertThrows(RedisConnectionFailureException.class, () -> repository.findById(12L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldPropagateRedisConnectionExceptionOnSaveWithTtl() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(13L);
+        Duration ttl = Duration.ofMinutes(2);
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("Connection failed"));
+
+        assertThrows(RedisConnectionFailureException.class, () -> repository.saveGameWithTtl(event, ttl));
+        verifyNoInteractions(setOperations);
+    }
+}
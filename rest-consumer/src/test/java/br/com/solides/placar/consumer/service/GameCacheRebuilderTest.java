@@ -0,0 +1,126 @@
+package br.com.solides.placar.consumer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.publisher.PublisherGameClient;
+import br.com.solides.placar.consumer.redis.GameCacheRepository;
+import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class GameCacheRebuilderTest {
+
+    @Mock
+    private PublisherGameClient publisherClient;
+
+    @Mock
+    private GameCacheService cacheService;
+
+    @Mock
+    private GameCacheRepository cacheRepository;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<Runnable> submitted = new ArrayList<>();
+
+    private GameCacheRebuilder rebuilder;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties properties = new AppProperties();
+        properties.getCache().getRebuild().setPageSize(2);
+        properties.getCache().getRebuild().setMaxGamesPerSecond(1_000_000);
+        rebuilder = new GameCacheRebuilder(publisherClient, cacheService, cacheRepository, properties, submitted::add,
+                registry);
+    }
+
+    @Test
+    void shouldLoadEveryPageAndClearCheckpoint() {
+        List<PlacarAtualizadoEvent> first = List.of(PlacarAtualizadoEventFactory.inicio(1L),
+                PlacarAtualizadoEventFactory.inicio(2L));
+        List<PlacarAtualizadoEvent> second = List.of(PlacarAtualizadoEventFactory.finalizado(5L, 1, 0));
+        when(publisherClient.findPage(0L, 2)).thenReturn(first);
+        when(publisherClient.findPage(2L, 2)).thenReturn(second);
+        when(publisherClient.findPage(5L, 2)).thenReturn(List.of());
+        when(cacheService.saveBatch(first)).thenReturn(1);
+
+        rebuilder.run(false);
+
+        verify(cacheRepository).saveRebuildCheckpoint(2L);
+        verify(cacheRepository).saveRebuildCheckpoint(5L);
+        verify(cacheRepository).saveRebuildCheckpoint(null);
+        GameCacheRebuilder.Progress progress = rebuilder.progress();
+        assertEquals(2, progress.loaded());
+        assertEquals(1, progress.stale());
+        assertEquals(5L, progress.lastId());
+        assertNull(progress.lastError());
+        assertEquals(2.0, registry.get("placar.cache.rebuild.loaded").gauge().value());
+    }
+
+    @Test
+    void shouldResumeFromCheckpoint() {
+        when(cacheRepository.findRebuildCheckpoint()).thenReturn(40L);
+        when(publisherClient.findPage(40L, 2)).thenReturn(List.of());
+
+        rebuilder.run(false);
+
+        verify(publisherClient).findPage(40L, 2);
+    }
+
+    @Test
+    void shouldIgnoreCheckpointWhenRestarting() {
+        when(publisherClient.findPage(0L, 2)).thenReturn(List.of());
+
+        rebuilder.run(true);
+
+        verify(cacheRepository, never()).findRebuildCheckpoint();
+        verify(publisherClient).findPage(0L, 2);
+    }
+
+    @Test
+    void shouldKeepCheckpointWhenPublisherFails() {
+        List<PlacarAtualizadoEvent> first = List.of(PlacarAtualizadoEventFactory.inicio(1L),
+                PlacarAtualizadoEventFactory.inicio(3L));
+        when(publisherClient.findPage(0L, 2)).thenReturn(first);
+        when(publisherClient.findPage(3L, 2)).thenThrow(new IllegalStateException("publisher unavailable"));
+
+        rebuilder.run(false);
+
+        verify(cacheRepository).saveRebuildCheckpoint(3L);
+        verify(cacheRepository, never()).saveRebuildCheckpoint(null);
+        assertEquals("publisher unavailable", rebuilder.progress().lastError());
+        assertFalse(rebuilder.progress().running());
+    }
+
+    @Test
+    void shouldNotStartTwice() {
+        assertTrue(rebuilder.start(false));
+        assertFalse(rebuilder.start(false));
+        assertTrue(rebuilder.progress().running());
+        assertEquals(1, submitted.size());
+
+        when(publisherClient.findPage(anyLong(), anyInt())).thenReturn(List.of());
+        submitted.get(0).run();
+
+        assertFalse(rebuilder.progress().running());
+        assertTrue(rebuilder.start(true));
+    }
+}
@@ -1,23 +1,41 @@
 package br.com.solides.placar.consumer.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.metrics.GameCacheMetrics;
+import br.com.solides.placar.consumer.metrics.GameEventMetrics;
 import br.com.solides.placar.consumer.redis.GameCacheRepository;
+import br.com.solides.placar.consumer.redis.GameWrite;
 import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
 import br.com.solides.placar.shared.enums.StatusJogo;
 import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class GameCacheServiceTest {
@@ -25,6 +43,24 @@ class GameCacheServiceTest {
     @Mock
     private GameCacheRepository cacheRepository;
 
+    @Spy
+    private GameRetentionPolicy retentionPolicy = new GameRetentionPolicy(new AppProperties());
+
+    @Mock
+    private GameWriteBehindBuffer writeBehind;
+
+    @Mock
+    private GameEventMetrics metrics;
+
+    @Mock
+    private GameReadThroughLoader readThrough;
+
+    @Mock
+    private GameNegativeLookup negativeLookup;
+
+    @Spy
+    private GameCacheMetrics cacheMetrics = new GameCacheMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private GameCacheService cacheService;
 
@@ -48,6 +84,215 @@ class GameCacheServiceTest {
         verify(cacheRepository).save(event);
     }
 
+    @Test
+    void shouldApplyFinishedTtlWhenSavingFinishedGame() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.finalizado(4L, 1, 0);
+
+        cacheService.save(event);
+
+        verify(cacheRepository).saveGameWithTtl(event, Duration.ofHours(12));
+        verify(cacheRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldWriteTombstoneWhenMarkingDeleted() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(5L);
+        event.setStatus(StatusJogo.EXCLUIDO);
+
+        cacheService.markDeleted(event);
+
+        verify(cacheRepository).saveGameWithTtl(event, Duration.ofMinutes(10));
+        verify(cacheRepository, never()).deleteById(5L);
+    }
+
+    @Test
+    void shouldWriteTombstoneCarryingTheLastVersionOfTheGame() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.naoIniciado(5L);
+        event.setVersao(3L);
+        PlacarAtualizadoEvent tombstone = event.toBuilder().status(StatusJogo.EXCLUIDO).build();
+        when(cacheRepository.findById(5L)).thenReturn(event);
+        when(cacheRepository.saveIfNewer(tombstone, Duration.ofMinutes(10))).thenReturn(true);
+
+        assertTrue(cacheService.markDeleted(tombstone));
+    }
+
+    @Test
+    void shouldNotRepeatAnExistingTombstone() {
+        PlacarAtualizadoEvent tombstone = PlacarAtualizadoEventFactory.naoIniciado(5L);
+        tombstone.setStatus(StatusJogo.EXCLUIDO);
+        tombstone.setVersao(3L);
+        when(cacheRepository.findById(5L)).thenReturn(tombstone);
+
+        assertFalse(cacheService.markDeleted(tombstone.toBuilder().build()));
+        verify(cacheRepository, never()).saveIfNewer(any(), any());
+        verify(cacheMetrics).mergeOutcome(GameCacheMetrics.MERGE_IGNORED_DELETED);
+    }
+
+    @Test
+    void shouldDiscardVersionedEventsOfADeletedGame() {
+        PlacarAtualizadoEvent tombstone = PlacarAtualizadoEventFactory.naoIniciado(5L);
+        tombstone.setStatus(StatusJogo.EXCLUIDO);
+        tombstone.setVersao(3L);
+        when(cacheRepository.findById(5L)).thenReturn(tombstone);
+        PlacarAtualizadoEvent late = PlacarAtualizadoEventFactory.inicio(5L);
+        late.setVersao(4L);
+
+        assertNull(cacheService.mergeWithCached(late));
+        verify(cacheMetrics).mergeOutcome(GameCacheMetrics.MERGE_IGNORED_DELETED);
+    }
+
+    @Test
+    void shouldDeleteImmediatelyWhenTombstonesAreDisabled() {
+        AppProperties properties = new AppProperties();
+        properties.getCache().getRetention().setTombstoneTtl(Duration.ZERO);
+        GameCacheService service = new GameCacheService(cacheRepository, new GameRetentionPolicy(properties),
+                writeBehind, metrics, readThrough, negativeLookup, cacheMetrics);
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(6L);
+        event.setStatus(StatusJogo.EXCLUIDO);
+
+        service.markDeleted(event);
+
+        verify(cacheRepository).deleteById(6L);
+    }
+
+    @Test
+    void shouldBufferWriteWhenWriteBehindIsEnabled() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(12L, 30, 1, 0);
+        when(writeBehind.isEnabled()).thenReturn(true);
+        when(writeBehind.write(List.of(new GameWrite(event, null)))).thenReturn(Set.of());
+
+        assertTrue(cacheService.save(event));
+
+        verify(cacheRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldReportBufferedWriteRejectedAsStale() {
+        PlacarAtualizadoEvent event = versioned(PlacarAtualizadoEventFactory.emAndamento(14L, 30, 1, 0), 2L);
+        when(writeBehind.isEnabled()).thenReturn(true);
+        when(writeBehind.write(List.of(new GameWrite(event, null)))).thenReturn(Set.of(14L));
+
+        assertFalse(cacheService.save(event));
+
+        verify(metrics).staleDiscarded(GameEventMetrics.STAGE_WRITE, 1);
+        verify(cacheRepository, never()).saveIfNewer(any(), any());
+    }
+
+    @Test
+    void shouldReadPendingStateBeforeRedis() {
+        PlacarAtualizadoEvent pending = PlacarAtualizadoEventFactory.emAndamento(13L, 31, 2, 0);
+        when(writeBehind.pendingState(13L)).thenReturn(pending);
+
+        assertSame(pending, cacheService.findById(13L));
+        verify(cacheRepository, never()).findById(13L);
+    }
+
+    @Test
+    void shouldReadVersionWithoutLoadingEvent() {
+        when(cacheRepository.findVersion(14L)).thenReturn(9L);
+
+        assertEquals(9L, cacheService.findVersion(14L));
+        verify(cacheRepository, never()).findById(14L);
+    }
+
+    @Test
+    void shouldReadVersionOfPendingState() {
+        PlacarAtualizadoEvent pending = PlacarAtualizadoEventFactory.emAndamento(15L, 31, 2, 0);
+        pending.setVersao(4L);
+        when(writeBehind.pendingState(15L)).thenReturn(pending);
+
+        assertEquals(4L, cacheService.findVersion(15L));
+        verify(cacheRepository, never()).findVersion(15L);
+    }
+
+    @Test
+    void shouldLoadAndCacheMissingGameWhenReadThroughIsEnabled() {
+        PlacarAtualizadoEvent loaded = PlacarAtualizadoEventFactory.emAndamento(16L, 12, 0, 1);
+        when(readThrough.isEnabled()).thenReturn(true);
+        when(readThrough.load(16L)).thenReturn(found(loaded));
+
+        assertSame(loaded, cacheService.findById(16L));
+        verify(cacheRepository).save(loaded);
+    }
+
+    @Test
+    void shouldReturnCachedGameWhenLoadedSnapshotIsOlder() {
+        PlacarAtualizadoEvent loaded = PlacarAtualizadoEventFactory.emAndamento(17L, 12, 0, 1);
+        loaded.setVersao(3L);
+        PlacarAtualizadoEvent newer = PlacarAtualizadoEventFactory.emAndamento(17L, 13, 1, 1);
+        newer.setVersao(4L);
+        when(readThrough.isEnabled()).thenReturn(true);
+        when(readThrough.load(17L)).thenReturn(found(loaded));
+        when(cacheRepository.saveIfNewer(loaded, null)).thenReturn(false);
+        when(cacheRepository.findById(17L)).thenReturn(null, newer);
+
+        assertSame(newer, cacheService.findById(17L));
+    }
+
+    @Test
+    void shouldRecordMissOnlyWhenPublisherDoesNotKnowTheGame() {
+        when(readThrough.isEnabled()).thenReturn(true);
+        when(readThrough.load(19L)).thenReturn(GameReadThroughLoader.Load.NOT_FOUND);
+
+        assertNull(cacheService.findById(19L));
+
+        verify(negativeLookup).recordMiss(19L);
+    }
+
+    @Test
+    void shouldNotRecordMissWhenReadThroughIsUnavailable() {
+        when(readThrough.isEnabled()).thenReturn(true);
+        when(readThrough.load(20L)).thenReturn(GameReadThroughLoader.Load.UNAVAILABLE);
+
+        assertNull(cacheService.findById(20L));
+
+        verify(negativeLookup, never()).recordMiss(20L);
+    }
+
+    @Test
+    void shouldNotLoadWhenReadThroughIsDisabled() {
+        assertNull(cacheService.findById(18L));
+
+        verify(readThrough, never()).load(any());
+    }
+
+    @Test
+    void shouldReportTombstoneAsNotFound() {
+        PlacarAtualizadoEvent tombstone = PlacarAtualizadoEventFactory.inicio(8L);
+        tombstone.setStatus(StatusJogo.EXCLUIDO);
+        when(cacheRepository.findById(8L)).thenReturn(tombstone);
+
+        assertNull(cacheService.findById(8L));
+    }
+
+    @Test
+    void shouldIgnoreLateEventForDeletedGame() {
+        PlacarAtualizadoEvent tombstone = PlacarAtualizadoEventFactory.inicio(9L);
+        tombstone.setStatus(StatusJogo.EXCLUIDO);
+        PlacarAtualizadoEvent late = PlacarAtualizadoEventFactory.emAndamento(9L, 50, 1, 0);
+        when(cacheRepository.findById(9L)).thenReturn(tombstone);
+
+        PlacarAtualizadoEvent result = cacheService.mergeWithCached(late);
+
+        assertNull(result);
+        assertEquals(StatusJogo.EXCLUIDO, tombstone.getStatus());
+        verify(cacheMetrics).mergeOutcome(GameCacheMetrics.MERGE_IGNORED_DELETED);
+    }
+
+    @Test
+    void shouldNotRewriteTombstoneForLateEventsInBatch() {
+        PlacarAtualizadoEvent tombstone = PlacarAtualizadoEventFactory.inicio(12L);
+        tombstone.setStatus(StatusJogo.EXCLUIDO);
+        PlacarAtualizadoEvent late = PlacarAtualizadoEventFactory.emAndamento(12L, 50, 1, 0);
+        PlacarAtualizadoEvent live = PlacarAtualizadoEventFactory.emAndamento(13L, 20, 0, 0);
+        when(cacheRepository.findAllById(List.of(12L, 13L))).thenReturn(List.of(tombstone));
+        when(cacheRepository.saveAll(List.of(new GameWrite(live, null)))).thenReturn(List.of());
+
+        List<PlacarAtualizadoEvent> written = cacheService.mergeAndSaveAll(List.of(late, live));
+
+        assertEquals(List.of(live), written);
+    }
+
     @Test
     void shouldDelegateSaveWithTtlToRepository() {
         PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(3L);
@@ -74,6 +319,7 @@ class GameCacheServiceTest {
 
         assertSame(incoming, result);
         verify(cacheRepository).findById(10L);
+        verify(cacheMetrics).mergeOutcome(GameCacheMetrics.MERGE_MISS);
     }
 
     @Test
@@ -87,12 +333,14 @@ class GameCacheServiceTest {
 
         PlacarAtualizadoEvent result = cacheService.mergeWithCached(incoming);
 
-        assertSame(cached, result);
+        assertNotSame(cached, result);
+        assertEquals(0, cached.getPlacarA());
         assertEquals(2, result.getPlacarA());
         assertEquals(1, result.getPlacarB());
         assertEquals(StatusJogo.FINALIZADO, result.getStatus());
         assertEquals(90, result.getTempoDeJogo());
         assertEquals(LocalDateTime.of(2026, 2, 1, 14, 0, 0), result.getDataHoraEncerramento());
+        verify(cacheMetrics).mergeOutcome(GameCacheMetrics.MERGE_APPLIED);
     }
 
     @Test
@@ -104,6 +352,7 @@ class GameCacheServiceTest {
         PlacarAtualizadoEvent result = cacheService.mergeWithCached(incoming);
 
         assertSame(cached, result);
+        verify(cacheMetrics).mergeOutcome(GameCacheMetrics.MERGE_IGNORED_FINISHED);
     }
 
     @Test
@@ -115,6 +364,71 @@ class GameCacheServiceTest {
         PlacarAtualizadoEvent result = cacheService.mergeWithCached(incoming);
 
         assertSame(cached, result);
+        verify(cacheMetrics).mergeOutcome(GameCacheMetrics.MERGE_IGNORED_OLDER);
+    }
+
+    @Test
+    void shouldDiscardIncomingWhenVersionIsNotNewer() {
+        PlacarAtualizadoEvent cached = versioned(PlacarAtualizadoEventFactory.emAndamento(20L, 30, 2, 0), 7L);
+        PlacarAtualizadoEvent incoming = versioned(PlacarAtualizadoEventFactory.emAndamento(20L, 30, 1, 0), 6L);
+        when(cacheRepository.findById(20L)).thenReturn(cached);
+
+        assertNull(cacheService.mergeWithCached(incoming));
+
+        verify(metrics).staleDiscarded(GameEventMetrics.STAGE_MERGE, 1);
+        verify(cacheMetrics).mergeOutcome(GameCacheMetrics.MERGE_IGNORED_OLDER);
+    }
+
+    @Test
+    void shouldUseIncomingWhenVersionIsNewerEvenWithinSameMinute() {
+        PlacarAtualizadoEvent cached = versioned(PlacarAtualizadoEventFactory.emAndamento(21L, 30, 1, 0), 6L);
+        PlacarAtualizadoEvent incoming = versioned(PlacarAtualizadoEventFactory.emAndamento(21L, 30, 2, 0), 7L);
+        when(cacheRepository.findById(21L)).thenReturn(cached);
+
+        assertSame(incoming, cacheService.mergeWithCached(incoming));
+
+        verifyNoInteractions(metrics);
+    }
+
+    @Test
+    void shouldCountGapWhenVersionsAreSkipped() {
+        PlacarAtualizadoEvent cached = versioned(PlacarAtualizadoEventFactory.emAndamento(22L, 30, 1, 0), 3L);
+        PlacarAtualizadoEvent incoming = versioned(PlacarAtualizadoEventFactory.emAndamento(22L, 40, 3, 0), 6L);
+        when(cacheRepository.findById(22L)).thenReturn(cached);
+
+        assertSame(incoming, cacheService.mergeWithCached(incoming));
+
+        verify(metrics).versionGap();
+    }
+
+    @Test
+    void shouldSaveVersionedEventWithCompareAndSet() {
+        PlacarAtualizadoEvent event = versioned(PlacarAtualizadoEventFactory.emAndamento(23L, 10, 0, 0), 2L);
+        when(cacheRepository.saveIfNewer(event, null)).thenReturn(true);
+
+        assertTrue(cacheService.save(event));
+
+        verify(cacheRepository, never()).save(any());
+        verifyNoInteractions(metrics);
+    }
+
+    @Test
+    void shouldCountStaleWhenCompareAndSetRejectsWrite() {
+        PlacarAtualizadoEvent event = versioned(PlacarAtualizadoEventFactory.emAndamento(24L, 10, 0, 0), 2L);
+        when(cacheRepository.saveIfNewer(event, null)).thenReturn(false);
+
+        assertFalse(cacheService.save(event));
+
+        verify(metrics).staleDiscarded(GameEventMetrics.STAGE_WRITE, 1);
+    }
+
+    @Test
+    void shouldNotLoadFromPublisherWhenMerging() {
+        PlacarAtualizadoEvent incoming = PlacarAtualizadoEventFactory.inicio(51L);
+
+        assertSame(incoming, cacheService.mergeWithCached(incoming));
+
+        verifyNoInteractions(readThrough);
     }
 
     @Test
@@ -126,4 +440,147 @@ class GameCacheServiceTest {
 
         assertSame(incoming, result);
     }
+
+    @Test
+    void shouldSkipRedisAndPublisherWhenIdIsKnownAbsent() {
+        when(negativeLookup.isKnownAbsent(60L)).thenReturn(true);
+
+        assertNull(cacheService.findById(60L));
+
+        verifyNoInteractions(cacheRepository);
+        verify(readThrough, never()).load(any());
+        verify(negativeLookup).recordMiss(60L);
+    }
+
+    @Test
+    void shouldNotLoadIdKnownAbsentWithReadThrough() {
+        lenient().when(readThrough.isEnabled()).thenReturn(true);
+        when(negativeLookup.isKnownAbsent(64L)).thenReturn(true);
+
+        assertNull(cacheService.findById(64L));
+
+        verifyNoInteractions(cacheRepository);
+        verify(readThrough, never()).load(any());
+        verify(negativeLookup).recordMiss(64L);
+    }
+
+    @Test
+    void shouldLoadFromPublisherAfterRedisFlushWithReadThrough() {
+        // The filter is built from the publisher listing, a flushed Redis does not make the id absent
+        PlacarAtualizadoEvent loaded = PlacarAtualizadoEventFactory.emAndamento(65L, 20, 1, 1);
+        when(readThrough.isEnabled()).thenReturn(true);
+        when(cacheRepository.findById(65L)).thenReturn(null);
+        when(readThrough.load(65L)).thenReturn(found(loaded));
+
+        assertSame(loaded, cacheService.findById(65L));
+
+        verify(negativeLookup).isKnownAbsent(65L);
+        verify(negativeLookup, never()).recordMiss(65L);
+        verify(cacheRepository).save(loaded);
+    }
+
+    @Test
+    void shouldSkipRedisForRecentMiss() {
+        when(negativeLookup.isRecentMiss(61L)).thenReturn(true);
+
+        assertNull(cacheService.findById(61L));
+
+        verifyNoInteractions(cacheRepository, readThrough);
+    }
+
+    @Test
+    void shouldRecordMissWhenGameIsNotCached() {
+        assertNull(cacheService.findById(62L));
+
+        verify(cacheRepository).findById(62L);
+        verify(negativeLookup).recordMiss(62L);
+    }
+
+    @Test
+    void shouldRegisterIdBeforeWriting() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(63L);
+
+        cacheService.save(event);
+
+        InOrder order = inOrder(negativeLookup, cacheRepository);
+        order.verify(negativeLookup).recordWrite(63L);
+        order.verify(cacheRepository).save(event);
+    }
+
+    @Test
+    void shouldBulkLoadWithRetentionTtl() {
+        PlacarAtualizadoEvent live = versioned(PlacarAtualizadoEventFactory.emAndamento(70L, 30, 1, 0), 3L);
+        PlacarAtualizadoEvent finished = versioned(PlacarAtualizadoEventFactory.finalizado(71L, 2, 2), 9L);
+        when(cacheRepository.saveAll(List.of(new GameWrite(live, null), new GameWrite(finished, Duration.ofHours(12)))))
+                .thenReturn(List.of(70L));
+
+        assertEquals(1, cacheService.saveBatch(List.of(live, finished)));
+
+        verify(negativeLookup).recordWrite(70L);
+        verify(negativeLookup).recordWrite(71L);
+    }
+
+    @Test
+    void shouldWriteVersionedBatchInOnePipelineWithoutReading() {
+        PlacarAtualizadoEvent live = versioned(PlacarAtualizadoEventFactory.emAndamento(80L, 30, 1, 0), 3L);
+        PlacarAtualizadoEvent finished = versioned(PlacarAtualizadoEventFactory.finalizado(81L, 2, 2), 9L);
+        when(cacheRepository.saveAll(List.of(new GameWrite(live, null), new GameWrite(finished, Duration.ofHours(12)))))
+                .thenReturn(List.of(81L));
+
+        assertEquals(List.of(live), cacheService.mergeAndSaveAll(List.of(live, finished)));
+
+        verify(cacheRepository, never()).findAllById(any());
+        verify(metrics).staleDiscarded(GameEventMetrics.STAGE_WRITE, 1);
+    }
+
+    @Test
+    void shouldMergeUnversionedBatchWithCachedStatesReadAtOnce() {
+        PlacarAtualizadoEvent incoming = PlacarAtualizadoEventFactory.emAndamento(82L, 40, 2, 1);
+        PlacarAtualizadoEvent cached = PlacarAtualizadoEventFactory.emAndamento(82L, 30, 1, 1);
+        PlacarAtualizadoEvent fresh = PlacarAtualizadoEventFactory.inicio(83L);
+        PlacarAtualizadoEvent merged = PlacarAtualizadoEventFactory.emAndamento(82L, 40, 2, 1);
+        when(cacheRepository.findAllById(List.of(82L, 83L))).thenReturn(List.of(cached));
+        when(cacheRepository.saveAll(List.of(new GameWrite(merged, null), new GameWrite(fresh, null))))
+                .thenReturn(List.of());
+
+        List<PlacarAtualizadoEvent> written = cacheService.mergeAndSaveAll(List.of(incoming, fresh));
+
+        assertEquals(List.of(merged, fresh), written);
+        assertEquals(1, cached.getPlacarA());
+        assertEquals(30, cached.getTempoDeJogo());
+        verify(cacheMetrics).mergeOutcome(GameCacheMetrics.MERGE_APPLIED);
+        verify(cacheMetrics).mergeOutcome(GameCacheMetrics.MERGE_MISS);
+    }
+
+    @Test
+    void shouldBufferBatchWhenWriteBehindIsEnabled() {
+        PlacarAtualizadoEvent event = versioned(PlacarAtualizadoEventFactory.emAndamento(84L, 30, 1, 0), 4L);
+        when(writeBehind.isEnabled()).thenReturn(true);
+        when(writeBehind.write(List.of(new GameWrite(event, null)))).thenReturn(Set.of());
+
+        assertEquals(List.of(event), cacheService.mergeAndSaveAll(List.of(event)));
+
+        verify(cacheRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void shouldLeaveOutBufferedBatchWritesRejectedAsStale() {
+        PlacarAtualizadoEvent stale = versioned(PlacarAtualizadoEventFactory.emAndamento(85L, 30, 1, 0), 4L);
+        PlacarAtualizadoEvent fresh = versioned(PlacarAtualizadoEventFactory.emAndamento(86L, 30, 1, 0), 7L);
+        when(writeBehind.isEnabled()).thenReturn(true);
+        when(writeBehind.write(any())).thenReturn(Set.of(85L));
+
+        assertEquals(List.of(fresh), cacheService.mergeAndSaveAll(List.of(stale, fresh)));
+
+        verify(metrics).staleDiscarded(GameEventMetrics.STAGE_WRITE, 1);
+    }
+
+    private static PlacarAtualizadoEvent versioned(PlacarAtualizadoEvent event, long versao) {
+        event.setVersao(versao);
+        return event;
+    }
+
+    private static GameReadThroughLoader.Load found(PlacarAtualizadoEvent event) {
+        return new GameReadThroughLoader.Load(GameReadThroughLoader.Outcome.FOUND, event);
+    }
 }
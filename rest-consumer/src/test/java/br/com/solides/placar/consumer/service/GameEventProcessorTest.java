@@ -3,9 +3,13 @@ package br.com.solides.placar.consumer.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -15,14 +19,18 @@ import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import br.com.solides.placar.consumer.metrics.GameEventLatencyMetrics;
 import br.com.solides.placar.consumer.service.strategy.GameEventProcessingStrategy;
 import br.com.solides.placar.consumer.sse.SseBrodcast;
 import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
 import br.com.solides.placar.shared.enums.StatusJogo;
 import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 
 @ExtendWith(MockitoExtension.class)
 class GameEventProcessorTest {
@@ -36,108 +44,139 @@ class GameEventProcessorTest {
     @Mock
     private SseBrodcast sseHub;
 
+    @Mock
+    private GameLastKnownState lastKnownState;
+
+    @Mock
+    private LiveGamesSnapshot liveGames;
+
+    @Mock
+    private GameTimelineService timeline;
+
+    @Mock
+    private GameEventLatencyMetrics latency;
+
     private GameEventProcessor processor;
 
     @BeforeEach
     void setUp() {
-        processor = new GameEventProcessor(List.of(primaryStrategy, secondaryStrategy), sseHub);
+        when(primaryStrategy.canHandle(nullable(StatusJogo.class))).thenReturn(true);
+        processor = new GameEventProcessor(List.of(primaryStrategy, secondaryStrategy), sseHub, lastKnownState,
+                liveGames, timeline, latency);
     }
 
     @Test
     void shouldIgnoreNullEvent() {
         processor.process(null);
 
-        verifyNoInteractions(primaryStrategy, secondaryStrategy, sseHub);
+        verify(primaryStrategy, never()).process(any());
+        verifyNoInteractions(secondaryStrategy, sseHub);
     }
 
     @Test
     void shouldThrowWhenNoStrategyCanHandleEvent() {
         PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.naoIniciado(1L);
-        when(primaryStrategy.canHandle(event)).thenReturn(false);
-        when(secondaryStrategy.canHandle(event)).thenReturn(false);
+        when(primaryStrategy.canHandle(nullable(StatusJogo.class))).thenReturn(false);
+        when(secondaryStrategy.canHandle(nullable(StatusJogo.class))).thenReturn(false);
+        GameEventProcessor unrouted = new GameEventProcessor(List.of(primaryStrategy, secondaryStrategy), sseHub,
+                lastKnownState, liveGames, timeline, latency);
 
-        assertThrows(IllegalStateException.class, () -> processor.process(event));
+        assertThrows(IllegalStateException.class, () -> unrouted.process(event));
 
-        verify(primaryStrategy).canHandle(event);
-        verify(secondaryStrategy).canHandle(event);
+        verify(primaryStrategy, never()).process(any());
+        verify(secondaryStrategy, never()).process(any());
         verifyNoInteractions(sseHub);
     }
 
+    @Test
+    void shouldResolveStrategiesOncePerStatus() {
+        PlacarAtualizadoEvent first = PlacarAtualizadoEventFactory.emAndamento(30L, 10, 1, 0);
+        PlacarAtualizadoEvent second = PlacarAtualizadoEventFactory.emAndamento(31L, 20, 1, 1);
+        mockPrimaryStrategyApplies(first);
+        mockPrimaryStrategyApplies(second);
+
+        processor.process(first);
+        processor.process(second);
+
+        verify(primaryStrategy, times(1)).canHandle(StatusJogo.EM_ANDAMENTO);
+        verify(primaryStrategy, never()).canHandle(any(PlacarAtualizadoEvent.class));
+    }
+
     @Test
     void shouldBroadcastToNovosWhenStatusIsNaoIniciado() {
         PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.naoIniciado(2L);
-        mockPrimaryStrategyHandles(event);
+        mockPrimaryStrategyApplies(event);
 
         processor.process(event);
 
         verify(primaryStrategy).process(event);
-        verify(sseHub).broadcast("novos", event);
+        verify(sseHub).broadcastPriority("novos", event);
     }
 
     @Test
     void shouldBroadcastToInicioWhenMatchStarts() {
         PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(3L);
-        mockPrimaryStrategyHandles(event);
+        mockPrimaryStrategyApplies(event);
 
         processor.process(event);
 
         verify(primaryStrategy).process(event);
-        verify(sseHub).broadcast("inicio", event);
+        verify(sseHub).broadcastPriority("inicio", event);
     }
 
     @Test
     void shouldBroadcastToPlacarWhenMatchIsInProgress() {
         PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(4L, 10, 1, 0);
-        mockPrimaryStrategyHandles(event);
+        mockPrimaryStrategyApplies(event);
 
         processor.process(event);
 
         verify(primaryStrategy).process(event);
         verify(sseHub).broadcast("placar", event);
+        verify(sseHub, never()).broadcastPriority(anyString(), any());
     }
 
     @Test
     void shouldBroadcastToEncerradoWhenStatusIsFinalizado() {
         PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.finalizado(5L, 2, 1);
-        mockPrimaryStrategyHandles(event);
+        mockPrimaryStrategyApplies(event);
 
         processor.process(event);
 
         verify(primaryStrategy).process(event);
-        verify(sseHub).broadcast("encerrado", event);
+        verify(sseHub).broadcastPriority("encerrado", event);
     }
 
     @Test
     void shouldBroadcastToExcluidoWhenStatusIsExcluido() {
         PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(6L);
         event.setStatus(StatusJogo.EXCLUIDO);
-        mockPrimaryStrategyHandles(event);
+        mockPrimaryStrategyApplies(event);
 
         processor.process(event);
 
         verify(primaryStrategy).process(event);
-        verify(sseHub).broadcast("excluido", event);
+        verify(sseHub).broadcastPriority("excluido", event);
     }
 
     @Test
     void shouldWrapExceptionWhenStrategyFails() {
         PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(7L);
         RuntimeException rootCause = new RuntimeException("strategy failure");
-        mockPrimaryStrategyHandles(event);
         doThrow(rootCause).when(primaryStrategy).process(event);
 
         RuntimeException ex = assertThrows(RuntimeException.class, () -> processor.process(event));
 
         assertEquals("Failed to broadcast SSE event", ex.getMessage());
         assertSame(rootCause, ex.getCause());
-        verify(sseHub, never()).broadcast(anyString(), org.mockito.ArgumentMatchers.any());
+        verify(sseHub, never()).broadcastPriority(anyString(), org.mockito.ArgumentMatchers.any());
     }
 
     @Test
     void shouldWrapExceptionWhenBroadcastFails() {
         PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(8L, 22, 2, 0);
         RuntimeException rootCause = new RuntimeException("broadcast failure");
-        mockPrimaryStrategyHandles(event);
+        mockPrimaryStrategyApplies(event);
         doThrow(rootCause).when(sseHub).broadcast("placar", event);
 
         RuntimeException ex = assertThrows(RuntimeException.class, () -> processor.process(event));
@@ -147,7 +186,158 @@ class GameEventProcessorTest {
         verify(primaryStrategy).process(event);
     }
 
-    private void mockPrimaryStrategyHandles(PlacarAtualizadoEvent event) {
-        when(primaryStrategy.canHandle(event)).thenReturn(true);
+    @Test
+    void shouldNotBroadcastStaleEvent() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(9L, 30, 1, 0);
+        event.setVersao(3L);
+        when(primaryStrategy.process(event)).thenReturn(false);
+
+        processor.process(event);
+
+        verify(primaryStrategy).process(event);
+        verifyNoInteractions(sseHub);
+    }
+
+    @Test
+    void shouldRecordLastKnownStateOfAppliedEvent() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(10L, 40, 2, 2);
+        mockPrimaryStrategyApplies(event);
+
+        processor.process(event);
+
+        verify(lastKnownState).record(event);
+        verify(liveGames).apply(event);
+        verify(timeline).record(event);
+    }
+
+    @Test
+    void shouldQueueEventAndBroadcastWhenRedisBreakerIsOpen() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(11L, 50, 1, 2);
+        when(primaryStrategy.process(event)).thenThrow(breakerOpen());
+        when(lastKnownState.queueReplay(event)).thenReturn(true);
+
+        processor.process(event);
+
+        verify(lastKnownState).record(event);
+        verify(sseHub).broadcast("placar", event);
+    }
+
+    @Test
+    void shouldFailWhenBreakerIsOpenAndEventCannotBeQueued() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(12L, 50, 1, 2);
+        CallNotPermittedException rootCause = breakerOpen();
+        when(primaryStrategy.process(event)).thenThrow(rootCause);
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> processor.process(event));
+
+        assertSame(rootCause, ex.getCause());
+        verify(lastKnownState, never()).record(event);
+        verifyNoInteractions(sseHub);
+    }
+
+    @Test
+    void shouldReplayWithoutBroadcasting() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(13L, 60, 3, 2);
+        mockPrimaryStrategyApplies(event);
+
+        processor.replay(event);
+
+        verify(primaryStrategy).process(event);
+        verifyNoInteractions(sseHub, lastKnownState, liveGames, timeline);
+    }
+
+    @Test
+    void shouldConflateBatchPerGameAndBroadcastOnlyAppliedStates() {
+        PlacarAtualizadoEvent newer = versioned(PlacarAtualizadoEventFactory.emAndamento(20L, 20, 1, 0), 2L);
+        PlacarAtualizadoEvent other = PlacarAtualizadoEventFactory.emAndamento(21L, 15, 0, 1);
+        PlacarAtualizadoEvent older = versioned(PlacarAtualizadoEventFactory.emAndamento(20L, 10, 0, 0), 1L);
+        when(primaryStrategy.processAll(List.of(newer, other))).thenReturn(List.of(newer));
+
+        processor.processBatch(List.of(newer, other, older));
+
+        verify(sseHub).broadcast("placar", newer);
+        verify(timeline).record(newer);
+        verify(sseHub, never()).broadcast("placar", other);
+        verify(sseHub, never()).broadcast("placar", older);
+        verify(primaryStrategy, never()).process(any());
+    }
+
+    @Test
+    void shouldKeepLastUnversionedScoreOfGameInBatch() {
+        PlacarAtualizadoEvent first = PlacarAtualizadoEventFactory.emAndamento(22L, 10, 0, 0);
+        PlacarAtualizadoEvent last = PlacarAtualizadoEventFactory.emAndamento(22L, 20, 1, 0);
+        when(primaryStrategy.processAll(List.of(last))).thenReturn(List.of(last));
+
+        processor.processBatch(List.of(first, last));
+
+        verify(sseHub).broadcast("placar", last);
+        verify(liveGames).apply(last);
+        verify(liveGames, never()).apply(first);
+    }
+
+    @Test
+    void shouldApplyEveryLifecycleTransitionOfABatchInOrder() {
+        PlacarAtualizadoEvent created = PlacarAtualizadoEventFactory.naoIniciado(26L);
+        PlacarAtualizadoEvent started = PlacarAtualizadoEventFactory.inicio(26L);
+        PlacarAtualizadoEvent goal = PlacarAtualizadoEventFactory.emAndamento(26L, 10, 1, 0);
+        PlacarAtualizadoEvent secondGoal = PlacarAtualizadoEventFactory.emAndamento(26L, 20, 2, 0);
+        PlacarAtualizadoEvent finished = PlacarAtualizadoEventFactory.finalizado(26L, 2, 0);
+        PlacarAtualizadoEvent other = PlacarAtualizadoEventFactory.emAndamento(27L, 15, 0, 1);
+        when(primaryStrategy.processAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        processor.processBatch(List.of(created, other, started, goal, secondGoal, finished));
+
+        // One round per step of the game with the most steps; the other game joins the first
+        InOrder rounds = inOrder(primaryStrategy);
+        rounds.verify(primaryStrategy).processAll(List.of(created, other));
+        rounds.verify(primaryStrategy).processAll(List.of(started));
+        rounds.verify(primaryStrategy).processAll(List.of(secondGoal));
+        rounds.verify(primaryStrategy).processAll(List.of(finished));
+        InOrder broadcasts = inOrder(sseHub);
+        broadcasts.verify(sseHub).broadcastPriority("novos", created);
+        broadcasts.verify(sseHub).broadcastPriority("inicio", started);
+        broadcasts.verify(sseHub).broadcast("placar", secondGoal);
+        broadcasts.verify(sseHub).broadcastPriority("encerrado", finished);
+        verify(sseHub, never()).broadcast("placar", goal);
+    }
+
+    @Test
+    void shouldQueueBatchAndBroadcastWhenRedisBreakerIsOpen() {
+        PlacarAtualizadoEvent first = PlacarAtualizadoEventFactory.emAndamento(23L, 30, 1, 1);
+        PlacarAtualizadoEvent second = PlacarAtualizadoEventFactory.emAndamento(24L, 30, 2, 1);
+        when(primaryStrategy.processAll(List.of(first, second))).thenThrow(breakerOpen());
+        when(lastKnownState.queueReplay(any())).thenReturn(true);
+
+        processor.processBatch(List.of(first, second));
+
+        verify(lastKnownState).queueReplay(first);
+        verify(lastKnownState).queueReplay(second);
+        verify(sseHub).broadcast("placar", first);
+        verify(sseHub).broadcast("placar", second);
+    }
+
+    @Test
+    void shouldWrapExceptionWhenBatchFails() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(25L, 30, 1, 1);
+        IllegalStateException rootCause = new IllegalStateException("boom");
+        when(primaryStrategy.processAll(List.of(event))).thenThrow(rootCause);
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> processor.processBatch(List.of(event)));
+
+        assertSame(rootCause, ex.getCause());
+        verifyNoInteractions(sseHub);
+    }
+
+    private static PlacarAtualizadoEvent versioned(PlacarAtualizadoEvent event, long versao) {
+        event.setVersao(versao);
+        return event;
+    }
+
+    private static CallNotPermittedException breakerOpen() {
+        return CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("redis"));
+    }
+
+    private void mockPrimaryStrategyApplies(PlacarAtualizadoEvent event) {
+        when(primaryStrategy.process(event)).thenReturn(true);
     }
 }
@@ -0,0 +1,94 @@
+package br.com.solides.placar.consumer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.solides.placar.consumer.service.strategy.GameEventProcessingStrategy;
+import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+import br.com.solides.placar.shared.enums.StatusJogo;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+@ExtendWith(MockitoExtension.class)
+class GameEventRouterTest {
+
+    @Mock
+    private GameEventProcessingStrategy deletion;
+
+    @Mock
+    private GameEventProcessingStrategy update;
+
+    @Test
+    void shouldRouteEachStatusToFirstStrategyThatHandlesIt() {
+        when(deletion.canHandle(nullable(StatusJogo.class))).thenAnswer(invocation ->
+                invocation.getArgument(0) == StatusJogo.EXCLUIDO);
+        when(update.canHandle(nullable(StatusJogo.class))).thenReturn(true);
+        GameEventRouter router = new GameEventRouter(List.of(deletion, update));
+        PlacarAtualizadoEvent excluido = PlacarAtualizadoEventFactory.inicio(1L);
+        excluido.setStatus(StatusJogo.EXCLUIDO);
+
+        assertSame(deletion, router.route(excluido).strategy());
+        assertSame(update, router.route(PlacarAtualizadoEventFactory.finalizado(2L, 1, 0)).strategy());
+    }
+
+    @Test
+    void shouldResolveChannelOfEachStatus() {
+        when(update.canHandle(nullable(StatusJogo.class))).thenReturn(true);
+        GameEventRouter router = new GameEventRouter(List.of(update));
+        PlacarAtualizadoEvent excluido = PlacarAtualizadoEventFactory.inicio(5L);
+        excluido.setStatus(StatusJogo.EXCLUIDO);
+
+        assertEquals("novos", channelOf(router, PlacarAtualizadoEventFactory.naoIniciado(1L)));
+        assertEquals("inicio", channelOf(router, PlacarAtualizadoEventFactory.inicio(2L)));
+        assertEquals("placar", channelOf(router, PlacarAtualizadoEventFactory.emAndamento(3L, 10, 1, 0)));
+        assertEquals("encerrado", channelOf(router, PlacarAtualizadoEventFactory.finalizado(4L, 1, 0)));
+        assertEquals("excluido", channelOf(router, excluido));
+    }
+
+    @Test
+    void shouldResolveSameChannelWithoutStrategy() {
+        when(update.canHandle(nullable(StatusJogo.class))).thenReturn(true);
+        GameEventRouter router = new GameEventRouter(List.of(update));
+        PlacarAtualizadoEvent semStatus = PlacarAtualizadoEventFactory.inicio(4L);
+        semStatus.setStatus(null);
+
+        for (PlacarAtualizadoEvent event : List.of(PlacarAtualizadoEventFactory.naoIniciado(1L),
+                PlacarAtualizadoEventFactory.inicio(2L), PlacarAtualizadoEventFactory.emAndamento(3L, 10, 1, 0),
+                semStatus)) {
+            assertEquals(channelOf(router, event), GameEventRouter.channelOf(event));
+        }
+    }
+
+    @Test
+    void shouldReuseRouteOfStatus() {
+        when(update.canHandle(nullable(StatusJogo.class))).thenReturn(true);
+        GameEventRouter router = new GameEventRouter(List.of(update));
+
+        assertSame(router.route(PlacarAtualizadoEventFactory.emAndamento(1L, 10, 1, 0)),
+                router.route(PlacarAtualizadoEventFactory.emAndamento(2L, 80, 3, 3)));
+    }
+
+    @Test
+    void shouldThrowWhenNoStrategyHandlesStatus() {
+        when(update.canHandle(nullable(StatusJogo.class))).thenAnswer(invocation ->
+                invocation.getArgument(0) != StatusJogo.EXCLUIDO);
+        GameEventRouter router = new GameEventRouter(List.of(update));
+        PlacarAtualizadoEvent excluido = PlacarAtualizadoEventFactory.inicio(1L);
+        excluido.setStatus(StatusJogo.EXCLUIDO);
+
+        assertThrows(IllegalStateException.class, () -> router.route(excluido));
+    }
+
+    private static String channelOf(GameEventRouter router, PlacarAtualizadoEvent event) {
+        return router.route(event).channelFor(event);
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.solides.placar.consumer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+import br.com.solides.placar.shared.enums.StatusJogo;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+class GameLastKnownStateTest {
+
+    private AppProperties properties;
+    private GameLastKnownState state;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AppProperties();
+        properties.getCache().getStaleFallback().setEnabled(true);
+        state = new GameLastKnownState(properties);
+    }
+
+    @Test
+    void shouldReturnLatestRecordedState() {
+        PlacarAtualizadoEvent first = versioned(PlacarAtualizadoEventFactory.emAndamento(1L, 10, 0, 0), 1L);
+        PlacarAtualizadoEvent second = versioned(PlacarAtualizadoEventFactory.emAndamento(1L, 20, 1, 0), 2L);
+
+        state.record(first);
+        state.record(second);
+
+        assertSame(second, state.find(1L));
+    }
+
+    @Test
+    void shouldKeepNewerVersionWhenOlderArrivesLate() {
+        PlacarAtualizadoEvent newer = versioned(PlacarAtualizadoEventFactory.emAndamento(2L, 20, 1, 0), 5L);
+        PlacarAtualizadoEvent older = versioned(PlacarAtualizadoEventFactory.emAndamento(2L, 10, 0, 0), 4L);
+
+        state.record(newer);
+        state.record(older);
+
+        assertSame(newer, state.find(2L));
+    }
+
+    @Test
+    void shouldReportDeletedGameAsNotFound() {
+        PlacarAtualizadoEvent deleted = PlacarAtualizadoEventFactory.inicio(3L);
+        deleted.setStatus(StatusJogo.EXCLUIDO);
+
+        state.record(deleted);
+
+        assertNull(state.find(3L));
+    }
+
+    @Test
+    void shouldNotGrowBeyondMaxGames() {
+        properties.getCache().getStaleFallback().setMaxGames(1);
+
+        state.record(PlacarAtualizadoEventFactory.inicio(4L));
+        state.record(PlacarAtualizadoEventFactory.inicio(5L));
+
+        assertNull(state.find(5L));
+        assertTrue(state.queueReplay(PlacarAtualizadoEventFactory.inicio(5L)));
+        assertFalse(state.queueReplay(PlacarAtualizadoEventFactory.inicio(6L)));
+    }
+
+    @Test
+    void shouldDrainNewestQueuedEventPerGame() {
+        PlacarAtualizadoEvent older = versioned(PlacarAtualizadoEventFactory.emAndamento(7L, 10, 0, 0), 1L);
+        PlacarAtualizadoEvent newer = versioned(PlacarAtualizadoEventFactory.emAndamento(7L, 20, 1, 0), 2L);
+
+        assertTrue(state.queueReplay(newer));
+        assertTrue(state.queueReplay(older));
+
+        assertEquals(List.of(newer), state.drainReplay());
+        assertEquals(0, state.replayCount());
+    }
+
+    @Test
+    void shouldNotRequeueOverNewerQueuedEvent() {
+        PlacarAtualizadoEvent failed = versioned(PlacarAtualizadoEventFactory.emAndamento(8L, 10, 0, 0), 1L);
+        PlacarAtualizadoEvent queued = versioned(PlacarAtualizadoEventFactory.emAndamento(8L, 20, 1, 0), 2L);
+        state.queueReplay(queued);
+
+        state.requeue(failed);
+
+        assertEquals(List.of(queued), state.drainReplay());
+    }
+
+    @Test
+    void shouldPruneExpiredStates() {
+        properties.getCache().getStaleFallback().setStateTtl(Duration.ZERO);
+        state.record(PlacarAtualizadoEventFactory.inicio(9L));
+
+        assertEquals(1, state.prune());
+        assertNull(state.find(9L));
+    }
+
+    @Test
+    void shouldIgnoreEverythingWhenDisabled() {
+        properties.getCache().getStaleFallback().setEnabled(false);
+
+        state.record(PlacarAtualizadoEventFactory.inicio(10L));
+
+        assertNull(state.find(10L));
+        assertFalse(state.queueReplay(PlacarAtualizadoEventFactory.inicio(10L)));
+    }
+
+    private static PlacarAtualizadoEvent versioned(PlacarAtualizadoEvent event, long versao) {
+        event.setVersao(versao);
+        return event;
+    }
+}
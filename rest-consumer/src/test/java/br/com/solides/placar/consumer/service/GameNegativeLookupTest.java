@@ -0,0 +1,180 @@
+package br.com.solides.placar.consumer.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.publisher.PublisherGameClient;
+import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+
+@ExtendWith(MockitoExtension.class)
+class GameNegativeLookupTest {
+
+    @Mock
+    private PublisherGameClient publisherClient;
+
+    private AppProperties properties;
+    private GameNegativeLookup lookup;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AppProperties();
+        properties.getCache().getNegativeLookup().setEnabled(true);
+        properties.getCache().getNegativeLookup().setExpectedIds(1000);
+        lookup = new GameNegativeLookup(publisherClient, properties);
+    }
+
+    @Test
+    void shouldTreatEveryIdAsPossiblyCachedBeforeFirstRebuild() {
+        assertFalse(lookup.isKnownAbsent(1L));
+    }
+
+    @Test
+    void shouldReportIdsNotListedByPublisherAsAbsent() {
+        publisherLists(1L, 2L, 3L);
+
+        lookup.rebuild();
+
+        assertFalse(lookup.isKnownAbsent(1L));
+        assertFalse(lookup.isKnownAbsent(3L));
+        assertTrue(lookup.isKnownAbsent(999_999L));
+    }
+
+    @Test
+    void shouldAddWrittenIdsToFilter() {
+        publisherLists();
+        lookup.rebuild();
+
+        lookup.recordWrite(77L);
+
+        assertFalse(lookup.isKnownAbsent(77L));
+    }
+
+    @Test
+    void shouldKeepIdsWrittenDuringRebuild() {
+        when(publisherClient.findPage(eq(0L), eq(500))).thenAnswer(invocation -> {
+            lookup.recordWrite(88L);
+            return List.of(PlacarAtualizadoEventFactory.inicio(1L));
+        });
+        when(publisherClient.findPage(eq(1L), eq(500))).thenReturn(List.of());
+
+        lookup.rebuild();
+
+        assertFalse(lookup.isKnownAbsent(88L));
+    }
+
+    @Test
+    void shouldKeepIdsRecordedBeforeRebuildThatThePublisherDoesNotListYet() {
+        lookup.recordWrite(42L);
+        publisherLists(1L);
+
+        lookup.rebuild();
+        assertFalse(lookup.isKnownAbsent(42L));
+
+        // Never listed by the publisher after all: dropped by the following rebuild
+        lookup.rebuild();
+        assertTrue(lookup.isKnownAbsent(42L));
+    }
+
+    @Test
+    void shouldKeepPreviousFilterWhenRebuildFails() {
+        publisherLists(5L);
+        lookup.rebuild();
+        when(publisherClient.findPage(anyLong(), eq(500))).thenThrow(new ResourceAccessException("publisher down"));
+
+        lookup.rebuild();
+
+        assertTrue(lookup.isKnownAbsent(6L));
+        assertFalse(lookup.isKnownAbsent(5L));
+    }
+
+    @Test
+    void shouldRememberMissesUntilWritten() {
+        lookup.recordMiss(10L);
+
+        assertTrue(lookup.isRecentMiss(10L));
+
+        lookup.recordWrite(10L);
+
+        assertFalse(lookup.isRecentMiss(10L));
+    }
+
+    @Test
+    void shouldExpireMisses() {
+        properties.getCache().getNegativeLookup().setMissTtl(Duration.ZERO);
+
+        lookup.recordMiss(11L);
+
+        assertFalse(lookup.isRecentMiss(11L));
+    }
+
+    @Test
+    void shouldDoNothingWhenDisabled() {
+        properties.getCache().getNegativeLookup().setEnabled(false);
+
+        lookup.rebuild();
+        lookup.recordMiss(12L);
+
+        assertFalse(lookup.isRecentMiss(12L));
+        assertFalse(lookup.isKnownAbsent(12L));
+        verifyNoInteractions(publisherClient);
+    }
+
+    @Test
+    void shouldKeepFilterWithReadThroughOnceRebuilt() {
+        properties.getPublisher().getReadThrough().setEnabled(true);
+        assertFalse(lookup.isKnownAbsent(999_999L));
+
+        publisherLists(1L, 2L, 3L);
+        lookup.rebuild();
+        lookup.recordWrite(13L);
+
+        assertFalse(lookup.isKnownAbsent(1L));
+        assertFalse(lookup.isKnownAbsent(13L));
+        assertTrue(lookup.isKnownAbsent(999_999L));
+    }
+
+    @Test
+    void shouldStayNearConfiguredFalsePositiveRate() {
+        GameIdBloomFilter filter = GameIdBloomFilter.create(10_000, 0.01);
+        for (long id = 0; id < 10_000; id++) {
+            filter.add(id);
+        }
+
+        int falsePositives = 0;
+        for (long id = 1_000_000; id < 1_100_000; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    private void publisherLists(long... ids) {
+        // Two games per page, to go through the keyset pagination
+        long afterId = 0;
+        for (int from = 0; from < ids.length; from += 2) {
+            long[] page = Arrays.copyOfRange(ids, from, Math.min(from + 2, ids.length));
+            when(publisherClient.findPage(eq(afterId), eq(500)))
+                    .thenReturn(Arrays.stream(page).mapToObj(PlacarAtualizadoEventFactory::inicio).toList());
+            afterId = page[page.length - 1];
+        }
+        when(publisherClient.findPage(eq(afterId), eq(500))).thenReturn(List.of());
+    }
+}
@@ -0,0 +1,136 @@
+package br.com.solides.placar.consumer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.publisher.PublisherGameClient;
+import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+@ExtendWith(MockitoExtension.class)
+class GameReadThroughLoaderTest {
+
+    @Mock
+    private PublisherGameClient publisherClient;
+
+    private AppProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AppProperties();
+        properties.getPublisher().getReadThrough().setEnabled(true);
+        properties.getPublisher().getReadThrough().setMaxConcurrentLoads(1);
+        properties.getPublisher().getReadThrough().setAcquireTimeout(Duration.ofMillis(50));
+    }
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentMisses() throws Exception {
+        GameReadThroughLoader loader = new GameReadThroughLoader(publisherClient, properties);
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(1L);
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(publisherClient.findById(1L)).thenAnswer(invocation -> {
+            loadStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return event;
+        });
+
+        List<GameReadThroughLoader.Load> results = new CopyOnWriteArrayList<>();
+        Thread leader = new Thread(() -> results.add(loader.load(1L)));
+        leader.start();
+        loadStarted.await(5, TimeUnit.SECONDS);
+
+        List<Thread> followers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Thread follower = new Thread(() -> results.add(loader.load(1L)));
+            followers.add(follower);
+            follower.start();
+        }
+        // Followers park on the in-flight load while the leader is still blocked
+        for (Thread follower : followers) {
+            while (follower.getState() != Thread.State.WAITING) {
+                Thread.sleep(1);
+            }
+        }
+        release.countDown();
+
+        leader.join(5000);
+        for (Thread follower : followers) {
+            follower.join(5000);
+        }
+
+        assertEquals(4, results.size());
+        results.forEach(result -> assertSame(event, result.event()));
+        verify(publisherClient, times(1)).findById(1L);
+        assertEquals(0, loader.inFlightCount());
+    }
+
+    @Test
+    void shouldGiveUpWhenNoLoadSlotIsFree() throws Exception {
+        GameReadThroughLoader loader = new GameReadThroughLoader(publisherClient, properties);
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(publisherClient.findById(1L)).thenAnswer(invocation -> {
+            loadStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return PlacarAtualizadoEventFactory.inicio(1L);
+        });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<GameReadThroughLoader.Load> first = executor.submit(() -> loader.load(1L));
+            loadStarted.await(5, TimeUnit.SECONDS);
+
+            assertEquals(GameReadThroughLoader.Outcome.UNAVAILABLE, loader.load(2L).outcome());
+
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(publisherClient, never()).findById(2L);
+    }
+
+    @Test
+    void shouldReportUnavailableWhenPublisherFails() {
+        GameReadThroughLoader loader = new GameReadThroughLoader(publisherClient, properties);
+        when(publisherClient.findById(3L)).thenThrow(new ResourceAccessException("connection refused"));
+
+        assertEquals(GameReadThroughLoader.Outcome.UNAVAILABLE, loader.load(3L).outcome());
+        assertEquals(0, loader.inFlightCount());
+    }
+
+    @Test
+    void shouldReportNotFoundWhenPublisherDoesNotKnowTheGame() {
+        GameReadThroughLoader loader = new GameReadThroughLoader(publisherClient, properties);
+
+        GameReadThroughLoader.Load load = loader.load(4L);
+
+        assertEquals(GameReadThroughLoader.Outcome.NOT_FOUND, load.outcome());
+        assertNull(load.event());
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.solides.placar.consumer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class GameReplayJobTest {
+
+    @Mock
+    private GameEventProcessor processor;
+
+    private final CircuitBreakerRegistry registry = CircuitBreakerRegistry.ofDefaults();
+
+    private GameLastKnownState lastKnownState;
+    private GameReplayJob job;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties properties = new AppProperties();
+        properties.getCache().getStaleFallback().setEnabled(true);
+        lastKnownState = new GameLastKnownState(properties);
+        job = new GameReplayJob(lastKnownState, processor, registry);
+    }
+
+    @Test
+    void shouldReplayQueuedEventsWhenBreakerIsClosed() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(1L, 30, 1, 0);
+        lastKnownState.queueReplay(event);
+
+        job.replay();
+
+        verify(processor).replay(event);
+        assertEquals(0, lastKnownState.replayCount());
+    }
+
+    @Test
+    void shouldWaitWhileBreakerIsOpen() {
+        lastKnownState.queueReplay(PlacarAtualizadoEventFactory.inicio(2L));
+        registry.circuitBreaker("redis").transitionToOpenState();
+
+        job.replay();
+
+        verifyNoInteractions(processor);
+        assertEquals(1, lastKnownState.replayCount());
+    }
+
+    @Test
+    void shouldRequeueRemainingEventsWhenReplayFails() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(3L);
+        lastKnownState.queueReplay(event);
+        when(processor.replay(event)).thenThrow(new RedisConnectionFailureException("redis unavailable"));
+
+        job.replay();
+
+        assertEquals(List.of(event), lastKnownState.drainReplay());
+    }
+
+    @Test
+    void shouldDropEventFailingWithNonRetryableErrorAndContinue() {
+        PlacarAtualizadoEvent poison = PlacarAtualizadoEventFactory.inicio(4L);
+        PlacarAtualizadoEvent healthy = PlacarAtualizadoEventFactory.emAndamento(5L, 20, 1, 1);
+        lastKnownState.queueReplay(poison);
+        lastKnownState.queueReplay(healthy);
+        when(processor.replay(poison)).thenThrow(new IllegalStateException("no strategy"));
+
+        job.replay();
+
+        verify(processor).replay(healthy);
+        assertEquals(0, lastKnownState.replayCount());
+    }
+
+    @Test
+    void shouldDoNothingWhenNothingIsQueued() {
+        job.replay();
+
+        verifyNoInteractions(processor);
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.solides.placar.consumer.service;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import br.com.solides.placar.consumer.redis.GameCacheRepository;
+
+@ExtendWith(MockitoExtension.class)
+class GameRetentionSweeperTest {
+
+    @Mock
+    private GameCacheRepository cacheRepository;
+
+    @InjectMocks
+    private GameRetentionSweeper sweeper;
+
+    @Test
+    void shouldPruneIndexInBatches() {
+        when(cacheRepository.pruneIndex(500)).thenReturn(3L);
+
+        sweeper.sweep();
+
+        verify(cacheRepository).pruneIndex(500);
+    }
+
+    @Test
+    void shouldNotPropagateRedisFailures() {
+        when(cacheRepository.pruneIndex(500)).thenThrow(new RedisConnectionFailureException("redis unavailable"));
+
+        sweeper.sweep();
+
+        verify(cacheRepository).pruneIndex(500);
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.solides.placar.consumer.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.redis.GameTimelineRepository;
+import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+import br.com.solides.placar.shared.enums.StatusJogo;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+@ExtendWith(MockitoExtension.class)
+class GameTimelineServiceTest {
+
+    @Mock
+    private GameTimelineRepository timelineRepository;
+
+    private AppProperties properties;
+    private GameTimelineService timeline;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AppProperties();
+        timeline = new GameTimelineService(timelineRepository, new GameRetentionPolicy(properties), properties);
+    }
+
+    @Test
+    void shouldAppendLiveGameWithoutExpiration() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.emAndamento(1L, 30, 1, 0);
+
+        timeline.record(event);
+
+        verify(timelineRepository).append(event, 500, null);
+    }
+
+    @Test
+    void shouldExpireTimelineWhenGameFinishes() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.finalizado(2L, 2, 1);
+
+        timeline.record(event);
+
+        verify(timelineRepository).append(event, 500, Duration.ofHours(12));
+    }
+
+    @Test
+    void shouldDeleteTimelineOfDeletedGameWithoutTombstones() {
+        properties.getCache().getRetention().setTombstoneTtl(Duration.ZERO);
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(3L);
+        event.setStatus(StatusJogo.EXCLUIDO);
+
+        timeline.record(event);
+
+        verify(timelineRepository).delete(3L);
+        verify(timelineRepository, never()).append(any(), anyInt(), any());
+    }
+
+    @Test
+    void shouldNotPropagateRedisFailures() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(4L);
+        doThrow(new RedisConnectionFailureException("redis unavailable")).when(timelineRepository)
+                .append(event, 500, null);
+
+        timeline.record(event);
+
+        verify(timelineRepository).append(event, 500, null);
+    }
+
+    @Test
+    void shouldDoNothingWhenDisabled() {
+        properties.getCache().getTimeline().setEnabled(false);
+
+        timeline.record(PlacarAtualizadoEventFactory.inicio(5L));
+
+        verifyNoInteractions(timelineRepository);
+    }
+
+    @Test
+    void shouldCapPageSize() {
+        timeline.find(6L, null, 50_000);
+        timeline.find(6L, "10-0", 0);
+
+        verify(timelineRepository).range(6L, null, 1000);
+        verify(timelineRepository).range(6L, "10-0", 1);
+    }
+}
@@ -0,0 +1,352 @@
+package br.com.solides.placar.consumer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.metrics.GameEventMetrics;
+import br.com.solides.placar.consumer.redis.GameCacheRepository;
+import br.com.solides.placar.consumer.redis.GameWrite;
+import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+@ExtendWith(MockitoExtension.class)
+class GameWriteBehindBufferTest {
+
+    @Mock
+    private GameCacheRepository cacheRepository;
+
+    @Mock
+    private GameEventMetrics metrics;
+
+    private AppProperties properties;
+
+    private GameWriteBehindBuffer buffer;
+
+    private final List<String> acks = new ArrayList<>();
+
+    private final CountDownLatch writing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        properties = new AppProperties();
+        properties.getRabbit().setMode(AppProperties.Rabbit.Mode.LANES);
+        properties.getCache().getWriteBehind().setEnabled(true);
+        properties.getCache().getWriteBehind().setMaxPending(3);
+        buffer = new GameWriteBehindBuffer(cacheRepository, metrics, properties);
+        buffer.start();
+    }
+
+    @Test
+    void shouldReturnRightAwayAndWriteOnTheNextFlush() {
+        GameWrite first = new GameWrite(PlacarAtualizadoEventFactory.inicio(1L), null);
+        GameWrite second = new GameWrite(PlacarAtualizadoEventFactory.finalizado(2L, 1, 1), Duration.ofHours(1));
+
+        assertTrue(buffer.write(List.of(first, second)).isEmpty());
+
+        verifyNoInteractions(cacheRepository);
+        assertEquals(first.event(), buffer.pendingState(1L));
+        assertEquals(2, buffer.pendingCount());
+
+        buffer.flushPeriodically();
+
+        verify(cacheRepository).saveAll(List.of(first, second));
+        assertEquals(0, buffer.pendingCount());
+        assertNull(buffer.pendingState(1L));
+    }
+
+    @Test
+    void shouldFlushOnceMaxPendingGamesAreBuffered() {
+        buffer.write(List.of(new GameWrite(PlacarAtualizadoEventFactory.inicio(1L), null),
+                new GameWrite(PlacarAtualizadoEventFactory.inicio(2L), null)));
+        verifyNoInteractions(cacheRepository);
+
+        buffer.write(List.of(new GameWrite(PlacarAtualizadoEventFactory.inicio(3L), null)));
+
+        verify(cacheRepository).saveAll(any());
+        assertEquals(0, buffer.pendingCount());
+    }
+
+    @Test
+    void shouldFlushOnceMaxPendingAcknowledgementsAreHeld() {
+        // Three events of the same game: one pending state, three held messages
+        for (int minute = 1; minute <= 3; minute++) {
+            buffer.write(List.of(new GameWrite(PlacarAtualizadoEventFactory.emAndamento(4L, minute, 0, 0), null)));
+            buffer.afterFlush(ack("m" + minute), ack("requeue"));
+        }
+
+        verify(cacheRepository).saveAll(List.of(
+                new GameWrite(PlacarAtualizadoEventFactory.emAndamento(4L, 3, 0, 0), null)));
+        assertEquals(List.of("m1", "m2", "m3"), acks);
+    }
+
+    @Test
+    void shouldKeepOnlyTheLatestStatePerGame() {
+        PlacarAtualizadoEvent first = PlacarAtualizadoEventFactory.emAndamento(2L, 10, 0, 0);
+        PlacarAtualizadoEvent latest = PlacarAtualizadoEventFactory.emAndamento(2L, 11, 1, 0);
+
+        buffer.write(List.of(new GameWrite(first, null)));
+        assertTrue(buffer.write(List.of(new GameWrite(latest, null))).isEmpty());
+        buffer.flush();
+
+        verify(cacheRepository).saveAll(List.of(new GameWrite(latest, null)));
+    }
+
+    @Test
+    void shouldReportOlderVersionOfAPendingGameAsSuperseded() {
+        PlacarAtualizadoEvent newer = PlacarAtualizadoEventFactory.emAndamento(2L, 20, 2, 0);
+        newer.setVersao(5L);
+        PlacarAtualizadoEvent late = PlacarAtualizadoEventFactory.emAndamento(2L, 20, 1, 0);
+        late.setVersao(4L);
+
+        buffer.write(List.of(new GameWrite(newer, null)));
+
+        assertEquals(Set.of(2L), buffer.write(List.of(new GameWrite(late, null))));
+        assertEquals(newer, buffer.pendingState(2L));
+    }
+
+    @Test
+    void shouldHoldAcknowledgementsUntilTheFlush() {
+        buffer.write(List.of(new GameWrite(PlacarAtualizadoEventFactory.inicio(1L), null)));
+        buffer.afterFlush(ack("m1"), ack("requeue"));
+        assertTrue(acks.isEmpty());
+        assertEquals(1, buffer.heldAcknowledgements());
+
+        buffer.flushPeriodically();
+
+        assertEquals(List.of("m1"), acks);
+        assertEquals(0, buffer.heldAcknowledgements());
+    }
+
+    @Test
+    void shouldHoldAcknowledgementHandedOverDuringAFlushUntilTheNextOne() throws Exception {
+        blockFirstFlush();
+        buffer.write(List.of(new GameWrite(PlacarAtualizadoEventFactory.inicio(1L), null)));
+        CompletableFuture<Boolean> flushing = CompletableFuture.supplyAsync(buffer::flush);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        // Its state missed the running flush
+        buffer.write(List.of(new GameWrite(PlacarAtualizadoEventFactory.inicio(2L), null)));
+        buffer.afterFlush(ack("m2"), ack("requeue"));
+
+        release.countDown();
+        assertTrue(flushing.get(5, TimeUnit.SECONDS));
+        assertTrue(acks.isEmpty());
+
+        buffer.flush();
+        assertEquals(List.of("m2"), acks);
+    }
+
+    @Test
+    void shouldKeepStatesAndAcknowledgementsOfAFailedFlushForTheNextOne() {
+        GameWrite write = new GameWrite(PlacarAtualizadoEventFactory.inicio(9L), null);
+        when(cacheRepository.saveAll(any()))
+                .thenThrow(new RedisConnectionFailureException("redis unavailable"))
+                .thenReturn(List.of());
+        buffer.write(List.of(write));
+        buffer.afterFlush(ack("m9"), ack("requeue"));
+
+        assertFalse(buffer.flush());
+        assertTrue(acks.isEmpty());
+        assertEquals(write.event(), buffer.pendingState(9L));
+
+        assertTrue(buffer.flush());
+        verify(cacheRepository, times(2)).saveAll(List.of(write));
+        assertEquals(List.of("m9"), acks);
+    }
+
+    @Test
+    void shouldKeepNewerPendingStateOverTheOneOfAFailedFlush() throws Exception {
+        PlacarAtualizadoEvent failed = PlacarAtualizadoEventFactory.emAndamento(3L, 10, 0, 0);
+        failed.setVersao(5L);
+        PlacarAtualizadoEvent newer = PlacarAtualizadoEventFactory.emAndamento(3L, 11, 1, 0);
+        newer.setVersao(6L);
+        when(cacheRepository.saveAll(any())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            throw new RedisConnectionFailureException("redis unavailable");
+        });
+        buffer.write(List.of(new GameWrite(failed, null)));
+        CompletableFuture<Boolean> flushing = CompletableFuture.supplyAsync(buffer::flush);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        buffer.write(List.of(new GameWrite(newer, null)));
+
+        release.countDown();
+
+        assertFalse(flushing.get(5, TimeUnit.SECONDS));
+        assertEquals(newer, buffer.pendingState(3L));
+    }
+
+    @Test
+    void shouldCountStatesRejectedByTheCompareAndSet() {
+        when(cacheRepository.saveAll(any())).thenReturn(List.of(6L));
+        buffer.write(List.of(new GameWrite(PlacarAtualizadoEventFactory.inicio(6L), null),
+                new GameWrite(PlacarAtualizadoEventFactory.inicio(7L), null)));
+
+        buffer.flush();
+
+        verify(metrics).staleDiscarded(GameEventMetrics.STAGE_WRITE, 1);
+    }
+
+    @Test
+    void shouldExposeInFlightStateToReads() {
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(10L);
+        AtomicReference<PlacarAtualizadoEvent> seen = new AtomicReference<>();
+        when(cacheRepository.saveAll(any())).thenAnswer(invocation -> {
+            seen.set(buffer.pendingState(10L));
+            return List.of();
+        });
+        buffer.write(List.of(new GameWrite(event, null)));
+
+        buffer.flush();
+
+        assertEquals(event, seen.get());
+        assertNotSame(event, seen.get());
+        assertNull(buffer.pendingState(10L));
+    }
+
+    @Test
+    void shouldWaitForRunningFlushBeforeDiscarding() throws Exception {
+        blockFirstFlush();
+        buffer.write(List.of(new GameWrite(PlacarAtualizadoEventFactory.inicio(11L), null)));
+        CompletableFuture<Boolean> flushing = CompletableFuture.supplyAsync(buffer::flush);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> discarding = CompletableFuture.runAsync(() -> buffer.discard(11L));
+        Thread.sleep(100);
+        assertFalse(discarding.isDone());
+
+        release.countDown();
+        flushing.get(5, TimeUnit.SECONDS);
+        discarding.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldDropDiscardedPendingState() {
+        buffer.write(List.of(new GameWrite(PlacarAtualizadoEventFactory.inicio(12L), null)));
+
+        buffer.discard(12L);
+        buffer.flush();
+
+        assertNull(buffer.pendingState(12L));
+        verifyNoInteractions(cacheRepository);
+    }
+
+    @Test
+    void shouldFlushAndReleaseAcknowledgementsOnStop() {
+        GameWrite write = new GameWrite(PlacarAtualizadoEventFactory.inicio(4L), null);
+        buffer.write(List.of(write));
+        buffer.afterFlush(ack("m4"), ack("requeue"));
+
+        buffer.stop();
+
+        verify(cacheRepository).saveAll(List.of(write));
+        assertEquals(List.of("m4"), acks);
+        assertFalse(buffer.isRunning());
+    }
+
+    @Test
+    void shouldWriteThroughOnceStopped() {
+        buffer.stop();
+        GameWrite write = new GameWrite(PlacarAtualizadoEventFactory.inicio(5L), null);
+
+        buffer.write(List.of(write));
+
+        verify(cacheRepository).saveAll(List.of(write));
+        assertEquals(0, buffer.pendingCount());
+    }
+
+    @Test
+    void shouldRequeueHeldMessagesWhenTheLastFlushFails() {
+        when(cacheRepository.saveAll(any())).thenThrow(new RedisConnectionFailureException("redis unavailable"));
+        buffer.write(List.of(new GameWrite(PlacarAtualizadoEventFactory.inicio(8L), null)));
+        buffer.afterFlush(ack("m8"), ack("requeue m8"));
+
+        buffer.stop();
+
+        assertEquals(List.of("requeue m8"), acks);
+        assertEquals(0, buffer.heldAcknowledgements());
+    }
+
+    @Test
+    void shouldReleaseAcknowledgementRightAwayWhenDisabled() {
+        properties.getCache().getWriteBehind().setEnabled(false);
+
+        buffer.afterFlush(ack("m1"), ack("requeue"));
+        buffer.flushPeriodically();
+
+        assertEquals(List.of("m1"), acks);
+        verify(cacheRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void shouldRequireTheLanesConsumerMode() {
+        properties.getRabbit().setMode(AppProperties.Rabbit.Mode.SINGLE);
+
+        assertThrows(IllegalStateException.class,
+                () -> new GameWriteBehindBuffer(cacheRepository, metrics, properties));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldWriteAllPendingGamesAsOneBatch() {
+        for (long id = 1; id <= 2; id++) {
+            buffer.write(List.of(new GameWrite(PlacarAtualizadoEventFactory.inicio(id), null)));
+        }
+
+        buffer.flush();
+
+        ArgumentCaptor<List<GameWrite>> captor = ArgumentCaptor.forClass(List.class);
+        verify(cacheRepository).saveAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+    }
+
+    @Test
+    void shouldStopAfterListenerContainers() {
+        assertEquals(Integer.MAX_VALUE - 1000, buffer.getPhase());
+    }
+
+    private Runnable ack(String name) {
+        return () -> acks.add(name);
+    }
+
+    /**
+     * Holds the first flush in Redis until {@link #release} is counted down.
+     */
+    private void blockFirstFlush() {
+        when(cacheRepository.saveAll(any())).thenAnswer(invocation -> {
+            if (writing.getCount() > 0) {
+                writing.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return List.of();
+        });
+    }
+}
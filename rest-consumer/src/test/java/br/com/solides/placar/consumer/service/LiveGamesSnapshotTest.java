@@ -0,0 +1,147 @@
+package br.com.solides.placar.consumer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.solides.placar.consumer.redis.GameCacheRepository;
+import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+import br.com.solides.placar.consumer.support.RedisObjectMapperFactory;
+import br.com.solides.placar.shared.enums.StatusJogo;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+
+@ExtendWith(MockitoExtension.class)
+class LiveGamesSnapshotTest {
+
+    @Mock
+    private GameCacheRepository cacheRepository;
+
+    private final ObjectMapper objectMapper = RedisObjectMapperFactory.create();
+
+    private LiveGamesSnapshot liveGames;
+
+    @BeforeEach
+    void setUp() {
+        liveGames = new LiveGamesSnapshot(cacheRepository, objectMapper);
+    }
+
+    @Test
+    void shouldStartWithEmptyArray() throws IOException {
+        LiveGamesSnapshot.Snapshot snapshot = liveGames.current();
+
+        assertEquals("[]", new String(snapshot.json()));
+        assertEquals("[]", gunzip(snapshot.gzip()));
+    }
+
+    @Test
+    void shouldListOnlyLiveGamesInIdOrder() throws IOException {
+        liveGames.apply(PlacarAtualizadoEventFactory.emAndamento(3L, 20, 1, 0));
+        liveGames.apply(PlacarAtualizadoEventFactory.naoIniciado(1L));
+        liveGames.apply(PlacarAtualizadoEventFactory.finalizado(2L, 2, 2));
+
+        LiveGamesSnapshot.Snapshot snapshot = liveGames.current();
+
+        assertEquals(List.of(1L, 3L), ids(snapshot.json()));
+        assertEquals(List.of(1L, 3L), ids(gunzip(snapshot.gzip()).getBytes()));
+        assertEquals(2, snapshot.games());
+    }
+
+    @Test
+    void shouldRemoveGameWhenItFinishes() {
+        liveGames.apply(PlacarAtualizadoEventFactory.emAndamento(4L, 80, 1, 1));
+        liveGames.apply(PlacarAtualizadoEventFactory.finalizado(4L, 1, 1));
+
+        assertEquals(0, liveGames.current().games());
+    }
+
+    @Test
+    void shouldIgnoreOlderVersion() {
+        PlacarAtualizadoEvent newer = PlacarAtualizadoEventFactory.emAndamento(5L, 30, 2, 0);
+        newer.setVersao(4L);
+        PlacarAtualizadoEvent older = PlacarAtualizadoEventFactory.finalizado(5L, 0, 0);
+        older.setVersao(3L);
+
+        liveGames.apply(newer);
+        liveGames.apply(older);
+
+        assertEquals(1, liveGames.current().games());
+    }
+
+    @Test
+    void shouldReuseSnapshotUntilGamesChange() {
+        liveGames.apply(PlacarAtualizadoEventFactory.inicio(6L));
+        LiveGamesSnapshot.Snapshot first = liveGames.current();
+
+        assertSame(first, liveGames.current());
+
+        liveGames.apply(PlacarAtualizadoEventFactory.emAndamento(6L, 1, 1, 0));
+
+        assertNotEquals(first.hash(), liveGames.current().hash());
+    }
+
+    @Test
+    void shouldResyncLiveGamesFromRedis() {
+        liveGames.apply(PlacarAtualizadoEventFactory.inicio(7L));
+        doAnswer(invocation -> {
+            LongConsumer action = invocation.getArgument(1);
+            action.accept(8L);
+            action.accept(9L);
+            return null;
+        }).when(cacheRepository).forEachIndexedId(eq(500), any(LongConsumer.class));
+        PlacarAtualizadoEvent deleted = PlacarAtualizadoEventFactory.inicio(9L);
+        deleted.setStatus(StatusJogo.EXCLUIDO);
+        when(cacheRepository.findAllById(List.of(8L, 9L)))
+                .thenReturn(List.of(PlacarAtualizadoEventFactory.naoIniciado(8L), deleted));
+
+        liveGames.resync();
+
+        assertEquals(List.of(8L), ids(liveGames.current().json()));
+    }
+
+    @Test
+    void shouldKeepGamesWhenResyncFails() {
+        liveGames.apply(PlacarAtualizadoEventFactory.inicio(10L));
+        doThrow(new RedisConnectionFailureException("redis unavailable")).when(cacheRepository)
+                .forEachIndexedId(eq(500), any(LongConsumer.class));
+
+        liveGames.resync();
+
+        assertEquals(List.of(10L), ids(liveGames.current().json()));
+    }
+
+    private List<Long> ids(byte[] json) {
+        try {
+            return objectMapper.readValue(json, new TypeReference<List<PlacarAtualizadoEvent>>() {
+            }).stream().map(PlacarAtualizadoEvent::getId).toList();
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static String gunzip(byte[] gzip) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return new String(in.readAllBytes());
+        }
+    }
+}
@@ -3,6 +3,7 @@ package br.com.solides.placar.consumer.service.strategy;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,13 +26,14 @@ class GameDeletionStrategyTest {
     private GameDeletionStrategy strategy;
 
     @Test
-    void shouldDeleteGameByIdWhenProcessingExclusion() {
+    void shouldMarkGameAsDeletedWhenProcessingExclusion() {
         PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.inicio(10L);
         event.setStatus(StatusJogo.EXCLUIDO);
+        when(cacheService.markDeleted(event)).thenReturn(true);
 
-        strategy.process(event);
+        assertTrue(strategy.process(event));
 
-        verify(cacheService).deleteById(10L);
+        verify(cacheService).markDeleted(event);
     }
 
     @Test
@@ -46,6 +48,13 @@ class GameDeletionStrategyTest {
 
     @Test
     void shouldNotHandleNullEvent() {
-        assertFalse(strategy.canHandle(null));
+        assertFalse(strategy.canHandle((PlacarAtualizadoEvent) null));
+    }
+
+    @Test
+    void shouldHandleOnlyExcluidoStatus() {
+        assertTrue(strategy.canHandle(StatusJogo.EXCLUIDO));
+        assertFalse(strategy.canHandle(StatusJogo.FINALIZADO));
+        assertFalse(strategy.canHandle((StatusJogo) null));
     }
 }
@@ -1,10 +1,16 @@
 package br.com.solides.placar.consumer.service.strategy;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -30,13 +36,39 @@ class GameUpdateStrategyTest {
         PlacarAtualizadoEvent incoming = PlacarAtualizadoEventFactory.inicio(1L);
         PlacarAtualizadoEvent merged = PlacarAtualizadoEventFactory.emAndamento(1L, 15, 1, 0);
         when(cacheService.mergeWithCached(incoming)).thenReturn(merged);
+        when(cacheService.save(merged)).thenReturn(true);
 
-        strategy.process(incoming);
+        assertTrue(strategy.process(incoming));
 
         verify(cacheService).mergeWithCached(incoming);
         verify(cacheService).save(merged);
     }
 
+    @Test
+    void shouldSkipSaveWhenEventIsStale() {
+        PlacarAtualizadoEvent incoming = PlacarAtualizadoEventFactory.emAndamento(1L, 15, 1, 0);
+        incoming.setVersao(2L);
+        when(cacheService.mergeWithCached(incoming)).thenReturn(null);
+
+        assertFalse(strategy.process(incoming));
+
+        verify(cacheService, never()).save(any());
+    }
+
+    @Test
+    void shouldReturnIncomingEventsOfGamesWrittenByBatch() {
+        PlacarAtualizadoEvent applied = PlacarAtualizadoEventFactory.emAndamento(4L, 20, 1, 0);
+        PlacarAtualizadoEvent merged = PlacarAtualizadoEventFactory.emAndamento(4L, 20, 1, 0);
+        PlacarAtualizadoEvent stale = PlacarAtualizadoEventFactory.emAndamento(5L, 20, 0, 0);
+        when(cacheService.mergeAndSaveAll(List.of(applied, stale))).thenReturn(List.of(merged));
+
+        List<PlacarAtualizadoEvent> result = strategy.processAll(List.of(applied, stale));
+
+        assertEquals(1, result.size());
+        assertSame(applied, result.get(0));
+        verify(cacheService, never()).save(any());
+    }
+
     @Test
     void shouldHandleNonExcludedEvents() {
         PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.finalizado(2L, 2, 1);
@@ -54,6 +86,14 @@ class GameUpdateStrategyTest {
 
     @Test
     void shouldNotHandleNullEvent() {
-        assertFalse(strategy.canHandle(null));
+        assertFalse(strategy.canHandle((PlacarAtualizadoEvent) null));
+    }
+
+    @Test
+    void shouldHandleEveryStatusButExcluido() {
+        assertTrue(strategy.canHandle(StatusJogo.NAO_INICIADO));
+        assertTrue(strategy.canHandle(StatusJogo.EM_ANDAMENTO));
+        assertTrue(strategy.canHandle(StatusJogo.FINALIZADO));
+        assertFalse(strategy.canHandle(StatusJogo.EXCLUIDO));
     }
 }
@@ -3,27 +3,40 @@ package br.com.solides.placar.consumer.sse;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import br.com.solides.placar.consumer.config.AppProperties;
+import br.com.solides.placar.consumer.metrics.GameEventLatencyMetrics;
 import br.com.solides.placar.consumer.support.PlacarAtualizadoEventFactory;
+import br.com.solides.placar.shared.enums.StatusJogo;
 import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 class SseBrodcastTest {
 
+    private final AtomicLong now = new AtomicLong(1_000_000);
     private SseBrodcast sseBroadcast;
 
     @BeforeEach
     void setUp() {
-        sseBroadcast = new SseBrodcast();
+        AppProperties properties = new AppProperties();
+        properties.getSse().setOrderRetention(60_000);
+        sseBroadcast = new SseBrodcast(new GameEventLatencyMetrics(new SimpleMeterRegistry(), properties), properties,
+                now::get);
     }
 
     @Test
@@ -48,6 +61,127 @@ class SseBrodcastTest {
         assertEquals(1, status.get("placar"));
     }
 
+    @Test
+    void shouldBroadcastPriorityEventsToRegisteredEmitters() {
+        RecordingSseEmitter emitter = new RecordingSseEmitter();
+        addEmitter("encerrado", emitter);
+        PlacarAtualizadoEvent event = PlacarAtualizadoEventFactory.finalizado(1L, 2, 1);
+
+        sseBroadcast.broadcastPriority("encerrado", event);
+
+        assertEquals(1, emitter.getSentEventsCount());
+    }
+
+    @Test
+    void shouldNotSendAStateOlderThanOneAlreadySentByTheOtherLane() {
+        RecordingSseEmitter placar = new RecordingSseEmitter();
+        RecordingSseEmitter encerrado = new RecordingSseEmitter();
+        addEmitter("placar", placar);
+        addEmitter("encerrado", encerrado);
+        PlacarAtualizadoEvent score = PlacarAtualizadoEventFactory.emAndamento(1L, 89, 2, 1);
+        score.setVersao(5L);
+        PlacarAtualizadoEvent finalizado = PlacarAtualizadoEventFactory.finalizado(1L, 2, 1);
+        finalizado.setVersao(6L);
+
+        sseBroadcast.broadcastPriority("encerrado", finalizado);
+        sseBroadcast.broadcast("placar", score);
+
+        assertEquals(1, encerrado.getSentEventsCount());
+        assertEquals(0, placar.getSentEventsCount());
+    }
+
+    @Test
+    void shouldSendUnversionedEventsAsTheyCome() {
+        RecordingSseEmitter emitter = new RecordingSseEmitter();
+        addEmitter("placar", emitter);
+        PlacarAtualizadoEvent newer = PlacarAtualizadoEventFactory.emAndamento(1L, 11, 1, 0);
+        newer.setVersao(3L);
+
+        sseBroadcast.broadcast("placar", newer);
+        sseBroadcast.broadcast("placar", PlacarAtualizadoEventFactory.emAndamento(1L, 10, 0, 0));
+
+        assertEquals(2, emitter.getSentEventsCount());
+    }
+
+    @Test
+    void shouldNotInterleaveTheTwoLanesForOneGameNorMakeOneWaitForTheOther() throws Exception {
+        List<Long> sent = new CopyOnWriteArrayList<>();
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        addEmitter("placar", new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                sending.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                sent.add(5L);
+            }
+        });
+        addEmitter("encerrado", new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                sent.add(6L);
+            }
+        });
+        PlacarAtualizadoEvent score = PlacarAtualizadoEventFactory.emAndamento(1L, 89, 2, 1);
+        score.setVersao(5L);
+        PlacarAtualizadoEvent finalizado = PlacarAtualizadoEventFactory.finalizado(1L, 2, 1);
+        finalizado.setVersao(6L);
+
+        CompletableFuture<Void> scoreLane = CompletableFuture.runAsync(() -> sseBroadcast.broadcast("placar", score));
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        // The priority lane queues the transition behind the score being sent and returns
+        CompletableFuture.runAsync(() -> sseBroadcast.broadcastPriority("encerrado", finalizado))
+                .get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(), sent);
+
+        release.countDown();
+        scoreLane.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(5L, 6L), sent);
+    }
+
+    @Test
+    void shouldForgetGamesWithoutBroadcastsForTheRetention() {
+        RecordingSseEmitter emitter = new RecordingSseEmitter();
+        addEmitter("novos", emitter);
+        PlacarAtualizadoEvent naoIniciado = PlacarAtualizadoEventFactory.naoIniciado(1L);
+        naoIniciado.setVersao(2L);
+        PlacarAtualizadoEvent excluido = naoIniciado.toBuilder().status(StatusJogo.EXCLUIDO).build();
+        PlacarAtualizadoEvent other = PlacarAtualizadoEventFactory.naoIniciado(2L);
+        other.setVersao(1L);
+        sseBroadcast.broadcastPriority("excluido", excluido);
+
+        now.addAndGet(30_000);
+        sseBroadcast.broadcastPriority("novos", other);
+        sseBroadcast.evictIdleOrders();
+        assertEquals(2, sseBroadcast.trackedGames());
+
+        now.addAndGet(30_001);
+        sseBroadcast.evictIdleOrders();
+        assertEquals(1, sseBroadcast.trackedGames());
+        now.addAndGet(30_000);
+        sseBroadcast.evictIdleOrders();
+        assertEquals(0, sseBroadcast.trackedGames());
+    }
+
+    @Test
+    void shouldSendNothingAfterTheDeletionOfAGame() {
+        RecordingSseEmitter emitter = new RecordingSseEmitter();
+        addEmitter("novos", emitter);
+        PlacarAtualizadoEvent naoIniciado = PlacarAtualizadoEventFactory.naoIniciado(1L);
+        naoIniciado.setVersao(2L);
+        // The deletion carries the last version of the game
+        PlacarAtualizadoEvent excluido = naoIniciado.toBuilder().status(StatusJogo.EXCLUIDO).build();
+
+        sseBroadcast.broadcastPriority("excluido", excluido);
+        sseBroadcast.broadcastPriority("novos", naoIniciado);
+
+        assertEquals(0, emitter.getSentEventsCount());
+    }
+
     @Test
     void shouldRemoveEmitterWhenBroadcastSendFails() {
         addEmitter("placar", new FailingSseEmitter());
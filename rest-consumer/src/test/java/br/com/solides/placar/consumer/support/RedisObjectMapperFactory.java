@@ -0,0 +1,22 @@
+package br.com.solides.placar.consumer.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Builds an {@link ObjectMapper} configured like the Redis one of {@code RedisConfig}, for
+ * tests that serialize game values outside the Spring context.
+ */
+public final class RedisObjectMapperFactory {
+
+    private RedisObjectMapperFactory() {
+    }
+
+    public static ObjectMapper create() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return mapper;
+    }
+}
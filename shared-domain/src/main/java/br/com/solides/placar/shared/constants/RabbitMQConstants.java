@@ -38,6 +38,19 @@ public final class RabbitMQConstants {
      */
     public static final String ROUTING_KEY_PLACAR_ATUALIZADO = "games.partidas";
 
+    /**
+     * Nome da fila prioritária, que recebe as transições de ciclo de vida dos jogos
+     * (criação, início, encerramento e exclusão) à parte das atualizações de placar e tempo.
+     * Deve corresponder a app.rabbit.priority.queue no rest-consumer
+     */
+    public static final String QUEUE_PLACAR_PRIORITARIO = "games.partidas.prioridade";
+
+    /**
+     * Routing key dos eventos prioritários
+     * Deve corresponder a app.rabbit.priority.routing no rest-consumer
+     */
+    public static final String ROUTING_KEY_PLACAR_PRIORITARIO = "games.partidas.prioridade";
+
     /**
      * Durabilidade do exchange (true = persiste após restart do RabbitMQ)
      */
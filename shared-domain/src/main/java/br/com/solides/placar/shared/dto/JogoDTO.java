@@ -119,4 +119,10 @@ public class JogoDTO implements Serializable {
     @JsonbDateFormat("yyyy-MM-dd'T'HH:mm:ss")
     @Schema(description = "Data da última atualização", example = "2026-02-12T20:45:00", format = "date-time", readOnly = true)
     private LocalDateTime dataAtualizacao;
+
+    /**
+     * Versão do registro, incrementada a cada alteração
+     */
+    @Schema(description = "Versão do registro, incrementada a cada alteração", example = "3", readOnly = true)
+    private Long versao;
 }
@@ -22,7 +22,7 @@ import java.time.LocalDateTime;
  * @since 1.0.0
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class PlacarAtualizadoEvent implements Serializable {
@@ -85,4 +85,11 @@ public class PlacarAtualizadoEvent implements Serializable {
      */
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime dataHoraEncerramento;
+
+    /**
+     * Versão do jogo atribuída pelo publicador, crescente a cada alteração.
+     * Usada pelo consumidor para descartar eventos fora de ordem e detectar lacunas.
+     * Pode ser nula em eventos de publicadores anteriores a este campo.
+     */
+    private Long versao;
 }
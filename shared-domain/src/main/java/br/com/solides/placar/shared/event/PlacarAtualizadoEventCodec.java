@@ -0,0 +1,310 @@
+package br.com.solides.placar.shared.event;
+
+import br.com.solides.placar.shared.enums.StatusJogo;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * Leitura e escrita do JSON de {@link PlacarAtualizadoEvent} com o parser de streaming do
+ * Jackson, sem databind, sem árvore intermediária e sem exceções no caminho feliz.
+ * <p>
+ * O formato é o mesmo produzido pelo {@code ObjectMapper} com {@code JavaTimeModule}: campos
+ * na ordem de declaração, nulos incluídos e datas em {@code yyyy-MM-dd'T'HH:mm:ss}. Na
+ * leitura, os nomes de campo chegam canonicalizados pelo parser (sem cópia por mensagem),
+ * campos desconhecidos são ignorados e as datas também aceitam espaço no lugar do {@code T}
+ * e fração de segundos.
+ * <p>
+ * Deve acompanhar os campos do evento.
+ *
+ * @since 1.0.0
+ */
+public final class PlacarAtualizadoEventCodec {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static final StatusJogo[] STATUS = StatusJogo.values();
+
+    private static final String ID = "id";
+    private static final String DATA_HORA_INICIO_PARTIDA = "dataHoraInicioPartida";
+    private static final String TIME_A = "timeA";
+    private static final String TIME_B = "timeB";
+    private static final String PLACAR_A = "placarA";
+    private static final String PLACAR_B = "placarB";
+    private static final String STATUS_FIELD = "status";
+    private static final String TEMPO_DE_JOGO = "tempoDeJogo";
+    private static final String DATA_HORA_ENCERRAMENTO = "dataHoraEncerramento";
+    private static final String VERSAO = "versao";
+
+    private static final SerializableString ID_NAME = new SerializedString(ID);
+    private static final SerializableString DATA_HORA_INICIO_PARTIDA_NAME = new SerializedString(DATA_HORA_INICIO_PARTIDA);
+    private static final SerializableString TIME_A_NAME = new SerializedString(TIME_A);
+    private static final SerializableString TIME_B_NAME = new SerializedString(TIME_B);
+    private static final SerializableString PLACAR_A_NAME = new SerializedString(PLACAR_A);
+    private static final SerializableString PLACAR_B_NAME = new SerializedString(PLACAR_B);
+    private static final SerializableString STATUS_NAME = new SerializedString(STATUS_FIELD);
+    private static final SerializableString TEMPO_DE_JOGO_NAME = new SerializedString(TEMPO_DE_JOGO);
+    private static final SerializableString DATA_HORA_ENCERRAMENTO_NAME = new SerializedString(DATA_HORA_ENCERRAMENTO);
+    private static final SerializableString VERSAO_NAME = new SerializedString(VERSAO);
+
+    private PlacarAtualizadoEventCodec() {
+    }
+
+    /**
+     * Lê um evento do JSON codificado em bytes.
+     *
+     * @param json o corpo da mensagem
+     * @return o evento, sem validação das restrições
+     * @throws IOException se o JSON for inválido ou não seguir o esquema do evento
+     */
+    public static PlacarAtualizadoEvent read(byte[] json) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected an event object");
+            }
+            PlacarAtualizadoEvent event = new PlacarAtualizadoEvent();
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case ID -> event.setId(readLong(parser, token));
+                    case DATA_HORA_INICIO_PARTIDA -> event.setDataHoraInicioPartida(readDateTime(parser, token));
+                    case TIME_A -> event.setTimeA(readText(parser, token));
+                    case TIME_B -> event.setTimeB(readText(parser, token));
+                    case PLACAR_A -> event.setPlacarA(readInt(parser, token));
+                    case PLACAR_B -> event.setPlacarB(readInt(parser, token));
+                    case STATUS_FIELD -> event.setStatus(readStatus(parser, token));
+                    case TEMPO_DE_JOGO -> event.setTempoDeJogo(readInt(parser, token));
+                    case DATA_HORA_ENCERRAMENTO -> event.setDataHoraEncerramento(readDateTime(parser, token));
+                    case VERSAO -> event.setVersao(readLong(parser, token));
+                    default -> parser.skipChildren();
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_OBJECT) {
+                throw new JsonParseException(parser, "Expected a field name or the end of the event object");
+            }
+            return event;
+        }
+    }
+
+    /**
+     * Escreve um evento em JSON UTF-8.
+     *
+     * @param event o evento
+     * @return o JSON codificado em bytes
+     * @throws IOException se a escrita falhar
+     */
+    public static byte[] write(PlacarAtualizadoEvent event) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator generator = FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            writeNumber(generator, ID_NAME, event.getId());
+            writeDateTime(generator, DATA_HORA_INICIO_PARTIDA_NAME, event.getDataHoraInicioPartida());
+            writeText(generator, TIME_A_NAME, event.getTimeA());
+            writeText(generator, TIME_B_NAME, event.getTimeB());
+            writeNumber(generator, PLACAR_A_NAME, event.getPlacarA());
+            writeNumber(generator, PLACAR_B_NAME, event.getPlacarB());
+            writeText(generator, STATUS_NAME, event.getStatus() != null ? event.getStatus().name() : null);
+            writeNumber(generator, TEMPO_DE_JOGO_NAME, event.getTempoDeJogo());
+            writeDateTime(generator, DATA_HORA_ENCERRAMENTO_NAME, event.getDataHoraEncerramento());
+            writeNumber(generator, VERSAO_NAME, event.getVersao());
+            generator.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+
+    private static Long readLong(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.VALUE_NUMBER_INT) {
+            throw new JsonParseException(parser, "Expected an integer for " + parser.currentName());
+        }
+        return parser.getLongValue();
+    }
+
+    private static Integer readInt(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.VALUE_NUMBER_INT) {
+            throw new JsonParseException(parser, "Expected an integer for " + parser.currentName());
+        }
+        return parser.getIntValue();
+    }
+
+    private static String readText(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.VALUE_STRING) {
+            throw new JsonParseException(parser, "Expected a string for " + parser.currentName());
+        }
+        return parser.getText();
+    }
+
+    private static StatusJogo readStatus(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            char[] chars = parser.getTextCharacters();
+            int offset = parser.getTextOffset();
+            int length = parser.getTextLength();
+            for (StatusJogo status : STATUS) {
+                if (matches(status.name(), chars, offset, length)) {
+                    return status;
+                }
+            }
+        }
+        throw new JsonParseException(parser, "Unknown status: " + parser.getText());
+    }
+
+    private static LocalDateTime readDateTime(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        LocalDateTime dateTime = token == JsonToken.VALUE_STRING
+                ? parseDateTime(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength())
+                : null;
+        if (dateTime == null) {
+            throw new JsonParseException(parser, "Invalid date time for " + parser.currentName() + ": "
+                    + parser.getText());
+        }
+        return dateTime;
+    }
+
+    /**
+     * Converte {@code yyyy-MM-dd'T'HH:mm[:ss[.fração]]} (ou com espaço no lugar do {@code T}).
+     *
+     * @return a data e hora, ou null se o texto não estiver no formato ou não for uma data válida
+     */
+    static LocalDateTime parseDateTime(char[] chars, int offset, int length) {
+        if (length < 16 || chars[offset + 4] != '-' || chars[offset + 7] != '-'
+                || (chars[offset + 10] != 'T' && chars[offset + 10] != ' ') || chars[offset + 13] != ':') {
+            return null;
+        }
+        int year = digits(chars, offset, 4);
+        int month = digits(chars, offset + 5, 2);
+        int day = digits(chars, offset + 8, 2);
+        int hour = digits(chars, offset + 11, 2);
+        int minute = digits(chars, offset + 14, 2);
+        int second = 0;
+        int nano = 0;
+        if (length > 16) {
+            if (length < 19 || chars[offset + 16] != ':') {
+                return null;
+            }
+            second = digits(chars, offset + 17, 2);
+            if (length > 19) {
+                int fraction = length - 20;
+                if (chars[offset + 19] != '.' || fraction < 1 || fraction > 9) {
+                    return null;
+                }
+                nano = digits(chars, offset + 20, fraction);
+                for (int i = fraction; i < 9 && nano >= 0; i++) {
+                    nano *= 10;
+                }
+            }
+        }
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59 || nano < 0) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+    }
+
+    /**
+     * @return o valor dos dígitos decimais, ou -1 se houver outro caractere
+     */
+    private static int digits(char[] chars, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static boolean matches(String name, char[] chars, int offset, int length) {
+        if (name.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (name.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeNumber(JsonGenerator generator, SerializableString name, Long value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator generator, SerializableString name, Integer value)
+            throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private static void writeText(JsonGenerator generator, SerializableString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        generator.writeString(value);
+    }
+
+    private static void writeDateTime(JsonGenerator generator, SerializableString name, LocalDateTime value)
+            throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            throw new IllegalArgumentException("Year out of range for the event date format: " + value);
+        }
+        char[] chars = new char[19];
+        put(chars, 0, year, 4);
+        chars[4] = '-';
+        put(chars, 5, value.getMonthValue(), 2);
+        chars[7] = '-';
+        put(chars, 8, value.getDayOfMonth(), 2);
+        chars[10] = 'T';
+        put(chars, 11, value.getHour(), 2);
+        chars[13] = ':';
+        put(chars, 14, value.getMinute(), 2);
+        chars[16] = ':';
+        put(chars, 17, value.getSecond(), 2);
+        generator.writeString(chars, 0, chars.length);
+    }
+
+    private static void put(char[] chars, int offset, int value, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.solides.placar.shared.event;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.amqp.support.converter.AbstractMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.io.IOException;
+
+/**
+ * {@code MessageConverter} do Spring AMQP dedicado a {@link PlacarAtualizadoEvent},
+ * compartilhado entre o publicador e o consumidor no lugar do
+ * {@code Jackson2JsonMessageConverter}. Lê e escreve o corpo com
+ * {@link PlacarAtualizadoEventCodec}, sem resolver tipos pelos cabeçalhos nem passar pelo
+ * databind.
+ * <p>
+ * O JSON e os cabeçalhos ({@code content_type} e {@code __TypeId__}) são os mesmos do
+ * conversor Jackson, então publicador e consumidor podem ser atualizados em qualquer ordem.
+ *
+ * @since 1.0.0
+ */
+public class PlacarAtualizadoEventMessageConverter extends AbstractMessageConverter {
+
+    @Override
+    protected Message createMessage(Object object, MessageProperties messageProperties) {
+        if (!(object instanceof PlacarAtualizadoEvent event)) {
+            throw new MessageConversionException("Unsupported payload type: "
+                    + (object != null ? object.getClass().getName() : "null"));
+        }
+        byte[] body;
+        try {
+            body = PlacarAtualizadoEventCodec.write(event);
+        } catch (IOException | IllegalArgumentException ex) {
+            throw new MessageConversionException("Failed to write event " + event.getId(), ex);
+        }
+        messageProperties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        messageProperties.setContentEncoding("UTF-8");
+        messageProperties.setContentLength(body.length);
+        messageProperties.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME,
+                PlacarAtualizadoEvent.class.getName());
+        return new Message(body, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        String contentType = message.getMessageProperties().getContentType();
+        if (contentType != null && !contentType.contains("json")) {
+            throw new MessageConversionException("Unsupported content type: " + contentType);
+        }
+        try {
+            return PlacarAtualizadoEventCodec.read(message.getBody());
+        } catch (IOException ex) {
+            throw new MessageConversionException("Failed to read event: " + ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.solides.placar.shared.event;
+
+import br.com.solides.placar.shared.constants.RabbitMQConstants;
+import br.com.solides.placar.shared.enums.StatusJogo;
+
+/**
+ * Separa as transições de ciclo de vida de um jogo das atualizações de placar e tempo,
+ * com a mesma regra no publicador (routing key) e no consumidor (lane de SSE).
+ * <p>
+ * São prioritários os eventos de jogo criado ou não iniciado, de início da partida
+ * ({@link StatusJogo#EM_ANDAMENTO} no minuto zero), de encerramento e de exclusão; os demais
+ * eventos {@link StatusJogo#EM_ANDAMENTO} são atualizações de placar e tempo, de volume muito
+ * maior, e seguem pela fila comum.
+ *
+ * @since 1.0.0
+ */
+public final class PlacarAtualizadoEventRouting {
+
+    private PlacarAtualizadoEventRouting() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Indica se o evento é uma transição de ciclo de vida do jogo.
+     *
+     * @param event o evento
+     * @return true para eventos que seguem pelo caminho prioritário
+     */
+    public static boolean isPriority(PlacarAtualizadoEvent event) {
+        StatusJogo status = event.getStatus();
+        if (status == null) {
+            return false;
+        }
+        if (status != StatusJogo.EM_ANDAMENTO) {
+            return true;
+        }
+        Integer tempoDeJogo = event.getTempoDeJogo();
+        return tempoDeJogo != null && tempoDeJogo == 0;
+    }
+
+    /**
+     * Routing key com que o evento deve ser publicado.
+     *
+     * @param event o evento
+     * @return {@link RabbitMQConstants#ROUTING_KEY_PLACAR_PRIORITARIO} para transições de ciclo
+     *         de vida, {@link RabbitMQConstants#ROUTING_KEY_PLACAR_ATUALIZADO} para os demais
+     */
+    public static String routingKey(PlacarAtualizadoEvent event) {
+        return isPriority(event) ? RabbitMQConstants.ROUTING_KEY_PLACAR_PRIORITARIO
+                : RabbitMQConstants.ROUTING_KEY_PLACAR_ATUALIZADO;
+    }
+}
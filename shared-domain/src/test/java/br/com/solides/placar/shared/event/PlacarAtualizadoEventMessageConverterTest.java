@@ -0,0 +1,161 @@
+package br.com.solides.placar.shared.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import br.com.solides.placar.shared.enums.StatusJogo;
+
+class PlacarAtualizadoEventMessageConverterTest {
+
+    private final PlacarAtualizadoEventMessageConverter converter = new PlacarAtualizadoEventMessageConverter();
+    private final Jackson2JsonMessageConverter jackson = new Jackson2JsonMessageConverter(
+            new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @Test
+    void shouldReadMessagesWrittenByTheJacksonConverter() {
+        PlacarAtualizadoEvent event = finalizado();
+
+        Object read = converter.fromMessage(jackson.toMessage(event, new MessageProperties()));
+
+        assertThat(read).isEqualTo(event);
+    }
+
+    @Test
+    void shouldWriteMessagesTheJacksonConverterReads() {
+        PlacarAtualizadoEvent event = finalizado();
+
+        Message message = converter.toMessage(event, new MessageProperties());
+
+        assertThat(jackson.fromMessage(message)).isEqualTo(event);
+        assertThat(message.getMessageProperties().getContentType()).isEqualTo(MessageProperties.CONTENT_TYPE_JSON);
+        assertThat(message.getMessageProperties().<String>getHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME))
+                .isEqualTo(PlacarAtualizadoEvent.class.getName());
+    }
+
+    @Test
+    void shouldWriteTheSameJsonAsJackson() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        PlacarAtualizadoEvent event = PlacarAtualizadoEvent.builder()
+                .id(3L)
+                .dataHoraInicioPartida(LocalDateTime.of(2026, 2, 1, 16, 0, 0, 500_000_000))
+                .timeA("São Paulo \"Tricolor\"")
+                .timeB("Grêmio")
+                .placarA(0)
+                .placarB(0)
+                .status(StatusJogo.NAO_INICIADO)
+                .tempoDeJogo(0)
+                .build();
+
+        byte[] body = converter.toMessage(event, new MessageProperties()).getBody();
+
+        assertThat(mapper.readTree(body)).isEqualTo(mapper.readTree(mapper.writeValueAsBytes(event)));
+    }
+
+    @Test
+    void shouldRoundTripNullFields() {
+        PlacarAtualizadoEvent event = new PlacarAtualizadoEvent();
+
+        Object read = converter.fromMessage(converter.toMessage(event, new MessageProperties()));
+
+        assertThat(read).isEqualTo(event);
+    }
+
+    @Test
+    void shouldIgnoreUnknownFields() {
+        Object read = converter.fromMessage(json("{\"id\":7,\"extra\":{\"a\":[1,2,{\"b\":null}]},\"status\":\"EM_ANDAMENTO\","
+                + "\"origem\":\"publisher\",\"tempoDeJogo\":45}"));
+
+        assertThat(read).isEqualTo(PlacarAtualizadoEvent.builder()
+                .id(7L)
+                .status(StatusJogo.EM_ANDAMENTO)
+                .tempoDeJogo(45)
+                .build());
+    }
+
+    @Test
+    void shouldAcceptTheOtherDateTimeLayouts() {
+        assertThat(dataHoraInicio("2026-02-14 13:21:05")).isEqualTo(LocalDateTime.of(2026, 2, 14, 13, 21, 5));
+        assertThat(dataHoraInicio("2026-02-14T13:21")).isEqualTo(LocalDateTime.of(2026, 2, 14, 13, 21));
+        assertThat(dataHoraInicio("2026-02-14T13:21:05.123"))
+                .isEqualTo(LocalDateTime.of(2026, 2, 14, 13, 21, 5, 123_000_000));
+        assertThat(dataHoraInicio("2024-02-29T00:00:00")).isEqualTo(LocalDateTime.of(2024, 2, 29, 0, 0));
+    }
+
+    @Test
+    void shouldRejectInvalidDateTimes() {
+        assertThatThrownBy(() -> dataHoraInicio("2026-02-29T10:00:00")).isInstanceOf(MessageConversionException.class);
+        assertThatThrownBy(() -> dataHoraInicio("2026-02-14T24:00:00")).isInstanceOf(MessageConversionException.class);
+        assertThatThrownBy(() -> dataHoraInicio("14/02/2026 13:21")).isInstanceOf(MessageConversionException.class);
+        assertThatThrownBy(() -> dataHoraInicio("2026-02-14T13:21:05.")).isInstanceOf(MessageConversionException.class);
+    }
+
+    @Test
+    void shouldRejectUnknownStatus() {
+        assertThatThrownBy(() -> converter.fromMessage(json("{\"id\":1,\"status\":\"ADIADO\"}")))
+                .isInstanceOf(MessageConversionException.class)
+                .hasMessageContaining("ADIADO");
+    }
+
+    @Test
+    void shouldRejectValuesOfTheWrongType() {
+        assertThatThrownBy(() -> converter.fromMessage(json("{\"id\":\"1\"}")))
+                .isInstanceOf(MessageConversionException.class);
+        assertThatThrownBy(() -> converter.fromMessage(json("[1,2]")))
+                .isInstanceOf(MessageConversionException.class);
+    }
+
+    @Test
+    void shouldRejectNonJsonMessages() {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_TEXT_PLAIN);
+
+        assertThatThrownBy(() -> converter.fromMessage(new Message("{}".getBytes(StandardCharsets.UTF_8), properties)))
+                .isInstanceOf(MessageConversionException.class);
+    }
+
+    @Test
+    void shouldRejectOtherPayloads() {
+        assertThatThrownBy(() -> converter.toMessage("placar", new MessageProperties()))
+                .isInstanceOf(MessageConversionException.class);
+    }
+
+    private LocalDateTime dataHoraInicio(String value) {
+        PlacarAtualizadoEvent event = (PlacarAtualizadoEvent) converter
+                .fromMessage(json("{\"dataHoraInicioPartida\":\"" + value + "\"}"));
+        return event.getDataHoraInicioPartida();
+    }
+
+    private static Message json(String body) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+    }
+
+    private static PlacarAtualizadoEvent finalizado() {
+        return PlacarAtualizadoEvent.builder()
+                .id(42L)
+                .dataHoraInicioPartida(LocalDateTime.of(2026, 2, 1, 16, 0, 0))
+                .timeA("Flamengo")
+                .timeB("Vasco da Gama")
+                .placarA(2)
+                .placarB(1)
+                .status(StatusJogo.FINALIZADO)
+                .tempoDeJogo(90)
+                .dataHoraEncerramento(LocalDateTime.of(2026, 2, 1, 17, 52, 30))
+                .versao(12L)
+                .build();
+    }
+}
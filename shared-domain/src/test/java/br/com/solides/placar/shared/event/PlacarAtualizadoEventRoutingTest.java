@@ -0,0 +1,41 @@
+package br.com.solides.placar.shared.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.solides.placar.shared.constants.RabbitMQConstants;
+import br.com.solides.placar.shared.enums.StatusJogo;
+
+class PlacarAtualizadoEventRoutingTest {
+
+    @Test
+    void shouldRouteLifecycleTransitionsToThePriorityKey() {
+        assertThat(PlacarAtualizadoEventRouting.routingKey(event(StatusJogo.NAO_INICIADO, 0)))
+                .isEqualTo(RabbitMQConstants.ROUTING_KEY_PLACAR_PRIORITARIO);
+        assertThat(PlacarAtualizadoEventRouting.routingKey(event(StatusJogo.EM_ANDAMENTO, 0)))
+                .isEqualTo(RabbitMQConstants.ROUTING_KEY_PLACAR_PRIORITARIO);
+        assertThat(PlacarAtualizadoEventRouting.routingKey(event(StatusJogo.FINALIZADO, 90)))
+                .isEqualTo(RabbitMQConstants.ROUTING_KEY_PLACAR_PRIORITARIO);
+        assertThat(PlacarAtualizadoEventRouting.routingKey(event(StatusJogo.EXCLUIDO, 30)))
+                .isEqualTo(RabbitMQConstants.ROUTING_KEY_PLACAR_PRIORITARIO);
+    }
+
+    @Test
+    void shouldRouteScoreAndClockUpdatesToTheCommonKey() {
+        assertThat(PlacarAtualizadoEventRouting.routingKey(event(StatusJogo.EM_ANDAMENTO, 37)))
+                .isEqualTo(RabbitMQConstants.ROUTING_KEY_PLACAR_ATUALIZADO);
+        assertThat(PlacarAtualizadoEventRouting.routingKey(event(StatusJogo.EM_ANDAMENTO, null)))
+                .isEqualTo(RabbitMQConstants.ROUTING_KEY_PLACAR_ATUALIZADO);
+        assertThat(PlacarAtualizadoEventRouting.routingKey(event(null, 0)))
+                .isEqualTo(RabbitMQConstants.ROUTING_KEY_PLACAR_ATUALIZADO);
+    }
+
+    private static PlacarAtualizadoEvent event(StatusJogo status, Integer tempoDeJogo) {
+        return PlacarAtualizadoEvent.builder()
+                .id(1L)
+                .status(status)
+                .tempoDeJogo(tempoDeJogo)
+                .build();
+    }
+}
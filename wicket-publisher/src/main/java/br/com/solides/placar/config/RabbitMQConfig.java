@@ -2,15 +2,11 @@ package br.com.solides.placar.config;
 
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 
 import br.com.solides.placar.config.properties.RabbitMQProperties;
 import br.com.solides.placar.shared.constants.RabbitMQConstants;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEventMessageConverter;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -92,20 +88,12 @@ public class RabbitMQConfig {
     }
 
     private MessageConverter createMessageConverter() {
-        Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter(createObjectMapper());
+        // Conversor dedicado ao evento (streaming, sem databind), o mesmo usado pelo rest-consumer
+        PlacarAtualizadoEventMessageConverter converter = new PlacarAtualizadoEventMessageConverter();
         converter.setCreateMessageIds(true);
         return converter;
     }
 
-    private ObjectMapper createObjectMapper() {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        return objectMapper;
-    }
-
     public RabbitTemplate getRabbitTemplate() {
         return rabbitTemplate;
     }
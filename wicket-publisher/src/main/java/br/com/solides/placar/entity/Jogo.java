@@ -12,6 +12,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -108,6 +109,15 @@ public class Jogo implements Serializable {
     @Column(name = "data_atualizacao")
     private LocalDateTime dataAtualizacao;
 
+    /**
+     * Versão do jogo (lock otimista), incrementada a cada alteração.
+     * Publicada nos eventos para que o consumidor ordene as atualizações.
+     * O default permite estender tabelas existentes.
+     */
+    @Version
+    @Column(name = "versao", nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long versao;
+
     
     /**
      * Verifica se o jogo pode ter o placar alterado
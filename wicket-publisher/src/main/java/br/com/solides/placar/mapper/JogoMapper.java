@@ -41,6 +41,7 @@ public class JogoMapper {
                 .dataHoraEncerramento(entity.getDataHoraEncerramento())
                 .dataCriacao(entity.getDataCriacao())
                 .dataAtualizacao(entity.getDataAtualizacao())
+                .versao(entity.getVersao())
                 .build();
        
         if (!PublisherUtils.nuloOuVazio(entity.getDataHoraPartida())) {
@@ -85,6 +86,7 @@ public class JogoMapper {
                 .dataHoraEncerramento(dto.getDataHoraEncerramento())
                 .dataCriacao(dto.getDataCriacao())
                 .dataAtualizacao(dto.getDataAtualizacao())
+                .versao(dto.getVersao())
                 .build();
     }
 
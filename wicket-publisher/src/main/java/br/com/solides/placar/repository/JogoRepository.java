@@ -46,6 +46,8 @@ public class JogoRepository {
             return jogo;
         } else {
             Jogo merged = entityManager.merge(jogo);
+            // Flush para que a versão incrementada já esteja no DTO do evento publicado
+            entityManager.flush();
             log.info("Jogo atualizado com ID: {}", merged.getId());
             return merged;
         }
@@ -77,6 +79,21 @@ public class JogoRepository {
         return query.getResultList();
     }
 
+    /**
+     * Lista uma página de jogos em ordem de ID, a partir do ID informado (paginação por chave).
+     * Permite percorrer todos os jogos sem OFFSET e retomar a partir do último ID lido.
+     */
+    public List<Jogo> findPageAfterId(Long aposId, int limite) {
+        log.debug("Buscando página de jogos após ID {} (limite {})", aposId, limite);
+        
+        TypedQuery<Jogo> query = entityManager.createQuery(
+            "SELECT j FROM Jogo j WHERE j.id > :aposId ORDER BY j.id", Jogo.class);
+        
+        query.setParameter("aposId", aposId != null ? aposId : 0L);
+        query.setMaxResults(limite);
+        return query.getResultList();
+    }
+
     /**
      * Lista jogos com filtros dinâmicos
      */
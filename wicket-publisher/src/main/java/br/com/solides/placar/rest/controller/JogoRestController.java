@@ -24,6 +24,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
@@ -101,6 +102,41 @@ public class JogoRestController extends BaseRestController {
         });
     }
 
+    /**
+     * Lista uma página de jogos em ordem de ID (paginação por chave)
+     * GET /api/v1/jogos/pagina?aposId=0&limite=200
+     */
+    @GET
+    @Path("/pagina")
+    @Operation(
+        summary = "Listar página de jogos",
+        description = "Lista jogos com ID maior que aposId, em ordem de ID. "
+            + "Para a próxima página, informe em aposId o último ID recebido; uma página vazia indica o fim."
+    )
+    @APIResponses({
+        @APIResponse(
+            responseCode = "200",
+            description = "Página de jogos retornada com sucesso",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON,
+                schema = @Schema(type = SchemaType.ARRAY, implementation = JogoDTO.class)
+            )
+        ),
+        @APIResponse(responseCode = "500", description = MSG_API_ERRO_INTERNO)
+    })
+    public Response listarPagina(
+            @Parameter(description = "Último ID da página anterior (0 para a primeira página)") @QueryParam("aposId") @DefaultValue("0") Long aposId,
+            @Parameter(description = "Quantidade máxima de jogos (1 a 500)") @QueryParam("limite") @DefaultValue("200") int limite) {
+        
+        return executeWithExceptionHandling(() -> {
+            log.debug("REST - Listando página de jogos após ID {} (limite {})", aposId, limite);
+            
+            List<JogoDTO> jogos = jogoService.listarPagina(aposId, limite);
+            
+            return success(jogos, "Página de jogos listada com sucesso");
+        });
+    }
+
     /**
      * Busca jogo por ID
      * GET /api/v1/jogos/{id}
@@ -52,6 +52,9 @@ public class JogoService {
     // Constantes de mensagens
     private static final String MSG_JOGO_NAO_ENCONTRADO = "Jogo não encontrado com ID: ";
 
+    // Tamanho máximo de página na listagem paginada
+    static final int LIMITE_MAXIMO_PAGINA = 500;
+
     /**
      * Cria um novo jogo
      */
@@ -99,6 +102,18 @@ public class JogoService {
         return jogoMapper.toDTOList(jogos);
     }
 
+    /**
+     * Lista uma página de jogos em ordem de ID, após o ID informado.
+     * O limite é ajustado para o intervalo de 1 a {@value #LIMITE_MAXIMO_PAGINA}.
+     */
+    public List<JogoDTO> listarPagina(Long aposId, int limite) {
+        int limiteAjustado = Math.max(1, Math.min(limite, LIMITE_MAXIMO_PAGINA));
+        log.debug("Listando página de jogos após ID {} (limite {})", aposId, limiteAjustado);
+        
+        List<Jogo> jogos = jogoRepository.findPageAfterId(aposId, limiteAjustado);
+        return jogoMapper.toDTOList(jogos);
+    }
+
     /**
      * Lista todos os jogos
      */
@@ -166,6 +181,8 @@ public class JogoService {
         if (removido) {
             log.info("Jogo removido com sucesso, ID: {}", id);
             jogoDTO.setStatus(StatusJogo.EXCLUIDO); // Marcar como excluído para o evento            
+            // Tombstone com a última versão persistida: o consumidor trata a exclusão como
+            // estado terminal do jogo, sem precisar de uma versão nova
             eventPublisher.publishEvent(new JogoExcluidoEvent(jogoDTO));           
             
         } else {
@@ -10,6 +10,7 @@ import br.com.solides.placar.config.RabbitMQConfig;
 import br.com.solides.placar.shared.constants.RabbitMQConstants;
 import br.com.solides.placar.shared.dto.JogoDTO;
 import br.com.solides.placar.shared.event.PlacarAtualizadoEvent;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEventRouting;
 import br.com.solides.placar.util.PublisherUtils;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -30,7 +31,9 @@ public class GameEventPublisher {
     private RabbitMQConfig rabbitMQConfig;
 
     /**
-     * Publica evento de placar atualizado no RabbitMQ.
+     * Publica evento de placar atualizado no RabbitMQ. Transições de ciclo de vida do jogo
+     * seguem pela routing key prioritária, para não esperar atrás das atualizações de placar
+     * e tempo (ver {@link PlacarAtualizadoEventRouting}).
      * 
      * @param jogo o jogo que teve seu estado alterado
      * @param operacao a operação realizada (CRIADO, ATUALIZADO, INICIADO, etc.)
@@ -48,7 +51,7 @@ public class GameEventPublisher {
 
         rabbitTemplate.convertAndSend(
             RabbitMQConstants.EXCHANGE_NAME,
-            RabbitMQConstants.ROUTING_KEY_PLACAR_ATUALIZADO,
+            PlacarAtualizadoEventRouting.routingKey(event),
             event,
             message -> {
                 MessageProperties properties = message.getMessageProperties();
@@ -82,6 +85,7 @@ public class GameEventPublisher {
                 .status(jogo.getStatus())
                 .tempoDeJogo(jogo.getTempoDeJogo())
                 .dataHoraEncerramento(jogo.getDataHoraEncerramento())
+                .versao(jogo.getVersao())
                 .build();
     }
 }
@@ -6,11 +6,11 @@ import br.com.solides.placar.service.publisher.GameEventPublisher;
 import br.com.solides.placar.shared.constants.RabbitMQConstants;
 import br.com.solides.placar.shared.dto.JogoDTO;
 import br.com.solides.placar.shared.enums.StatusJogo;
+import br.com.solides.placar.shared.event.PlacarAtualizadoEventMessageConverter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.testcontainers.containers.RabbitMQContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
@@ -107,7 +107,7 @@ class RabbitMQContainerIntegrationTest {
         assertThat(rabbitTemplate).isNotNull();
         assertThat(rabbitTemplate.getExchange()).isEqualTo(RabbitMQConstants.EXCHANGE_NAME);
         assertThat(rabbitTemplate.getRoutingKey()).isEqualTo(RabbitMQConstants.ROUTING_KEY_PLACAR_ATUALIZADO);
-        assertThat(rabbitTemplate.getMessageConverter()).isInstanceOf(Jackson2JsonMessageConverter.class);
+        assertThat(rabbitTemplate.getMessageConverter()).isInstanceOf(PlacarAtualizadoEventMessageConverter.class);
         // Note: isMandatory() não é um método público na versão atual do RabbitTemplate
     }
 
@@ -15,6 +15,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -339,6 +340,33 @@ class JogoServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Remover Jogo")
+    class RemoverJogoTests {
+
+        @Test
+        @DisplayName("Deve publicar a exclusão com a última versão persistida")
+        void devePublicarExclusaoComUltimaVersao() {
+            // Arrange
+            Long jogoId = 1L;
+            jogoDTO.setVersao(3L);
+            when(jogoRepository.existsById(jogoId)).thenReturn(true);
+            when(jogoRepository.findById(jogoId)).thenReturn(Optional.of(jogoEntity));
+            when(jogoMapper.toDTO(jogoEntity)).thenReturn(jogoDTO);
+            when(jogoRepository.deleteById(jogoId)).thenReturn(true);
+
+            // Act
+            jogoService.deletarJogo(jogoId);
+
+            // Assert
+            ArgumentCaptor<JogoExcluidoEvent> evento = ArgumentCaptor.forClass(JogoExcluidoEvent.class);
+            verify(eventPublisher).publishEvent(evento.capture());
+            assertThat(evento.getValue().getJogo().getStatus()).isEqualTo(StatusJogo.EXCLUIDO);
+            // Tombstone: sem versão inventada, o consumidor trata a exclusão como terminal
+            assertThat(evento.getValue().getJogo().getVersao()).isEqualTo(3L);
+        }
+    }
+
     @Nested
     @DisplayName("Listar Jogos")
     class ListarJogosTests {
@@ -381,5 +409,39 @@ class JogoServiceTest {
             assertThat(resultado).hasSize(1);
             verify(jogoRepository).findByFilter(filtro);
         }
+
+        @Test
+        @DisplayName("Deve listar página de jogos após o ID informado")
+        void deveListarPaginaDeJogos() {
+            // Arrange
+            List<Jogo> jogos = Arrays.asList(jogoEntity);
+            List<JogoDTO> jogosDTO = Arrays.asList(jogoDTO);
+            
+            when(jogoRepository.findPageAfterId(10L, 200)).thenReturn(jogos);
+            when(jogoMapper.toDTOList(jogos)).thenReturn(jogosDTO);
+
+            // Act
+            List<JogoDTO> resultado = jogoService.listarPagina(10L, 200);
+
+            // Assert
+            assertThat(resultado).hasSize(1);
+            verify(jogoRepository).findPageAfterId(10L, 200);
+        }
+
+        @Test
+        @DisplayName("Deve limitar o tamanho da página")
+        void deveLimitarTamanhoDaPagina() {
+            // Arrange
+            when(jogoRepository.findPageAfterId(anyLong(), anyInt())).thenReturn(List.of());
+            when(jogoMapper.toDTOList(List.of())).thenReturn(List.of());
+
+            // Act
+            jogoService.listarPagina(0L, 10_000);
+            jogoService.listarPagina(0L, 0);
+
+            // Assert
+            verify(jogoRepository).findPageAfterId(0L, JogoService.LIMITE_MAXIMO_PAGINA);
+            verify(jogoRepository).findPageAfterId(0L, 1);
+        }
     }
 }
@@ -160,6 +160,25 @@ class GameEventPublisherTest {
             assertThat(evento.getDataHoraEncerramento()).isNotNull();
         }
 
+        @Test
+        @DisplayName("Deve publicar transições de ciclo de vida na routing key prioritária")
+        void devePublicarTransicoesNaRoutingKeyPrioritaria() {
+            // Arrange
+            jogoDTO.setStatus(StatusJogo.FINALIZADO);
+            jogoDTO.setDataHoraEncerramento(LocalDateTime.now());
+
+            // Act
+            gameEventPublisher.publishGameEvent(jogoDTO, "FINALIZADO");
+
+            // Assert
+            verify(rabbitTemplate).convertAndSend(
+                eq(RabbitMQConstants.EXCHANGE_NAME),
+                eq(RabbitMQConstants.ROUTING_KEY_PLACAR_PRIORITARIO),
+                any(PlacarAtualizadoEvent.class),
+                any(MessagePostProcessor.class)
+            );
+        }
+
         @Test
         @DisplayName("Deve propagar erro quando RabbitTemplate lança exceção")
         void devePropagarErroQuandoRabbitTemplateLancaExcecao() {